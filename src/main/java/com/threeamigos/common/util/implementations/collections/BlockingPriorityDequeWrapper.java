@@ -4,8 +4,10 @@ import com.threeamigos.common.util.interfaces.collections.PriorityDeque;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
@@ -17,7 +19,10 @@ import java.util.concurrent.locks.ReentrantLock;
  * A thread-safe, blocking wrapper for PriorityDeque.<br/>
  * This class allows the PriorityDeque to be used as a standard BlockingQueue (e.g., in a ThreadPoolExecutor).<br/>
  * <i>Note:</i> standard BlockingQueue methods use the 'defaultPriority' provided in the constructor.<br/>
- * Use {@link #add(T, int)} to add tasks with specific priorities.
+ * Use {@link #add(T, int)} to add tasks with specific priorities.<br/>
+ * Consumers that can process several tasks at once should use {@link #takeBatch(int, long, TimeUnit)} or
+ * {@link #drainTo(Collection, int)}: they take a whole batch, in priority order, under a single lock
+ * acquisition, amortizing the lock and wake-up cost over the batch.
  * 
  * @author Stefano Reksten
  */
@@ -239,19 +244,74 @@ public class BlockingPriorityDequeWrapper<T> implements BlockingQueue<T> {
         if (maxElements < 0) {
             throw new IllegalArgumentException("maxElements must be non-negative");
         }
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
         lock.lock();
         try {
-            int n = 0;
-            while (n < maxElements && !delegate.isEmpty()) {
-                c.add(delegate.poll());
-                n++;
+            return drainLocked(c, maxElements);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until at least one element is available, then retrieves and removes up to {@code maxElements}
+     * elements in priority order, all under a single lock acquisition.
+     *
+     * @param maxElements the maximum number of elements to take
+     * @param timeout how long to wait for the first element, in units of {@code unit}
+     * @param unit the time unit of the timeout
+     * @return the elements taken, highest priority first; empty if the timeout elapsed before any element was
+     * available, or if maxElements is 0
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalArgumentException if maxElements is negative or unit is null
+     */
+    public @Nonnull List<T> takeBatch(final int maxElements, final long timeout, final @Nonnull TimeUnit unit)
+            throws InterruptedException {
+        if (maxElements < 0) {
+            throw new IllegalArgumentException("maxElements must be non-negative");
+        }
+        validateTimeUnit(unit);
+        List<T> batch = new ArrayList<>(Math.min(maxElements, 64));
+        if (maxElements == 0) {
+            return batch;
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (delegate.isEmpty()) {
+                if (nanos <= 0) return batch;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            drainLocked(batch, maxElements);
+            if (!delegate.isEmpty()) {
+                // One signal per add may have been consumed by this batch: pass the wake-up on
+                notEmpty.signal();
             }
-            return n;
+            return batch;
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Moves up to maxElements elements to the collection, one priority bucket at a time. Must be called with the
+     * lock held.
+     */
+    private int drainLocked(final Collection<? super T> c, final int maxElements) {
+        int n = 0;
+        while (n < maxElements && !delegate.isEmpty()) {
+            List<T> batch = delegate.pollBatch(delegate.getHighestNotEmptyPriority(), maxElements - n);
+            if (batch.isEmpty()) {
+                break;
+            }
+            c.addAll(batch);
+            n += batch.size();
+        }
+        return n;
+    }
+
     /**
      * Returns an iterator over the elements in this queue.
      * <p><b>Implementation Note - Snapshot Iterator:</b>
@@ -12,7 +12,8 @@ import java.util.function.Function;
  * Perfect when priorities are known and limited (range limit is 0..31).
  * Uses an array of Deque and a bitset to find the next non-empty priority in constant time.<br/>
  * <b>NOTE:</b> This implementation is not thread-safe. For that, wrap this class with
- * {@link SynchronizedPriorityDequeWrapper}.<br/>
+ * {@link SynchronizedPriorityDequeWrapper}, or use {@link ConcurrentBucketedPriorityDeque}
+ * when many producers and consumers share the deque.<br/>
  * <br/>
  * Complexity:
  * <ul>
@@ -363,6 +364,24 @@ public class BucketedPriorityDeque<T> implements PriorityDeque<T> {
         return t;
     }
 
+    @Override
+    public @Nonnull List<T> pollBatch(final int priority, final int maxElements) {
+        validatePriority(priority);
+        validateMaxElements(maxElements);
+        ArrayDeque<T> q = buckets[priority];
+        int n = Math.min(maxElements, q.size());
+        List<T> batch = new ArrayList<>(n);
+        boolean fifo = policy == Policy.FIFO;
+        for (int i = 0; i < n; i++) {
+            batch.add(fifo ? q.pollFirst() : q.pollLast());
+        }
+        elementCount -= n;
+        if (q.isEmpty()) {
+            nonEmptyMask &= ~(1 << priority);
+        }
+        return batch;
+    }
+
     @Override
     public boolean isEmpty(final int priority) {
         validatePriority(priority);
@@ -594,6 +613,12 @@ public class BucketedPriorityDeque<T> implements PriorityDeque<T> {
         }
     }
 
+    void validateMaxElements(int maxElements) {
+        if (maxElements < 0) {
+            throw new IllegalArgumentException("maxElements must be non-negative");
+        }
+    }
+
     void validateFilteringFunction(Function<T, Boolean> filteringFunction) {
         if (filteringFunction == null) {
             throw new IllegalArgumentException("Filtering function cannot be null");
@@ -1,9 +1,25 @@
 package com.threeamigos.common.util.implementations.collections;
 
+import com.threeamigos.common.util.implementations.concurrency.ParallelTaskExecutor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -33,6 +49,45 @@ import java.util.function.Supplier;
  * at most one thread will compute a value for any given key. Other threads
  * will block until the computation completes.
  *
+ * <h2>Concurrent mode</h2>
+ * <p>Caches built with {@link Builder#concurrent()} trade the exact LRU order for
+ * scalability under many reader threads:
+ * <ul>
+ *   <li>Cache hit: a lock-free {@link ConcurrentHashMap} lookup plus a volatile
+ *       "referenced" flag write; readers never block each other</li>
+ *   <li>Cache miss: computation is tracked per key, so a second caller only waits
+ *       for a computation of the <i>same</i> key, never for unrelated keys</li>
+ *   <li>Eviction: CLOCK (second chance), an approximation of LRU that is only
+ *       maintained by writers under a private lock</li>
+ * </ul>
+ * <p>A thread that recursively asks for the key it is already computing gets a
+ * fresh, uncached computation instead of deadlocking on itself.
+ *
+ * <p>The concurrent mode also supports:
+ * <ul>
+ *   <li><b>W-TinyLFU admission</b> ({@link Builder#tinyLfuAdmission()}): new entries
+ *       enter a small window (1% of the capacity); entries leaving the window are only
+ *       admitted to the main region if a frequency sketch rates them as more popular than
+ *       the entry they would evict. One-off keys therefore cannot flush out hot ones.</li>
+ *   <li><b>Weight-bounded eviction</b> ({@link Builder#maximumWeight(long)} with a
+ *       {@link Weigher}): the bound applies to the sum of the entry weights instead of
+ *       the number of entries.</li>
+ *   <li><b>Time-based expiry</b> ({@link Builder#expireAfterWrite},
+ *       {@link Builder#expireAfterAccess}): expired entries are never returned, and are
+ *       reclaimed through a hierarchical timer wheel advanced by writers (or by
+ *       {@link #cleanUp()}), never by scanning all entries.</li>
+ *   <li><b>Background refresh</b> ({@link Builder#refreshAfterWrite}): a stale entry is
+ *       still returned while the caller's supplier reloads it on a
+ *       {@link ParallelTaskExecutor}, so readers never stall on a reload.</li>
+ * </ul>
+ *
+ * <p>Evictions are counted in both modes ({@link #getEvictionCount()}), so caches can
+ * be sized from their observed hit rate and eviction rate.
+ *
+ * <p>Bulk lookups ({@link #getAllPresent}, {@link #computeAllIfAbsent}) check all keys
+ * in one pass and hand every miss to a single batch loader call, so that callers with
+ * a batch-capable backend pay one round trip instead of one per key.
+ *
  * <p>Example usage:
  * <pre>
  * Cache&lt;String, ExpensiveResult&gt; cache = new Cache&lt;&gt;();
@@ -42,6 +97,17 @@ import java.util.function.Supplier;
  *
  * double hitRate = cache.getCacheHitRate();
  * System.out.println("Cache hit rate: " + hitRate);
+ *
+ * Cache&lt;String, ExpensiveResult&gt; shared = Cache.&lt;String, ExpensiveResult&gt;builder()
+ *     .maximumSize(50_000)
+ *     .concurrent()
+ *     .build();
+ *
+ * Cache&lt;String, byte[]&gt; weighted = Cache.&lt;String, byte[]&gt;builder()
+ *     .maximumWeight(64 * 1024 * 1024)
+ *     .weigher((key, bytes) -&gt; bytes.length)
+ *     .tinyLfuAdmission()
+ *     .build();
  * </pre>
  *
  * Checked and commented with Claude.
@@ -64,26 +130,20 @@ public class Cache<K, V> {
     private static final Object NULL_PLACEHOLDER = new Object();
 
     private final int maxCacheSize;
+    private final boolean concurrent;
 
     private final AtomicLong cacheHits = new AtomicLong(0);
     private final AtomicLong cacheMisses = new AtomicLong(0);
+    private final AtomicLong cacheEvictions = new AtomicLong(0);
 
-    private final Map<K, Object> internalCache;
-
-    /**
-     * Lock used to ensure atomic computeIfAbsent operations.
-     * All cache computations are serialized on this lock to prevent
-     * duplicate computation of the same key.
-     */
-    private final Object computeLock = new Object();
+    private final Store<K, V> store;
 
     /**
      * Creates a cache with default settings: max size 10,000, initial capacity 16,
      * and load factor 0.75.
      */
     public Cache() {
-        maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
-        internalCache = buildCache(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+        this(DEFAULT_MAX_CACHE_SIZE, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
     }
 
     /**
@@ -95,6 +155,16 @@ public class Cache<K, V> {
      * @throws IllegalArgumentException if any parameter is invalid
      */
     public Cache(int maxCacheSize, int initialCapacity, float loadFactor) {
+        this(new Builder<K, V>()
+                .maximumSize(maxCacheSize)
+                .initialCapacity(initialCapacity)
+                .loadFactor(loadFactor));
+    }
+
+    private Cache(Builder<K, V> builder) {
+        int maxCacheSize = builder.maximumSize;
+        int initialCapacity = builder.initialCapacity;
+        float loadFactor = builder.loadFactor;
         if (maxCacheSize <= 0) {
             throw new IllegalArgumentException(
                     "maxCacheSize must be positive, got: " + maxCacheSize);
@@ -107,20 +177,32 @@ public class Cache<K, V> {
             throw new IllegalArgumentException(
                     "loadFactor must be in (0, 1), got: " + loadFactor);
         }
+        if (builder.maximumWeight >= 0 && builder.maximumSizeSet) {
+            throw new IllegalStateException("maximumSize and maximumWeight cannot both be set");
+        }
+        if ((builder.weigher == null) != (builder.maximumWeight < 0)) {
+            throw new IllegalStateException("maximumWeight and weigher must be set together");
+        }
         this.maxCacheSize = maxCacheSize;
-        internalCache = buildCache(initialCapacity, loadFactor);
+        this.concurrent = builder.concurrent;
+        if (concurrent) {
+            long maximum = builder.weigher != null ? builder.maximumWeight : maxCacheSize;
+            store = new ClockStore(builder, maximum);
+        } else {
+            store = new LruStore(initialCapacity, loadFactor);
+        }
     }
 
-    private Map<K, Object> buildCache(int initialCapacity, float loadFactor) {
-        return Collections.synchronizedMap(
-                new LinkedHashMap<K, Object>(initialCapacity, loadFactor, true) {
-                    @Override
-                    protected boolean removeEldestEntry(Map.Entry<K, Object> eldest) {
-                        // Note: This allows cache to temporarily grow to maxCacheSize + 1
-                        // before eviction occurs (LinkedHashMap contract)
-                        return size() > maxCacheSize;
-                    }
-                });
+    /**
+     * Returns a builder for caches whose settings go beyond the public constructors,
+     * such as the {@linkplain Builder#concurrent() concurrent mode}.
+     *
+     * @param <K> the type of keys maintained by the cache
+     * @param <V> the type of cached values
+     * @return a new builder with the default settings
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
     }
 
     /**
@@ -150,29 +232,91 @@ public class Cache<K, V> {
         if (supplierFunction == null) {
             throw new NullPointerException("supplierFunction cannot be null");
         }
+        return store.computeIfAbsent(key, supplierFunction);
+    }
 
-        // Fast path: check cache without holding compute lock
-        Object cached = internalCache.get(key);
-        if (cached != null) {
-            cacheHits.incrementAndGet();
-            return unwrap(cached);
+    /**
+     * Returns the cached values of the given keys, without computing anything.
+     *
+     * <p>All keys are looked up in one pass: in the default mode under a single
+     * acquisition of the map lock, in concurrent mode without locking. Each key found
+     * counts as a hit and each key not found as a miss.
+     *
+     * @param keys the keys to look up
+     * @return an unmodifiable map, in the iteration order of {@code keys}, of the keys
+     * that are cached to their values (which may be null)
+     * @throws NullPointerException if keys or any of its elements is null
+     */
+    public Map<K, V> getAllPresent(Collection<K> keys) {
+        return store.getAllPresent(distinctKeys(keys));
+    }
+
+    /**
+     * Returns the values associated with the given keys, computing the missing ones
+     * with a single call to a batch loader.
+     *
+     * <p>Cached keys are looked up in one pass; all the keys that are not cached are
+     * passed together to {@code batchLoader}, and the values it returns are cached.
+     * A key that the loader leaves out of its result is cached with a null value; keys
+     * it returns that were not requested are ignored.
+     *
+     * <p>As with {@link #computeIfAbsent}, every key is computed at most once when
+     * several threads race on it: in the default mode the batch runs under the same
+     * lock as single computations, in concurrent mode each missing key is claimed by
+     * one thread and the other callers wait for that key only. Keys claimed by another
+     * thread are not passed to this caller's loader.
+     *
+     * <p>If the loader throws, nothing from the batch is cached and the exception
+     * propagates to the caller.
+     *
+     * @param keys the keys whose values are to be returned
+     * @param batchLoader computes the values of the keys it receives, all at once
+     * @return an unmodifiable map of every requested key to its value (which may be
+     * null), in the iteration order of {@code keys}
+     * @throws NullPointerException if keys, any of its elements, batchLoader or the
+     * map returned by batchLoader is null
+     * @throws RuntimeException if the batch loader throws an exception
+     */
+    public Map<K, V> computeAllIfAbsent(Collection<K> keys, Function<Set<K>, Map<K, V>> batchLoader) {
+        if (batchLoader == null) {
+            throw new NullPointerException("batchLoader cannot be null");
         }
+        return store.computeAllIfAbsent(distinctKeys(keys), batchLoader);
+    }
 
-        // Slow path: need to compute
-        synchronized (computeLock) {
-            // Double-check after acquiring lock
-            cached = internalCache.get(key);
-            if (cached != null) {
-                cacheHits.incrementAndGet();
-                return unwrap(cached);
-            }
+    private static <K> Set<K> distinctKeys(Collection<K> keys) {
+        if (keys == null) {
+            throw new NullPointerException("keys cannot be null");
+        }
+        Set<K> distinct = new LinkedHashSet<>(keys);
+        if (distinct.contains(null)) {
+            throw new NullPointerException("keys cannot contain null");
+        }
+        return distinct;
+    }
 
-            // Cache miss - compute value
-            cacheMisses.incrementAndGet();
-            V value = supplierFunction.get();
-            internalCache.put(key, wrap(value));
-            return value;
+    /**
+     * Calls a batch loader on the given keys and checks its result.
+     */
+    private static <K, V> Map<K, V> loadBatch(Set<K> keys, Function<Set<K>, Map<K, V>> batchLoader) {
+        Map<K, V> loaded = batchLoader.apply(Collections.unmodifiableSet(keys));
+        if (loaded == null) {
+            throw new NullPointerException("batchLoader returned null for keys " + keys);
         }
+        return loaded;
+    }
+
+    /**
+     * Copies the values of the requested keys, in request order, into an unmodifiable map.
+     */
+    private Map<K, V> inRequestOrder(Set<K> keys, Map<K, Object> wrappedValues) {
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (wrappedValues.containsKey(key)) {
+                result.put(key, unwrap(wrappedValues.get(key)));
+            }
+        }
+        return Collections.unmodifiableMap(result);
     }
 
     /**
@@ -226,13 +370,37 @@ public class Cache<K, V> {
         return cacheMisses.get();
     }
 
+    /**
+     * Returns the number of entries evicted to keep the cache within its bound,
+     * including entries rejected by the admission policy. Entries removed through
+     * {@link #invalidate}, {@link #invalidateAll} or {@link #clear()} are not counted.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return cacheEvictions.get();
+    }
+
+    /**
+     * Returns whether this cache was built in concurrent mode.
+     *
+     * @return {@code true} if reads are lock-free and eviction is CLOCK-based
+     * @see Builder#concurrent()
+     */
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
     /**
      * Returns the current number of entries in the cache.
      *
+     * <p>With time-based expiry the count may include expired entries that have not
+     * been {@linkplain #cleanUp() cleaned up} yet.
+     *
      * @return the current cache size
      */
     public int size() {
-        return internalCache.size();
+        return store.size();
     }
 
     /**
@@ -240,7 +408,7 @@ public class Cache<K, V> {
      * Does not reset hit/miss statistics.
      */
     public void clear() {
-        internalCache.clear();
+        store.clear();
     }
 
     /**
@@ -249,7 +417,7 @@ public class Cache<K, V> {
      * @param key the key to remove
      */
     public void invalidate(K key) {
-        internalCache.remove(key);
+        store.invalidate(key);
     }
 
     /**
@@ -258,6 +426,1161 @@ public class Cache<K, V> {
      * @param predicate the predicate to test each key against
      */
     public void invalidateAll(Predicate<K> predicate) {
-        internalCache.entrySet().removeIf(entry -> predicate.test(entry.getKey()));
+        store.invalidateAll(predicate);
+    }
+
+    /**
+     * Performs pending maintenance right away: removes entries whose expiry deadline has
+     * passed and releases entries that were invalidated but are still tracked by the
+     * eviction policy.
+     *
+     * <p>Maintenance normally runs as part of writes. Call this method on caches with
+     * time-based expiry that are rarely written, to reclaim expired entries sooner.
+     * Expired entries are never returned, whether or not they have been cleaned up.
+     */
+    public void cleanUp() {
+        store.cleanUp();
+    }
+
+    /**
+     * Storage strategy behind the public API. Implementations are responsible for
+     * hit/miss accounting and for storing values in their wrapped form.
+     */
+    private interface Store<K, V> {
+
+        V computeIfAbsent(K key, Supplier<V> supplierFunction);
+
+        Map<K, V> getAllPresent(Set<K> keys);
+
+        Map<K, V> computeAllIfAbsent(Set<K> keys, Function<Set<K>, Map<K, V>> batchLoader);
+
+        int size();
+
+        void clear();
+
+        void invalidate(K key);
+
+        void invalidateAll(Predicate<K> predicate);
+
+        void cleanUp();
+    }
+
+    /**
+     * The original strict-LRU storage: an access-ordered {@link LinkedHashMap}
+     * behind a synchronized wrapper, with misses serialized on a single lock.
+     */
+    private final class LruStore implements Store<K, V> {
+
+        private final Map<K, Object> internalCache;
+
+        /**
+         * Lock used to ensure atomic computeIfAbsent operations.
+         * All cache computations are serialized on this lock to prevent
+         * duplicate computation of the same key.
+         */
+        private final Object computeLock = new Object();
+
+        LruStore(int initialCapacity, float loadFactor) {
+            internalCache = Collections.synchronizedMap(
+                    new LinkedHashMap<K, Object>(initialCapacity, loadFactor, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<K, Object> eldest) {
+                            // Note: This allows cache to temporarily grow to maxCacheSize + 1
+                            // before eviction occurs (LinkedHashMap contract)
+                            if (size() > maxCacheSize) {
+                                cacheEvictions.incrementAndGet();
+                                return true;
+                            }
+                            return false;
+                        }
+                    });
+        }
+
+        @Override
+        public V computeIfAbsent(K key, Supplier<V> supplierFunction) {
+            // Fast path: check cache without holding compute lock
+            Object cached = internalCache.get(key);
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return unwrap(cached);
+            }
+
+            // Slow path: need to compute
+            synchronized (computeLock) {
+                // Double-check after acquiring lock
+                cached = internalCache.get(key);
+                if (cached != null) {
+                    cacheHits.incrementAndGet();
+                    return unwrap(cached);
+                }
+
+                // Cache miss - compute value
+                cacheMisses.incrementAndGet();
+                V value = supplierFunction.get();
+                internalCache.put(key, wrap(value));
+                return value;
+            }
+        }
+
+        @Override
+        public Map<K, V> getAllPresent(Set<K> keys) {
+            Map<K, Object> found = new LinkedHashMap<>();
+            Set<K> missing = lookUp(keys, found);
+            cacheHits.addAndGet(keys.size() - missing.size());
+            cacheMisses.addAndGet(missing.size());
+            return inRequestOrder(keys, found);
+        }
+
+        @Override
+        public Map<K, V> computeAllIfAbsent(Set<K> keys, Function<Set<K>, Map<K, V>> batchLoader) {
+            Map<K, Object> values = new LinkedHashMap<>();
+            Set<K> missing = lookUp(keys, values);
+            cacheHits.addAndGet(keys.size() - missing.size());
+            if (!missing.isEmpty()) {
+                synchronized (computeLock) {
+                    // Double-check after acquiring lock: other threads may have computed some keys
+                    Set<K> toLoad = lookUp(missing, values);
+                    cacheHits.addAndGet(missing.size() - toLoad.size());
+                    cacheMisses.addAndGet(toLoad.size());
+                    if (!toLoad.isEmpty()) {
+                        Map<K, V> loaded = loadBatch(toLoad, batchLoader);
+                        synchronized (internalCache) {
+                            for (K key : toLoad) {
+                                Object wrapped = wrap(loaded.get(key));
+                                internalCache.put(key, wrapped);
+                                values.put(key, wrapped);
+                            }
+                        }
+                    }
+                }
+            }
+            return inRequestOrder(keys, values);
+        }
+
+        /**
+         * Looks up all keys under a single acquisition of the map lock and returns the keys
+         * that were not found. Hits and misses are counted by the callers.
+         */
+        private Set<K> lookUp(Set<K> keys, Map<K, Object> found) {
+            Set<K> missing = new LinkedHashSet<>();
+            synchronized (internalCache) {
+                for (K key : keys) {
+                    Object cached = internalCache.get(key);
+                    if (cached != null) {
+                        found.put(key, cached);
+                    } else {
+                        missing.add(key);
+                    }
+                }
+            }
+            return missing;
+        }
+
+        @Override
+        public int size() {
+            return internalCache.size();
+        }
+
+        @Override
+        public void clear() {
+            internalCache.clear();
+        }
+
+        @Override
+        public void invalidate(K key) {
+            internalCache.remove(key);
+        }
+
+        @Override
+        public void invalidateAll(Predicate<K> predicate) {
+            internalCache.entrySet().removeIf(entry -> predicate.test(entry.getKey()));
+        }
+
+        @Override
+        public void cleanUp() {
+            // Nothing is deferred: eviction happens on insertion and entries never expire
+        }
+    }
+
+    /**
+     * Concurrent storage: lock-free reads over a {@link ConcurrentHashMap}, per-key
+     * in-flight computations and CLOCK eviction.
+     *
+     * <p>Entries are immutable {@link Node}s. A hit only sets the node's referenced
+     * flag (and, with W-TinyLFU, bumps the frequency sketch). Writers append new nodes
+     * under {@code evictionLock}: to the clock queue of the main region, or to the
+     * admission window when W-TinyLFU is enabled. The clock hand gives referenced nodes
+     * a second chance and evicts the first unreferenced one. Invalidated nodes are
+     * marked dead and dropped lazily.
+     *
+     * <p>The bound is enforced on {@code weightedSize}, the exact sum of the weights of
+     * the live entries (one per entry without a weigher). The region weights guarded by
+     * the lock also include dead nodes that have not been swept yet.
+     *
+     * <p>With time-based expiry every node is also scheduled in a {@link TimerWheel},
+     * which writers advance under the same lock. Readers never touch the wheel: they
+     * compare the node's timestamps with the ticker and treat an expired node as absent.
+     */
+    private final class ClockStore implements Store<K, V> {
+
+        private final ConcurrentHashMap<K, Node<K>> data;
+        private final ConcurrentHashMap<K, Computation> computations = new ConcurrentHashMap<>();
+        private final long maximum;
+        private final Weigher<? super K, ? super V> weigher;
+        private final FrequencySketch sketch;
+        private final AtomicLong weightedSize = new AtomicLong(0);
+        private final ReentrantLock evictionLock = new ReentrantLock();
+
+        private final Ticker ticker;
+        private final boolean timed;
+        private final long expireAfterWriteNanos;
+        private final long expireAfterAccessNanos;
+        private final long refreshAfterWriteNanos;
+        private final ParallelTaskExecutor refreshExecutor;
+
+        // Guarded by evictionLock
+        private final ArrayDeque<Node<K>> window = new ArrayDeque<>();
+        private final ArrayDeque<Node<K>> main = new ArrayDeque<>();
+        private final TimerWheel timerWheel;
+        private final long windowMaximum;
+        private final long mainMaximum;
+        private long windowWeight;
+        private long mainWeight;
+
+        ClockStore(Builder<K, V> builder, long maximum) {
+            this.data = new ConcurrentHashMap<>(builder.initialCapacity, builder.loadFactor);
+            this.maximum = maximum;
+            this.weigher = builder.weigher;
+            if (builder.tinyLfu) {
+                sketch = new FrequencySketch(weigher == null ? maximum : maxCacheSize);
+                windowMaximum = Math.max(1, maximum / 100);
+            } else {
+                sketch = null;
+                windowMaximum = 0;
+            }
+            mainMaximum = Math.max(0, maximum - windowMaximum);
+
+            ticker = builder.ticker;
+            expireAfterWriteNanos = builder.expireAfterWriteNanos;
+            expireAfterAccessNanos = builder.expireAfterAccessNanos;
+            refreshAfterWriteNanos = builder.refreshAfterWriteNanos;
+            timed = isExpiring() || refreshAfterWriteNanos >= 0;
+            timerWheel = isExpiring() ? new TimerWheel(ticker.read()) : null;
+            if (refreshAfterWriteNanos < 0) {
+                refreshExecutor = null;
+            } else if (builder.refreshExecutor != null) {
+                refreshExecutor = builder.refreshExecutor;
+            } else {
+                refreshExecutor = ParallelTaskExecutor.getInstance();
+            }
+        }
+
+        private boolean isExpiring() {
+            return expireAfterWriteNanos >= 0 || expireAfterAccessNanos >= 0;
+        }
+
+        @Override
+        public V computeIfAbsent(K key, Supplier<V> supplierFunction) {
+            while (true) {
+                long now = timed ? ticker.read() : 0L;
+                Node<K> node = liveNode(key, now);
+                if (node != null) {
+                    return hit(node, now, supplierFunction);
+                }
+
+                Computation mine = new Computation();
+                Computation running = computations.putIfAbsent(key, mine);
+                if (running == null) {
+                    return computeAndPublish(key, supplierFunction, mine, now);
+                }
+
+                if (running.owner == Thread.currentThread()) {
+                    // Re-entrant request for a key this thread is computing: waiting would deadlock
+                    cacheMisses.incrementAndGet();
+                    return supplierFunction.get();
+                }
+
+                try {
+                    Object value = running.result.join();
+                    cacheHits.incrementAndGet();
+                    return unwrap(value);
+                } catch (CompletionException e) {
+                    // The other computation failed and cached nothing: retry with our own supplier
+                }
+            }
+        }
+
+        /**
+         * Returns the node mapped to the key, or null if there is none or it has expired.
+         * An expired node is removed on the way.
+         */
+        private Node<K> liveNode(K key, long now) {
+            Node<K> node = data.get(key);
+            if (node != null && isExpiring() && hasExpired(node, now)) {
+                removeNode(node);
+                return null;
+            }
+            return node;
+        }
+
+        private V hit(Node<K> node, long now, Supplier<V> supplierFunction) {
+            touch(node, now);
+            if (refreshAfterWriteNanos >= 0 && now - node.writeTime >= refreshAfterWriteNanos
+                    && node.startRefresh()) {
+                scheduleRefresh(node, supplierFunction);
+            }
+            cacheHits.incrementAndGet();
+            return unwrap(node.value);
+        }
+
+        /**
+         * Records a read of the node for the eviction and expiry policies.
+         */
+        private void touch(Node<K> node, long now) {
+            node.markReferenced();
+            if (sketch != null) {
+                sketch.increment(node.key);
+            }
+            if (expireAfterAccessNanos >= 0) {
+                node.accessTime = now;
+            }
+        }
+
+        private V computeAndPublish(K key, Supplier<V> supplierFunction, Computation mine, long now) {
+            try {
+                // Double-check: a computation may have been published between get and putIfAbsent
+                Node<K> node = liveNode(key, now);
+                if (node != null) {
+                    mine.result.complete(node.value);
+                    return hit(node, now, supplierFunction);
+                }
+
+                cacheMisses.incrementAndGet();
+                if (sketch != null) {
+                    sketch.increment(key);
+                }
+                V value = supplierFunction.get();
+                Object wrapped = wrap(value);
+                insert(key, wrapped);
+                mine.result.complete(wrapped);
+                return value;
+            } catch (RuntimeException | Error e) {
+                mine.result.completeExceptionally(e);
+                throw e;
+            } finally {
+                computations.remove(key, mine);
+            }
+        }
+
+        private int weigh(K key, Object wrapped) {
+            if (weigher == null) {
+                return 1;
+            }
+            int weight = weigher.weigh(key, unwrap(wrapped));
+            if (weight < 0) {
+                throw new IllegalArgumentException("weigher returned a negative weight for key " + key);
+            }
+            return weight;
+        }
+
+        @Override
+        public Map<K, V> getAllPresent(Set<K> keys) {
+            long now = timed ? ticker.read() : 0L;
+            Map<K, Object> found = new LinkedHashMap<>();
+            for (K key : keys) {
+                Node<K> node = liveNode(key, now);
+                if (node != null) {
+                    touch(node, now);
+                    cacheHits.incrementAndGet();
+                    found.put(key, node.value);
+                } else {
+                    cacheMisses.incrementAndGet();
+                }
+            }
+            return inRequestOrder(keys, found);
+        }
+
+        @Override
+        public Map<K, V> computeAllIfAbsent(Set<K> keys, Function<Set<K>, Map<K, V>> batchLoader) {
+            long now = timed ? ticker.read() : 0L;
+            Map<K, Object> values = new LinkedHashMap<>();
+            Map<K, Computation> claimed = new LinkedHashMap<>();
+            Map<K, Computation> awaited = new LinkedHashMap<>();
+            Set<K> reentrant = new LinkedHashSet<>();
+
+            for (K key : keys) {
+                Node<K> node = liveNode(key, now);
+                if (node != null) {
+                    values.put(key, node.value);
+                    hitInBatch(node, now, batchLoader);
+                    continue;
+                }
+                Computation mine = new Computation();
+                Computation running = computations.putIfAbsent(key, mine);
+                if (running == null) {
+                    claimed.put(key, mine);
+                } else if (running.owner == Thread.currentThread()) {
+                    // Re-entrant request for a key this thread is computing: load it without caching
+                    reentrant.add(key);
+                } else {
+                    awaited.put(key, running);
+                }
+            }
+
+            loadClaimed(claimed, reentrant, values, batchLoader, now);
+
+            for (Map.Entry<K, Computation> entry : awaited.entrySet()) {
+                K key = entry.getKey();
+                try {
+                    values.put(key, entry.getValue().result.join());
+                    cacheHits.incrementAndGet();
+                } catch (CompletionException e) {
+                    // The other computation failed and cached nothing: compute this key on our own
+                    values.put(key, wrap(computeIfAbsent(key, () -> loadBatch(
+                            Collections.singleton(key), batchLoader).get(key))));
+                }
+            }
+            return inRequestOrder(keys, values);
+        }
+
+        /**
+         * Loads the keys claimed by this thread (plus any re-entrant ones) with one call to
+         * the batch loader, publishes them with a single lock acquisition and releases the
+         * threads waiting for them.
+         */
+        private void loadClaimed(Map<K, Computation> claimed, Set<K> reentrant, Map<K, Object> values,
+                                 Function<Set<K>, Map<K, V>> batchLoader, long now) {
+            try {
+                // Double-check: a computation may have been published between get and putIfAbsent
+                Iterator<Map.Entry<K, Computation>> iterator = claimed.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<K, Computation> entry = iterator.next();
+                    Node<K> node = liveNode(entry.getKey(), now);
+                    if (node != null) {
+                        values.put(entry.getKey(), node.value);
+                        hitInBatch(node, now, batchLoader);
+                        entry.getValue().result.complete(node.value);
+                        computations.remove(entry.getKey(), entry.getValue());
+                        iterator.remove();
+                    }
+                }
+
+                Set<K> toLoad = new LinkedHashSet<>(claimed.keySet());
+                toLoad.addAll(reentrant);
+                if (toLoad.isEmpty()) {
+                    return;
+                }
+                cacheMisses.addAndGet(toLoad.size());
+                if (sketch != null) {
+                    for (K key : claimed.keySet()) {
+                        sketch.increment(key);
+                    }
+                }
+                Map<K, V> loaded = loadBatch(toLoad, batchLoader);
+
+                Map<K, Object> toPublish = new LinkedHashMap<>();
+                for (K key : toLoad) {
+                    Object wrapped = wrap(loaded.get(key));
+                    values.put(key, wrapped);
+                    if (claimed.containsKey(key)) {
+                        toPublish.put(key, wrapped);
+                    }
+                }
+                insertAll(toPublish);
+                for (Map.Entry<K, Computation> entry : claimed.entrySet()) {
+                    entry.getValue().result.complete(toPublish.get(entry.getKey()));
+                }
+            } catch (RuntimeException | Error e) {
+                for (Computation computation : claimed.values()) {
+                    computation.result.completeExceptionally(e);
+                }
+                throw e;
+            } finally {
+                for (Map.Entry<K, Computation> entry : claimed.entrySet()) {
+                    computations.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        private void hitInBatch(Node<K> node, long now, Function<Set<K>, Map<K, V>> batchLoader) {
+            touch(node, now);
+            if (refreshAfterWriteNanos >= 0 && now - node.writeTime >= refreshAfterWriteNanos
+                    && node.startRefresh()) {
+                K key = node.key;
+                scheduleRefresh(node, () -> loadBatch(Collections.singleton(key), batchLoader).get(key));
+            }
+            cacheHits.incrementAndGet();
+        }
+
+        private Node<K> newNode(K key, Object wrapped) {
+            return new Node<>(key, wrapped, weigh(key, wrapped), timed ? ticker.read() : 0L);
+        }
+
+        private void insert(K key, Object wrapped) {
+            Node<K> node = newNode(key, wrapped);
+            if (node.weight > maximum) {
+                // The entry could never fit: keep it out and drop any stale mapping
+                removeLive(key);
+                cacheEvictions.incrementAndGet();
+                return;
+            }
+            publish(node, data.put(key, node));
+        }
+
+        /**
+         * Accounts for a node that has just been mapped, replacing {@code previous} if not
+         * null, and runs the eviction and expiry maintenance.
+         */
+        private void publish(Node<K> node, Node<K> previous) {
+            account(node, previous);
+            evictionLock.lock();
+            try {
+                link(node, previous);
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        /**
+         * Maps all entries, then links them into the eviction and expiry policies and runs
+         * the maintenance under a single lock acquisition. The weights are computed before
+         * anything is mapped, so a failing weigher leaves the cache untouched.
+         */
+        private void insertAll(Map<K, Object> entries) {
+            List<Node<K>> nodes = new ArrayList<>(entries.size());
+            for (Map.Entry<K, Object> entry : entries.entrySet()) {
+                nodes.add(newNode(entry.getKey(), entry.getValue()));
+            }
+            List<Node<K>> published = new ArrayList<>(nodes.size());
+            List<Node<K>> replaced = new ArrayList<>();
+            for (Node<K> node : nodes) {
+                if (node.weight > maximum) {
+                    removeLive(node.key);
+                    cacheEvictions.incrementAndGet();
+                    continue;
+                }
+                Node<K> previous = data.put(node.key, node);
+                account(node, previous);
+                published.add(node);
+                replaced.add(previous);
+            }
+            if (published.isEmpty()) {
+                return;
+            }
+            evictionLock.lock();
+            try {
+                for (int i = 0; i < published.size(); i++) {
+                    link(published.get(i), replaced.get(i));
+                }
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        private void account(Node<K> node, Node<K> previous) {
+            weightedSize.addAndGet(previous == null ? node.weight : node.weight - previous.weight);
+            if (previous != null) {
+                previous.retire();
+            }
+        }
+
+        /**
+         * Appends a freshly mapped node to its region and schedules its expiry. Must be
+         * called with {@code evictionLock} held.
+         */
+        private void link(Node<K> node, Node<K> previous) {
+            if (timerWheel != null && previous != null) {
+                timerWheel.deschedule(previous);
+            }
+            if (!node.isAlive()) {
+                return;
+            }
+            if (sketch != null) {
+                window.addLast(node);
+                windowWeight += node.weight;
+            } else {
+                main.addLast(node);
+                mainWeight += node.weight;
+            }
+            if (timerWheel != null) {
+                node.deadline = deadline(node);
+                timerWheel.schedule(node);
+            }
+        }
+
+        /**
+         * Expires due entries, enforces the bound and sweeps dead nodes. Must be called
+         * with {@code evictionLock} held.
+         */
+        private void maintenance() {
+            if (timerWheel != null) {
+                timerWheel.advance(ticker.read(), this::expireTimer);
+            }
+            evictIfNeeded();
+            purgeRetiredIfNeeded();
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean expireTimer(TimerWheel.Timer timer, long now) {
+            Node<K> node = (Node<K>) timer;
+            if (!node.isAlive()) {
+                return true;
+            }
+            if (!hasExpired(node, now)) {
+                node.deadline = deadline(node);
+                return false;
+            }
+            removeNode(node);
+            return true;
+        }
+
+        private long deadline(Node<K> node) {
+            if (expireAfterWriteNanos < 0) {
+                return node.accessTime + expireAfterAccessNanos;
+            }
+            long writeDeadline = node.writeTime + expireAfterWriteNanos;
+            if (expireAfterAccessNanos < 0) {
+                return writeDeadline;
+            }
+            long accessDeadline = node.accessTime + expireAfterAccessNanos;
+            return writeDeadline - accessDeadline < 0 ? writeDeadline : accessDeadline;
+        }
+
+        private boolean hasExpired(Node<K> node, long now) {
+            return now - deadline(node) >= 0;
+        }
+
+        /**
+         * Reloads a stale entry in the background. The current value keeps being served
+         * until the reload completes; a failed reload leaves it in place, and a later read
+         * tries again.
+         */
+        private void scheduleRefresh(Node<K> node, Supplier<V> supplierFunction) {
+            try {
+                refreshExecutor.submit(() -> refresh(node, supplierFunction));
+            } catch (IllegalStateException e) {
+                // The executor has been shut down: keep serving the current value
+                node.endRefresh();
+            }
+        }
+
+        private void refresh(Node<K> node, Supplier<V> supplierFunction) {
+            boolean replaced = false;
+            try {
+                Node<K> fresh = newNode(node.key, wrap(supplierFunction.get()));
+                if (fresh.weight > maximum) {
+                    if (removeNode(node)) {
+                        cacheEvictions.incrementAndGet();
+                    }
+                } else if (data.replace(node.key, node, fresh)) {
+                    replaced = true;
+                    publish(fresh, node);
+                }
+            } catch (RuntimeException e) {
+                // Keep serving the current value
+            } finally {
+                if (!replaced) {
+                    node.endRefresh();
+                }
+            }
+        }
+
+        /**
+         * Moves the window overflow to the main region through the admission filter,
+         * then evicts until the cache is back within its bound.
+         */
+        private void evictIfNeeded() {
+            while (windowWeight > windowMaximum) {
+                Node<K> candidate = window.pollFirst();
+                if (candidate == null) {
+                    break;
+                }
+                windowWeight -= candidate.weight;
+                if (candidate.isAlive()) {
+                    admit(candidate);
+                }
+            }
+            while (weightedSize.get() > maximum) {
+                Node<K> victim = pollVictim();
+                if (victim == null) {
+                    victim = pollWindow();
+                }
+                if (victim == null) {
+                    return;
+                }
+                evict(victim);
+            }
+        }
+
+        /**
+         * Admits a window candidate to the main region if it is more popular than each
+         * victim it would displace; otherwise evicts the candidate and keeps the victim
+         * at the head of the clock.
+         */
+        private void admit(Node<K> candidate) {
+            while (mainWeight + candidate.weight > mainMaximum) {
+                Node<K> victim = pollVictim();
+                if (victim == null) {
+                    break;
+                }
+                if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                    evict(victim);
+                } else {
+                    main.addFirst(victim);
+                    mainWeight += victim.weight;
+                    evict(candidate);
+                    return;
+                }
+            }
+            main.addLast(candidate);
+            mainWeight += candidate.weight;
+        }
+
+        /**
+         * Advances the clock hand over the main region and removes the next victim from
+         * it. After two full sweeps the hand takes the next live node regardless of its
+         * referenced flag, so that readers re-marking nodes cannot keep a writer spinning.
+         */
+        private Node<K> pollVictim() {
+            int budget = 2 * main.size();
+            while (true) {
+                Node<K> candidate = main.pollFirst();
+                if (candidate == null) {
+                    return null;
+                }
+                mainWeight -= candidate.weight;
+                if (!candidate.isAlive()) {
+                    continue;
+                }
+                if (candidate.referenced && budget-- > 0) {
+                    candidate.referenced = false;
+                    main.addLast(candidate);
+                    mainWeight += candidate.weight;
+                    continue;
+                }
+                return candidate;
+            }
+        }
+
+        private Node<K> pollWindow() {
+            Node<K> candidate;
+            while ((candidate = window.pollFirst()) != null) {
+                windowWeight -= candidate.weight;
+                if (candidate.isAlive()) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        private void evict(Node<K> node) {
+            if (timerWheel != null) {
+                timerWheel.deschedule(node);
+            }
+            if (removeNode(node)) {
+                cacheEvictions.incrementAndGet();
+            }
+        }
+
+        private boolean removeNode(Node<K> node) {
+            if (data.remove(node.key, node)) {
+                weightedSize.addAndGet(-node.weight);
+                node.retire();
+                return true;
+            }
+            return false;
+        }
+
+        private void removeLive(K key) {
+            Node<K> node = data.remove(key);
+            if (node != null) {
+                weightedSize.addAndGet(-node.weight);
+                node.retire();
+            }
+        }
+
+        private void purgeRetiredIfNeeded() {
+            if (window.size() + main.size() > 2 * data.size() + DEFAULT_INITIAL_CAPACITY) {
+                windowWeight -= removeRetired(window);
+                mainWeight -= removeRetired(main);
+            }
+        }
+
+        private long removeRetired(ArrayDeque<Node<K>> queue) {
+            long removedWeight = 0;
+            Iterator<Node<K>> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                Node<K> node = iterator.next();
+                if (!node.isAlive()) {
+                    removedWeight += node.weight;
+                    iterator.remove();
+                    if (timerWheel != null) {
+                        timerWheel.deschedule(node);
+                    }
+                }
+            }
+            return removedWeight;
+        }
+
+        @Override
+        public int size() {
+            return data.size();
+        }
+
+        @Override
+        public void clear() {
+            invalidateAll(key -> true);
+        }
+
+        @Override
+        public void invalidate(K key) {
+            removeLive(key);
+        }
+
+        @Override
+        public void invalidateAll(Predicate<K> predicate) {
+            for (Node<K> node : data.values()) {
+                if (predicate.test(node.key)) {
+                    removeNode(node);
+                }
+            }
+            cleanUp();
+        }
+
+        @Override
+        public void cleanUp() {
+            evictionLock.lock();
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * An immutable cache entry of the concurrent mode, plus its CLOCK state and the
+     * timestamps used by expiry and refresh.
+     */
+    private static final class Node<K> extends TimerWheel.Timer {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Node> REFRESHING =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "refreshing");
+
+        final K key;
+        final Object value;
+        final int weight;
+        final long writeTime;
+        volatile long accessTime;
+        volatile boolean referenced;
+        private volatile boolean alive = true;
+        private volatile int refreshing;
+
+        Node(K key, Object value, int weight, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = writeTime;
+            this.accessTime = writeTime;
+        }
+
+        void markReferenced() {
+            // Avoid a volatile write (and cache-line invalidation) when the flag is already set
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+
+        boolean isAlive() {
+            return alive;
+        }
+
+        void retire() {
+            alive = false;
+        }
+
+        boolean startRefresh() {
+            return refreshing == 0 && REFRESHING.compareAndSet(this, 0, 1);
+        }
+
+        void endRefresh() {
+            refreshing = 0;
+        }
+    }
+
+    /**
+     * Computes the weight of a cache entry for weight-bounded caches.
+     *
+     * <p>The weight is computed once, when the entry is stored, and must not be negative.
+     * Entries with weight zero are never evicted by the weight bound alone.
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+
+        /**
+         * Returns the weight of an entry.
+         *
+         * @param key the key of the entry
+         * @param value the value of the entry, which may be null
+         * @return the non-negative weight of the entry
+         */
+        int weigh(K key, V value);
+    }
+
+    /**
+     * A source of nanosecond timestamps for time-based expiry and refresh. Only the
+     * difference between two readings is meaningful, as with {@link System#nanoTime()}.
+     */
+    @FunctionalInterface
+    public interface Ticker {
+
+        /**
+         * Returns the current time, in nanoseconds.
+         *
+         * @return the current time
+         */
+        long read();
+    }
+
+    /**
+     * A value being computed in concurrent mode. Other threads asking for the same key
+     * wait on {@link #result}; a failed computation completes it exceptionally.
+     */
+    private static final class Computation {
+
+        final Thread owner = Thread.currentThread();
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+    }
+
+    /**
+     * Builder for {@link Cache} instances.
+     *
+     * @param <K> the type of keys maintained by the cache
+     * @param <V> the type of cached values
+     */
+    public static final class Builder<K, V> {
+
+        private int maximumSize = DEFAULT_MAX_CACHE_SIZE;
+        private boolean maximumSizeSet;
+        private long maximumWeight = -1;
+        private Weigher<? super K, ? super V> weigher;
+        private int initialCapacity = DEFAULT_INITIAL_CAPACITY;
+        private float loadFactor = DEFAULT_LOAD_FACTOR;
+        private boolean concurrent;
+        private boolean tinyLfu;
+        private long expireAfterWriteNanos = -1;
+        private long expireAfterAccessNanos = -1;
+        private long refreshAfterWriteNanos = -1;
+        private ParallelTaskExecutor refreshExecutor;
+        private Ticker ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of entries in the cache (default 10,000).
+         *
+         * @param maximumSize the maximum number of entries (must be positive)
+         * @return this builder
+         */
+        public Builder<K, V> maximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            this.maximumSizeSet = true;
+            return this;
+        }
+
+        /**
+         * Bounds the cache by the total weight of its entries instead of their number.
+         * Requires a {@link #weigher(Weigher) weigher}, cannot be combined with
+         * {@link #maximumSize(int)} and implies the {@linkplain #concurrent() concurrent mode}.
+         *
+         * @param maximumWeight the maximum total weight (must not be negative)
+         * @return this builder
+         * @throws IllegalArgumentException if maximumWeight is negative
+         */
+        public Builder<K, V> maximumWeight(long maximumWeight) {
+            if (maximumWeight < 0) {
+                throw new IllegalArgumentException("maximumWeight cannot be negative, got: " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            this.concurrent = true;
+            return this;
+        }
+
+        /**
+         * Sets the function computing the weight of each entry. Requires a
+         * {@link #maximumWeight(long) maximum weight}.
+         *
+         * @param weigher the weigher
+         * @return this builder
+         * @throws NullPointerException if weigher is null
+         */
+        public Builder<K, V> weigher(Weigher<? super K, ? super V> weigher) {
+            if (weigher == null) {
+                throw new NullPointerException("weigher cannot be null");
+            }
+            this.weigher = weigher;
+            this.concurrent = true;
+            return this;
+        }
+
+        /**
+         * Sets the initial capacity of the underlying map (default 16).
+         *
+         * @param initialCapacity the initial capacity (must be positive)
+         * @return this builder
+         */
+        public Builder<K, V> initialCapacity(int initialCapacity) {
+            this.initialCapacity = initialCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the load factor of the underlying map (default 0.75).
+         *
+         * @param loadFactor the load factor (must be in (0, 1))
+         * @return this builder
+         */
+        public Builder<K, V> loadFactor(float loadFactor) {
+            this.loadFactor = loadFactor;
+            return this;
+        }
+
+        /**
+         * Selects the concurrent mode: lock-free reads, per-key computation and
+         * approximate (CLOCK) LRU eviction.
+         *
+         * @return this builder
+         */
+        public Builder<K, V> concurrent() {
+            this.concurrent = true;
+            return this;
+        }
+
+        /**
+         * Enables the W-TinyLFU admission policy: a window holding 1% of the capacity in
+         * front of the main region, and a frequency sketch deciding whether an entry
+         * leaving the window may displace a main-region entry. Implies the
+         * {@linkplain #concurrent() concurrent mode}.
+         *
+         * @return this builder
+         */
+        public Builder<K, V> tinyLfuAdmission() {
+            this.tinyLfu = true;
+            this.concurrent = true;
+            return this;
+        }
+
+        /**
+         * Expires each entry once the given duration has passed since it was stored or
+         * last refreshed. Implies the {@linkplain #concurrent() concurrent mode}.
+         *
+         * @param duration the time to live (must not be negative)
+         * @param unit the unit of the duration
+         * @return this builder
+         * @throws IllegalArgumentException if duration is negative
+         * @throws NullPointerException if unit is null
+         */
+        public Builder<K, V> expireAfterWrite(long duration, TimeUnit unit) {
+            this.expireAfterWriteNanos = toNanos("expireAfterWrite", duration, unit);
+            this.concurrent = true;
+            return this;
+        }
+
+        /**
+         * Expires each entry once the given duration has passed since it was stored or
+         * last returned by {@link Cache#computeIfAbsent}. Implies the
+         * {@linkplain #concurrent() concurrent mode}.
+         *
+         * @param duration the idle time (must not be negative)
+         * @param unit the unit of the duration
+         * @return this builder
+         * @throws IllegalArgumentException if duration is negative
+         * @throws NullPointerException if unit is null
+         */
+        public Builder<K, V> expireAfterAccess(long duration, TimeUnit unit) {
+            this.expireAfterAccessNanos = toNanos("expireAfterAccess", duration, unit);
+            this.concurrent = true;
+            return this;
+        }
+
+        /**
+         * Reloads entries in the background once the given duration has passed since they
+         * were stored. The first read of a stale entry still returns the current value and
+         * schedules the caller's supplier on the {@linkplain #refreshExecutor refresh
+         * executor}; the reloaded value replaces the entry when it is ready. A failed
+         * reload keeps the current value. Implies the {@linkplain #concurrent() concurrent mode}.
+         *
+         * @param duration the time after which entries are reloaded (must not be negative)
+         * @param unit the unit of the duration
+         * @return this builder
+         * @throws IllegalArgumentException if duration is negative
+         * @throws NullPointerException if unit is null
+         */
+        public Builder<K, V> refreshAfterWrite(long duration, TimeUnit unit) {
+            this.refreshAfterWriteNanos = toNanos("refreshAfterWrite", duration, unit);
+            this.concurrent = true;
+            return this;
+        }
+
+        /**
+         * Sets the executor running background refreshes
+         * (default {@link ParallelTaskExecutor#getInstance()}).
+         *
+         * @param refreshExecutor the executor
+         * @return this builder
+         * @throws NullPointerException if refreshExecutor is null
+         */
+        public Builder<K, V> refreshExecutor(ParallelTaskExecutor refreshExecutor) {
+            if (refreshExecutor == null) {
+                throw new NullPointerException("refreshExecutor cannot be null");
+            }
+            this.refreshExecutor = refreshExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the time source for expiry and refresh (default {@link System#nanoTime()}).
+         *
+         * @param ticker the time source
+         * @return this builder
+         * @throws NullPointerException if ticker is null
+         */
+        public Builder<K, V> ticker(Ticker ticker) {
+            if (ticker == null) {
+                throw new NullPointerException("ticker cannot be null");
+            }
+            this.ticker = ticker;
+            return this;
+        }
+
+        private static long toNanos(String setting, long duration, TimeUnit unit) {
+            if (unit == null) {
+                throw new NullPointerException("unit cannot be null");
+            }
+            if (duration < 0) {
+                throw new IllegalArgumentException(setting + " cannot be negative, got: " + duration);
+            }
+            // Capped so that timestamp + duration can never overflow
+            return Math.min(unit.toNanos(duration), Long.MAX_VALUE >> 1);
+        }
+
+        /**
+         * Builds the cache.
+         *
+         * @return a new cache with the configured settings
+         * @throws IllegalArgumentException if any setting is invalid
+         * @throws IllegalStateException if maximumWeight and weigher are not set together,
+         * or if both maximumSize and maximumWeight are set
+         */
+        public Cache<K, V> build() {
+            return new Cache<>(this);
+        }
     }
 }
@@ -0,0 +1,616 @@
+package com.threeamigos.common.util.implementations.collections;
+
+import com.threeamigos.common.util.interfaces.collections.PriorityDeque;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Lock-free, thread-safe implementation of the {@link PriorityDeque} for small, fixed-range
+ * priorities (range limit is 0..31), meant for queues shared by many producers and consumers.<br/>
+ * It has the same layout as {@link BucketedPriorityDeque}: one deque per priority and a bitset
+ * of the non-empty buckets. Here each bucket is a {@link ConcurrentLinkedDeque} and the bitset
+ * is an {@link AtomicInteger}, so no operation ever takes a lock.<br/>
+ * <br/>
+ * How the mask stays consistent without locks:
+ * <ul>
+ * <li>Producers append to the bucket first, then set its bit (the bit is only written if it is not
+ * already set, so steady-state adds do not contend on the mask).</li>
+ * <li>A consumer that finds the highest marked bucket empty clears its bit, then checks the bucket
+ * again and restores the bit if a producer raced it. A set bit is therefore only a hint, and every
+ * element is always reachable through a set bit or through the consumer about to restore it.</li>
+ * <li>When the mask reads as empty while the element count does not, a poll falls back to scanning
+ * the buckets, so it never returns null while an element is present for its whole duration.</li>
+ * </ul>
+ * Each bucket is itself a linearizable deque: a poll takes the oldest (FIFO) or newest (LIFO)
+ * element of the highest bucket it observes as non-empty, and no element is ever returned twice.<br/>
+ * <br/>
+ * Complexity:
+ * <ul>
+ * <li>add: O(1), lock-free</li>
+ * <li>poll*: O(1) to find the highest non-empty bucket + O(1) to pop, lock-free</li>
+ * <li>size: O(1), may momentarily count elements whose add or poll is still in progress</li>
+ * <li>size(priority), contains, remove(t) and the bulk operations: O(n) on the buckets involved</li>
+ * </ul>
+ * Bulk operations (clear, removeAll, retainAll...) and iterators are weakly consistent: they are
+ * safe to use concurrently with other operations, but are not atomic.<br/>
+ * Use this variant if:
+ * <ul>
+ * <li>Priorities are known and limited (range limit is 0..31).</li>
+ * <li>Many threads add and poll concurrently, and a {@link SynchronizedPriorityDequeWrapper} around a
+ * {@link BucketedPriorityDeque} is a point of contention.</li>
+ * </ul>
+ *
+ * @param <T> type of the objects stored in the deque
+ *
+ * @author Stefano Reksten
+ */
+public class ConcurrentBucketedPriorityDeque<T> implements PriorityDeque<T> {
+
+    public static final int MIN_PRIORITY = BucketedPriorityDeque.MIN_PRIORITY;
+    public static final int MAX_PRIORITY = BucketedPriorityDeque.MAX_PRIORITY;
+
+    private final ConcurrentLinkedDeque<T>[] buckets;
+    private final int maxPriority; // inclusive
+    private final AtomicInteger nonEmptyMask = new AtomicInteger(); // bit i set => bucket i may have items
+    private final LongAdder elementCount = new LongAdder();
+
+    private volatile Policy policy;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentBucketedPriorityDeque(final int maxPriority, final @Nonnull Policy policy) {
+        validateConstructorPriority(maxPriority);
+        validatePolicy(policy);
+        this.maxPriority = maxPriority;
+        this.buckets = new ConcurrentLinkedDeque[maxPriority + 1];
+        for (int i = 0; i <= maxPriority; i++) {
+            buckets[i] = new ConcurrentLinkedDeque<>();
+        }
+        this.policy = policy;
+    }
+
+    public ConcurrentBucketedPriorityDeque(final int maxPriority) {
+        this(maxPriority, Policy.FIFO);
+    }
+
+    public ConcurrentBucketedPriorityDeque() {
+        this(MAX_PRIORITY);
+    }
+
+    @Override
+    public void setPolicy(final @Nonnull Policy policy) {
+        validatePolicy(policy);
+        this.policy = policy;
+    }
+
+    @Override
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public void add(final @Nonnull T t, final int priority) {
+        validateObject(t);
+        validatePriority(priority);
+        elementCount.increment();
+        buckets[priority].addLast(t);
+        markNotEmpty(priority);
+    }
+
+    @Override
+    public void addAll(@Nonnull Collection<T> iterable, int priority) {
+        validateCollection(iterable);
+        validatePriority(priority);
+        for (T t : iterable) {
+            validateObject(t);
+        }
+        ConcurrentLinkedDeque<T> q = buckets[priority];
+        boolean added = false;
+        for (T t : iterable) {
+            elementCount.increment();
+            q.addLast(t);
+            added = true;
+        }
+        if (added) {
+            markNotEmpty(priority);
+        }
+    }
+
+    @Override
+    public @Nullable T peek() {
+        return policy == Policy.FIFO ? peekFifo() : peekLifo();
+    }
+
+    @Override
+    public @Nullable T peekFifo() {
+        return takeHighest(true, false);
+    }
+
+    @Override
+    public @Nullable T peekLifo() {
+        return takeHighest(false, false);
+    }
+
+    @Override
+    public @Nullable T poll() {
+        return policy == Policy.FIFO ? pollFifo() : pollLifo();
+    }
+
+    @Override
+    public @Nullable T pollFifo() {
+        return takeHighest(true, true);
+    }
+
+    @Override
+    public @Nullable T pollLifo() {
+        return takeHighest(false, true);
+    }
+
+    /**
+     * Peeks or polls the head (FIFO) or tail (LIFO) of the highest non-empty bucket.
+     */
+    private @Nullable T takeHighest(final boolean fifo, final boolean remove) {
+        while (true) {
+            int mask = nonEmptyMask.get();
+            if (mask == 0) {
+                return elementCount.sum() == 0 ? null : scan(fifo, remove);
+            }
+            int p = 31 - Integer.numberOfLeadingZeros(mask);
+            T t = take(p, fifo, remove);
+            if (t != null) {
+                return t;
+            }
+            markEmptyIfEmpty(p);
+        }
+    }
+
+    /**
+     * Slow path for the window in which a consumer has cleared a bucket's bit and not yet
+     * restored it: visits the buckets directly, highest first.
+     */
+    private @Nullable T scan(final boolean fifo, final boolean remove) {
+        for (int p = maxPriority; p >= MIN_PRIORITY; p--) {
+            T t = take(p, fifo, remove);
+            if (t != null) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    private @Nullable T take(final int priority, final boolean fifo, final boolean remove) {
+        ConcurrentLinkedDeque<T> q = buckets[priority];
+        if (!remove) {
+            return fifo ? q.peekFirst() : q.peekLast();
+        }
+        T t = fifo ? q.pollFirst() : q.pollLast();
+        if (t != null) {
+            elementCount.decrement();
+            if (q.isEmpty()) {
+                markEmptyIfEmpty(priority);
+            }
+        }
+        return t;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (nonEmptyMask.get() != 0) {
+            return false;
+        }
+        for (ConcurrentLinkedDeque<T> q : buckets) {
+            if (!q.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, elementCount.sum()));
+    }
+
+    @Override
+    public boolean contains(final @Nullable T t) {
+        if (t == null) {
+            return false;
+        }
+        for (ConcurrentLinkedDeque<T> q : buckets) {
+            if (q.contains(t)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsAll(final @Nonnull Collection<T> iterable) {
+        validateCollection(iterable);
+        for (T t : iterable) {
+            if (!contains(t)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i <= maxPriority; i++) {
+            clear(i);
+        }
+    }
+
+    @Override
+    public void clear(final @Nonnull Function<T, Boolean> filteringFunction) {
+        validateFilteringFunction(filteringFunction);
+        for (int i = 0; i <= maxPriority; i++) {
+            removeMatching(i, filteringFunction);
+        }
+    }
+
+    @Override
+    public boolean remove() {
+        T t = poll();
+        if (t == null) {
+            throw new NoSuchElementException();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(final @Nullable T t) {
+        if (t == null) {
+            return false;
+        }
+        for (int i = maxPriority; i >= MIN_PRIORITY; i--) {
+            if (removeOccurrence(t, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(final @Nonnull Collection<T> iterable) {
+        validateCollection(iterable);
+        boolean result = false;
+        for (T t : iterable) {
+            if (remove(t)) {
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean retainAll(final @Nonnull Collection<T> iterable) {
+        validateCollection(iterable);
+        boolean result = false;
+        for (int i = 0; i <= maxPriority; i++) {
+            if (removeMatching(i, t -> !iterable.contains(t))) {
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @Nonnull List<T> toList() {
+        List<T> result = new ArrayList<>();
+        boolean fifo = policy == Policy.FIFO;
+        for (int i = maxPriority; i >= MIN_PRIORITY; i--) {
+            ConcurrentLinkedDeque<T> bucket = buckets[i];
+            if (fifo) {
+                result.addAll(bucket);
+            } else {
+                bucket.descendingIterator().forEachRemaining(result::add);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @Nonnull Iterator<T> iterator() {
+        return new PriorityIterator();
+    }
+
+    @Override
+    public int getHighestNotEmptyPriority() {
+        int mask = nonEmptyMask.get();
+        if (mask == 0) return -1;
+        return 31 - Integer.numberOfLeadingZeros(mask);
+    }
+
+    @Override
+    public @Nullable T peek(final int priority) {
+        validatePriority(priority);
+        return policy == Policy.FIFO ? peekFifo(priority) : peekLifo(priority);
+    }
+
+    @Override
+    public @Nullable T peekFifo(final int priority) {
+        validatePriority(priority);
+        return buckets[priority].peekFirst();
+    }
+
+    @Override
+    public @Nullable T peekLifo(final int priority) {
+        validatePriority(priority);
+        return buckets[priority].peekLast();
+    }
+
+    @Override
+    public @Nullable T poll(final int priority) {
+        validatePriority(priority);
+        return policy == Policy.FIFO ? pollFifo(priority) : pollLifo(priority);
+    }
+
+    @Override
+    public @Nullable T pollFifo(final int priority) {
+        validatePriority(priority);
+        return take(priority, true, true);
+    }
+
+    @Override
+    public @Nullable T pollLifo(final int priority) {
+        validatePriority(priority);
+        return take(priority, false, true);
+    }
+
+    @Override
+    public boolean isEmpty(final int priority) {
+        validatePriority(priority);
+        return buckets[priority].isEmpty();
+    }
+
+    @Override
+    public int size(int priority) {
+        validatePriority(priority);
+        return buckets[priority].size();
+    }
+
+    @Override
+    public boolean contains(final @Nullable T t, final int priority) {
+        validatePriority(priority);
+        if (t == null) {
+            return false;
+        }
+        return buckets[priority].contains(t);
+    }
+
+    @Override
+    public boolean containsAll(final @Nonnull Collection<T> iterable, final int priority) {
+        validateCollection(iterable);
+        validatePriority(priority);
+        return buckets[priority].containsAll(iterable);
+    }
+
+    @Override
+    public void clear(final int priority) {
+        validatePriority(priority);
+        ConcurrentLinkedDeque<T> q = buckets[priority];
+        while (q.pollFirst() != null) {
+            elementCount.decrement();
+        }
+        markEmptyIfEmpty(priority);
+    }
+
+    @Override
+    public void clear(final @Nonnull Function<T, Boolean> filteringFunction, final int priority) {
+        validateFilteringFunction(filteringFunction);
+        validatePriority(priority);
+        removeMatching(priority, filteringFunction);
+    }
+
+    @Override
+    public boolean remove(final int priority) {
+        validatePriority(priority);
+        T t = poll(priority);
+        if (t == null) {
+            throw new NoSuchElementException();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(final @Nullable T t, final int priority) {
+        validatePriority(priority);
+        if (t == null) {
+            return false;
+        }
+        return removeOccurrence(t, priority);
+    }
+
+    @Override
+    public boolean removeAll(final @Nonnull Collection<T> iterable, final int priority) {
+        validateCollection(iterable);
+        validatePriority(priority);
+        return removeMatching(priority, iterable::contains);
+    }
+
+    @Override
+    public boolean retainAll(@Nonnull Collection<T> iterable, int priority) {
+        validateCollection(iterable);
+        validatePriority(priority);
+        return removeMatching(priority, t -> !iterable.contains(t));
+    }
+
+    @Override
+    public @Nonnull List<T> toList(int priority) {
+        validatePriority(priority);
+        return new ArrayList<>(buckets[priority]);
+    }
+
+    @Override
+    public @Nonnull Iterator<T> iterator(int priority) {
+        validatePriority(priority);
+        return new PriorityIterator(priority);
+    }
+
+    private boolean removeOccurrence(final T t, final int priority) {
+        ConcurrentLinkedDeque<T> q = buckets[priority];
+        if (q.removeFirstOccurrence(t)) {
+            elementCount.decrement();
+            if (q.isEmpty()) {
+                markEmptyIfEmpty(priority);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the matching elements of a bucket one by one, so that each removal is counted
+     * only if it actually happened (a concurrent poll may take an element first).
+     */
+    private boolean removeMatching(final int priority, final Function<T, Boolean> filteringFunction) {
+        boolean removed = false;
+        for (T t : buckets[priority]) {
+            if (filteringFunction.apply(t) && removeOccurrence(t, priority)) {
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    private void markNotEmpty(final int priority) {
+        int bit = 1 << priority;
+        int mask;
+        while (((mask = nonEmptyMask.get()) & bit) == 0) {
+            if (nonEmptyMask.compareAndSet(mask, mask | bit)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Clears the bit of a bucket that looks empty, then restores it if a producer added an
+     * element in the meantime (the producer may have seen the bit still set and skipped it).
+     */
+    private void markEmptyIfEmpty(final int priority) {
+        int bit = 1 << priority;
+        ConcurrentLinkedDeque<T> q = buckets[priority];
+        while (q.isEmpty()) {
+            int mask = nonEmptyMask.get();
+            if ((mask & bit) == 0) {
+                return;
+            }
+            if (nonEmptyMask.compareAndSet(mask, mask & ~bit)) {
+                if (!q.isEmpty()) {
+                    markNotEmpty(priority);
+                }
+                return;
+            }
+        }
+    }
+
+    private class PriorityIterator implements Iterator<T> {
+        private int currentBucketIndex;
+        private Iterator<T> currentDequeIterator;
+        private T lastReturned;
+        private int lastReturnedPriority;
+        private final boolean singlePriority;
+
+        PriorityIterator() {
+            // bucket index will be decremented as the first thing
+            this.currentBucketIndex = maxPriority + 1;
+            this.singlePriority = false;
+        }
+
+        PriorityIterator(int fixedPriority) {
+            this.currentBucketIndex = fixedPriority;
+            this.singlePriority = true;
+            this.currentDequeIterator = newDequeIterator(fixedPriority);
+        }
+
+        private Iterator<T> newDequeIterator(int priority) {
+            return policy == Policy.FIFO
+                    ? buckets[priority].iterator()
+                    : buckets[priority].descendingIterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (singlePriority) {
+                return currentDequeIterator.hasNext();
+            }
+            while (currentDequeIterator == null || !currentDequeIterator.hasNext()) {
+                if (currentBucketIndex <= MIN_PRIORITY) {
+                    return false;
+                }
+                currentBucketIndex--;
+                currentDequeIterator = newDequeIterator(currentBucketIndex);
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = currentDequeIterator.next();
+            lastReturnedPriority = currentBucketIndex;
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            // Removing through the deque keeps the count exact if a consumer polled the element first
+            removeOccurrence(lastReturned, lastReturnedPriority);
+            lastReturned = null;
+        }
+    }
+
+    private void validatePolicy(@Nonnull Policy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy cannot be null");
+        }
+    }
+
+    private void validateConstructorPriority(int priority) {
+        if (priority < MIN_PRIORITY) {
+            throw new IllegalArgumentException("Priority must be non-negative, got: " + priority);
+        }
+        if (priority > MAX_PRIORITY) {
+            throw new IllegalArgumentException("Priority must be between " + MIN_PRIORITY + " and " + MAX_PRIORITY + ", got: " + priority);
+        }
+    }
+
+    private void validatePriority(int priority) {
+        if (priority < MIN_PRIORITY) {
+            throw new IllegalArgumentException("Priority must be non-negative, got: " + priority);
+        }
+        if (priority > maxPriority) {
+            throw new IllegalArgumentException("Priority must be between " + MIN_PRIORITY + " and " + maxPriority + ", got: " + priority);
+        }
+    }
+
+    void validateObject(T object) {
+        if (object == null) {
+            throw new IllegalArgumentException("Object cannot be null");
+        }
+    }
+
+    void validateCollection(Collection<T> collection) {
+        if (collection == null) {
+            throw new IllegalArgumentException("Collection cannot be null");
+        }
+    }
+
+    void validateFilteringFunction(Function<T, Boolean> filteringFunction) {
+        if (filteringFunction == null) {
+            throw new IllegalArgumentException("Filtering function cannot be null");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.threeamigos.common.util.implementations.collections;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A probabilistic popularity estimate used by the W-TinyLFU admission policy of {@link Cache}.
+ *
+ * <p>This is a count-min sketch of 4-bit counters packed sixteen to a {@code long}. Each key
+ * maps to four counters, one per hash function, and its frequency is the minimum of them.
+ * When the number of recorded increments reaches ten times the table length, every counter
+ * is halved, so that the sketch follows recent popularity rather than all-time totals.
+ *
+ * <p>Thread-safety: increments are lock-free and deliberately lossy. Each counter is bumped
+ * with a single compare-and-set attempt; when the attempt fails under contention the
+ * increment is dropped. The key competing for that word is by definition being accessed,
+ * so an occasional lost increment does not change which of two keys looks more popular.
+ *
+ * @author Stefano Reksten
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long COUNTER_MASK = 0xfL;
+    private static final int MIN_TABLE_LENGTH = 16;
+    private static final int MAX_TABLE_LENGTH = 1 << 24;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /**
+     * Creates a sketch sized for a cache holding about {@code expectedEntries} entries.
+     *
+     * @param expectedEntries the expected number of entries (values below 16 use 16)
+     */
+    FrequencySketch(long expectedEntries) {
+        int length = MIN_TABLE_LENGTH;
+        while (length < expectedEntries && length < MAX_TABLE_LENGTH) {
+            length <<= 1;
+        }
+        table = new AtomicLongArray(length);
+        tableMask = length - 1;
+        sampleSize = 10 * length;
+    }
+
+    /**
+     * Returns the estimated number of recent occurrences of the key, between 0 and 15.
+     *
+     * @param key the key to look up
+     * @return the estimated frequency
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = (int) COUNTER_MASK;
+        for (int i = 0; i < 4; i++) {
+            int offset = (start + i) << 2;
+            int count = (int) ((table.get(indexOf(hash, i)) >>> offset) & COUNTER_MASK);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records one occurrence of the key. Counters saturate at 15.
+     *
+     * @param key the key being accessed
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), (start + i) << 2);
+        }
+        if (added && additions.incrementAndGet() == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        long mask = COUNTER_MASK << offset;
+        long current = table.get(index);
+        if ((current & mask) == mask) {
+            return false;
+        }
+        return table.compareAndSet(index, current, current + (1L << offset));
+    }
+
+    /**
+     * Halves every counter, aging out popularity that is no longer recent.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length(); i++) {
+            long current;
+            do {
+                current = table.get(i);
+            } while (!table.compareAndSet(i, current, (current >>> 1) & RESET_MASK));
+        }
+        additions.addAndGet(-(sampleSize >>> 1));
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
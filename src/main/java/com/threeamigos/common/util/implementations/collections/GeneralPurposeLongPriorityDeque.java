@@ -0,0 +1,821 @@
+package com.threeamigos.common.util.implementations.collections;
+
+import com.threeamigos.common.util.interfaces.collections.LongPriorityDeque;
+import com.threeamigos.common.util.interfaces.collections.PriorityDeque.Policy;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * General-purpose implementation of a {@link LongPriorityDeque} (arbitrary priority longs, such as
+ * epoch-millis deadlines).<br/>
+ * Priorities are never boxed and elements are never wrapped in nodes: all the state lives in
+ * primitive and object arrays that grow on demand and are reused.
+ * <ul>
+ * <li>Each distinct priority owns a bucket: a power-of-two ring buffer of elements, so that both
+ * ends can be polled (FIFO and LIFO) in constant time.</li>
+ * <li>An open-addressing hash table of primitive longs maps a priority to its bucket.</li>
+ * <li>An indexed binary max-heap of the buckets in use, ordered by priority, yields the highest
+ * non-empty priority; each bucket remembers its heap position, so an emptied bucket leaves the
+ * heap in O(log P).</li>
+ * <li>Emptied buckets go to a free list and their ring buffers are reused by the next new priority.</li>
+ * </ul>
+ * <b>NOTE:</b> This implementation is not thread-safe. Guard it externally when it is shared.<br/>
+ * <br/>
+ * Complexity (P = number of distinct priorities in the deque):
+ * <ul>
+ * <li>add: O(1) to an existing priority, O(log P) for a new priority (amortized O(1) per element inside the bucket).</li>
+ * <li>poll*: O(1) to find the highest priority + O(1) to pop, plus O(log P) when the bucket becomes empty.</li>
+ * <li>peek/poll/size by priority: O(1) expected.</li>
+ * </ul>
+ * Switch between FIFO and LIFO on the fly by calling the respective poll* method—no data rebuild required.<br/>
+ * Use this variant if:
+ * <ul>
+ * <li>Priorities do not fit an int, or are timestamps/deadlines (use the negated deadline to serve the earliest first).</li>
+ * <li>You want to avoid the boxing and per-entry allocations of a {@link TreeMap} of priorities.</li>
+ * </ul>
+ *
+ * @param <T> type of the objects stored in the deque
+ *
+ * @author Stefano Reksten
+ */
+public class GeneralPurposeLongPriorityDeque<T> implements LongPriorityDeque<T> {
+
+    private static final int INITIAL_BUCKETS = 16;
+    private static final int INITIAL_BUCKET_CAPACITY = 8;
+    private static final int MAX_RETAINED_BUCKET_CAPACITY = 1024;
+    private static final int NO_BUCKET = -1;
+
+    // Buckets, addressed by index; indexes below allocatedBuckets are either in use or in the free list
+    private long[] bucketPriorities = new long[INITIAL_BUCKETS];
+    private Object[][] bucketElements = new Object[INITIAL_BUCKETS][];
+    private int[] bucketHeads = new int[INITIAL_BUCKETS];
+    private int[] bucketSizes = new int[INITIAL_BUCKETS];
+    private int[] bucketHeapPositions = new int[INITIAL_BUCKETS];
+    private int[] freeBuckets = new int[INITIAL_BUCKETS];
+    private int freeCount = 0;
+    private int allocatedBuckets = 0;
+
+    // Priority -> bucket index, linear probing, kept at most half full
+    private long[] tableKeys = new long[INITIAL_BUCKETS * 2];
+    private int[] tableBuckets = newTable(INITIAL_BUCKETS * 2);
+
+    // Max-heap of the indexes of the buckets in use, ordered by priority
+    private int[] heap = new int[INITIAL_BUCKETS];
+    private int heapSize = 0;
+
+    private Policy policy;
+    private int elementCount = 0;
+
+    public GeneralPurposeLongPriorityDeque() {
+        this.policy = Policy.FIFO;
+    }
+
+    public GeneralPurposeLongPriorityDeque(final Policy policy) {
+        validatePolicy(policy);
+        this.policy = policy;
+    }
+
+    @Override
+    public void setPolicy(@Nonnull final Policy policy) {
+        validatePolicy(policy);
+        this.policy = policy;
+    }
+
+    @Override
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public void add(@Nonnull final T t, final long priority) {
+        validateObject(t);
+        int b = findBucket(priority);
+        if (b == NO_BUCKET) {
+            b = allocateBucket(priority);
+        }
+        addLast(b, t);
+    }
+
+    @Override
+    public void addAll(@Nonnull final Collection<T> iterable, final long priority) {
+        validateCollection(iterable);
+        for (T t : iterable) {
+            validateObject(t);
+        }
+        if (iterable.isEmpty()) {
+            return;
+        }
+        int b = findBucket(priority);
+        if (b == NO_BUCKET) {
+            b = allocateBucket(priority);
+        }
+        for (T t : iterable) {
+            addLast(b, t);
+        }
+    }
+
+    @Override
+    public @Nullable T peek() {
+        return policy == Policy.FIFO ? peekFifo() : peekLifo();
+    }
+
+    @Override
+    public @Nullable T peekFifo() {
+        return heapSize == 0 ? null : peekFirst(heap[0]);
+    }
+
+    @Override
+    public @Nullable T peekLifo() {
+        return heapSize == 0 ? null : peekLast(heap[0]);
+    }
+
+    @Override
+    public @Nullable T poll() {
+        return policy == Policy.FIFO ? pollFifo() : pollLifo();
+    }
+
+    @Override
+    public @Nullable T pollFifo() {
+        return heapSize == 0 ? null : pollFirst(heap[0]);
+    }
+
+    @Override
+    public @Nullable T pollLifo() {
+        return heapSize == 0 ? null : pollLast(heap[0]);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elementCount == 0;
+    }
+
+    @Override
+    public int size() {
+        return elementCount;
+    }
+
+    @Override
+    public boolean contains(@Nullable final T t) {
+        if (t == null) {
+            return false;
+        }
+        for (int i = 0; i < heapSize; i++) {
+            if (indexOf(heap[i], t) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsAll(@Nonnull final Collection<T> iterable) {
+        validateCollection(iterable);
+        for (T t : iterable) {
+            if (!contains(t)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < heapSize; i++) {
+            int b = heap[i];
+            Arrays.fill(bucketElements[b], null);
+            shrinkIfOversized(b);
+        }
+        Arrays.fill(tableBuckets, NO_BUCKET);
+        heapSize = 0;
+        freeCount = 0;
+        allocatedBuckets = 0;
+        elementCount = 0;
+    }
+
+    @Override
+    public void clear(@Nonnull final Function<T, Boolean> filteringFunction) {
+        validateFilteringFunction(filteringFunction);
+        for (int b : bucketsInUse()) {
+            removeIf(b, filteringFunction::apply);
+        }
+    }
+
+    @Override
+    public boolean remove() {
+        T t = poll();
+        if (t == null) {
+            throw new NoSuchElementException();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(@Nullable final T t) {
+        if (t == null) {
+            return false;
+        }
+        for (int i = 0; i < heapSize; i++) {
+            int b = heap[i];
+            int index = indexOf(b, t);
+            if (index >= 0) {
+                removeAt(b, index);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(@Nonnull final Collection<T> iterable) {
+        validateCollection(iterable);
+        boolean result = false;
+        for (T t : iterable) {
+            if (remove(t)) {
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean retainAll(@Nonnull final Collection<T> iterable) {
+        validateCollection(iterable);
+        boolean result = false;
+        for (int b : bucketsInUse()) {
+            if (removeIf(b, t -> !iterable.contains(t))) {
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @Nonnull List<T> toList() {
+        List<T> result = new ArrayList<>(elementCount);
+        boolean fifo = policy == Policy.FIFO;
+        for (long priority : prioritiesDescending()) {
+            copyTo(findBucket(priority), fifo, result);
+        }
+        return result;
+    }
+
+    @Override
+    public @Nonnull Iterator<T> iterator() {
+        return new PriorityIterator(prioritiesDescending());
+    }
+
+    @Override
+    public long getHighestNotEmptyPriority() {
+        return heapSize == 0 ? Long.MIN_VALUE : bucketPriorities[heap[0]];
+    }
+
+    @Override
+    public @Nullable T peek(final long priority) {
+        return policy == Policy.FIFO ? peekFifo(priority) : peekLifo(priority);
+    }
+
+    @Override
+    public @Nullable T peekFifo(final long priority) {
+        int b = findBucket(priority);
+        return b == NO_BUCKET ? null : peekFirst(b);
+    }
+
+    @Override
+    public @Nullable T peekLifo(final long priority) {
+        int b = findBucket(priority);
+        return b == NO_BUCKET ? null : peekLast(b);
+    }
+
+    @Override
+    public @Nullable T poll(final long priority) {
+        return policy == Policy.FIFO ? pollFifo(priority) : pollLifo(priority);
+    }
+
+    @Override
+    public @Nullable T pollFifo(final long priority) {
+        int b = findBucket(priority);
+        return b == NO_BUCKET ? null : pollFirst(b);
+    }
+
+    @Override
+    public @Nullable T pollLifo(final long priority) {
+        int b = findBucket(priority);
+        return b == NO_BUCKET ? null : pollLast(b);
+    }
+
+    @Override
+    public boolean isEmpty(final long priority) {
+        return findBucket(priority) == NO_BUCKET;
+    }
+
+    @Override
+    public int size(final long priority) {
+        int b = findBucket(priority);
+        return b == NO_BUCKET ? 0 : bucketSizes[b];
+    }
+
+    @Override
+    public boolean contains(@Nullable final T t, final long priority) {
+        if (t == null) {
+            return false;
+        }
+        int b = findBucket(priority);
+        return b != NO_BUCKET && indexOf(b, t) >= 0;
+    }
+
+    @Override
+    public boolean containsAll(@Nonnull final Collection<T> iterable, final long priority) {
+        validateCollection(iterable);
+        for (T t : iterable) {
+            if (!contains(t, priority)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear(final long priority) {
+        int b = findBucket(priority);
+        if (b != NO_BUCKET) {
+            removeIf(b, t -> true);
+        }
+    }
+
+    @Override
+    public void clear(@Nonnull final Function<T, Boolean> filteringFunction, final long priority) {
+        validateFilteringFunction(filteringFunction);
+        int b = findBucket(priority);
+        if (b != NO_BUCKET) {
+            removeIf(b, filteringFunction::apply);
+        }
+    }
+
+    @Override
+    public boolean remove(final long priority) {
+        T t = poll(priority);
+        if (t == null) {
+            throw new NoSuchElementException();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(@Nullable final T t, final long priority) {
+        if (t == null) {
+            return false;
+        }
+        int b = findBucket(priority);
+        if (b == NO_BUCKET) {
+            return false;
+        }
+        int index = indexOf(b, t);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(b, index);
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(@Nonnull final Collection<T> iterable, final long priority) {
+        validateCollection(iterable);
+        int b = findBucket(priority);
+        return b != NO_BUCKET && removeIf(b, iterable::contains);
+    }
+
+    @Override
+    public boolean retainAll(@Nonnull final Collection<T> iterable, final long priority) {
+        validateCollection(iterable);
+        int b = findBucket(priority);
+        return b != NO_BUCKET && removeIf(b, t -> !iterable.contains(t));
+    }
+
+    @Override
+    public @Nonnull List<T> toList(final long priority) {
+        int b = findBucket(priority);
+        if (b == NO_BUCKET) {
+            return new ArrayList<>();
+        }
+        List<T> result = new ArrayList<>(bucketSizes[b]);
+        copyTo(b, true, result);
+        return result;
+    }
+
+    @Override
+    public @Nonnull Iterator<T> iterator(final long priority) {
+        return new PriorityIterator(new long[]{priority});
+    }
+
+    // Bucket ring buffers
+
+    private void addLast(final int b, final T t) {
+        Object[] elements = bucketElements[b];
+        int size = bucketSizes[b];
+        if (size == elements.length) {
+            elements = growBucket(b);
+        }
+        elements[(bucketHeads[b] + size) & (elements.length - 1)] = t;
+        bucketSizes[b] = size + 1;
+        elementCount++;
+    }
+
+    private Object[] growBucket(final int b) {
+        Object[] elements = bucketElements[b];
+        Object[] grown = new Object[elements.length << 1];
+        int head = bucketHeads[b];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, head);
+        bucketElements[b] = grown;
+        bucketHeads[b] = 0;
+        return grown;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(final int b, final int index) {
+        Object[] elements = bucketElements[b];
+        return (T) elements[(bucketHeads[b] + index) & (elements.length - 1)];
+    }
+
+    private void set(final int b, final int index, final Object value) {
+        Object[] elements = bucketElements[b];
+        elements[(bucketHeads[b] + index) & (elements.length - 1)] = value;
+    }
+
+    private T peekFirst(final int b) {
+        return get(b, 0);
+    }
+
+    private T peekLast(final int b) {
+        return get(b, bucketSizes[b] - 1);
+    }
+
+    private T pollFirst(final int b) {
+        T t = get(b, 0);
+        set(b, 0, null);
+        bucketHeads[b] = (bucketHeads[b] + 1) & (bucketElements[b].length - 1);
+        removed(b, 1);
+        return t;
+    }
+
+    private T pollLast(final int b) {
+        int last = bucketSizes[b] - 1;
+        T t = get(b, last);
+        set(b, last, null);
+        removed(b, 1);
+        return t;
+    }
+
+    private int indexOf(final int b, final Object t) {
+        int size = bucketSizes[b];
+        for (int i = 0; i < size; i++) {
+            if (t.equals(get(b, i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(final int b, final int index) {
+        int last = bucketSizes[b] - 1;
+        for (int i = index; i < last; i++) {
+            set(b, i, get(b, i + 1));
+        }
+        set(b, last, null);
+        removed(b, 1);
+    }
+
+    /**
+     * Removes the matching elements of a bucket, compacting the survivors in place.
+     */
+    private boolean removeIf(final int b, final Predicate<T> filter) {
+        int size = bucketSizes[b];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            T t = get(b, i);
+            if (!filter.test(t)) {
+                set(b, kept++, t);
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            set(b, i, null);
+        }
+        if (kept == size) {
+            return false;
+        }
+        removed(b, size - kept);
+        return true;
+    }
+
+    private void removed(final int b, final int count) {
+        bucketSizes[b] -= count;
+        elementCount -= count;
+        if (bucketSizes[b] == 0) {
+            releaseBucket(b);
+        }
+    }
+
+    private void copyTo(final int b, final boolean fifo, final List<T> result) {
+        int size = bucketSizes[b];
+        if (fifo) {
+            for (int i = 0; i < size; i++) {
+                result.add(get(b, i));
+            }
+        } else {
+            for (int i = size - 1; i >= 0; i--) {
+                result.add(get(b, i));
+            }
+        }
+    }
+
+    // Bucket allocation
+
+    private int allocateBucket(final long priority) {
+        int b;
+        if (freeCount > 0) {
+            b = freeBuckets[--freeCount];
+        } else {
+            if (allocatedBuckets == bucketPriorities.length) {
+                growBuckets();
+            }
+            b = allocatedBuckets++;
+        }
+        bucketPriorities[b] = priority;
+        bucketHeads[b] = 0;
+        bucketSizes[b] = 0;
+        if (bucketElements[b] == null) {
+            bucketElements[b] = new Object[INITIAL_BUCKET_CAPACITY];
+        }
+        tableInsert(priority, b);
+        heapInsert(b);
+        return b;
+    }
+
+    private void releaseBucket(final int b) {
+        heapRemove(b);
+        tableRemove(bucketPriorities[b]);
+        shrinkIfOversized(b);
+        bucketHeads[b] = 0;
+        freeBuckets[freeCount++] = b;
+    }
+
+    private void shrinkIfOversized(final int b) {
+        // Do not let one burst at a single priority pin a large array forever
+        if (bucketElements[b].length > MAX_RETAINED_BUCKET_CAPACITY) {
+            bucketElements[b] = new Object[INITIAL_BUCKET_CAPACITY];
+        }
+    }
+
+    private void growBuckets() {
+        int capacity = bucketPriorities.length << 1;
+        bucketPriorities = Arrays.copyOf(bucketPriorities, capacity);
+        bucketElements = Arrays.copyOf(bucketElements, capacity);
+        bucketHeads = Arrays.copyOf(bucketHeads, capacity);
+        bucketSizes = Arrays.copyOf(bucketSizes, capacity);
+        bucketHeapPositions = Arrays.copyOf(bucketHeapPositions, capacity);
+        freeBuckets = Arrays.copyOf(freeBuckets, capacity);
+        heap = Arrays.copyOf(heap, capacity);
+    }
+
+    private int[] bucketsInUse() {
+        return Arrays.copyOf(heap, heapSize);
+    }
+
+    private long[] prioritiesDescending() {
+        long[] priorities = new long[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            priorities[i] = bucketPriorities[heap[i]];
+        }
+        Arrays.sort(priorities);
+        for (int i = 0, j = priorities.length - 1; i < j; i++, j--) {
+            long swap = priorities[i];
+            priorities[i] = priorities[j];
+            priorities[j] = swap;
+        }
+        return priorities;
+    }
+
+    // Priority hash table
+
+    private static int[] newTable(final int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, NO_BUCKET);
+        return table;
+    }
+
+    private static int hash(final long priority) {
+        long h = priority * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int findBucket(final long priority) {
+        int mask = tableBuckets.length - 1;
+        int i = hash(priority) & mask;
+        while (true) {
+            int b = tableBuckets[i];
+            if (b == NO_BUCKET || tableKeys[i] == priority) {
+                return b;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void tableInsert(final long priority, final int b) {
+        if ((heapSize + 1) * 2 > tableBuckets.length) {
+            rehash(tableBuckets.length << 1);
+        }
+        int mask = tableBuckets.length - 1;
+        int i = hash(priority) & mask;
+        while (tableBuckets[i] != NO_BUCKET) {
+            i = (i + 1) & mask;
+        }
+        tableKeys[i] = priority;
+        tableBuckets[i] = b;
+    }
+
+    /**
+     * Removes a priority with backward-shift deletion, so that no tombstones are ever left behind.
+     */
+    private void tableRemove(final long priority) {
+        int mask = tableBuckets.length - 1;
+        int i = hash(priority) & mask;
+        while (tableKeys[i] != priority || tableBuckets[i] == NO_BUCKET) {
+            i = (i + 1) & mask;
+        }
+        tableBuckets[i] = NO_BUCKET;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (tableBuckets[j] == NO_BUCKET) {
+                return;
+            }
+            int home = hash(tableKeys[j]) & mask;
+            // The entry at j may fill the hole at i only if i lies on its probe path
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                tableKeys[i] = tableKeys[j];
+                tableBuckets[i] = tableBuckets[j];
+                tableBuckets[j] = NO_BUCKET;
+                i = j;
+            }
+        }
+    }
+
+    private void rehash(final int capacity) {
+        long[] oldKeys = tableKeys;
+        int[] oldBuckets = tableBuckets;
+        tableKeys = new long[capacity];
+        tableBuckets = newTable(capacity);
+        int mask = capacity - 1;
+        for (int k = 0; k < oldBuckets.length; k++) {
+            if (oldBuckets[k] != NO_BUCKET) {
+                int i = hash(oldKeys[k]) & mask;
+                while (tableBuckets[i] != NO_BUCKET) {
+                    i = (i + 1) & mask;
+                }
+                tableKeys[i] = oldKeys[k];
+                tableBuckets[i] = oldBuckets[k];
+            }
+        }
+    }
+
+    // Indexed max-heap of buckets
+
+    private void heapInsert(final int b) {
+        heap[heapSize] = b;
+        siftUp(heapSize++);
+    }
+
+    private void heapRemove(final int b) {
+        int position = bucketHeapPositions[b];
+        int last = heap[--heapSize];
+        if (position != heapSize) {
+            heap[position] = last;
+            bucketHeapPositions[last] = position;
+            siftDown(position);
+            siftUp(bucketHeapPositions[last]);
+        }
+    }
+
+    private void siftUp(int position) {
+        int b = heap[position];
+        long priority = bucketPriorities[b];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentBucket = heap[parent];
+            if (bucketPriorities[parentBucket] >= priority) {
+                break;
+            }
+            heap[position] = parentBucket;
+            bucketHeapPositions[parentBucket] = position;
+            position = parent;
+        }
+        heap[position] = b;
+        bucketHeapPositions[b] = position;
+    }
+
+    private void siftDown(int position) {
+        int b = heap[position];
+        long priority = bucketPriorities[b];
+        int half = heapSize >>> 1;
+        while (position < half) {
+            int child = (position << 1) + 1;
+            int childBucket = heap[child];
+            int right = child + 1;
+            if (right < heapSize && bucketPriorities[heap[right]] > bucketPriorities[childBucket]) {
+                child = right;
+                childBucket = heap[child];
+            }
+            if (priority >= bucketPriorities[childBucket]) {
+                break;
+            }
+            heap[position] = childBucket;
+            bucketHeapPositions[childBucket] = position;
+            position = child;
+        }
+        heap[position] = b;
+        bucketHeapPositions[b] = position;
+    }
+
+    private class PriorityIterator implements Iterator<T> {
+        private final long[] priorities;
+        private final boolean fifo;
+        private int nextPriorityIndex = 0;
+        private long currentPriority;
+        private int nextIndex;
+        private int lastReturnedIndex = -1;
+
+        PriorityIterator(long[] priorities) {
+            this.priorities = priorities;
+            this.fifo = policy == Policy.FIFO;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (true) {
+                if (nextPriorityIndex > 0) {
+                    int b = findBucket(currentPriority);
+                    if (b != NO_BUCKET && (fifo ? nextIndex < bucketSizes[b] : nextIndex >= 0)) {
+                        return true;
+                    }
+                }
+                if (nextPriorityIndex >= priorities.length) {
+                    return false;
+                }
+                currentPriority = priorities[nextPriorityIndex++];
+                nextIndex = fifo ? 0 : size(currentPriority) - 1;
+                lastReturnedIndex = -1;
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturnedIndex = nextIndex;
+            nextIndex += fifo ? 1 : -1;
+            return get(findBucket(currentPriority), lastReturnedIndex);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturnedIndex < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(findBucket(currentPriority), lastReturnedIndex);
+            if (fifo) {
+                nextIndex--;
+            }
+            lastReturnedIndex = -1;
+        }
+    }
+
+    private void validatePolicy(Policy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy cannot be null");
+        }
+    }
+
+    void validateObject(T object) {
+        if (object == null) {
+            throw new IllegalArgumentException("Object cannot be null");
+        }
+    }
+
+    void validateCollection(Collection<T> collection) {
+        if (collection == null) {
+            throw new IllegalArgumentException("Collection cannot be null");
+        }
+    }
+
+    void validateFilteringFunction(Function<T, Boolean> filteringFunction) {
+        if (filteringFunction == null) {
+            throw new IllegalArgumentException("Filtering function cannot be null");
+        }
+    }
+}
@@ -185,6 +185,27 @@ public class GeneralPurposePriorityDeque<T> implements PriorityDeque<T> {
         return t;
     }
 
+    @Override
+    public @Nonnull List<T> pollBatch(final int priority, final int maxElements) {
+        validateMaxElements(maxElements);
+        ArrayDeque<T> q = byPriority.get(priority);
+        if (q == null) {
+            return new ArrayList<>();
+        }
+        int n = Math.min(maxElements, q.size());
+        List<T> batch = new ArrayList<>(n);
+        boolean fifo = policy == Policy.FIFO;
+        for (int i = 0; i < n; i++) {
+            batch.add(fifo ? q.pollFirst() : q.pollLast());
+        }
+        elementCount -= n;
+        if (q.isEmpty()) {
+            byPriority.remove(priority);
+            nonEmptyCount--;
+        }
+        return batch;
+    }
+
     public boolean isEmpty() {
         return nonEmptyCount == 0;
     }
@@ -543,6 +564,12 @@ public class GeneralPurposePriorityDeque<T> implements PriorityDeque<T> {
         }
     }
 
+    void validateMaxElements(int maxElements) {
+        if (maxElements < 0) {
+            throw new IllegalArgumentException("maxElements must be non-negative");
+        }
+    }
+
     void validateFilteringFunction(Function<T, Boolean> filteringFunction) {
         if (filteringFunction == null) {
             throw new IllegalArgumentException("Filtering function cannot be null");
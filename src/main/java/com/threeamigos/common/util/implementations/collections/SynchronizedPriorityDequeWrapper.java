@@ -348,6 +348,16 @@ public class SynchronizedPriorityDequeWrapper<T> implements PriorityDeque<T> {
         }
     }
 
+    @Override
+    public @Nonnull List<T> pollBatch(int priority, int maxElements) {
+        write.lock();
+        try {
+            return delegate.pollBatch(priority, maxElements);
+        } finally {
+            write.unlock();
+        }
+    }
+
     @Override
     public boolean isEmpty(int priority) {
         read.lock();
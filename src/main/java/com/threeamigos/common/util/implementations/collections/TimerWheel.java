@@ -0,0 +1,174 @@
+package com.threeamigos.common.util.implementations.collections;
+
+/**
+ * A hierarchical timer wheel used by {@link Cache} to expire entries in amortized O(1).
+ *
+ * <p>Timers are kept in doubly-linked buckets, arranged in five wheels of increasing
+ * granularity (about 1 second, 1 minute, 1 hour, 1 day and 6 days per bucket, all powers
+ * of two in nanoseconds). Scheduling and descheduling a timer is O(1). Advancing the
+ * wheel only visits the buckets whose time span has elapsed; timers in a coarse bucket
+ * are either expired or re-scheduled into a finer wheel, so no scan of all entries is
+ * ever needed.
+ *
+ * <p>A timer's deadline may move forward after it has been scheduled (for example when
+ * an entry that expires after access is read). The wheel does not need to know: when the
+ * bucket fires, the {@link Expirer} re-checks the real deadline and the timer is simply
+ * re-scheduled if it has not expired yet.
+ *
+ * <p>Thread-safety: not thread-safe; callers must guard all operations with one lock.
+ *
+ * @author Stefano Reksten
+ */
+final class TimerWheel {
+
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final int[] SHIFTS = {30, 36, 42, 46, 50};
+    private static final long[] SPANS = {
+            1L << 30, // 1.07 s
+            1L << 36, // 1.14 m
+            1L << 42, // 1.22 h
+            1L << 46, // 0.81 d
+            1L << 50, // 13 d
+            1L << 50  // 13 d (overflow wheel)
+    };
+
+    private final Sentinel[][] wheels;
+    private long nanos;
+
+    /**
+     * Creates an empty wheel whose current time is {@code nanos}.
+     *
+     * @param nanos the current time, as read from the cache's ticker
+     */
+    TimerWheel(long nanos) {
+        this.nanos = nanos;
+        wheels = new Sentinel[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheels[i] = new Sentinel[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheels[i][j] = new Sentinel();
+            }
+        }
+    }
+
+    /**
+     * Advances the wheel to {@code currentTimeNanos}, offering every timer in an elapsed
+     * bucket to the expirer. Timers the expirer declines are re-scheduled.
+     *
+     * @param currentTimeNanos the current time
+     * @param expirer decides whether each due timer really expired
+     */
+    void advance(long currentTimeNanos, Expirer expirer) {
+        long previousTimeNanos = nanos;
+        nanos = currentTimeNanos;
+        for (int i = 0; i < SHIFTS.length; i++) {
+            long previousTicks = previousTimeNanos >>> SHIFTS[i];
+            long currentTicks = currentTimeNanos >>> SHIFTS[i];
+            long delta = currentTicks - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+            expire(i, previousTicks, delta, expirer);
+        }
+    }
+
+    private void expire(int index, long previousTicks, long delta, Expirer expirer) {
+        Sentinel[] wheel = wheels[index];
+        int mask = wheel.length - 1;
+        int steps = (int) Math.min(1 + delta, wheel.length);
+        int start = (int) (previousTicks & mask);
+        int end = start + steps;
+        for (int i = start; i < end; i++) {
+            Sentinel sentinel = wheel[i & mask];
+            Timer timer = sentinel.next;
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+            while (timer != sentinel) {
+                Timer next = timer.next;
+                timer.previous = null;
+                timer.next = null;
+                if (timer.deadline - nanos > 0 || !expirer.expire(timer, nanos)) {
+                    schedule(timer);
+                }
+                timer = next;
+            }
+        }
+    }
+
+    /**
+     * Schedules a timer at its {@link Timer#deadline}, or re-schedules it if it is
+     * already in the wheel.
+     *
+     * @param timer the timer to schedule
+     */
+    void schedule(Timer timer) {
+        if (timer.next != null) {
+            deschedule(timer);
+        }
+        Sentinel sentinel = findBucket(timer.deadline);
+        timer.previous = sentinel.previous;
+        timer.next = sentinel;
+        sentinel.previous.next = timer;
+        sentinel.previous = timer;
+    }
+
+    /**
+     * Removes a timer from the wheel; does nothing if it is not scheduled.
+     *
+     * @param timer the timer to remove
+     */
+    void deschedule(Timer timer) {
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+            timer.previous.next = timer.next;
+            timer.next = null;
+            timer.previous = null;
+        }
+    }
+
+    private Sentinel findBucket(long time) {
+        long duration = time - nanos;
+        int last = wheels.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFTS[i];
+                return wheels[i][(int) (ticks & (wheels[i].length - 1))];
+            }
+        }
+        return wheels[last][0];
+    }
+
+    /**
+     * An element of the wheel. The deadline is read by the wheel when the timer is
+     * scheduled and when its bucket fires.
+     */
+    abstract static class Timer {
+
+        long deadline;
+        Timer previous;
+        Timer next;
+    }
+
+    /**
+     * Decides the fate of a timer whose bucket has fired.
+     */
+    interface Expirer {
+
+        /**
+         * Expires the timer if its real deadline has passed.
+         *
+         * @param timer the due timer; the expirer may update its deadline
+         * @param nanos the current time
+         * @return {@code true} if the timer expired and must not be re-scheduled
+         */
+        boolean expire(Timer timer, long nanos);
+    }
+
+    private static final class Sentinel extends Timer {
+
+        Sentinel() {
+            previous = this;
+            next = this;
+        }
+    }
+}
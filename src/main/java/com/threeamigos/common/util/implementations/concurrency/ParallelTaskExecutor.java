@@ -1,14 +1,22 @@
 package com.threeamigos.common.util.implementations.concurrency;
 
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A thread-safe parallel task executor supporting both platform and virtual threads (Java 21+).
@@ -25,6 +33,10 @@ import java.util.concurrent.atomic.AtomicLong;
  *       {@link #awaitCompletion()} or timeout variants</li>
  *   <li><b>Graceful Shutdown:</b> Orderly termination with proper resource cleanup</li>
  *   <li><b>Thread-Safe:</b> All operations are safe for concurrent use by multiple threads</li>
+ *   <li><b>Task Groups:</b> {@link #newGroup()} tracks a batch of tasks on its own, so callers sharing one
+ *       executor only wait for (or cancel) their own work</li>
+ *   <li><b>Work Stealing (opt-in):</b> {@link #createWorkStealingExecutor(int)} backs the platform pool with
+ *       per-worker deques for fine-grained task fan-out</li>
  * </ul>
  *
  * <h2>Usage Patterns</h2>
@@ -64,6 +76,29 @@ import java.util.concurrent.atomic.AtomicLong;
  * executor.shutdown();
  * }</pre>
  *
+ * <h3>Pattern 4: Task Groups on a Shared Executor</h3>
+ * <pre>{@code
+ * // Waits only for this caller's tasks, even if other callers use the same executor
+ * ParallelTaskExecutor.TaskGroup group = ParallelTaskExecutor.getInstance().newGroup();
+ * for (Item item : items) {
+ *     group.submit(() -> processItem(item));
+ * }
+ * group.await(); // throws ExecutionException with the first failure, if any
+ * }</pre>
+ *
+ * <h3>Pattern 5: Fine-Grained Fan-Out</h3>
+ * <pre>{@code
+ * // Tasks that submit many small subtasks: each worker keeps its own deque
+ * try (ParallelTaskExecutor executor = ParallelTaskExecutor.createWorkStealingExecutor(8)) {
+ *     executor.schedulePlatformThread(() -> {
+ *         for (Chunk chunk : split(input)) {
+ *             executor.schedulePlatformThread(() -> process(chunk));
+ *         }
+ *     });
+ *     executor.awaitCompletion();
+ * }
+ * }</pre>
+ *
  * <h2>Thread Selection Guide</h2>
  * <table border="1">
  *   <tr>
@@ -131,9 +166,15 @@ import java.util.concurrent.atomic.AtomicLong;
  * <ul>
  *   <li><b>Platform Threads:</b> Fixed-size pool (default: {@code Runtime.availableProcessors()}),
  *       non-daemon threads, unbounded queue</li>
+ *   <li><b>Work-Stealing Platform Threads:</b> a {@link ForkJoinPool} in async (FIFO) mode with non-daemon
+ *       threads; tasks submitted from a worker go to that worker's own deque, and idle workers steal from
+ *       the others, so there is no single shared queue</li>
  *   <li><b>Virtual Threads:</b> JVM-managed, one-per-task model, cheap to create (Java 21+)</li>
- *   <li><b>Singleton:</b> Includes JVM shutdown hook for graceful termination (5-second timeout)</li>
- *   <li><b>Synchronization:</b> Uses monitor locks for state management; atomic operations for counters</li>
+ *   <li><b>Singleton:</b> Daemon platform threads, plus a JVM shutdown hook for graceful termination
+ *       (5-second timeout)</li>
+ *   <li><b>Synchronization:</b> Submission only touches atomic counters and a volatile shutdown flag; the
+ *       monitor is entered only to wake up {@link #awaitCompletion()} waiters when the pending count
+ *       reaches zero, and by the waiters themselves</li>
  * </ul>
  *
  * <h2>Design Rationale</h2>
@@ -148,7 +189,8 @@ import java.util.concurrent.atomic.AtomicLong;
  * <ul>
  *   <li>Fire-and-forget background tasks (use daemon thread pool instead)</li>
  *   <li>Scheduled/periodic tasks (use {@link java.util.concurrent.ScheduledExecutorService})</li>
- *   <li>Tasks requiring individual cancellation (no {@code Future} support)</li>
+ *   <li>Tasks requiring individual cancellation (no {@code Future} support; a {@link TaskGroup} can be
+ *       cancelled as a whole)</li>
  * </ul>
  *
  * <h2>Production Recommendations</h2>
@@ -237,9 +279,11 @@ public class ParallelTaskExecutor implements AutoCloseable {
      * <p>The singleton instance:
      * <ul>
      *   <li>Uses a thread pool sized to {@code Runtime.getRuntime().availableProcessors()}</li>
+     *   <li>Uses daemon platform threads, so it never keeps the JVM alive on its own</li>
      *   <li>Has a JVM shutdown hook that gracefully terminates within 5 seconds</li>
      *   <li>Should NOT be manually shut down (shutdown hook handles it)</li>
-     *   <li>Is safe for concurrent access from multiple threads</li>
+     *   <li>Is safe for concurrent access from multiple threads; use {@link #newGroup()} to wait for
+     *       your own tasks only</li>
      * </ul>
      *
      * <p><b>When to use:</b>
@@ -276,7 +320,9 @@ public class ParallelTaskExecutor implements AutoCloseable {
         private static final ParallelTaskExecutor INSTANCE;
 
         static {
-            INSTANCE = ParallelTaskExecutor.createExecutor();
+            int threadPoolSize = Runtime.getRuntime().availableProcessors();
+            INSTANCE = new ParallelTaskExecutor(createPlatformExecutor(threadPoolSize, true), threadPoolSize,
+                    tryCreateVirtualExecutor());
             // Register a shutdown hook to gracefully terminate the singleton executor
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 try {
@@ -299,7 +345,7 @@ public class ParallelTaskExecutor implements AutoCloseable {
     private final AtomicLong pendingTasks;
     private final AtomicLong activeTasks;
     private final Object completionLock;
-    private boolean isShutdown;  // Guarded by completionLock
+    private volatile boolean isShutdown;
 
     private ParallelTaskExecutor(ExecutorService platformExecutor,
                                  int platformThreadPoolSize,
@@ -378,12 +424,55 @@ public class ParallelTaskExecutor implements AutoCloseable {
         if (threadPoolSize < 1) {
             throw new IllegalArgumentException("Thread pool size must be at least 1");
         }
-        ExecutorService platform = createPlatformExecutor(threadPoolSize);
+        ExecutorService platform = createPlatformExecutor(threadPoolSize, false);
         ExecutorService virtual = tryCreateVirtualExecutor();
         return new ParallelTaskExecutor(platform, threadPoolSize, virtual);
     }
 
-    private static ThreadPoolExecutor createPlatformExecutor(int threadPoolSize) {
+    /**
+     * Creates a new executor whose platform threads share work through work stealing, with a pool sized
+     * to available processors. Virtual threads are used automatically when running on Java 21+.
+     *
+     * @return a new ParallelTaskExecutor instance
+     * @see #createWorkStealingExecutor(int)
+     */
+    public static ParallelTaskExecutor createWorkStealingExecutor() {
+        return createWorkStealingExecutor(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new executor whose platform threads share work through work stealing.
+     *
+     * <p>The platform pool is a {@link ForkJoinPool} instead of a thread pool over one shared queue.
+     * Tasks scheduled on platform threads from inside a running platform task are pushed on the deque
+     * of the current worker, without touching any shared structure; idle workers steal from the other
+     * deques. Tasks submitted from outside the pool go through the pool's submission queues.
+     *
+     * <p><b>When to use:</b>
+     * <ul>
+     *   <li>Tasks that fan out into many small subtasks</li>
+     *   <li>Many submitter threads scheduling short CPU-bound tasks</li>
+     * </ul>
+     * Submission, completion tracking, {@link #awaitCompletion()} and shutdown behave exactly as with
+     * {@link #createExecutor(int)}. Tasks run in submission order per deque (async mode), which suits
+     * independent tasks that are never joined.
+     *
+     * @param parallelism the number of platform worker threads; must be at least 1
+     * @return a new ParallelTaskExecutor instance
+     * @throws IllegalArgumentException if parallelism is less than 1
+     * @see #createExecutor(int)
+     * @see #isWorkStealing()
+     */
+    public static ParallelTaskExecutor createWorkStealingExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Thread pool size must be at least 1");
+        }
+        ExecutorService platform = createWorkStealingPlatformExecutor(parallelism);
+        ExecutorService virtual = tryCreateVirtualExecutor();
+        return new ParallelTaskExecutor(platform, parallelism, virtual);
+    }
+
+    private static ThreadPoolExecutor createPlatformExecutor(int threadPoolSize, boolean daemon) {
         ThreadPoolExecutor executor = new ThreadPoolExecutor(
                 threadPoolSize,
                 threadPoolSize,
@@ -396,7 +485,7 @@ public class ParallelTaskExecutor implements AutoCloseable {
                     @Override
                     public Thread newThread(Runnable r) {
                         Thread t = new Thread(r, "ParallelTaskExecutor-" + threadNumber.getAndIncrement());
-                        t.setDaemon(false);
+                        t.setDaemon(daemon);
                         return t;
                     }
                 }
@@ -405,7 +494,23 @@ public class ParallelTaskExecutor implements AutoCloseable {
         return executor;
     }
 
-    private static ExecutorService tryCreateVirtualExecutor() {
+    private static ForkJoinPool createWorkStealingPlatformExecutor(int parallelism) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("ParallelTaskExecutor-ws-" + threadNumber.getAndIncrement());
+            t.setDaemon(false);
+            return t;
+        };
+        return new ForkJoinPool(parallelism, factory, null, true);
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor when running on Java 21 or later.
+     *
+     * @return the virtual executor, or null if virtual threads are not available
+     */
+    public static ExecutorService tryCreateVirtualExecutor() {
         try {
             java.lang.reflect.Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
             return (ExecutorService) method.invoke(null);
@@ -540,6 +645,36 @@ public class ParallelTaskExecutor implements AutoCloseable {
         schedule(task, platformExecutor);
     }
 
+    /**
+     * Creates a new group of tasks tracked independently of the other tasks of this executor.
+     *
+     * <p>A group has its own pending and active counters, waits only for its own tasks in
+     * {@link TaskGroup#await()}, reports the first failure of its tasks, and can be cancelled as a whole.
+     * Tasks submitted through a group still count towards this executor's counters, so
+     * {@link #awaitCompletion()} waits for them too.
+     *
+     * <p><b>Example:</b>
+     * <pre>{@code
+     * ParallelTaskExecutor.TaskGroup group = executor.newGroup();
+     * for (Path file : files) {
+     *     group.schedulePlatformThread(() -> index(file));
+     * }
+     * if (!group.await(30, TimeUnit.SECONDS)) {
+     *     group.cancel();
+     * }
+     * }</pre>
+     *
+     * @return a new, empty task group
+     * @throws IllegalStateException if the executor has been shut down
+     * @see TaskGroup
+     */
+    public TaskGroup newGroup() {
+        if (isShutdown) {
+            throw new IllegalStateException("Executor has been shut down");
+        }
+        return new TaskGroup();
+    }
+
     private void schedule(Runnable task, ExecutorService targetExecutor) {
         if (task == null) {
             throw new IllegalArgumentException("Task cannot be null");
@@ -548,40 +683,75 @@ public class ParallelTaskExecutor implements AutoCloseable {
             throw new IllegalStateException("No executor available for scheduling");
         }
 
-        synchronized (completionLock) {
-            if (isShutdown) {
-                throw new IllegalStateException("Executor has been shut down");
-            }
-            pendingTasks.incrementAndGet();
+        // Count the task before checking the flag: a concurrent shutdown either is seen here, or is handled
+        // after the submission below. No lock is taken, so concurrent submissions never contend with each other.
+        pendingTasks.incrementAndGet();
+        if (isShutdown) {
+            taskFinished();
+            throw new IllegalStateException("Executor has been shut down");
         }
 
+        TrackedTask tracked = new TrackedTask(task);
         try {
-            targetExecutor.submit(() -> {
-                activeTasks.incrementAndGet();
-                try {
-                    task.run();
-                } finally {
-                    activeTasks.decrementAndGet();
-                    long remaining = pendingTasks.decrementAndGet();
-
-                    // If this was the last task, notify waiters
-                    if (remaining == 0) {
-                        synchronized (completionLock) {
-                            completionLock.notifyAll();
-                        }
-                    }
-                }
-            });
+            targetExecutor.submit(tracked);
+        } catch (RejectedExecutionException e) {
+            // Roll back the count; a shutdown that won the race is reported like the check above
+            taskFinished();
+            if (isShutdown) {
+                throw new IllegalStateException("Executor has been shut down", e);
+            }
+            throw new IllegalStateException("Failed to submit task: " + e.getMessage(), e);
         } catch (RuntimeException e) {
             // Improved error notification: decrement counter and notify waiters
-            long remaining = pendingTasks.decrementAndGet();
-            if (remaining == 0) {
-                synchronized (completionLock) {
-                    completionLock.notifyAll();
-                }
-            }
+            taskFinished();
             throw new IllegalStateException("Failed to submit task: " + e.getMessage(), e);
         }
+
+        // A ForkJoinPool may accept a task racing with its shutdown and then terminate without running it:
+        // withdraw the task unless it has already started
+        if (isShutdown && tracked.compareAndSet(false, true)) {
+            taskFinished();
+            throw new IllegalStateException("Executor has been shut down");
+        }
+    }
+
+    /**
+     * A scheduled task, counted as pending until it finishes. The flag is set by whoever claims the task
+     * first: the worker running it, or a submitter withdrawing it after a racing shutdown.
+     */
+    private final class TrackedTask extends AtomicBoolean implements Runnable {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Runnable task;
+
+        TrackedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!compareAndSet(false, true)) {
+                return;
+            }
+            activeTasks.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                activeTasks.decrementAndGet();
+                taskFinished();
+            }
+        }
+    }
+
+    /**
+     * Decrements the pending counter and, if this was the last task, notifies waiters.
+     */
+    private void taskFinished() {
+        if (pendingTasks.decrementAndGet() == 0) {
+            synchronized (completionLock) {
+                completionLock.notifyAll();
+            }
+        }
     }
 
     /**
@@ -846,6 +1016,16 @@ public class ParallelTaskExecutor implements AutoCloseable {
         return platformThreadPoolSize;
     }
 
+    /**
+     * Returns whether the platform threads share work through work stealing.
+     *
+     * @return {@code true} if this executor was created by {@link #createWorkStealingExecutor(int)}
+     * @see #createWorkStealingExecutor(int)
+     */
+    public boolean isWorkStealing() {
+        return platformExecutor instanceof ForkJoinPool;
+    }
+
     /**
      * Initiates an orderly shutdown where previously submitted tasks are executed,
      * but no new tasks will be accepted.
@@ -879,9 +1059,7 @@ public class ParallelTaskExecutor implements AutoCloseable {
      * @see #isTerminated()
      */
     public void shutdown() {
-        synchronized (completionLock) {
-            isShutdown = true;
-        }
+        isShutdown = true;
         platformExecutor.shutdown();
         if (virtualExecutor != null) {
             virtualExecutor.shutdown();
@@ -934,9 +1112,7 @@ public class ParallelTaskExecutor implements AutoCloseable {
      * @see #isTerminated()
      */
     public void shutdownNow() {
-        synchronized (completionLock) {
-            isShutdown = true;
-        }
+        isShutdown = true;
         platformExecutor.shutdownNow();
         if (virtualExecutor != null) {
             virtualExecutor.shutdownNow();
@@ -1040,9 +1216,7 @@ public class ParallelTaskExecutor implements AutoCloseable {
      * @see #isTerminated()
      */
     public boolean isShutdown() {
-        synchronized (completionLock) {
-            return isShutdown;
-        }
+        return isShutdown;
     }
 
     /**
@@ -1121,4 +1295,262 @@ public class ParallelTaskExecutor implements AutoCloseable {
         shutdown();
         awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
     }
+
+    /**
+     * A batch of tasks submitted to a {@link ParallelTaskExecutor} and tracked on its own.
+     *
+     * <p><b>Behavior:</b>
+     * <ul>
+     *   <li>{@link #await()} and {@link #await(long, TimeUnit)} wait for the tasks of this group only</li>
+     *   <li>The first task that throws fails the group: its exception is rethrown by {@code await}, wrapped
+     *       in an {@link ExecutionException}, and the rest of the group is cancelled</li>
+     *   <li>{@link #cancel()} skips the tasks that have not started yet and interrupts the running ones;
+     *       {@code await} then returns once the running tasks have finished</li>
+     *   <li>Submissions to a cancelled (or failed) group throw {@link IllegalStateException}</li>
+     * </ul>
+     * Tasks may submit further tasks to their own group; {@code await} also waits for those.
+     *
+     * <p>Instances are created by {@link ParallelTaskExecutor#newGroup()} and are thread-safe.
+     */
+    public final class TaskGroup {
+
+        private final AtomicLong groupPendingTasks = new AtomicLong(0);
+        private final AtomicLong groupActiveTasks = new AtomicLong(0);
+        private final Set<GroupTask> liveTasks = ConcurrentHashMap.newKeySet();
+        private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        private final Object groupLock = new Object();
+        private volatile boolean cancelled;
+
+        private TaskGroup() {
+        }
+
+        /**
+         * Submits a task to this group, preferring virtual threads when available.
+         *
+         * @param task the task to execute; must not be null
+         * @throws IllegalArgumentException if the task is null
+         * @throws IllegalStateException if the group has been cancelled or the executor has been shut down
+         * @see ParallelTaskExecutor#submit(Runnable)
+         */
+        public void submit(Runnable task) {
+            scheduleVirtualThread(task);
+        }
+
+        /**
+         * Schedules a task of this group on a virtual thread (Java 21+), falling back to platform threads.
+         *
+         * @param task the task to execute; must not be null
+         * @throws IllegalArgumentException if the task is null
+         * @throws IllegalStateException if the group has been cancelled or the executor has been shut down
+         * @see ParallelTaskExecutor#scheduleVirtualThread(Runnable)
+         */
+        public void scheduleVirtualThread(Runnable task) {
+            scheduleInGroup(task, virtualExecutor != null ? virtualExecutor : platformExecutor);
+        }
+
+        /**
+         * Schedules a task of this group on a platform thread.
+         *
+         * @param task the task to execute; must not be null
+         * @throws IllegalArgumentException if the task is null
+         * @throws IllegalStateException if the group has been cancelled or the executor has been shut down
+         * @see ParallelTaskExecutor#schedulePlatformThread(Runnable)
+         */
+        public void schedulePlatformThread(Runnable task) {
+            scheduleInGroup(task, platformExecutor);
+        }
+
+        private void scheduleInGroup(Runnable task, ExecutorService targetExecutor) {
+            if (task == null) {
+                throw new IllegalArgumentException("Task cannot be null");
+            }
+            if (cancelled) {
+                throw new IllegalStateException("Task group has been cancelled");
+            }
+            GroupTask groupTask = new GroupTask(task);
+            groupPendingTasks.incrementAndGet();
+            liveTasks.add(groupTask);
+            try {
+                schedule(groupTask, targetExecutor);
+            } catch (RuntimeException e) {
+                groupTask.discard();
+                throw e;
+            }
+        }
+
+        /**
+         * Blocks until every task of this group has completed or has been cancelled.
+         *
+         * @throws InterruptedException if the current thread is interrupted while waiting
+         * @throws ExecutionException if a task of this group failed; the cause is the first failure
+         * @see #await(long, TimeUnit)
+         */
+        public void await() throws InterruptedException, ExecutionException {
+            synchronized (groupLock) {
+                while (groupPendingTasks.get() > 0) {
+                    groupLock.wait();
+                }
+            }
+            throwFirstFailure();
+        }
+
+        /**
+         * Blocks until every task of this group has completed or has been cancelled, or the timeout expires.
+         *
+         * @param timeout the maximum time to wait; must be non-negative
+         * @param unit the time unit of the timeout argument; must not be null
+         * @return {@code true} if all tasks of the group completed; {@code false} if the timeout expired
+         * @throws InterruptedException if the current thread is interrupted while waiting
+         * @throws ExecutionException if a task of this group failed; the cause is the first failure
+         * @throws IllegalArgumentException if timeout is negative or the unit is null
+         */
+        public boolean await(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException {
+            if (timeout < 0) {
+                throw new IllegalArgumentException("Timeout cannot be negative");
+            }
+            if (unit == null) {
+                throw new IllegalArgumentException("TimeUnit cannot be null");
+            }
+            long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+            synchronized (groupLock) {
+                while (groupPendingTasks.get() > 0) {
+                    long remainingNanos = deadlineNanos - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(groupLock, remainingNanos);
+                }
+            }
+            throwFirstFailure();
+            return true;
+        }
+
+        /**
+         * Cancels this group: tasks not yet started are skipped, running tasks are interrupted, and
+         * further submissions are rejected. Idempotent.
+         */
+        public void cancel() {
+            cancelled = true;
+            for (GroupTask groupTask : liveTasks) {
+                groupTask.cancel();
+            }
+        }
+
+        /**
+         * @return {@code true} if the group was cancelled, explicitly or because a task failed
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return the first exception thrown by a task of this group, or {@code null} if none failed
+         */
+        public Throwable getFailure() {
+            return firstFailure.get();
+        }
+
+        /**
+         * @return the number of tasks of this group that are queued or running
+         */
+        public long getPendingTaskCount() {
+            return groupPendingTasks.get();
+        }
+
+        /**
+         * @return the number of tasks of this group that are running
+         */
+        public long getActiveTaskCount() {
+            return groupActiveTasks.get();
+        }
+
+        private void throwFirstFailure() throws ExecutionException {
+            Throwable failure = firstFailure.get();
+            if (failure != null) {
+                throw new ExecutionException("Task group failed: " + failure.getMessage(), failure);
+            }
+        }
+
+        private void fail(Throwable failure) {
+            if (!cancelled && firstFailure.compareAndSet(null, failure)) {
+                cancel();
+            }
+        }
+
+        private void groupTaskFinished(GroupTask groupTask) {
+            liveTasks.remove(groupTask);
+            if (groupPendingTasks.decrementAndGet() == 0) {
+                synchronized (groupLock) {
+                    groupLock.notifyAll();
+                }
+            }
+        }
+
+        /**
+         * A task of the group. Its state moves from NEW to RUNNING to DONE, or from NEW straight to DONE
+         * when it is cancelled (or fails to be scheduled) before starting; whoever leaves NEW or RUNNING
+         * accounts for the task, so each task is counted out exactly once.
+         */
+        private final class GroupTask implements Runnable {
+
+            private static final int NEW = 0;
+            private static final int RUNNING = 1;
+            private static final int DONE = 2;
+
+            private final Runnable task;
+            private final AtomicInteger state = new AtomicInteger(NEW);
+            private Thread runner;  // Guarded by this
+
+            GroupTask(Runnable task) {
+                this.task = task;
+            }
+
+            @Override
+            public void run() {
+                if (!state.compareAndSet(NEW, RUNNING)) {
+                    return;
+                }
+                synchronized (this) {
+                    runner = Thread.currentThread();
+                }
+                groupActiveTasks.incrementAndGet();
+                try {
+                    if (!cancelled) {
+                        task.run();
+                    }
+                } catch (Throwable t) {
+                    fail(t);
+                } finally {
+                    groupActiveTasks.decrementAndGet();
+                    synchronized (this) {
+                        state.set(DONE);
+                        runner = null;
+                        if (cancelled) {
+                            // Do not leak the cancellation interrupt to the next task of the pool thread
+                            Thread.interrupted();
+                        }
+                    }
+                    groupTaskFinished(this);
+                }
+            }
+
+            void cancel() {
+                if (state.compareAndSet(NEW, DONE)) {
+                    groupTaskFinished(this);
+                    return;
+                }
+                synchronized (this) {
+                    if (state.get() == RUNNING && runner != null) {
+                        runner.interrupt();
+                    }
+                }
+            }
+
+            void discard() {
+                if (state.compareAndSet(NEW, DONE)) {
+                    groupTaskFinished(this);
+                }
+            }
+        }
+    }
 }
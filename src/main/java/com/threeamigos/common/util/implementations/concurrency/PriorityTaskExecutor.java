@@ -0,0 +1,591 @@
+package com.threeamigos.common.util.implementations.concurrency;
+
+import com.threeamigos.common.util.implementations.collections.BucketedPriorityDeque;
+import com.threeamigos.common.util.interfaces.collections.PriorityDeque;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed-size thread pool that runs tasks by priority, with optional aging so that low-priority
+ * work cannot starve under sustained high-priority load.
+ *
+ * <h2>Key Features</h2>
+ * <ul>
+ *   <li><b>Per-task priority:</b> {@link #submit(Runnable, int)}, {@link #submit(Callable, int)} and
+ *       {@link #execute(Runnable, int)} take a priority between 0 and the configured maximum (31 at most);
+ *       higher priorities run first, tasks of equal priority run in submission order</li>
+ *   <li><b>Aging:</b> with {@link Builder#aging(long, TimeUnit)}, a waiting task is promoted by one
+ *       priority level for every aging interval it has waited, up to the maximum priority</li>
+ *   <li><b>Metrics:</b> queue depth per priority, and per submitted priority the number of started tasks
+ *       and their average and maximum wait time in the queue</li>
+ *   <li><b>Standard API:</b> it is an {@link java.util.concurrent.ExecutorService}; the plain
+ *       {@code execute}/{@code submit} methods use the default priority</li>
+ * </ul>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder()
+ *         .threads(4)
+ *         .maxPriority(9)
+ *         .aging(200, TimeUnit.MILLISECONDS)
+ *         .build()) {
+ *     executor.submit(() -> rebuildIndex(), 1);
+ *     Future<Result> result = executor.submit(() -> answerUserRequest(), 9);
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <h2>Implementation Notes</h2>
+ * <ul>
+ *   <li><b>Queue:</b> a {@link BucketedPriorityDeque} guarded by one lock, so finding the highest waiting
+ *       priority is a single bit operation</li>
+ *   <li><b>Aging is lazy:</b> priorities only matter when a worker picks its next task, so promotions are
+ *       applied at that moment rather than by a timer thread. The oldest task of each bucket is checked
+ *       first, which makes the promotion order approximate (a task may be promoted up to one aging
+ *       interval late), but every task keeps climbing until it reaches the top priority</li>
+ *   <li><b>Failures:</b> exceptions of tasks passed to {@code execute} go to the worker thread's
+ *       {@link Thread.UncaughtExceptionHandler}, and the worker keeps running; exceptions of submitted
+ *       tasks are reported through their {@link Future}</li>
+ * </ul>
+ *
+ * @see BucketedPriorityDeque
+ * @see ParallelTaskExecutor
+ * @author Stefano Reksten
+ */
+public class PriorityTaskExecutor extends AbstractExecutorService implements AutoCloseable {
+
+    private final PriorityDeque<PrioritizedTask> queue;
+    private final int maxPriority;
+    private final int defaultPriority;
+    private final long agingNanos;
+    private final List<Thread> workers;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition terminated = lock.newCondition();
+
+    // Indexed by submitted priority; written under lock, readable without it
+    private final AtomicLongArray startedTasks;
+    private final AtomicLongArray totalWaitNanos;
+    private final AtomicLongArray maxWaitNanos;
+    private final AtomicLong promotions = new AtomicLong();
+
+    private boolean isShutdown;  // Guarded by lock
+    private int liveWorkers;     // Guarded by lock
+
+    private PriorityTaskExecutor(Builder builder) {
+        this.maxPriority = builder.maxPriority;
+        this.defaultPriority = builder.defaultPriority;
+        this.agingNanos = builder.agingNanos;
+        this.queue = new BucketedPriorityDeque<>(maxPriority, PriorityDeque.Policy.FIFO);
+        this.startedTasks = new AtomicLongArray(maxPriority + 1);
+        this.totalWaitNanos = new AtomicLongArray(maxPriority + 1);
+        this.maxWaitNanos = new AtomicLongArray(maxPriority + 1);
+        this.workers = new ArrayList<>(builder.threads);
+        for (int i = 1; i <= builder.threads; i++) {
+            Thread worker = new Thread(this::work, builder.threadNamePrefix + i);
+            worker.setDaemon(builder.daemon);
+            workers.add(worker);
+        }
+        this.liveWorkers = builder.threads;
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Returns a builder for a priority executor. By default, it has one thread per available processor,
+     * priorities 0 to {@link BucketedPriorityDeque#MAX_PRIORITY}, default priority 0 and no aging.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // --- Submission ---
+
+    /**
+     * Executes a task at the default priority.
+     *
+     * @param command the task to execute
+     * @throws RejectedExecutionException if the executor has been shut down
+     */
+    @Override
+    public void execute(Runnable command) {
+        execute(command, defaultPriority);
+    }
+
+    /**
+     * Executes a task at the given priority.
+     *
+     * @param command the task to execute
+     * @param priority the priority, between 0 and the maximum priority
+     * @throws IllegalArgumentException if the task is null or the priority is out of range
+     * @throws RejectedExecutionException if the executor has been shut down
+     */
+    public void execute(Runnable command, int priority) {
+        if (command == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        validatePriority(priority);
+        enqueue(command, priority);
+    }
+
+    /**
+     * Submits a task at the given priority.
+     *
+     * @param task the task to run
+     * @param priority the priority, between 0 and the maximum priority
+     * @return a future completing when the task has run
+     * @throws IllegalArgumentException if the task is null or the priority is out of range
+     * @throws RejectedExecutionException if the executor has been shut down
+     */
+    public Future<?> submit(Runnable task, int priority) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        validatePriority(priority);
+        RunnableFuture<Void> future = newTaskFor(task, null);
+        enqueue(future, priority);
+        return future;
+    }
+
+    /**
+     * Submits a value-returning task at the given priority.
+     *
+     * @param task the task to run
+     * @param priority the priority, between 0 and the maximum priority
+     * @param <T> the type of the result
+     * @return a future holding the result of the task
+     * @throws IllegalArgumentException if the task is null or the priority is out of range
+     * @throws RejectedExecutionException if the executor has been shut down
+     */
+    public <T> Future<T> submit(Callable<T> task, int priority) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        validatePriority(priority);
+        RunnableFuture<T> future = newTaskFor(task);
+        enqueue(future, priority);
+        return future;
+    }
+
+    private void enqueue(Runnable task, int priority) {
+        PrioritizedTask entry = new PrioritizedTask(task, priority, System.nanoTime());
+        lock.lock();
+        try {
+            if (isShutdown) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+            queue.add(entry, priority);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- Workers ---
+
+    private void work() {
+        try {
+            PrioritizedTask entry;
+            while ((entry = take()) != null) {
+                try {
+                    entry.task.run();
+                } catch (RuntimeException | Error e) {
+                    Thread current = Thread.currentThread();
+                    current.getUncaughtExceptionHandler().uncaughtException(current, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            // shutdownNow: exit quietly
+        } finally {
+            lock.lock();
+            try {
+                if (--liveWorkers == 0) {
+                    terminated.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the next task to run, or null once the executor is shut down and the queue is empty.
+     */
+    private PrioritizedTask take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                if (agingNanos > 0) {
+                    age(now);
+                }
+                PrioritizedTask entry = queue.pollFifo();
+                if (entry != null) {
+                    recordWait(entry, now);
+                    return entry;
+                }
+                if (isShutdown) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves every task whose aged priority exceeds its bucket to the bucket it has reached. Each bucket is
+     * in (approximate) waiting order, so only the tasks at its head are checked. Must hold the lock.
+     */
+    private void age(long now) {
+        for (int priority = maxPriority - 1; priority >= 0; priority--) {
+            PrioritizedTask head;
+            while ((head = queue.peekFifo(priority)) != null) {
+                int aged = agedPriority(head, now);
+                if (aged <= priority) {
+                    break;
+                }
+                queue.pollFifo(priority);
+                queue.add(head, aged);
+                promotions.incrementAndGet();
+            }
+        }
+    }
+
+    private int agedPriority(PrioritizedTask entry, long now) {
+        long levels = (now - entry.enqueuedAt) / agingNanos;
+        return (int) Math.min(maxPriority, entry.priority + levels);
+    }
+
+    private void recordWait(PrioritizedTask entry, long now) {
+        int priority = entry.priority;
+        long wait = now - entry.enqueuedAt;
+        startedTasks.incrementAndGet(priority);
+        totalWaitNanos.addAndGet(priority, wait);
+        if (wait > maxWaitNanos.get(priority)) {
+            maxWaitNanos.set(priority, wait);
+        }
+    }
+
+    // --- Metrics ---
+
+    /**
+     * @return the number of tasks waiting in the queue
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tasks waiting at the given priority. With aging, this includes the tasks promoted
+     * to that priority so far (promotions are applied when workers pick tasks).
+     *
+     * @param priority the priority
+     * @return the number of tasks waiting at that priority
+     */
+    public int getQueueDepth(int priority) {
+        validatePriority(priority);
+        lock.lock();
+        try {
+            return queue.size(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param priority the priority the tasks were submitted with
+     * @return the number of tasks submitted with that priority that have been started
+     */
+    public long getStartedTaskCount(int priority) {
+        validatePriority(priority);
+        return startedTasks.get(priority);
+    }
+
+    /**
+     * @param priority the priority the tasks were submitted with
+     * @param unit the unit of the result
+     * @return the average time the started tasks submitted with that priority waited in the queue, 0 if none
+     */
+    public long getAverageWaitTime(int priority, TimeUnit unit) {
+        validatePriority(priority);
+        long started = startedTasks.get(priority);
+        return started == 0 ? 0 : unit.convert(totalWaitNanos.get(priority) / started, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param priority the priority the tasks were submitted with
+     * @param unit the unit of the result
+     * @return the longest time a started task submitted with that priority waited in the queue, 0 if none
+     */
+    public long getMaxWaitTime(int priority, TimeUnit unit) {
+        validatePriority(priority);
+        return unit.convert(maxWaitNanos.get(priority), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the number of single promotions performed by aging (a task promoted from priority 1 straight
+     * to priority 4 counts once)
+     */
+    public long getPromotionCount() {
+        return promotions.get();
+    }
+
+    public int getMaxPriority() {
+        return maxPriority;
+    }
+
+    public int getDefaultPriority() {
+        return defaultPriority;
+    }
+
+    public int getThreadCount() {
+        return workers.size();
+    }
+
+    // --- Lifecycle ---
+
+    @Override
+    public void shutdown() {
+        lock.lock();
+        try {
+            isShutdown = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>();
+        lock.lock();
+        try {
+            isShutdown = true;
+            PrioritizedTask entry;
+            while ((entry = queue.pollFifo()) != null) {
+                pending.add(entry.task);
+            }
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return isShutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        lock.lock();
+        try {
+            return isShutdown && liveWorkers == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!(isShutdown && liveWorkers == 0)) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = terminated.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Shuts the executor down and waits for the queued tasks to complete. If the calling thread is
+     * interrupted while waiting, the running tasks are interrupted with {@link #shutdownNow()}, the wait
+     * goes on until they end and the interrupt status of the calling thread is restored.
+     * <p>
+     * Behaves like {@code ExecutorService.close()} of Java 19 and later, which this method implements there.
+     */
+    @Override
+    public void close() {
+        boolean terminated = isTerminated();
+        if (!terminated) {
+            shutdown();
+            boolean interrupted = false;
+            while (!terminated) {
+                try {
+                    terminated = awaitTermination(1L, TimeUnit.DAYS);
+                } catch (InterruptedException e) {
+                    if (!interrupted) {
+                        shutdownNow();
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void validatePriority(int priority) {
+        if (priority < 0 || priority > maxPriority) {
+            throw new IllegalArgumentException("Priority must be between 0 and " + maxPriority + ", got: " + priority);
+        }
+    }
+
+    /**
+     * A queued task with the priority it was submitted with and the time it was queued.
+     */
+    private static final class PrioritizedTask {
+
+        final Runnable task;
+        final int priority;
+        final long enqueuedAt;
+
+        PrioritizedTask(Runnable task, int priority, long enqueuedAt) {
+            this.task = task;
+            this.priority = priority;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /**
+     * Builder for {@link PriorityTaskExecutor}.
+     */
+    public static final class Builder {
+
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int maxPriority = BucketedPriorityDeque.MAX_PRIORITY;
+        private int defaultPriority = 0;
+        private long agingNanos = 0;
+        private String threadNamePrefix = "PriorityTaskExecutor-";
+        private boolean daemon = false;
+
+        private Builder() {
+        }
+
+        /**
+         * @param threads the number of worker threads; must be at least 1
+         * @return this builder
+         */
+        public Builder threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("Thread pool size must be at least 1");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * @param maxPriority the highest priority, between 0 and {@link BucketedPriorityDeque#MAX_PRIORITY}
+         * @return this builder
+         */
+        public Builder maxPriority(int maxPriority) {
+            if (maxPriority < BucketedPriorityDeque.MIN_PRIORITY || maxPriority > BucketedPriorityDeque.MAX_PRIORITY) {
+                throw new IllegalArgumentException("Max priority must be between " + BucketedPriorityDeque.MIN_PRIORITY
+                        + " and " + BucketedPriorityDeque.MAX_PRIORITY + ", got: " + maxPriority);
+            }
+            this.maxPriority = maxPriority;
+            return this;
+        }
+
+        /**
+         * @param defaultPriority the priority of tasks submitted through the plain {@code ExecutorService} methods
+         * @return this builder
+         */
+        public Builder defaultPriority(int defaultPriority) {
+            if (defaultPriority < 0) {
+                throw new IllegalArgumentException("Default priority must be non-negative, got: " + defaultPriority);
+            }
+            this.defaultPriority = defaultPriority;
+            return this;
+        }
+
+        /**
+         * Promotes waiting tasks by one priority level for every {@code interval} they have waited.
+         *
+         * @param interval the aging interval; 0 disables aging
+         * @param unit the unit of the interval
+         * @return this builder
+         */
+        public Builder aging(long interval, TimeUnit unit) {
+            if (interval < 0) {
+                throw new IllegalArgumentException("Aging interval cannot be negative");
+            }
+            if (unit == null) {
+                throw new IllegalArgumentException("TimeUnit cannot be null");
+            }
+            this.agingNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * @param threadNamePrefix the prefix of the worker thread names, followed by the thread number
+         * @return this builder
+         */
+        public Builder threadNamePrefix(String threadNamePrefix) {
+            if (threadNamePrefix == null) {
+                throw new IllegalArgumentException("Thread name prefix cannot be null");
+            }
+            this.threadNamePrefix = threadNamePrefix;
+            return this;
+        }
+
+        /**
+         * @param daemon whether the worker threads are daemon threads (default: false)
+         * @return this builder
+         */
+        public Builder daemon(boolean daemon) {
+            this.daemon = daemon;
+            return this;
+        }
+
+        /**
+         * @return a new executor, with its worker threads started
+         * @throws IllegalStateException if the default priority exceeds the maximum priority
+         */
+        public PriorityTaskExecutor build() {
+            if (defaultPriority > maxPriority) {
+                throw new IllegalStateException("Default priority " + defaultPriority
+                        + " exceeds max priority " + maxPriority);
+            }
+            return new PriorityTaskExecutor(this);
+        }
+    }
+}
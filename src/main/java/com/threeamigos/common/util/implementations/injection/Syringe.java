@@ -24,6 +24,7 @@ import com.threeamigos.common.util.implementations.injection.discovery.*;
 import com.threeamigos.common.util.implementations.injection.knowledgebase.KnowledgeBase;
 import com.threeamigos.common.util.implementations.injection.knowledgebase.DecoratorInfo;
 import com.threeamigos.common.util.implementations.injection.knowledgebase.InterceptorInfo;
+import com.threeamigos.common.util.implementations.injection.events.AsyncEventExecutor;
 import com.threeamigos.common.util.implementations.injection.events.EventImpl;
 import com.threeamigos.common.util.implementations.injection.events.ObserverMethodInfo;
 import com.threeamigos.common.util.implementations.injection.events.propagation.ConversationPropagationRegistry;
@@ -33,12 +34,16 @@ import com.threeamigos.common.util.implementations.injection.decorators.Decorato
 import com.threeamigos.common.util.implementations.injection.decorators.DecoratorResolver;
 import com.threeamigos.common.util.implementations.injection.resolution.BeanAttributesImpl;
 import com.threeamigos.common.util.implementations.injection.resolution.BeanImpl;
+import com.threeamigos.common.util.implementations.injection.resolution.BeanFactoryGenerator;
 import com.threeamigos.common.util.implementations.injection.resolution.BeanResolver;
 import com.threeamigos.common.util.implementations.injection.resolution.ProducerBean;
 import com.threeamigos.common.util.implementations.injection.resolution.DestroyedInstanceTracker;
 import com.threeamigos.common.util.implementations.injection.scopes.ClientProxyGenerator;
 import com.threeamigos.common.util.implementations.injection.scopes.ConversationImpl;
+import com.threeamigos.common.util.implementations.injection.scopes.EagerBeanInitializer;
+import com.threeamigos.common.util.implementations.injection.scopes.EagerInitializationReport;
 import com.threeamigos.common.util.implementations.injection.scopes.InjectionPointImpl;
+import com.threeamigos.common.util.implementations.injection.scopes.PassivationSerializer;
 import com.threeamigos.common.util.implementations.injection.spi.BeanManagerImpl;
 import com.threeamigos.common.util.implementations.injection.spi.InjectionTargetFactoryImpl;
 import com.threeamigos.common.util.implementations.injection.spi.Phase;
@@ -247,6 +252,12 @@ public class Syringe {
     private boolean cdiFullLegacyInterceptionEnabled = true;
     private boolean legacyCdi10NewEnabled = false;
     private boolean allowNonPortableAsyncObserverEventParameterPriority = false;
+    /**
+     * Number of beans created at the same time by the eager initialization phase; 0 if disabled.
+     */
+    private int eagerInitializationParallelism = 0;
+    private EagerInitializationReport eagerInitializationReport;
+    private boolean generatedBeanFactoriesEnabled = false;
 
     /**
      * Custom contexts to register programmatically before container initialization.
@@ -417,6 +428,111 @@ public class Syringe {
         this.allowNonPortableAsyncObserverEventParameterPriority = enabled;
     }
 
+    /**
+     * Sets the executor used to deliver asynchronous events fired without an explicit executor in
+     * their {@link jakarta.enterprise.event.NotificationOptions}.
+     *
+     * <p>By default, asynchronous events are delivered by an unbounded cached thread pool shared by all
+     * containers. An {@link AsyncEventExecutor} bounds the threads used by event bursts, applies a
+     * back-pressure policy and collects delivery metrics. The container shuts the executor down on
+     * {@link #shutdown()}.
+     *
+     * @param asyncEventExecutor the executor, or null to use the default one
+     */
+    public void setAsyncEventExecutor(AsyncEventExecutor asyncEventExecutor) {
+        if (initialized) {
+            throw new IllegalStateException("Cannot change the asynchronous event executor after container initialization");
+        }
+        knowledgeBase.setAsyncEventExecutor(asyncEventExecutor);
+    }
+
+    /**
+     * Makes asynchronous observers run within the request of the thread that fires the event, sharing its
+     * request-scoped instances, instead of within a new request of their own.
+     *
+     * <p>The request is kept alive until the observers are notified, even if the firing thread deactivates it
+     * first. Events fired from a thread without an active request still get a new request. Disabled by default,
+     * as CDI activates a new request context for each asynchronous notification.
+     *
+     * @param enabled true to propagate the firing thread's request
+     * @see com.threeamigos.common.util.implementations.injection.scopes.ContextManager#captureRequest()
+     */
+    public void propagateRequestContextToAsyncObservers(boolean enabled) {
+        if (initialized) {
+            throw new IllegalStateException(
+                    "Cannot change request context propagation after container initialization");
+        }
+        knowledgeBase.setRequestContextPropagatedToAsyncObservers(enabled);
+    }
+
+    /**
+     * Sets how session-scoped and conversation-scoped instances are serialized when sessions and conversations
+     * are passivated, e.g. a
+     * {@link com.threeamigos.common.util.implementations.injection.scopes.JsonPassivationSerializer} for beans that
+     * are not {@code Serializable}. Java serialization is used by default.
+     *
+     * @param serializer the serializer
+     */
+    public void setPassivationSerializer(PassivationSerializer serializer) {
+        contextManager.setPassivationSerializer(serializer);
+    }
+
+    /**
+     * Enables the eager initialization phase with a parallelism equal to the number of available processors.
+     *
+     * @see #enableEagerInitialization(int)
+     */
+    public void enableEagerInitialization() {
+        enableEagerInitialization(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Enables the eager initialization phase: at the end of {@link #start()}, before the container reports
+     * ready, all {@code @ApplicationScoped} and {@code @Singleton} beans are created, in topological waves
+     * of their dependency graph, with up to {@code parallelism} beans created at the same time.
+     *
+     * <p>By default, these beans are created lazily on first use. The timing of each creation is available
+     * from {@link #getEagerInitializationReport()}.
+     *
+     * @param parallelism the maximum number of beans created at the same time; must be at least 1
+     * @see EagerBeanInitializer
+     */
+    public void enableEagerInitialization(int parallelism) {
+        if (initialized) {
+            throw new IllegalStateException("Cannot enable eager initialization after container initialization");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.eagerInitializationParallelism = parallelism;
+    }
+
+    /**
+     * @return the report of the eager initialization phase, or null if it is disabled or did not run yet
+     */
+    public EagerInitializationReport getEagerInitializationReport() {
+        return eagerInitializationReport;
+    }
+
+    /**
+     * Enables generated bean factories: at startup, a factory class is generated for each managed bean, so that
+     * creating and destroying its instances calls the constructor, writes the {@code @Inject} fields and calls
+     * the {@code @PostConstruct}/{@code @PreDestroy} callbacks directly instead of through reflection.
+     *
+     * <p>Members the generated factory cannot access (private members, members inherited from another package)
+     * keep being reached reflectively. Beans with {@code @AroundConstruct} interceptors are still constructed
+     * through their interceptor chain. Disabled by default, as it defines one extra class per bean.
+     *
+     * @param enabled true to generate bean factories
+     * @see BeanFactoryGenerator
+     */
+    public void enableGeneratedBeanFactories(boolean enabled) {
+        if (initialized) {
+            throw new IllegalStateException("Cannot change generated bean factories after container initialization");
+        }
+        this.generatedBeanFactoriesEnabled = enabled;
+    }
+
     /**
      * Programmatically enables an {@code @Alternative} bean class.
      *
@@ -642,17 +758,23 @@ public class Syringe {
 
         ParallelClasspathScanner scanner;
         Set<Class<?>> preexistingDiscoveredClasses = new HashSet<>(knowledgeBase.getClasses());
-        try (ParallelTaskExecutor parallelTaskExecutor = ParallelTaskExecutor.createExecutor()) {
-            ClassProcessor classProcessor = new ClassProcessor(parallelTaskExecutor, knowledgeBase);
+        // A task group on the shared executor: waits only for this discovery's tasks
+        ParallelTaskExecutor.TaskGroup discoveryTasks = null;
+        try {
+            discoveryTasks = ParallelTaskExecutor.getInstance().newGroup();
+            ClassProcessor classProcessor = new ClassProcessor(discoveryTasks, knowledgeBase);
             scanner = new ParallelClasspathScanner(
                     Thread.currentThread().getContextClassLoader(),
                     classProcessor,
                     knowledgeBase,
                     packageNames
             );
-            parallelTaskExecutor.awaitCompletion();
+            discoveryTasks.await();
             filterDiscoveredClassesToRequestedPackages(preexistingDiscoveredClasses);
         } catch (Exception e) {
+            if (discoveryTasks != null) {
+                discoveryTasks.cancel();
+            }
             throw new DeploymentException("Bean discovery failed", e);
         }
 
@@ -900,6 +1022,11 @@ public class Syringe {
             // Re-validate after BCE @Validation; calls to Messages.error(...) must become deployment problems.
             validateDeployment();
 
+            // The set of beans is now stable: index them so lookups stop scanning every bean,
+            // and cache the observers notified for each kind of event
+            beanManager.getBeanResolver().buildResolutionIndex();
+            knowledgeBase.getObserverDispatchCache().enable();
+
             // Step 5.2: Fire AfterDeploymentValidation event
             // Extensions can perform final validation checks
             // Any deployment problems detected here will prevent application startup
@@ -927,6 +1054,13 @@ public class Syringe {
             SyringeCDIProvider.registerGlobalCDI(getCDI());
             ClientProxyGenerator.registerContainer(beanManager.getRegistrationClassLoader(), beanManager, contextManager);
 
+            // Optionally create the ApplicationScoped beans now rather than on first use
+            if (eagerInitializationParallelism > 0) {
+                eagerInitializationReport = new EagerBeanInitializer(beanManager, contextManager,
+                        eagerInitializationParallelism).initialize();
+                info(eagerInitializationReport.toString());
+            }
+
             initialized = true;
             info("Container initialization complete");
 
@@ -951,6 +1085,9 @@ public class Syringe {
         DecoratorAwareProxyGenerator decoratorAwareProxyGenerator = new DecoratorAwareProxyGenerator();
         runtimeInterceptorAwareProxyGenerator = interceptorAwareProxyGenerator;
         runtimeDecoratorAwareProxyGenerator = decoratorAwareProxyGenerator;
+        BeanFactoryGenerator beanFactoryGenerator = generatedBeanFactoriesEnabled ? new BeanFactoryGenerator() : null;
+        // Dense bean ids let the built-in contexts reach contextual instances without hashing beans
+        contextManager.getBeanIndex().register(knowledgeBase.getBeans());
 
         for (Bean<?> bean : knowledgeBase.getBeans()) {
             if (bean instanceof BeanImpl<?>) {
@@ -963,6 +1100,8 @@ public class Syringe {
                 beanImpl.setDecoratorAwareProxyGenerator(decoratorAwareProxyGenerator);
                 beanImpl.setBeanManager(beanManager);
                 beanImpl.buildMethodInterceptorChains();
+                beanImpl.setBeanFactoryGenerator(beanFactoryGenerator);
+                beanImpl.compileInjectionPlan();
             } else if (bean instanceof ProducerBean<?>) {
                 ((ProducerBean<?>) bean).setDependencyResolver(beanResolver);
             }
@@ -1051,6 +1190,11 @@ public class Syringe {
             // Fire BeforeShutdown as the final lifecycle event after contexts are destroyed.
             fireBeforeShutdown();
         } finally {
+            AsyncEventExecutor asyncEventExecutor = knowledgeBase.getAsyncEventExecutor();
+            if (asyncEventExecutor != null) {
+                asyncEventExecutor.shutdown();
+            }
+            knowledgeBase.getEventBatchScheduler().shutdown();
             cleanupStaticState();
             cleanupInstanceState();
             // Clear state
@@ -10,7 +10,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class ClassProcessor implements ClassConsumer {
 
-    private final ParallelTaskExecutor taskExecutor;
+    private final ParallelTaskExecutor.TaskGroup tasks;
     private final KnowledgeBase knowledgeBase;
 
     /**
@@ -20,8 +20,12 @@ public class ClassProcessor implements ClassConsumer {
      */
     private final Set<Class<?>> processedClasses = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
-    public ClassProcessor(ParallelTaskExecutor taskExecutor, KnowledgeBase knowledgeBase) {
-        this.taskExecutor = Objects.requireNonNull(taskExecutor, "taskExecutor cannot be null");
+    /**
+     * @param tasks the task group running the processing; callers await it to know when discovery is complete
+     * @param knowledgeBase where discovered classes are recorded
+     */
+    public ClassProcessor(ParallelTaskExecutor.TaskGroup tasks, KnowledgeBase knowledgeBase) {
+        this.tasks = Objects.requireNonNull(tasks, "tasks cannot be null");
         this.knowledgeBase = Objects.requireNonNull(knowledgeBase, "knowledgeBase cannot be null");
     }
 
@@ -31,7 +35,7 @@ public class ClassProcessor implements ClassConsumer {
         Objects.requireNonNull(beanArchiveMode, "beanArchiveMode cannot be null");
         // Only schedule processing if we haven't seen this class before
         if (processedClasses.add(clazz)) {
-            taskExecutor.schedulePlatformThread(() -> accept(clazz, beanArchiveMode));
+            tasks.schedulePlatformThread(() -> accept(clazz, beanArchiveMode));
         }
     }
 
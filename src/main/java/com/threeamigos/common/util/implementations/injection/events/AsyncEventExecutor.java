@@ -0,0 +1,339 @@
+package com.threeamigos.common.util.implementations.injection.events;
+
+import com.threeamigos.common.util.implementations.concurrency.ParallelTaskExecutor;
+import jakarta.annotation.Nonnull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded and instrumented executor for asynchronous event delivery.
+ *
+ * <p>By default, {@link EventImpl#fireAsync(Object)} runs observers on an unbounded cached thread
+ * pool. This executor limits the resources an asynchronous event burst may take and makes the
+ * delivery observable. It can be configured on a container with
+ * {@link com.threeamigos.common.util.implementations.injection.Syringe#setAsyncEventExecutor(AsyncEventExecutor)},
+ * and is then used by every {@code fireAsync} call that does not specify its own executor.
+ *
+ * <p>Two flavours are available:
+ * <ul>
+ *   <li>{@link #bounded(int, int, RejectionPolicy)}: a fixed pool of platform threads with a bounded queue</li>
+ *   <li>{@link #virtualThreads(int, RejectionPolicy)}: one virtual thread per delivery, with a bounded
+ *       number of concurrent deliveries (falls back to a bounded platform pool before Java 21)</li>
+ * </ul>
+ *
+ * <p>When the executor is saturated the {@link RejectionPolicy} decides what happens to a new delivery.
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>queue depth, active and completed deliveries</li>
+ *   <li>number of submissions that found the executor saturated</li>
+ *   <li>invocation count and latency of each asynchronous observer</li>
+ * </ul>
+ *
+ * <p><b>Thread Safety:</b> This class is thread-safe.
+ */
+public final class AsyncEventExecutor implements Executor {
+
+    /**
+     * What to do with a delivery submitted while the executor is saturated.
+     */
+    public enum RejectionPolicy {
+        /**
+         * Reject the delivery: {@code fireAsync} throws a {@link RejectedExecutionException}.
+         */
+        ABORT,
+        /**
+         * Deliver the event in the firing thread, slowing the producer down.
+         */
+        CALLER_RUNS,
+        /**
+         * Block the firing thread until the delivery can be queued.
+         */
+        BLOCK
+    }
+
+    private final ExecutorService delegate;
+    private final boolean virtualThreads;
+    private final RejectionPolicy rejectionPolicy;
+    // Bounds the concurrent deliveries on virtual threads, null for platform pools
+    private final Semaphore permits;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong saturationCount = new AtomicLong();
+    private final ConcurrentMap<String, ObserverStatistics> observerStatistics = new ConcurrentHashMap<>();
+
+    private AsyncEventExecutor(ExecutorService delegate, boolean virtualThreads, RejectionPolicy rejectionPolicy,
+                               Semaphore permits) {
+        this.delegate = delegate;
+        this.virtualThreads = virtualThreads;
+        this.rejectionPolicy = rejectionPolicy;
+        this.permits = permits;
+    }
+
+    /**
+     * Creates an executor running deliveries on a fixed pool of platform threads.
+     * Idle threads are released after one minute.
+     *
+     * @param threads the number of threads (at least 1)
+     * @param queueCapacity the number of deliveries that may wait for a thread (at least 1)
+     * @param rejectionPolicy what to do when all threads are busy and the queue is full
+     * @return the executor
+     * @throws IllegalArgumentException if threads or queueCapacity is less than 1, or rejectionPolicy is null
+     */
+    public static AsyncEventExecutor bounded(int threads, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1");
+        }
+        if (rejectionPolicy == null) {
+            throw new IllegalArgumentException("rejectionPolicy cannot be null");
+        }
+        AsyncEventExecutor[] self = new AsyncEventExecutor[1];
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new AsyncEventThreadFactory(),
+                (task, executor) -> self[0].saturated(task, executor));
+        pool.allowCoreThreadTimeOut(true);
+        self[0] = new AsyncEventExecutor(pool, false, rejectionPolicy, null);
+        return self[0];
+    }
+
+    /**
+     * Creates an executor running each delivery on its own virtual thread, as discovered by
+     * {@link ParallelTaskExecutor#tryCreateVirtualExecutor()}. When virtual threads are not available,
+     * returns {@code bounded(maxConcurrency, maxConcurrency, rejectionPolicy)}.
+     *
+     * @param maxConcurrency the maximum number of deliveries running at the same time (at least 1)
+     * @param rejectionPolicy what to do when maxConcurrency deliveries are already running
+     * @return the executor
+     * @throws IllegalArgumentException if maxConcurrency is less than 1 or rejectionPolicy is null
+     */
+    public static AsyncEventExecutor virtualThreads(int maxConcurrency, RejectionPolicy rejectionPolicy) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        if (rejectionPolicy == null) {
+            throw new IllegalArgumentException("rejectionPolicy cannot be null");
+        }
+        ExecutorService virtual = ParallelTaskExecutor.tryCreateVirtualExecutor();
+        if (virtual == null) {
+            return bounded(maxConcurrency, maxConcurrency, rejectionPolicy);
+        }
+        return new AsyncEventExecutor(virtual, true, rejectionPolicy, new Semaphore(maxConcurrency));
+    }
+
+    @Override
+    public void execute(@Nonnull Runnable command) {
+        Runnable task = instrument(command);
+        queueDepth.incrementAndGet();
+        if (permits == null) {
+            try {
+                delegate.execute(task);
+            } catch (RejectedExecutionException e) {
+                queueDepth.decrementAndGet();
+                throw e;
+            }
+            return;
+        }
+
+        if (!permits.tryAcquire()) {
+            saturationCount.incrementAndGet();
+            if (rejectionPolicy == RejectionPolicy.ABORT) {
+                queueDepth.decrementAndGet();
+                throw new RejectedExecutionException("Asynchronous event executor is saturated");
+            }
+            if (rejectionPolicy == RejectionPolicy.CALLER_RUNS) {
+                task.run();
+                return;
+            }
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queueDepth.decrementAndGet();
+                throw new RejectedExecutionException("Interrupted while waiting for the asynchronous event executor", e);
+            }
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            queueDepth.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private Runnable instrument(Runnable command) {
+        return () -> {
+            queueDepth.decrementAndGet();
+            activeCount.incrementAndGet();
+            try {
+                command.run();
+            } finally {
+                activeCount.decrementAndGet();
+                completedCount.incrementAndGet();
+            }
+        };
+    }
+
+    private void saturated(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Asynchronous event executor has been shut down");
+        }
+        saturationCount.incrementAndGet();
+        switch (rejectionPolicy) {
+            case CALLER_RUNS:
+                task.run();
+                break;
+            case BLOCK:
+                try {
+                    executor.getQueue().put(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException(
+                            "Interrupted while waiting for the asynchronous event executor", e);
+                }
+                break;
+            default:
+                throw new RejectedExecutionException("Asynchronous event executor is saturated");
+        }
+    }
+
+    /**
+     * Records the time taken by an asynchronous observer to process an event.
+     */
+    void recordObserverInvocation(String observer, long nanos) {
+        ObserverStatistics statistics = observerStatistics.get(observer);
+        if (statistics == null) {
+            statistics = new ObserverStatistics();
+            ObserverStatistics existing = observerStatistics.putIfAbsent(observer, statistics);
+            if (existing != null) {
+                statistics = existing;
+            }
+        }
+        statistics.record(nanos);
+    }
+
+    /**
+     * @return true if deliveries run on virtual threads
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /**
+     * @return the number of deliveries submitted and not started yet
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return the number of deliveries currently running
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * @return the number of deliveries completed, successfully or not
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * @return the number of submissions that found the executor saturated, whatever the rejection policy
+     */
+    public long getSaturationCount() {
+        return saturationCount.get();
+    }
+
+    /**
+     * Returns the statistics of each asynchronous observer notified through this executor, keyed by
+     * observer ({@code DeclaringClass.method}, or the class of a synthetic observer).
+     *
+     * @return an unmodifiable snapshot of the observer statistics
+     */
+    public Map<String, ObserverStatistics> getObserverStatistics() {
+        return Collections.unmodifiableMap(new HashMap<>(observerStatistics));
+    }
+
+    /**
+     * Stops accepting deliveries. Deliveries already submitted are completed.
+     */
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    /**
+     * Invocation count and latency of an asynchronous observer.
+     */
+    public static final class ObserverStatistics {
+        private final LongAdder invocationCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            invocationCount.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getInvocationCount() {
+            return invocationCount.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getAverageNanos() {
+            long count = invocationCount.sum();
+            return count == 0 ? 0 : totalNanos.sum() / count;
+        }
+    }
+
+    private static final class AsyncEventThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(@Nonnull Runnable runnable) {
+            Thread thread = new Thread(runnable, "syringe-event-async-bounded-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            try {
+                thread.setContextClassLoader(AsyncEventExecutor.class.getClassLoader());
+            } catch (SecurityException ignored) {
+                // Best-effort only.
+            }
+            return thread;
+        }
+    }
+}
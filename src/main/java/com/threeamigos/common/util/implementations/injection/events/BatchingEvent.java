@@ -0,0 +1,179 @@
+package com.threeamigos.common.util.implementations.injection.events;
+
+import com.threeamigos.common.util.interfaces.messagehandler.ExceptionWithMessageHandler;
+
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Buffers the events fired through an {@link EventImpl} and delivers them in batches.
+ *
+ * <p>Meant for high-rate event types (metrics, telemetry) where the cost of a dispatch, and of the
+ * request context activation around it, dominates the work done by the observers. Events are
+ * buffered until one of the following happens:
+ * <ul>
+ *   <li>the buffer holds {@code maxSize} events: the firing thread delivers the batch</li>
+ *   <li>{@code maxDelay} has elapsed since the first buffered event: the timer thread of the container
+ *       delivers the batch, reporting observer failures to the container's message handler</li>
+ *   <li>{@link #flush()} or {@link #close()} is called</li>
+ * </ul>
+ *
+ * <p>A batch is delivered to the synchronous observers of the underlying event, one event after the
+ * other in firing order, within a single request context activation. Batches are delivered one at a
+ * time, so observers see events in the order they were fired.
+ *
+ * <p>When a coalescing key is given, only the latest event per key is kept in the buffer; it is
+ * delivered at the position of the first event buffered with that key.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * @Inject Event<Sample> samples;
+ *
+ * BatchingEvent<Sample> batching = ((EventImpl<Sample>) samples).batching(500, 100, TimeUnit.MILLISECONDS);
+ * batching.fire(sample);
+ * ...
+ * batching.close();
+ * }</pre>
+ *
+ * <p><b>Thread Safety:</b> This class is thread-safe.
+ *
+ * @param <T> the event type
+ */
+public final class BatchingEvent<T> implements AutoCloseable {
+
+    private final EventImpl<T> target;
+    private final EventBatchScheduler scheduler;
+    private final ExceptionWithMessageHandler exceptionHandler;
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final Function<? super T, ?> coalescingKey;
+
+    private final Object bufferLock = new Object();
+    private final Object deliveryLock = new Object();
+    private List<T> buffer = new ArrayList<>();
+    private Map<Object, T> coalescedBuffer = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    BatchingEvent(EventImpl<T> target, EventBatchScheduler scheduler, ExceptionWithMessageHandler exceptionHandler,
+                  int maxSize, long maxDelay, TimeUnit unit, Function<? super T, ?> coalescingKey) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        if (maxDelay < 0) {
+            throw new IllegalArgumentException("maxDelay cannot be negative");
+        }
+        if (unit == null) {
+            throw new IllegalArgumentException("unit cannot be null");
+        }
+        this.target = target;
+        this.scheduler = scheduler;
+        this.exceptionHandler = exceptionHandler;
+        this.maxSize = maxSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.coalescingKey = coalescingKey;
+    }
+
+    /**
+     * Buffers an event, delivering the batch in the calling thread if the buffer is full.
+     *
+     * @param event the event payload (must not be null)
+     * @throws IllegalArgumentException if the event is null
+     * @throws IllegalStateException if this batching event has been closed
+     * @throws RuntimeException if the batch is delivered and an observer fails
+     */
+    public void fire(T event) {
+        if (event == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+        boolean full;
+        synchronized (bufferLock) {
+            if (closed) {
+                throw new IllegalStateException("BatchingEvent has been closed");
+            }
+            if (coalescingKey != null) {
+                coalescedBuffer.put(coalescingKey.apply(event), event);
+            } else {
+                buffer.add(event);
+            }
+            full = bufferedCount() >= maxSize;
+            if (!full && maxDelayNanos > 0 && scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flushOnTimer, maxDelayNanos);
+            }
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Delivers the buffered events in the calling thread.
+     *
+     * <p>Every event of the batch is delivered even if some observers fail; the first failure is then
+     * rethrown, with the others added as suppressed exceptions.
+     */
+    public void flush() {
+        synchronized (deliveryLock) {
+            List<T> batch = takeBatch();
+            if (!batch.isEmpty()) {
+                target.fireBatch(batch);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events waiting to be delivered.
+     */
+    public int getBufferedCount() {
+        synchronized (bufferLock) {
+            return bufferedCount();
+        }
+    }
+
+    /**
+     * Delivers the buffered events and stops accepting new ones.
+     */
+    @Override
+    public void close() {
+        synchronized (bufferLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        flush();
+    }
+
+    private void flushOnTimer() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // No caller to report to
+            exceptionHandler.handleException("Batched event delivery failed (" + target + ")", e);
+        }
+    }
+
+    private List<T> takeBatch() {
+        synchronized (bufferLock) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            List<T> batch;
+            if (coalescingKey != null) {
+                batch = new ArrayList<>(coalescedBuffer.values());
+                coalescedBuffer = new LinkedHashMap<>();
+            } else {
+                batch = buffer;
+                buffer = new ArrayList<>();
+            }
+            return batch;
+        }
+    }
+
+    private int bufferedCount() {
+        return coalescingKey != null ? coalescedBuffer.size() : buffer.size();
+    }
+}
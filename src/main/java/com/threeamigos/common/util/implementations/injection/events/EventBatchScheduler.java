@@ -0,0 +1,54 @@
+package com.threeamigos.common.util.implementations.injection.events;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer shared by the {@link BatchingEvent}s of a container to deliver batches after their maximum delay.
+ *
+ * <p>The daemon thread is started by the first timed batch and stopped by {@link #shutdown()}, which
+ * the container calls when it shuts down. A batch scheduled after that starts a new thread.
+ *
+ * <p><b>Thread Safety:</b> This class is thread-safe.
+ */
+public final class EventBatchScheduler {
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Runs a task once the delay has elapsed.
+     *
+     * @param task the task to run
+     * @param delayNanos the delay in nanoseconds
+     * @return the pending task
+     */
+    synchronized ScheduledFuture<?> schedule(Runnable task, long delayNanos) {
+        if (scheduler == null || scheduler.isShutdown()) {
+            scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "syringe-event-batch");
+                thread.setDaemon(true);
+                try {
+                    thread.setContextClassLoader(EventBatchScheduler.class.getClassLoader());
+                } catch (SecurityException ignored) {
+                    // Best-effort only.
+                }
+                return thread;
+            });
+            // Batches flushed before their delay cancel the timer: do not keep them queued
+            scheduler.setRemoveOnCancelPolicy(true);
+        }
+        return scheduler.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the timer thread. Pending batches are not delivered by the timer; they stay buffered
+     * until their {@link BatchingEvent} is flushed or closed.
+     */
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.threeamigos.common.util.implementations.injection.annotations.Annotat
 
 import com.threeamigos.common.util.implementations.injection.scopes.ContextManager;
 import com.threeamigos.common.util.implementations.injection.scopes.ScopeContext;
+import com.threeamigos.common.util.implementations.injection.scopes.RequestContextHandle;
 import com.threeamigos.common.util.implementations.injection.scopes.RequestScopedContext;
 import com.threeamigos.common.util.implementations.injection.scopes.ConversationScopedContext;
 import com.threeamigos.common.util.implementations.injection.scopes.SessionScopedContext;
@@ -66,9 +67,11 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static com.threeamigos.common.util.implementations.injection.annotations.AnnotationsEnum.*;
 import static com.threeamigos.common.util.implementations.injection.annotations.AnnotationPredicates.*;
@@ -125,6 +128,7 @@ public class EventImpl<T> implements Event<T>, Serializable {
     private final ContextTokenProvider tokenProvider;
     private final InjectionPoint firingInjectionPoint;
     private final boolean allowStartupEventDispatch;
+    private transient volatile ObserverDispatchCache.SelectorKey dispatchSelectorKey;
     private static final AtomicBoolean TRANSACTION_DOWNGRADE_WARNED = new AtomicBoolean(false);
     private static final ConcurrentHashMap<Class<? extends Annotation>, AtomicBoolean> INACTIVE_SCOPE_WARNED =
         new ConcurrentHashMap<>();
@@ -275,13 +279,26 @@ public class EventImpl<T> implements Event<T>, Serializable {
         }
         validateEventObject(event);
 
-        // Find all matching synchronous observers
-        List<ObserverMethodInfo> matchingObservers = findMatchingObservers(event, false);
-
-        // Sort by priority (lower = earlier)
-        matchingObservers.sort(Comparator.comparingInt(ObserverMethodInfo::getPriority));
+        // Find all matching synchronous observers, sorted by priority (lower = earlier)
+        ObserverDispatchCache.DispatchTable dispatchTable = findDispatchTable(event);
+        List<ObserverMethodInfo> matchingObservers = dispatchTable != null
+                ? dispatchTable.sync
+                : findSortedMatchingObservers(event, false);
 
         boolean txActive = transactionServices.isTransactionActive();
+        if (txActive && dispatchTable != null && dispatchTable.transactional &&
+                !dispatchTable.conditionalTransactional) {
+            // The transactional observers do not depend on existing instances: use the precomputed phases
+            for (ObserverMethodInfo observerInfo : dispatchTable.inProgress) {
+                if (!isConditionalObserverWithoutInstance(observerInfo)) {
+                    invokeObserverWithContextCheck(observerInfo, event);
+                }
+            }
+            registerTransactionalObservers(dispatchTable.beforeCompletion, dispatchTable.afterSuccess,
+                    dispatchTable.afterFailure, dispatchTable.afterCompletion, event);
+            return;
+        }
+
         List<ObserverMethodInfo> beforeCompletion = new ArrayList<>();
         List<ObserverMethodInfo> afterSuccess = new ArrayList<>();
         List<ObserverMethodInfo> afterFailure = new ArrayList<>();
@@ -289,27 +306,8 @@ public class EventImpl<T> implements Event<T>, Serializable {
 
         // Invoke each observer
         for (ObserverMethodInfo observerInfo : matchingObservers) {
-            // Check reception condition per CDI 4.1 specification (Section 10.5.2):
-            // - Reception.IF_EXISTS: Only notify if bean instance already exists in scope
-            // - Reception.ALWAYS (default): Always notify, creating bean instance if needed
-            if (observerInfo.getReception() == Reception.IF_EXISTS) {
-                // Only notify if a bean instance already exists in scope
-                Bean<?> declaringBean = observerInfo.getDeclaringBean();
-                if (declaringBean != null) {
-                    Class<? extends Annotation> scopeType = declaringBean.getScope();
-                    try {
-                        ScopeContext context = contextManager.getContext(scopeType);
-                        Object existingInstance = context.getIfExists(declaringBean);
-
-                        // Skip this observer if the bean doesn't exist yet
-                        if (existingInstance == null) {
-                            continue;
-                        }
-                    } catch (IllegalArgumentException e) {
-                        // Scope isn't registered - skip this observer
-                        continue;
-                    }
-                }
+            if (isConditionalObserverWithoutInstance(observerInfo)) {
+                continue;
             }
             // If Reception.ALWAYS: invokeObserver() will create the bean if needed via beanResolver
 
@@ -342,8 +340,45 @@ public class EventImpl<T> implements Event<T>, Serializable {
             }
         }
 
-        if (txActive && (!beforeCompletion.isEmpty() || !afterSuccess.isEmpty() ||
-            !afterFailure.isEmpty() || !afterCompletion.isEmpty())) {
+        if (txActive) {
+            registerTransactionalObservers(beforeCompletion, afterSuccess, afterFailure, afterCompletion, event);
+        }
+    }
+
+    /**
+     * Checks the reception condition per CDI 4.1 specification (Section 10.5.2):
+     * an observer with {@link Reception#IF_EXISTS} is only notified if an instance of its
+     * declaring bean already exists in scope, while {@link Reception#ALWAYS} (the default)
+     * observers are always notified, creating the bean instance if needed.
+     *
+     * @return true if the observer must be skipped
+     */
+    private boolean isConditionalObserverWithoutInstance(ObserverMethodInfo observerInfo) {
+        if (observerInfo.getReception() != Reception.IF_EXISTS) {
+            return false;
+        }
+        Bean<?> declaringBean = observerInfo.getDeclaringBean();
+        if (declaringBean == null) {
+            return false;
+        }
+        Class<? extends Annotation> scopeType = declaringBean.getScope();
+        try {
+            ScopeContext context = contextManager.getContext(scopeType);
+            // Skip this observer if the bean doesn't exist yet
+            return context.getIfExists(declaringBean) == null;
+        } catch (IllegalArgumentException e) {
+            // Scope isn't registered - skip this observer
+            return true;
+        }
+    }
+
+    private void registerTransactionalObservers(List<ObserverMethodInfo> beforeCompletion,
+                                                List<ObserverMethodInfo> afterSuccess,
+                                                List<ObserverMethodInfo> afterFailure,
+                                                List<ObserverMethodInfo> afterCompletion,
+                                                Object event) {
+        if (!beforeCompletion.isEmpty() || !afterSuccess.isEmpty() ||
+            !afterFailure.isEmpty() || !afterCompletion.isEmpty()) {
             try {
                 transactionServices.registerSynchronization(new TransactionSynchronizationCallbacks() {
                     @Override
@@ -404,7 +439,9 @@ public class EventImpl<T> implements Event<T>, Serializable {
      */
     @Override
     public <U extends T> CompletionStage<U> fireAsync(U event) {
-        return fireAsync(event, NotificationOptions.ofExecutor(getDefaultAsyncExecutor()));
+        AsyncEventExecutor configuredExecutor = knowledgeBase.getAsyncEventExecutor();
+        Executor executor = configuredExecutor != null ? configuredExecutor : getDefaultAsyncExecutor();
+        return fireAsync(event, NotificationOptions.ofExecutor(executor));
     }
 
     /**
@@ -436,83 +473,164 @@ public class EventImpl<T> implements Event<T>, Serializable {
             throw new IllegalArgumentException("NotificationOptions cannot be null");
         }
 
-        // Find all matching asynchronous observers
-        List<ObserverMethodInfo> matchingObservers = findMatchingObservers(event, true);
-
-        // Sort by priority (lower = earlier)
-        matchingObservers.sort(Comparator.comparingInt(ObserverMethodInfo::getPriority));
+        // Find all matching asynchronous observers, sorted by priority (lower = earlier)
+        ObserverDispatchCache.DispatchTable dispatchTable = findDispatchTable(event);
+        List<ObserverMethodInfo> matchingObservers = dispatchTable != null
+                ? dispatchTable.async
+                : findSortedMatchingObservers(event, true);
 
         // Get executor from options or use default
         Executor executor = options.getExecutor();
         if (executor == null) {
             executor = getDefaultAsyncExecutor();
         }
+        AsyncEventExecutor instrumentedExecutor =
+                executor instanceof AsyncEventExecutor ? (AsyncEventExecutor) executor : null;
+
+        // Propagate the firing thread's request, if asked to; the capture keeps it alive until the task runs
+        RequestContextHandle requestHandle = knowledgeBase.isRequestContextPropagatedToAsyncObservers()
+                ? contextManager.captureRequest()
+                : null;
 
         // Create an async task
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (requestHandle != null) {
+                    contextManager.runWithin(requestHandle,
+                            () -> notifyAsyncObservers(event, matchingObservers, instrumentedExecutor));
+                    return event;
+                }
+                ScopeContext requestScopeContext = contextManager.getContext(RequestScoped.class);
+                boolean activatedRequestContext = false;
+                if (!requestScopeContext.isActive() && requestScopeContext instanceof RequestScopedContext) {
+                    ((RequestScopedContext) requestScopeContext).activateRequest();
+                    activatedRequestContext = true;
+                }
+                try {
+                    notifyAsyncObservers(event, matchingObservers, instrumentedExecutor);
+                } finally {
+                    if (activatedRequestContext) {
+                        ((RequestScopedContext) requestScopeContext).deactivateRequest();
+                    }
+                }
+                return event;
+            }, executor);
+        } catch (RuntimeException e) {
+            // The task was rejected and will never give the captured request back
+            if (requestHandle != null) {
+                requestHandle.release();
+            }
+            throw e;
+        }
+    }
 
-        return CompletableFuture.supplyAsync(() -> {
-            ScopeContext requestScopeContext = contextManager.getContext(RequestScoped.class);
-            boolean activatedRequestContext = false;
-            if (!requestScopeContext.isActive() && requestScopeContext instanceof RequestScopedContext) {
-                ((RequestScopedContext) requestScopeContext).activateRequest();
-                activatedRequestContext = true;
+    private void notifyAsyncObservers(Object event, List<ObserverMethodInfo> matchingObservers,
+                                      AsyncEventExecutor instrumentedExecutor) {
+        List<Throwable> observerFailures = new ArrayList<>();
+        for (ObserverMethodInfo observerInfo : matchingObservers) {
+            if (isConditionalObserverWithoutInstance(observerInfo)) {
+                continue;
             }
-            try {
-                List<Throwable> observerFailures = new ArrayList<>();
-                for (ObserverMethodInfo observerInfo : matchingObservers) {
-                    // Check reception condition per CDI 4.1 specification (Section 10.5.2):
-                    // - Reception.IF_EXISTS: Only notify if bean instance already exists in scope
-                    // - Reception.ALWAYS (default): Always notify, creating bean instance if needed
-                    if (observerInfo.getReception() == Reception.IF_EXISTS) {
-                        // Only notify if a bean instance already exists in scope
-                        Bean<?> declaringBean = observerInfo.getDeclaringBean();
-                        if (declaringBean != null) {
-                            Class<? extends Annotation> scopeType = declaringBean.getScope();
-                            try {
-                                ScopeContext context = contextManager.getContext(scopeType);
-                                Object existingInstance = context.getIfExists(declaringBean);
-
-                                // Skip this observer if the bean doesn't exist yet
-                                if (existingInstance == null) {
-                                    continue;
-                                }
-                            } catch (IllegalArgumentException e) {
-                                // Scope isn't registered - skip this observer
-                                continue;
-                            }
-                        }
-                    }
-                    // If Reception.ALWAYS: invokeObserver() will create the bean if needed via beanResolver
+            // If Reception.ALWAYS: invokeObserver() will create the bean if needed via beanResolver
 
-                    ContextActivation activation = ensureObserverContext(observerInfo);
-                    if (activation.isSkip()) {
-                        continue;
-                    }
-                    try {
-                        invokeObserver(observerInfo, event);
-                    } catch (RuntimeException e) {
-                        // Async observer failure aborts that observer, not whole event delivery.
-                        observerFailures.add(e);
-                    } finally {
-                        activation.close();
-                    }
+            ContextActivation activation = ensureObserverContext(observerInfo);
+            if (activation.isSkip()) {
+                continue;
+            }
+            long start = instrumentedExecutor != null ? System.nanoTime() : 0L;
+            try {
+                invokeObserver(observerInfo, event);
+            } catch (RuntimeException e) {
+                // Async observer failure aborts that observer, not whole event delivery.
+                observerFailures.add(e);
+            } finally {
+                activation.close();
+                if (instrumentedExecutor != null) {
+                    instrumentedExecutor.recordObserverInvocation(observerName(observerInfo),
+                            System.nanoTime() - start);
                 }
-                if (!observerFailures.isEmpty()) {
-                    Throwable primary = observerFailures.get(0);
-                    CompletionException completionException =
-                        new CompletionException("Asynchronous observer notification failed", primary);
-                    for (Throwable failure : observerFailures) {
-                        completionException.addSuppressed(failure);
+            }
+        }
+        if (!observerFailures.isEmpty()) {
+            Throwable primary = observerFailures.get(0);
+            CompletionException completionException =
+                new CompletionException("Asynchronous observer notification failed", primary);
+            for (Throwable failure : observerFailures) {
+                completionException.addSuppressed(failure);
+            }
+            throw completionException;
+        }
+    }
+
+    /**
+     * Creates a {@link BatchingEvent} buffering the events fired through it and delivering them to the
+     * observers of this event in batches.
+     *
+     * @param maxSize the number of buffered events that triggers a delivery (at least 1)
+     * @param maxDelay the maximum time an event stays buffered, or 0 to deliver only when the buffer is
+     *                 full or explicitly flushed
+     * @param unit the unit of maxDelay
+     * @return a new batching event, to be closed when no longer used
+     * @throws IllegalArgumentException if maxSize is less than 1, maxDelay is negative or unit is null
+     */
+    public BatchingEvent<T> batching(int maxSize, long maxDelay, TimeUnit unit) {
+        return new BatchingEvent<>(this, knowledgeBase.getEventBatchScheduler(), knowledgeBase.getMessageHandler(),
+                maxSize, maxDelay, unit, null);
+    }
+
+    /**
+     * Creates a {@link BatchingEvent} that keeps only the latest buffered event for each key.
+     *
+     * @param maxSize the number of distinct buffered keys that triggers a delivery (at least 1)
+     * @param maxDelay the maximum time an event stays buffered, or 0 to deliver only when the buffer is
+     *                 full or explicitly flushed
+     * @param unit the unit of maxDelay
+     * @param coalescingKey extracts the key of an event
+     * @return a new batching event, to be closed when no longer used
+     * @throws IllegalArgumentException if maxSize is less than 1, maxDelay is negative, or unit or
+     *                                  coalescingKey is null
+     */
+    public BatchingEvent<T> coalescing(int maxSize, long maxDelay, TimeUnit unit,
+                                       Function<? super T, ?> coalescingKey) {
+        if (coalescingKey == null) {
+            throw new IllegalArgumentException("coalescingKey cannot be null");
+        }
+        return new BatchingEvent<>(this, knowledgeBase.getEventBatchScheduler(), knowledgeBase.getMessageHandler(),
+                maxSize, maxDelay, unit, coalescingKey);
+    }
+
+    /**
+     * Fires the events of a batch, in order, within a single request context activation.
+     * Every event is delivered; the first observer failure is rethrown with the others suppressed.
+     */
+    void fireBatch(List<? extends T> events) {
+        ScopeContext requestScopeContext = contextManager.getContext(RequestScoped.class);
+        boolean activatedRequestContext = false;
+        if (!requestScopeContext.isActive() && requestScopeContext instanceof RequestScopedContext) {
+            ((RequestScopedContext) requestScopeContext).activateRequest();
+            activatedRequestContext = true;
+        }
+        RuntimeException failure = null;
+        try {
+            for (T event : events) {
+                try {
+                    fire(event);
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
                     }
-                    throw completionException;
-                }
-            } finally {
-                if (activatedRequestContext) {
-                    ((RequestScopedContext) requestScopeContext).deactivateRequest();
                 }
             }
-            return event;
-        }, executor);
+        } finally {
+            if (activatedRequestContext) {
+                ((RequestScopedContext) requestScopeContext).deactivateRequest();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
     /**
@@ -1065,13 +1183,12 @@ public class EventImpl<T> implements Event<T>, Serializable {
      *   <li>All observer qualifiers are present in this Event's qualifiers</li>
      * </ul>
      *
-     * @param event the event to match
+     * @param eventDispatchTypes the resolved types of the event to match
      * @param async true for @ObservesAsync observers, false for @Observes observers
      * @return list of matching observer method metadata
      */
-    private List<ObserverMethodInfo> findMatchingObservers(Object event, boolean async) {
+    private List<ObserverMethodInfo> findMatchingObservers(Set<Type> eventDispatchTypes, boolean async) {
         List<ObserverMethodInfo> matching = new ArrayList<>();
-        Set<Type> eventDispatchTypes = getResolvedEventDispatchTypes(event);
 
         // Find matching reflection-based observers (from @Observes/@ObservesAsync methods)
         for (ObserverMethodInfo observerInfo : knowledgeBase.getObserverMethodInfos()) {
@@ -1130,6 +1247,43 @@ public class EventImpl<T> implements Event<T>, Serializable {
         return deduped;
     }
 
+    private List<ObserverMethodInfo> findSortedMatchingObservers(Object event, boolean async) {
+        List<ObserverMethodInfo> matching = findMatchingObservers(getResolvedEventDispatchTypes(event), async);
+        // Sort by priority (lower = earlier)
+        matching.sort(Comparator.comparingInt(ObserverMethodInfo::getPriority));
+        return matching;
+    }
+
+    /**
+     * Returns the cached observers notified for the given event, building them on first use,
+     * or null if observer dispatch is not cached (before deployment validation completes).
+     */
+    private ObserverDispatchCache.DispatchTable findDispatchTable(Object event) {
+        // Read the versions before matching, so that a table built from older observers is never
+        // published in a newer generation
+        ObserverDispatchCache.Generation cache = knowledgeBase.getObserverDispatchCache()
+                .generation(knowledgeBase.getResolutionVersion(), knowledgeBase.getObserverVersion());
+        if (cache == null) {
+            return null;
+        }
+        ObserverDispatchCache.SelectorKey selectorKey = dispatchSelectorKey;
+        if (selectorKey == null) {
+            selectorKey = new ObserverDispatchCache.SelectorKey(eventType, qualifiers);
+            dispatchSelectorKey = selectorKey;
+        }
+        ObserverDispatchCache.DispatchKey key = new ObserverDispatchCache.DispatchKey(selectorKey, event.getClass());
+        ObserverDispatchCache.DispatchTable table = cache.get(key);
+        if (table == null) {
+            Set<Type> eventDispatchTypes = getResolvedEventDispatchTypes(event);
+            List<ObserverMethodInfo> sync = findMatchingObservers(eventDispatchTypes, false);
+            List<ObserverMethodInfo> async = findMatchingObservers(eventDispatchTypes, true);
+            sync.sort(Comparator.comparingInt(ObserverMethodInfo::getPriority));
+            async.sort(Comparator.comparingInt(ObserverMethodInfo::getPriority));
+            table = cache.publish(key, new ObserverDispatchCache.DispatchTable(sync, async));
+        }
+        return table;
+    }
+
     private boolean isObserverDispatchCandidate(ObserverMethodInfo observerInfo, boolean async) {
         if (observerInfo == null) {
             return false;
@@ -1342,45 +1496,29 @@ public class EventImpl<T> implements Event<T>, Serializable {
             }
 
             // Handle reflection-based observers (from @Observes/@ObservesAsync methods)
-            Method method = observerInfo.getObserverMethod();
+            ObserverInvoker invoker = getObserverInvoker(observerInfo);
+            Method method = invoker.method;
             Bean<?> declaringBean = observerInfo.getDeclaringBean();
 
             // Resolve method parameters
-            Parameter[] parameters = method.getParameters();
+            Parameter[] parameters = invoker.parameters;
             Object[] args = new Object[parameters.length];
-            int observedParameterPosition = resolveObservedParameterPosition(observerInfo, parameters);
+            int observedParameterPosition = invoker.observedParameterPosition;
 
             for (int i = 0; i < parameters.length; i++) {
-                Parameter param = parameters[i];
-
                 // The @Observes or @ObservesAsync parameter gets the event
                 if (i == observedParameterPosition) {
                     args[i] = event;
-                } else if (EventMetadata.class.equals(param.getType())) {
+                } else if (invoker.isMetadataParameter(i)) {
                     args[i] = new EventMetadataImpl(qualifiers, firingInjectionPoint, metadataType);
                 } else {
                     // Other parameters are injection points - resolve them
-                    InjectionPoint registeredInjectionPoint =
-                            findRegisteredObserverInjectionPoint(declaringBean, method, i);
-                    Type paramType = registeredInjectionPoint != null
-                            ? registeredInjectionPoint.getType()
-                            : param.getParameterizedType();
-                    if (declaringBean != null && declaringBean.getBeanClass() != null) {
-                        paramType = GenericTypeResolver.resolve(
-                                paramType,
-                                declaringBean.getBeanClass(),
-                                method.getDeclaringClass()
-                        );
-                    }
-                    Annotation[] paramAnnotations = registeredInjectionPoint != null
-                            ? registeredInjectionPoint.getQualifiers().toArray(new Annotation[0])
-                            : param.getAnnotations();
                     args[i] = resolveObserverParameterWithContext(
-                            param,
-                            paramType,
-                            paramAnnotations,
+                            parameters[i],
+                            invoker.getParameterType(i),
+                            invoker.getParameterQualifiers(i),
                             declaringBean,
-                            registeredInjectionPoint
+                            invoker.getRegisteredInjectionPoint(i)
                     );
                 }
             }
@@ -1389,11 +1527,11 @@ public class EventImpl<T> implements Event<T>, Serializable {
             Object beanInstance = null;
             CreationalContext<?> observerCreationalContext = null;
             boolean destroyDependentReceiverExplicitly = false;
-            if (!Modifier.isStatic(method.getModifiers())) {
+            if (!invoker.isStatic) {
                 // Get the bean instance that declares this observer method
                 // For Reception.ALWAYS (default): This will create the bean if it doesn't exist
                 // For Reception.IF_EXISTS: This is only called after checking bean existence
-                if (declaringBean != null && AnnotationPredicates.hasDependentAnnotation(method.getDeclaringClass())) {
+                if (declaringBean != null && invoker.dependentReceiver) {
                     BeanManager beanManager = resolveBeanManager();
                     observerCreationalContext = beanManager.createCreationalContext(declaringBean);
                     beanInstance = beanManager.getReference(declaringBean, declaringBean.getBeanClass(),
@@ -1424,12 +1562,7 @@ public class EventImpl<T> implements Event<T>, Serializable {
 
             try {
                 // Invoke the observer method
-                if (shouldUseRuntimeMethodDispatch(declaringBean, method, beanInstance)) {
-                    invokeOnRuntimeMethod(beanInstance, method, args);
-                } else {
-                    method.setAccessible(true);
-                    method.invoke(beanInstance, args);
-                }
+                invoker.invoke(beanInstance, args, shouldUseRuntimeMethodDispatch(declaringBean, method, beanInstance));
             } finally {
                 destroyDependentInvocationParameters(parameters, args, observedParameterPosition);
                 if (destroyDependentReceiverExplicitly && declaringBean != null) {
@@ -1446,6 +1579,76 @@ public class EventImpl<T> implements Event<T>, Serializable {
         }
     }
 
+    private static String observerName(ObserverMethodInfo observerInfo) {
+        Method method = observerInfo.getObserverMethod();
+        if (method != null) {
+            return method.getDeclaringClass().getName() + "." + method.getName();
+        }
+        Object syntheticObserver = observerInfo.getSyntheticObserver();
+        return syntheticObserver != null ? syntheticObserver.getClass().getName() : observerInfo.toString();
+    }
+
+    /**
+     * Returns the invocation plan of an observer method. Once the container is deployed the plan is
+     * built on first notification, bound to a method handle and kept with the observer metadata.
+     */
+    private ObserverInvoker getObserverInvoker(ObserverMethodInfo observerInfo) {
+        ObserverInvoker invoker = observerInfo.getInvoker();
+        if (invoker != null) {
+            return invoker;
+        }
+        // Before deployment completes, annotated type overrides and injection points may still change:
+        // the plan is used for this delivery only, and invokes the method reflectively
+        boolean cacheable = knowledgeBase.getObserverDispatchCache().isEnabled();
+        invoker = createObserverInvoker(observerInfo, cacheable);
+        if (cacheable) {
+            observerInfo.setInvoker(invoker);
+        }
+        return invoker;
+    }
+
+    private ObserverInvoker createObserverInvoker(ObserverMethodInfo observerInfo, boolean bindHandle) {
+        Method method = observerInfo.getObserverMethod();
+        Bean<?> declaringBean = observerInfo.getDeclaringBean();
+        Parameter[] parameters = method.getParameters();
+        int observedParameterPosition = resolveObservedParameterPosition(observerInfo, parameters);
+        boolean[] metadataParameters = new boolean[parameters.length];
+        Type[] parameterTypes = new Type[parameters.length];
+        Annotation[][] parameterQualifiers = new Annotation[parameters.length][];
+        InjectionPoint[] registeredInjectionPoints = new InjectionPoint[parameters.length];
+
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter param = parameters[i];
+            if (i == observedParameterPosition) {
+                continue;
+            }
+            if (EventMetadata.class.equals(param.getType())) {
+                metadataParameters[i] = true;
+                continue;
+            }
+            InjectionPoint registeredInjectionPoint = findRegisteredObserverInjectionPoint(declaringBean, method, i);
+            Type paramType = registeredInjectionPoint != null
+                    ? registeredInjectionPoint.getType()
+                    : param.getParameterizedType();
+            if (declaringBean != null && declaringBean.getBeanClass() != null) {
+                paramType = GenericTypeResolver.resolve(
+                        paramType,
+                        declaringBean.getBeanClass(),
+                        method.getDeclaringClass()
+                );
+            }
+            parameterTypes[i] = paramType;
+            parameterQualifiers[i] = registeredInjectionPoint != null
+                    ? registeredInjectionPoint.getQualifiers().toArray(new Annotation[0])
+                    : param.getAnnotations();
+            registeredInjectionPoints[i] = registeredInjectionPoint;
+        }
+
+        return new ObserverInvoker(method, parameters, observedParameterPosition,
+                AnnotationPredicates.hasDependentAnnotation(method.getDeclaringClass()),
+                metadataParameters, parameterTypes, parameterQualifiers, registeredInjectionPoints, bindHandle);
+    }
+
     private Type resolveMetadataType(Object event) {
         Class<?> runtimeType = event.getClass();
         Set<Type> dispatchTypes = getResolvedEventDispatchTypes(event);
@@ -1677,30 +1880,6 @@ public class EventImpl<T> implements Event<T>, Serializable {
         return qualifierSet.toArray(new Annotation[0]);
     }
 
-    private void invokeOnRuntimeMethod(Object targetInstance, Method method, Object[] args) throws Exception {
-        Method invocable = method;
-        if (targetInstance != null && !Modifier.isStatic(method.getModifiers())) {
-            Method resolved = findMethodInHierarchy(targetInstance.getClass(), method.getName(), method.getParameterTypes());
-            if (resolved != null) {
-                invocable = resolved;
-            }
-        }
-        invocable.setAccessible(true);
-        invocable.invoke(targetInstance, args);
-    }
-
-    private Method findMethodInHierarchy(Class<?> type, String methodName, Class<?>[] parameterTypes) {
-        Class<?> current = type;
-        while (current != null && current != Object.class) {
-            try {
-                return current.getDeclaredMethod(methodName, parameterTypes);
-            } catch (NoSuchMethodException ignored) {
-                current = current.getSuperclass();
-            }
-        }
-        return null;
-    }
-
     private boolean shouldUseRuntimeMethodDispatch(Bean<?> declaringBean, Method method, Object beanInstance) {
         if (beanInstance == null || method == null || Modifier.isStatic(method.getModifiers())) {
             return false;
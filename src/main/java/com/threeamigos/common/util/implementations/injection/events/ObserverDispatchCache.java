@@ -0,0 +1,233 @@
+package com.threeamigos.common.util.implementations.injection.events;
+
+import com.threeamigos.common.util.implementations.injection.annotations.AnnotationComparator;
+import jakarta.enterprise.event.Reception;
+import jakarta.enterprise.event.TransactionPhase;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches the observers notified for an event, so that firing the same kind of event again does not
+ * match, deduplicate and sort every registered observer method.
+ *
+ * <p>Dispatch tables are keyed by the selected event type and qualifiers of the {@link EventImpl}
+ * and by the runtime class of the event payload. Each table holds the matching observers already
+ * deduplicated and sorted by priority, split into synchronous and asynchronous observers, with the
+ * synchronous ones also split by transaction phase.
+ *
+ * <p>The cache is disabled until {@link #enable()} is called once deployment validation is complete.
+ * Tables are built lazily by the firing thread and published with {@code putIfAbsent}; all tables
+ * belong to a generation tied to the knowledge base resolution and observer versions, which is
+ * replaced (with a compare-and-set) when either version changes.
+ */
+public final class ObserverDispatchCache {
+
+    private final AtomicReference<Generation> generation = new AtomicReference<>();
+    private volatile boolean enabled;
+
+    /**
+     * Enables caching. Until then every event is matched against all observers.
+     */
+    public void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Disables caching and drops all cached tables.
+     */
+    public void clear() {
+        enabled = false;
+        generation.set(null);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the tables valid for the given versions, or null if caching is disabled.
+     */
+    Generation generation(long resolutionVersion, long observerVersion) {
+        if (!enabled) {
+            return null;
+        }
+        Generation current = generation.get();
+        while (current == null || current.resolutionVersion != resolutionVersion ||
+                current.observerVersion != observerVersion) {
+            Generation fresh = new Generation(resolutionVersion, observerVersion);
+            if (generation.compareAndSet(current, fresh)) {
+                return fresh;
+            }
+            current = generation.get();
+        }
+        return current;
+    }
+
+    /**
+     * The dispatch tables computed for one set of observers.
+     */
+    static final class Generation {
+        private final long resolutionVersion;
+        private final long observerVersion;
+        private final ConcurrentMap<DispatchKey, DispatchTable> tables = new ConcurrentHashMap<>();
+
+        private Generation(long resolutionVersion, long observerVersion) {
+            this.resolutionVersion = resolutionVersion;
+            this.observerVersion = observerVersion;
+        }
+
+        DispatchTable get(DispatchKey key) {
+            return tables.get(key);
+        }
+
+        DispatchTable publish(DispatchKey key, DispatchTable table) {
+            DispatchTable existing = tables.putIfAbsent(key, table);
+            return existing != null ? existing : table;
+        }
+    }
+
+    /**
+     * The observers notified for one kind of event, deduplicated and sorted by priority.
+     */
+    static final class DispatchTable {
+        final List<ObserverMethodInfo> sync;
+        final List<ObserverMethodInfo> async;
+        final List<ObserverMethodInfo> inProgress;
+        final List<ObserverMethodInfo> beforeCompletion;
+        final List<ObserverMethodInfo> afterSuccess;
+        final List<ObserverMethodInfo> afterFailure;
+        final List<ObserverMethodInfo> afterCompletion;
+        // Whether some synchronous observers are transactional, and whether some of them are conditional
+        final boolean transactional;
+        final boolean conditionalTransactional;
+
+        DispatchTable(List<ObserverMethodInfo> sync, List<ObserverMethodInfo> async) {
+            this.sync = Collections.unmodifiableList(sync);
+            this.async = Collections.unmodifiableList(async);
+            List<ObserverMethodInfo> inProgressObservers = new ArrayList<>();
+            List<ObserverMethodInfo> beforeCompletionObservers = new ArrayList<>();
+            List<ObserverMethodInfo> afterSuccessObservers = new ArrayList<>();
+            List<ObserverMethodInfo> afterFailureObservers = new ArrayList<>();
+            List<ObserverMethodInfo> afterCompletionObservers = new ArrayList<>();
+            boolean conditional = false;
+            for (ObserverMethodInfo observerInfo : sync) {
+                TransactionPhase phase = observerInfo.getTransactionPhase();
+                if (phase != TransactionPhase.IN_PROGRESS && observerInfo.getReception() == Reception.IF_EXISTS) {
+                    conditional = true;
+                }
+                if (phase == TransactionPhase.BEFORE_COMPLETION) {
+                    beforeCompletionObservers.add(observerInfo);
+                } else if (phase == TransactionPhase.AFTER_SUCCESS) {
+                    afterSuccessObservers.add(observerInfo);
+                } else if (phase == TransactionPhase.AFTER_FAILURE) {
+                    afterFailureObservers.add(observerInfo);
+                } else if (phase == TransactionPhase.AFTER_COMPLETION) {
+                    afterCompletionObservers.add(observerInfo);
+                } else {
+                    inProgressObservers.add(observerInfo);
+                }
+            }
+            this.inProgress = Collections.unmodifiableList(inProgressObservers);
+            this.beforeCompletion = Collections.unmodifiableList(beforeCompletionObservers);
+            this.afterSuccess = Collections.unmodifiableList(afterSuccessObservers);
+            this.afterFailure = Collections.unmodifiableList(afterFailureObservers);
+            this.afterCompletion = Collections.unmodifiableList(afterCompletionObservers);
+            this.transactional = inProgressObservers.size() < sync.size();
+            this.conditionalTransactional = conditional;
+        }
+    }
+
+    /**
+     * Identifies the observers selected by an {@link EventImpl}: its event type and qualifiers.
+     */
+    static final class SelectorKey {
+        private final Type eventType;
+        private final Set<QualifierKey> qualifiers;
+        private final int hashCode;
+
+        SelectorKey(Type eventType, Set<Annotation> qualifiers) {
+            this.eventType = eventType;
+            Set<QualifierKey> qualifierKeys = new HashSet<>();
+            for (Annotation qualifier : qualifiers) {
+                if (qualifier != null) {
+                    qualifierKeys.add(new QualifierKey(qualifier));
+                }
+            }
+            this.qualifiers = qualifierKeys;
+            this.hashCode = 31 * eventType.hashCode() + qualifierKeys.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectorKey)) {
+                return false;
+            }
+            SelectorKey other = (SelectorKey) o;
+            return hashCode == other.hashCode && eventType.equals(other.eventType) &&
+                    qualifiers.equals(other.qualifiers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Identifies a dispatch table: the selector and the runtime class of the event payload.
+     */
+    static final class DispatchKey {
+        private final SelectorKey selector;
+        private final Class<?> runtimeType;
+
+        DispatchKey(SelectorKey selector, Class<?> runtimeType) {
+            this.selector = selector;
+            this.runtimeType = runtimeType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DispatchKey)) {
+                return false;
+            }
+            DispatchKey other = (DispatchKey) o;
+            return runtimeType == other.runtimeType && selector.equals(other.selector);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * selector.hashCode + runtimeType.hashCode();
+        }
+    }
+
+    private static final class QualifierKey {
+        private final Annotation qualifier;
+        private final int hashCode;
+
+        QualifierKey(Annotation qualifier) {
+            this.qualifier = qualifier;
+            this.hashCode = AnnotationComparator.hashCode(qualifier);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof QualifierKey && AnnotationComparator.equals(qualifier, ((QualifierKey) o).qualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
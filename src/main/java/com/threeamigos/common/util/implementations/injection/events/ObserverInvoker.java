@@ -0,0 +1,178 @@
+package com.threeamigos.common.util.implementations.injection.events;
+
+import jakarta.enterprise.inject.spi.InjectionPoint;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Precomputed invocation plan of an observer method.
+ *
+ * <p>Everything that does not depend on the event being delivered is computed once: the position of
+ * the observed parameter, which parameters receive the {@link jakarta.enterprise.inject.spi.EventMetadata},
+ * and the type, qualifiers and registered injection point of every other parameter. The method is
+ * bound to a {@link MethodHandle} accepting the receiver and an argument array, so that a delivery
+ * only resolves the injected arguments and performs a direct invocation.
+ *
+ * <p>For intercepted beans the method has to be invoked on the runtime class of the receiver (the
+ * interception subclass); the handles of those overrides are cached per runtime class.
+ *
+ * <p>Binding a handle costs more than a reflective call, so it only pays off for plans that are kept:
+ * plans built before the container is deployed, which are discarded after one delivery, invoke the
+ * method reflectively. Both paths throw the exception thrown by the observer method itself.
+ */
+final class ObserverInvoker {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    final Method method;
+    final Parameter[] parameters;
+    final int observedParameterPosition;
+    final boolean isStatic;
+    final boolean dependentReceiver;
+    private final boolean[] metadataParameters;
+    private final Type[] parameterTypes;
+    private final Annotation[][] parameterQualifiers;
+    private final InjectionPoint[] registeredInjectionPoints;
+    private final MethodHandle handle;  // Null for plans invoked reflectively
+    private final ConcurrentMap<Class<?>, MethodHandle> runtimeHandles = new ConcurrentHashMap<>();
+
+    ObserverInvoker(Method method, Parameter[] parameters, int observedParameterPosition, boolean dependentReceiver,
+                    boolean[] metadataParameters, Type[] parameterTypes, Annotation[][] parameterQualifiers,
+                    InjectionPoint[] registeredInjectionPoints, boolean bindHandle) {
+        this.method = method;
+        this.parameters = parameters;
+        this.observedParameterPosition = observedParameterPosition;
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.dependentReceiver = dependentReceiver;
+        this.metadataParameters = metadataParameters;
+        this.parameterTypes = parameterTypes;
+        this.parameterQualifiers = parameterQualifiers;
+        this.registeredInjectionPoints = registeredInjectionPoints;
+        this.handle = bindHandle ? bind(method) : null;
+    }
+
+    boolean isMetadataParameter(int index) {
+        return metadataParameters[index];
+    }
+
+    Type getParameterType(int index) {
+        return parameterTypes[index];
+    }
+
+    Annotation[] getParameterQualifiers(int index) {
+        return parameterQualifiers[index];
+    }
+
+    InjectionPoint getRegisteredInjectionPoint(int index) {
+        return registeredInjectionPoints[index];
+    }
+
+    /**
+     * Invokes the observer method.
+     *
+     * @param receiver the bean instance, ignored for static methods
+     * @param args the arguments
+     * @param onRuntimeClass true to invoke the override declared by the runtime class of the receiver
+     *                       (or one of its superclasses), as required for intercepted beans
+     */
+    void invoke(Object receiver, Object[] args, boolean onRuntimeClass) throws Exception {
+        if (handle == null) {
+            invokeReflectively(receiver, args, onRuntimeClass);
+            return;
+        }
+        try {
+            if (isStatic) {
+                Object ignored = handle.invokeExact(args);
+            } else {
+                MethodHandle target = onRuntimeClass ? runtimeHandle(receiver.getClass()) : handle;
+                Object ignored = target.invokeExact(receiver, args);
+            }
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    private void invokeReflectively(Object receiver, Object[] args, boolean onRuntimeClass) throws Exception {
+        Method target = method;
+        if (onRuntimeClass && !isStatic) {
+            Method override = findMethodInHierarchy(receiver.getClass(), method.getName(), method.getParameterTypes());
+            if (override != null) {
+                target = override;
+            }
+        }
+        target.setAccessible(true);
+        try {
+            target.invoke(isStatic ? null : receiver, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new UndeclaredThrowableException(cause);
+        }
+    }
+
+    private MethodHandle runtimeHandle(Class<?> runtimeClass) {
+        MethodHandle runtimeHandle = runtimeHandles.get(runtimeClass);
+        if (runtimeHandle == null) {
+            Method override = findMethodInHierarchy(runtimeClass, method.getName(), method.getParameterTypes());
+            runtimeHandle = override == null || override.equals(method) ? handle : bind(override);
+            MethodHandle existing = runtimeHandles.putIfAbsent(runtimeClass, runtimeHandle);
+            if (existing != null) {
+                runtimeHandle = existing;
+            }
+        }
+        return runtimeHandle;
+    }
+
+    /**
+     * Returns the first method with the given signature declared by the type or one of its
+     * superclasses (excluding {@code Object}), or null.
+     */
+    static Method findMethodInHierarchy(Class<?> type, String methodName, Class<?>[] parameterTypes) {
+        Class<?> current = type;
+        while (current != null && current != Object.class) {
+            for (Method candidate : current.getDeclaredMethods()) {
+                if (candidate.getName().equals(methodName) &&
+                        Arrays.equals(candidate.getParameterTypes(), parameterTypes)) {
+                    return candidate;
+                }
+            }
+            current = current.getSuperclass();
+        }
+        return null;
+    }
+
+    /**
+     * Binds a method to a handle of type {@code (Object[])Object} for static methods, or
+     * {@code (Object, Object[])Object} for instance methods.
+     */
+    private static MethodHandle bind(Method method) {
+        method.setAccessible(true);
+        MethodHandle unreflected;
+        try {
+            unreflected = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access observer method " + method, e);
+        }
+        unreflected = unreflected.asFixedArity();
+        return unreflected.asType(unreflected.type().generic())
+                .asSpreader(Object[].class, method.getParameterCount());
+    }
+}
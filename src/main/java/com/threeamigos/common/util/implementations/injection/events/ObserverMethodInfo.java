@@ -45,6 +45,7 @@ public class ObserverMethodInfo {
     private final int priority;                    // Observer priority (lower = earlier)
     private final int observedParameterPosition;   // Position of @Observes/@ObservesAsync parameter (-1 if unknown)
     private final jakarta.enterprise.inject.spi.ObserverMethod<?> syntheticObserver; // Synthetic observer (for programmatically registered observers)
+    private volatile ObserverInvoker invoker;       // Built on first notification once the container is deployed
 
     /**
      * Creates observer method metadata for reflection-based observers.
@@ -167,6 +168,14 @@ public class ObserverMethodInfo {
         return syntheticObserver;
     }
 
+    ObserverInvoker getInvoker() {
+        return invoker;
+    }
+
+    void setInvoker(ObserverInvoker invoker) {
+        this.invoker = invoker;
+    }
+
     public boolean isSynthetic() {
         return syntheticObserver != null;
     }
@@ -12,19 +12,29 @@ import jakarta.enterprise.inject.spi.AnnotatedType;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.implementation.bind.annotation.*;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
 
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.threeamigos.common.util.implementations.injection.annotations.AnnotationsHelper.hasAroundInvokeAnnotation;
@@ -76,7 +86,7 @@ import static com.threeamigos.common.util.implementations.injection.annotations.
  *
  * <h2>Thread Safety</h2>
  * <ul>
- * <li>Proxy classes are cached (thread-safe via ConcurrentHashMap)</li>
+ * <li>Proxy classes are cached (thread-safe via ConcurrentHashMap), per bean class and set of intercepted methods</li>
  * <li>InterceptorChains are immutable and thread-safe</li>
  * <li>Each invocation creates a new InvocationContext (thread-local)</li>
  * </ul>
@@ -89,14 +99,27 @@ import static com.threeamigos.common.util.implementations.injection.annotations.
 public class InterceptorAwareProxyGenerator {
 
     // Cache generated proxy classes to avoid regenerating for the same bean type
-    // Key: Bean class
+    // Key: Bean class and the methods that have interceptor chains
     // Value: Generated proxy class
-    private final ConcurrentHashMap<Class<?>, Class<?>> proxyClassCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ProxyClassKey, Class<?>> proxyClassCache = new ConcurrentHashMap<>();
+    private static final Method TARGET_INSTANCE_OF;
+
+    static {
+        try {
+            TARGET_INSTANCE_OF = TargetInstanceGuard.class.getMethod("targetOf", TargetInstanceGuard.class);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
     private static final ConcurrentHashMap<Class<?>, Optional<Method>> targetAroundInvokeCache =
             new ConcurrentHashMap<>();
+    // Chains made of a target class @AroundInvoke method only, keyed by that method and the invoked method
+    private static final ConcurrentHashMap<Map.Entry<Method, Method>, InterceptorChain> targetAroundInvokeChainCache =
+            new ConcurrentHashMap<>();
 
     public static void clearTargetAroundInvokeCache() {
         targetAroundInvokeCache.clear();
+        targetAroundInvokeChainCache.clear();
     }
 
     public static void clearTargetAroundInvokeCacheForClassLoader(ClassLoader classLoader) {
@@ -107,6 +130,9 @@ public class InterceptorAwareProxyGenerator {
             Class<?> type = entry.getKey();
             return type != null && type.getClassLoader() == classLoader;
         });
+        targetAroundInvokeChainCache.keySet().removeIf(key ->
+                key.getKey().getDeclaringClass().getClassLoader() == classLoader ||
+                key.getValue().getDeclaringClass().getClassLoader() == classLoader);
     }
 
     public void clearCache() {
@@ -167,8 +193,16 @@ public class InterceptorAwareProxyGenerator {
      */
     @SuppressWarnings("unchecked")
     public <T> T createProxy(Class<T> beanClass, T targetInstance, Map<Method, InterceptorChain> methodInterceptorChains) {
+        Map<Method, InterceptorChain> chains =
+                methodInterceptorChains != null ? methodInterceptorChains : new ConcurrentHashMap<>();
+
         // Get or generate the proxy class (cached for performance)
-        Class<?> proxyClass = proxyClassCache.computeIfAbsent(beanClass, this::generateProxyClass);
+        ProxyClassKey key = ProxyClassKey.of(beanClass, targetInstance, chains);
+        Class<?> proxyClass = proxyClassCache.get(key);
+        if (proxyClass == null) {
+            proxyClass = proxyClassCache.computeIfAbsent(key.detached(),
+                    k -> generateProxyClass(k.beanClass, k.interceptedMethods));
+        }
 
         try {
             // Create an instance of the proxy class
@@ -177,10 +211,8 @@ public class InterceptorAwareProxyGenerator {
             // Initialize the proxy with the target instance and interceptor chains
             // This is done via the InterceptorProxyState interface that the proxy implements
             if (proxy instanceof InterceptorProxyState) {
-                ((InterceptorProxyState) proxy).$$_setInterceptorProxyState(
-                    targetInstance,
-                    methodInterceptorChains != null ? methodInterceptorChains : new ConcurrentHashMap<>()
-                );
+                ((InterceptorProxyState) proxy).$$_setInterceptorProxyState(targetInstance, chains);
+                ((InterceptorProxyState) proxy).$$_setTargetGuard(new TargetInstanceGuard(targetInstance));
             }
 
             return proxy;
@@ -263,7 +295,8 @@ public class InterceptorAwareProxyGenerator {
      * </li>
      * <li><b>Implements</b> InterceptorProxyState for state initialization</li>
      * <li><b>Implements</b> Serializable for passivation support</li>
-     * <li><b>Intercepts</b> all public business methods to check for interceptors</li>
+     * <li><b>Intercepts</b> the business methods that have interceptor chains</li>
+     * <li><b>Calls</b> the other public methods of public types directly on the target instance</li>
      * </ol>
      *
      * <h3>Constructor Strategy</h3>
@@ -275,7 +308,8 @@ public class InterceptorAwareProxyGenerator {
      * </ul>
      *
      * <h3>Method Interception Logic</h3>
-     * The proxy delegates ALL business methods to {@link InterceptorMethodInterceptor}, which:
+     * The proxy delegates the intercepted business methods (all of them if {@code interceptedMethods}
+     * is null) to {@link InterceptorMethodInterceptor}, which:
      * <pre>
      * 1. Checks if a method has interceptors in the methodInterceptorChains map
      * 2. If YES:
@@ -286,12 +320,36 @@ public class InterceptorAwareProxyGenerator {
      *    a. Directly invoke method.invoke(targetInstance, args)
      *    B. Return result
      * </pre>
+     * The remaining business methods are routed to the target instance when the class is generated: public
+     * methods of public types with a direct call on the instance returned by the proxy's
+     * {@link TargetInstanceGuard}, the others through {@link TargetMethodInterceptor}.
      *
      * @param beanClass the class to generate a proxy for
+     * @param interceptedMethods the methods having an interceptor chain, or null to intercept every method
      * @return the generated proxy class
      * @throws RuntimeException if proxy generation fails
      */
-    private Class<?> generateProxyClass(Class<?> beanClass) {
+    private Class<?> generateProxyClass(Class<?> beanClass, Set<Method> interceptedMethods) {
+        ElementMatcher.Junction<MethodDescription> businessMethods = ElementMatchers.<MethodDescription>any()
+                .and(ElementMatchers.not(ElementMatchers.isDeclaredBy(Object.class)))
+                .and(ElementMatchers.not(ElementMatchers.isDeclaredBy(InterceptorProxyState.class)))
+                .and(ElementMatchers.not(ElementMatchers.isPrivate()))
+                .and(ElementMatchers.not(ElementMatchers.isStatic()));
+        ElementMatcher.Junction<MethodDescription> intercepted;
+        if (interceptedMethods == null) {
+            intercepted = ElementMatchers.any();
+        } else {
+            intercepted = ElementMatchers.none();
+            for (Method method : interceptedMethods) {
+                if (method == null) {
+                    continue;
+                }
+                intercepted = intercepted.or(ElementMatchers.<MethodDescription>named(method.getName())
+                        .and(ElementMatchers.takesArguments(method.getParameterTypes())));
+            }
+        }
+        ElementMatcher.Junction<MethodDescription> directlyCallable = ElementMatchers.<MethodDescription>isPublic()
+                .and(ElementMatchers.isDeclaredBy(ElementMatchers.isPublic()));
         try {
             return new ByteBuddy()
                 // Create a subclass of the target bean class
@@ -307,6 +365,10 @@ public class InterceptorAwareProxyGenerator {
                 .defineField("$$_methodInterceptorChains", Map.class,
                     net.bytebuddy.description.modifier.Visibility.PRIVATE)
 
+                // Add field to store the guard used by non-intercepted methods to reach the target instance
+                .defineField("$$_targetGuard", TargetInstanceGuard.class,
+                    net.bytebuddy.description.modifier.Visibility.PRIVATE)
+
                 // Implement InterceptorProxyState to allow initialization of proxy state
                 .implement(InterceptorProxyState.class)
 
@@ -315,6 +377,9 @@ public class InterceptorAwareProxyGenerator {
                 .intercept(FieldAccessor.ofField("$$_targetInstance").setsArgumentAt(0)
                     .andThen(FieldAccessor.ofField("$$_methodInterceptorChains").setsArgumentAt(1)))
 
+                .method(ElementMatchers.named("$$_setTargetGuard"))
+                .intercept(FieldAccessor.ofField("$$_targetGuard").setsArgumentAt(0))
+
                 // Implement the target instance getter
                 .method(ElementMatchers.named("$$_getTargetInstance"))
                 .intercept(FieldAccessor.ofField("$$_targetInstance"))
@@ -326,15 +391,21 @@ public class InterceptorAwareProxyGenerator {
                 // Implement Serializable (CDI requirement for passivating scopes)
                 .implement(Serializable.class)
 
-                // Intercept ALL business methods (exclude Object methods and our state methods)
-                // and delegate them to our InterceptorMethodInterceptor
-                .method(ElementMatchers.any()
-                    .and(ElementMatchers.not(ElementMatchers.isDeclaredBy(Object.class)))
-                    .and(ElementMatchers.not(ElementMatchers.isDeclaredBy(InterceptorProxyState.class)))
-                    .and(ElementMatchers.not(ElementMatchers.isPrivate()))
-                    .and(ElementMatchers.not(ElementMatchers.isStatic())))
+                // Delegate intercepted business methods (exclude Object methods and our state methods)
+                // to our InterceptorMethodInterceptor
+                .method(businessMethods.and(intercepted))
                 .intercept(MethodDelegation.to(InterceptorMethodInterceptor.class))
 
+                // Route the other business methods straight to the target instance
+                .method(businessMethods.and(ElementMatchers.not(intercepted))
+                    .and(ElementMatchers.not(directlyCallable)))
+                .intercept(MethodDelegation.to(TargetMethodInterceptor.class))
+                .method(businessMethods.and(ElementMatchers.not(intercepted)).and(directlyCallable))
+                .intercept(MethodCall.invokeSelf()
+                    .onMethodCall(MethodCall.invoke(TARGET_INSTANCE_OF).withField("$$_targetGuard"))
+                    .withAllArguments()
+                    .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC))
+
                 // Load the class into the same classloader as the target class
                 .make()
                 .load(beanClass.getClassLoader(), ClassLoadingStrategy.Default.INJECTION)
@@ -368,6 +439,13 @@ public class InterceptorAwareProxyGenerator {
          */
         void $$_setInterceptorProxyState(Object targetInstance, Map<Method, InterceptorChain> methodInterceptorChains);
 
+        /**
+         * Sets the guard through which non-intercepted methods reach the target instance.
+         *
+         * @param targetGuard the guard wrapping the target instance
+         */
+        void $$_setTargetGuard(TargetInstanceGuard targetGuard);
+
         /**
          * Gets the target instance stored in the proxy.
          *
@@ -383,6 +461,158 @@ public class InterceptorAwareProxyGenerator {
         Map<Method, InterceptorChain> $$_getMethodInterceptorChains();
     }
 
+    /**
+     * Identifies a generated proxy class: the bean class, and the methods routed through
+     * {@link InterceptorMethodInterceptor} (null when every business method is).
+     */
+    private static final class ProxyClassKey {
+        private final Class<?> beanClass;
+        private final Set<Method> interceptedMethods;
+
+        private ProxyClassKey(Class<?> beanClass, Set<Method> interceptedMethods) {
+            this.beanClass = beanClass;
+            this.interceptedMethods = interceptedMethods;
+        }
+
+        static ProxyClassKey of(Class<?> beanClass, Object targetInstance,
+                                Map<Method, InterceptorChain> methodInterceptorChains) {
+            // A target class @AroundInvoke method applies to every business method, and a target that is not an
+            // instance of the bean class cannot be called directly: keep the generic dispatch in those cases
+            if (targetInstance == null || !beanClass.isInstance(targetInstance) ||
+                    InterceptorMethodInterceptor.findTargetClassAroundInvokeMethod(targetInstance.getClass()) != null) {
+                return new ProxyClassKey(beanClass, null);
+            }
+            // A view of the chain map, so that looking up an existing proxy class does not copy it
+            return new ProxyClassKey(beanClass, methodInterceptorChains.keySet());
+        }
+
+        /**
+         * Returns a key that can be stored in the cache, unaffected by later changes to the chain map.
+         */
+        ProxyClassKey detached() {
+            if (interceptedMethods == null) {
+                return this;
+            }
+            return new ProxyClassKey(beanClass, Collections.unmodifiableSet(new HashSet<>(interceptedMethods)));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ProxyClassKey)) {
+                return false;
+            }
+            ProxyClassKey other = (ProxyClassKey) o;
+            return beanClass.equals(other.beanClass) && Objects.equals(interceptedMethods, other.interceptedMethods);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * beanClass.hashCode() + Objects.hashCode(interceptedMethods);
+        }
+    }
+
+    /**
+     * Holds the target instance of an interceptor-aware proxy for the methods that bypass the interceptors.
+     * <p>
+     * Destruction of the target instance is noticed through its {@link DestroyedInstanceTracker.DestructionFlag},
+     * looked up on the first call.
+     */
+    public static final class TargetInstanceGuard implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Object targetInstance;
+        private transient volatile DestroyedInstanceTracker.DestructionFlag destructionFlag;
+
+        TargetInstanceGuard(Object targetInstance) {
+            this.targetInstance = targetInstance;
+        }
+
+        /**
+         * Returns the target instance of the guard stored in a proxy. Generated proxies call this method,
+         * so that a proxy that has not been initialized fails as {@link TargetMethodInterceptor} does.
+         *
+         * @param targetGuard the guard stored in the proxy, null if the proxy has not been initialized
+         * @return the target instance, never null
+         * @throws IllegalStateException if the proxy has no target instance
+         * @throws NonPortableBehaviourException if the target instance has been destroyed
+         */
+        public static Object targetOf(TargetInstanceGuard targetGuard) {
+            if (targetGuard == null) {
+                throw new IllegalStateException(
+                    "Interceptor-aware proxy has not been initialized. Call $$_setInterceptorProxyState first."
+                );
+            }
+            return targetGuard.get();
+        }
+
+        /**
+         * Returns the target instance.
+         *
+         * @return the target instance, never null
+         * @throws IllegalStateException if the proxy has no target instance
+         * @throws NonPortableBehaviourException if the target instance has been destroyed
+         */
+        public Object get() {
+            if (targetInstance == null) {
+                throw new IllegalStateException(
+                    "Interceptor-aware proxy has not been initialized. Call $$_setInterceptorProxyState first."
+                );
+            }
+            DestroyedInstanceTracker.DestructionFlag flag = destructionFlag;
+            if (flag == null) {
+                flag = DestroyedInstanceTracker.getDestructionFlag(targetInstance);
+                destructionFlag = flag;
+            }
+            if (flag.isRaised()) {
+                throw new NonPortableBehaviourException(
+                    "Invocation on destroyed contextual instance of " + targetInstance.getClass().getName()
+                );
+            }
+            return targetInstance;
+        }
+    }
+
+    /**
+     * ByteBuddy interceptor for the non-intercepted methods that the proxy cannot call directly on the
+     * target instance (non-public methods, or methods of non-public types).
+     */
+    public static class TargetMethodInterceptor {
+
+        /**
+         * Invokes the method on the target instance.
+         *
+         * @param targetGuard the guard from the proxy field
+         * @param method the method being called
+         * @param args the method arguments
+         * @return the result of the invocation
+         * @throws Throwable if the method invocation fails
+         */
+        @RuntimeType
+        public static Object intercept(
+                @FieldValue("$$_targetGuard") TargetInstanceGuard targetGuard,
+                @Origin Method method,
+                @AllArguments Object[] args
+        ) throws Throwable {
+            if (targetGuard == null) {
+                throw new IllegalStateException(
+                    "Interceptor-aware proxy has not been initialized. " +
+                    "Call $$_setInterceptorProxyState first. Method: " + method.getName()
+                );
+            }
+            Object targetInstance = targetGuard.get();
+            method.setAccessible(true);
+            try {
+                return method.invoke(targetInstance, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                throw cause != null ? cause : e;
+            }
+        }
+    }
+
     /**
      * ByteBuddy interceptor that handles method calls on interceptor-aware proxy instances.
      * <p>
@@ -470,10 +700,10 @@ public class InterceptorAwareProxyGenerator {
             } else {
                 Method targetAroundInvoke = findTargetClassAroundInvokeMethod(targetInstance.getClass());
                 if (targetAroundInvoke != null && !method.equals(targetAroundInvoke)) {
-                    InterceptorChain dynamicChain = InterceptorChain.builder()
-                            .addInterceptor(targetInstance, targetAroundInvoke)
-                            .build();
-                    return dynamicChain.invoke(targetInstance, method, args);
+                    InterceptorChain targetChain = targetAroundInvokeChainCache.computeIfAbsent(
+                            new AbstractMap.SimpleImmutableEntry<>(targetAroundInvoke, method),
+                            key -> InterceptorChain.builder().addTargetInterceptor(targetAroundInvoke).build());
+                    return targetChain.invoke(targetInstance, method, args);
                 }
 
                 // Step 3b: No interceptors for this method-direct invocation
@@ -505,7 +735,7 @@ public class InterceptorAwareProxyGenerator {
             return null;
         }
 
-        private static Method findTargetClassAroundInvokeMethod(Class<?> targetClass) {
+        static Method findTargetClassAroundInvokeMethod(Class<?> targetClass) {
             if (targetClass == null) {
                 return null;
             }
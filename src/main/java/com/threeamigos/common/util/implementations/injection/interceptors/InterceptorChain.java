@@ -3,6 +3,9 @@ package com.threeamigos.common.util.implementations.injection.interceptors;
 import jakarta.interceptor.InvocationContext;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -42,6 +45,11 @@ import java.util.Set;
  * <p><b>Thread Safety:</b> InterceptorChain instances are immutable and thread-safe once built.
  * They can be cached and reused for multiple invocations of the same method.
  *
+ * <p><b>Performance:</b> interceptor methods added through {@link Builder#addInterceptor(Object, Method)}
+ * are bound to their instance as {@link MethodHandle}s when the chain is built, and the target method
+ * of {@link #invoke(Object, Method, Object[])} is compiled to a spreading {@link MethodHandle} on first
+ * use and kept by the chain. An invocation therefore only allocates its {@link InvocationContextImpl}.
+ *
  * <p><b>Usage Example:</b>
  * <pre>{@code
  * // Build chain
@@ -64,6 +72,8 @@ public class InterceptorChain {
      */
     private final List<InterceptorInvocation> invocations;
     private final Set<Annotation> interceptorBindings;
+    // Target method invoker compiled on first use; chains are built per method, so one is usually enough
+    private volatile MethodTargetInvocation methodTargetInvocation;
 
     /**
      * Private constructor - use Builder to create instances.
@@ -105,35 +115,12 @@ public class InterceptorChain {
      * @throws Exception any exception thrown by interceptors or target method
      */
     public Object invoke(Object target, Method method, Object[] args) throws Exception {
-        // Create target invocation (final step in the chain)
-        InvocationContextImpl.TargetInvocation targetInvocation = ctx -> {
-            Object invocationTarget = target;
-            if (invocationTarget instanceof InterceptorAwareProxyGenerator.InterceptorProxyState) {
-                Object unwrapped = ((InterceptorAwareProxyGenerator.InterceptorProxyState) invocationTarget)
-                        .$$_getTargetInstance();
-                if (unwrapped != null) {
-                    invocationTarget = unwrapped;
-                }
-            }
-
-            Method invocableMethod = method;
-            if (!method.getDeclaringClass().isInstance(invocationTarget)) {
-                invocableMethod = invocationTarget.getClass().getMethod(method.getName(), method.getParameterTypes());
-            }
-            invocableMethod.setAccessible(true);
-            try {
-                return invocableMethod.invoke(invocationTarget, ctx.getParameters());
-            } catch (InvocationTargetException e) {
-                Throwable cause = e.getTargetException();
-                if (cause instanceof Exception) {
-                    throw (Exception) cause;
-                }
-                if (cause instanceof Error) {
-                    throw (Error) cause;
-                }
-                throw new RuntimeException(cause);
-            }
-        };
+        MethodTargetInvocation targetInvocation = methodTargetInvocation;
+        if (targetInvocation == null
+                || (targetInvocation.method != method && !targetInvocation.method.equals(method))) {
+            targetInvocation = new MethodTargetInvocation(method);
+            methodTargetInvocation = targetInvocation;
+        }
 
         // Create invocation context
         InvocationContextImpl context = new InvocationContextImpl(
@@ -165,14 +152,7 @@ public class InterceptorChain {
             try {
                 instance = constructor.newInstance(ctx.getParameters());
             } catch (InvocationTargetException e) {
-                Throwable cause = e.getTargetException();
-                if (cause instanceof Exception) {
-                    throw (Exception) cause;
-                }
-                if (cause instanceof Error) {
-                    throw (Error) cause;
-                }
-                throw new RuntimeException(cause);
+                throw rethrow(e);
             }
             // Set the target on the context after construction
             if (ctx instanceof InvocationContextImpl) {
@@ -211,14 +191,7 @@ public class InterceptorChain {
                 try {
                     lifecycleCallback.invoke(target);
                 } catch (InvocationTargetException e) {
-                    Throwable cause = e.getTargetException();
-                    if (cause instanceof Exception) {
-                        throw (Exception) cause;
-                    }
-                    if (cause instanceof Error) {
-                        throw (Error) cause;
-                    }
-                    throw new RuntimeException(cause);
+                    throw rethrow(e);
                 }
             }
             return null; // Lifecycle callbacks return void
@@ -255,14 +228,7 @@ public class InterceptorChain {
                     try {
                         callback.invoke(target);
                     } catch (InvocationTargetException e) {
-                        Throwable cause = e.getTargetException();
-                        if (cause instanceof Exception) {
-                            throw (Exception) cause;
-                        }
-                        if (cause instanceof Error) {
-                            throw (Error) cause;
-                        }
-                        throw new RuntimeException(cause);
+                        throw rethrow(e);
                     }
                 }
             }
@@ -329,26 +295,101 @@ public class InterceptorChain {
             Objects.requireNonNull(interceptorInstance, "interceptorInstance cannot be null");
             Objects.requireNonNull(interceptorMethod, "interceptorMethod cannot be null");
 
-            InterceptorInvocation invocation = ctx -> {
-                interceptorMethod.setAccessible(true);
-                try {
-                    return interceptorMethod.invoke(interceptorInstance, ctx);
-                } catch (InvocationTargetException e) {
-                    Throwable cause = e.getTargetException();
-                    if (cause instanceof Exception) {
-                        throw (Exception) cause;
+            MethodHandle handle = bindInterceptorMethod(interceptorInstance, interceptorMethod);
+            InterceptorInvocation invocation;
+            if (handle != null) {
+                invocation = ctx -> {
+                    try {
+                        return (Object) handle.invokeExact(ctx);
+                    } catch (Exception | Error e) {
+                        throw e;
+                    } catch (Throwable t) {
+                        throw new RuntimeException(t);
                     }
-                    if (cause instanceof Error) {
-                        throw (Error) cause;
+                };
+            } else {
+                invocation = ctx -> {
+                    interceptorMethod.setAccessible(true);
+                    try {
+                        return interceptorMethod.invoke(interceptorInstance, ctx);
+                    } catch (InvocationTargetException e) {
+                        throw rethrow(e);
                     }
-                    throw new RuntimeException(cause);
+                };
+            }
+
+            invocations.add(invocation);
+            return this;
+        }
+
+        /**
+         * Adds an interceptor method declared by the target class itself; it is invoked on the
+         * target instance of each invocation, so the chain can be shared by all instances of the class.
+         *
+         * @param interceptorMethod the target class interceptor method (@AroundInvoke)
+         * @return this builder for method chaining
+         */
+        public Builder addTargetInterceptor(Method interceptorMethod) {
+            Objects.requireNonNull(interceptorMethod, "interceptorMethod cannot be null");
+
+            MethodHandle handle = null;
+            if (!java.lang.reflect.Modifier.isStatic(interceptorMethod.getModifiers())
+                    && interceptorMethod.getParameterCount() == 1) {
+                try {
+                    interceptorMethod.setAccessible(true);
+                    handle = MethodHandles.lookup().unreflect(interceptorMethod)
+                            .asType(MethodType.methodType(Object.class, Object.class, InvocationContext.class));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    handle = null;
                 }
-            };
+            }
+            InterceptorInvocation invocation;
+            if (handle != null) {
+                MethodHandle boundHandle = handle;
+                invocation = ctx -> {
+                    try {
+                        return (Object) boundHandle.invokeExact(unwrapTarget(ctx.getTarget()), ctx);
+                    } catch (Exception | Error e) {
+                        throw e;
+                    } catch (Throwable t) {
+                        throw new RuntimeException(t);
+                    }
+                };
+            } else {
+                invocation = ctx -> {
+                    interceptorMethod.setAccessible(true);
+                    try {
+                        return interceptorMethod.invoke(unwrapTarget(ctx.getTarget()), ctx);
+                    } catch (InvocationTargetException e) {
+                        throw rethrow(e);
+                    }
+                };
+            }
 
             invocations.add(invocation);
             return this;
         }
 
+        /**
+         * Binds an interceptor method to its instance, adapted to {@code (InvocationContext)Object}.
+         *
+         * @return the bound handle, or null if the method cannot be bound and must be invoked reflectively
+         */
+        private static MethodHandle bindInterceptorMethod(Object interceptorInstance, Method interceptorMethod) {
+            if (java.lang.reflect.Modifier.isStatic(interceptorMethod.getModifiers())
+                    || interceptorMethod.getParameterCount() != 1) {
+                return null;
+            }
+            try {
+                interceptorMethod.setAccessible(true);
+                return MethodHandles.lookup().unreflect(interceptorMethod)
+                        .bindTo(interceptorInstance)
+                        .asType(MethodType.methodType(Object.class, InvocationContext.class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+
         /**
          * Adds a custom interceptor invocation to the chain.
          *
@@ -403,6 +444,117 @@ public class InterceptorChain {
         Object invoke(InvocationContext context) throws Exception;
     }
 
+    /**
+     * Returns the instance wrapped by an interceptor-aware proxy, or the target itself.
+     */
+    private static Object unwrapTarget(Object target) {
+        if (target instanceof InterceptorAwareProxyGenerator.InterceptorProxyState) {
+            Object unwrapped = ((InterceptorAwareProxyGenerator.InterceptorProxyState) target).$$_getTargetInstance();
+            if (unwrapped != null) {
+                return unwrapped;
+            }
+        }
+        return target;
+    }
+
+    private static Exception rethrow(InvocationTargetException e) {
+        Throwable cause = e.getTargetException();
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new RuntimeException(cause);
+    }
+
+    /**
+     * Final step of a method interception: invokes the target method on the context's target,
+     * through a spreading {@link MethodHandle} compiled once per method.
+     */
+    private static final class MethodTargetInvocation implements InvocationContextImpl.TargetInvocation {
+        private final Method method;
+        // (Object target, Object[] args)Object, or null if the method can only be invoked reflectively
+        private final MethodHandle handle;
+
+        private MethodTargetInvocation(Method method) {
+            this.method = method;
+            this.handle = compile(method);
+        }
+
+        private static MethodHandle compile(Method method) {
+            if (java.lang.reflect.Modifier.isStatic(method.getModifiers())) {
+                return null;
+            }
+            try {
+                method.setAccessible(true);
+                int parameterCount = method.getParameterCount();
+                return MethodHandles.lookup().unreflect(method)
+                        .asType(MethodType.genericMethodType(parameterCount + 1))
+                        .asSpreader(Object[].class, parameterCount);
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public Object invoke(InvocationContext ctx) throws Exception {
+            Object invocationTarget = unwrapTarget(ctx.getTarget());
+
+            Object[] parameters = ctx.getParameters();
+            if (handle != null && method.getDeclaringClass().isInstance(invocationTarget)) {
+                try {
+                    return (Object) handle.invokeExact(invocationTarget, parameters);
+                } catch (ClassCastException | NullPointerException e) {
+                    if (!acceptsArguments(parameters)) {
+                        // Parameters replaced by an interceptor: fail as Method.invoke does
+                        throw new IllegalArgumentException("argument type mismatch", e);
+                    }
+                    throw e;
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            }
+
+            Method invocableMethod = method;
+            if (!method.getDeclaringClass().isInstance(invocationTarget)) {
+                invocableMethod = invocationTarget.getClass().getMethod(method.getName(), method.getParameterTypes());
+            }
+            invocableMethod.setAccessible(true);
+            try {
+                return invocableMethod.invoke(invocationTarget, parameters);
+            } catch (InvocationTargetException e) {
+                throw rethrow(e);
+            }
+        }
+
+        /**
+         * Tells whether the arguments could be passed to the method, so that a failure while adapting
+         * them can be told apart from one thrown by the method itself.
+         */
+        private boolean acceptsArguments(Object[] arguments) {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Class<?> type = parameterTypes[i];
+                Object argument = arguments[i];
+                if (!type.isPrimitive()) {
+                    if (argument != null && !type.isInstance(argument)) {
+                        return false;
+                    }
+                } else if (type == boolean.class) {
+                    if (!(argument instanceof Boolean)) {
+                        return false;
+                    }
+                } else if (!(argument instanceof Number) && !(argument instanceof Character)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     @Override
     public String toString() {
         return "InterceptorChain{" +
@@ -71,9 +71,9 @@ public class InvocationContextImpl implements InvocationContext {
     private Object[] parameters;
 
     /**
-     * Shared context data map for passing data between interceptors.
+     * Shared context data map for passing data between interceptors, created on first access.
      */
-    private final Map<String, Object> contextData;
+    private Map<String, Object> contextData;
 
     /**
      * The chain of interceptor invocations to execute.
@@ -111,9 +111,8 @@ public class InvocationContextImpl implements InvocationContext {
         this.method = Objects.requireNonNull(method, "method cannot be null for method interception");
         this.constructor = null;
         this.parameters = parameters != null ? parameters : new Object[0];
-        this.contextData = new HashMap<>();
         this.chain = Objects.requireNonNull(chain, "chain cannot be null");
-        this.interceptorBindings = copyInterceptorBindings(chain);
+        this.interceptorBindings = chain.getInterceptorBindings();
         this.targetInvocation = Objects.requireNonNull(targetInvocation, "targetInvocation cannot be null");
     }
 
@@ -135,9 +134,8 @@ public class InvocationContextImpl implements InvocationContext {
         this.method = null;
         this.constructor = Objects.requireNonNull(constructor, "constructor cannot be null for constructor interception");
         this.parameters = parameters != null ? parameters : new Object[0];
-        this.contextData = new HashMap<>();
         this.chain = Objects.requireNonNull(chain, "chain cannot be null");
-        this.interceptorBindings = copyInterceptorBindings(chain);
+        this.interceptorBindings = chain.getInterceptorBindings();
         this.targetInvocation = Objects.requireNonNull(targetInvocation, "targetInvocation cannot be null");
     }
 
@@ -157,9 +155,8 @@ public class InvocationContextImpl implements InvocationContext {
         this.method = null;
         this.constructor = null;
         this.parameters = new Object[0]; // Lifecycle callbacks have no parameters
-        this.contextData = new HashMap<>();
         this.chain = Objects.requireNonNull(chain, "chain cannot be null");
-        this.interceptorBindings = copyInterceptorBindings(chain);
+        this.interceptorBindings = chain.getInterceptorBindings();
         this.targetInvocation = Objects.requireNonNull(targetInvocation, "targetInvocation cannot be null");
     }
 
@@ -210,6 +207,10 @@ public class InvocationContextImpl implements InvocationContext {
 
     @Override
     public Map<String, Object> getContextData() {
+        // Most interceptors never read context data, so the map is only created when asked for
+        if (contextData == null) {
+            contextData = new HashMap<>();
+        }
         return contextData;
     }
 
@@ -301,14 +302,6 @@ public class InvocationContextImpl implements InvocationContext {
         }
     }
 
-    private static Set<Annotation> copyInterceptorBindings(InterceptorChain chain) {
-        Set<Annotation> bindings = chain.getInterceptorBindings();
-        if (bindings == null || bindings.isEmpty()) {
-            return Collections.emptySet();
-        }
-        return Collections.unmodifiableSet(new LinkedHashSet<>(bindings));
-    }
-
     /**
      * Functional interface for the final target invocation (method, constructor, or lifecycle callback).
      *
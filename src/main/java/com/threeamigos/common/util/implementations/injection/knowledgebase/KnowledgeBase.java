@@ -4,6 +4,9 @@ import com.threeamigos.common.util.implementations.injection.annotations.Dynamic
 
 import com.threeamigos.common.util.implementations.injection.annotations.AlternativesHelper;
 import com.threeamigos.common.util.implementations.injection.beansxml.BeansXmlOrderingHelper;
+import com.threeamigos.common.util.implementations.injection.events.AsyncEventExecutor;
+import com.threeamigos.common.util.implementations.injection.events.EventBatchScheduler;
+import com.threeamigos.common.util.implementations.injection.events.ObserverDispatchCache;
 import com.threeamigos.common.util.implementations.injection.events.ObserverMethodInfo;
 import com.threeamigos.common.util.implementations.injection.interceptors.InterceptorsHelper;
 import com.threeamigos.common.util.implementations.injection.resolution.BeanImpl;
@@ -20,6 +23,7 @@ import jakarta.enterprise.inject.spi.*;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.threeamigos.common.util.implementations.injection.annotations.AlternativesHelper.isAlternativeViaAnnotationOrStereotype;
 
@@ -34,6 +38,15 @@ public class KnowledgeBase {
     private final KnowledgeBaseProblemCollector problemCollector = new KnowledgeBaseProblemCollector();
     private final BeansXmlOrderingHelper beansXmlOrderingHelper;
     private final InterceptorsHelper interceptorsHelper;
+    // Bumped whenever the set of beans or their alternative enablement changes
+    private final AtomicLong resolutionVersion = new AtomicLong();
+    // Bumped whenever observer methods are registered
+    private final AtomicLong observerVersion = new AtomicLong();
+    private final ObserverDispatchCache observerDispatchCache = new ObserverDispatchCache();
+    private final EventBatchScheduler eventBatchScheduler = new EventBatchScheduler();
+    private volatile AsyncEventExecutor asyncEventExecutor;
+    private volatile boolean requestContextPropagatedToAsyncObservers;
+
     public KnowledgeBase(MessageHandler messageHandler) {
         this.messageHandler = messageHandler;
         this.beansXmlOrderingHelper = new BeansXmlOrderingHelper(discoveryStore.getBeansXmlConfigurations());
@@ -126,12 +139,27 @@ public class KnowledgeBase {
 
     public void addBean(Bean<?> bean) {
         beanRegistryStore.addBean(bean);
+        resolutionVersion.incrementAndGet();
     }
 
     public Collection<Bean<?>> getBeans() {
         return beanRegistryStore.getBeans();
     }
 
+    /**
+     * Returns a counter that changes whenever beans are registered or alternative enablement changes,
+     * so that structures derived from the registered beans (such as resolution indexes) can detect
+     * that they are stale.
+     *
+     * <p>Beans removed directly through {@link #getBeans()} (which only happens during deployment)
+     * are not tracked.
+     *
+     * @return the current resolution version
+     */
+    public long getResolutionVersion() {
+        return resolutionVersion.get();
+    }
+
     public void markIgnoreFinalMethods(Bean<?> bean) {
         if (bean != null) {
             beanRegistryStore.markIgnoreFinalMethods(bean);
@@ -279,6 +307,7 @@ public class KnowledgeBase {
     public void addProducerBean(ProducerBean<?> producerBean) {
         beanRegistryStore.addProducerBean(producerBean);
         beanRegistryStore.addBean(producerBean); // Also add to general bean collection
+        resolutionVersion.incrementAndGet();
     }
 
     /**
@@ -374,6 +403,7 @@ public class KnowledgeBase {
      */
     public void addObserverMethodInfo(ObserverMethodInfo observerMethodInfo) {
         beanRegistryStore.addObserverMethodInfo(observerMethodInfo);
+        observerVersion.incrementAndGet();
     }
 
     /**
@@ -386,6 +416,63 @@ public class KnowledgeBase {
         return beanRegistryStore.getObserverMethodInfos();
     }
 
+    /**
+     * Returns a counter that changes whenever observer methods are registered. Together with
+     * {@link #getResolutionVersion()} it tells when cached observer dispatch tables are stale.
+     *
+     * @return the current observer version
+     */
+    public long getObserverVersion() {
+        return observerVersion.get();
+    }
+
+    /**
+     * Returns the cache of observer dispatch tables shared by all the events fired in this container.
+     *
+     * @return the observer dispatch cache
+     */
+    public ObserverDispatchCache getObserverDispatchCache() {
+        return observerDispatchCache;
+    }
+
+    /**
+     * Returns the executor used for asynchronous events fired without an explicit executor.
+     *
+     * @return the configured executor, or null to use the shared default one
+     */
+    public AsyncEventExecutor getAsyncEventExecutor() {
+        return asyncEventExecutor;
+    }
+
+    public void setAsyncEventExecutor(AsyncEventExecutor asyncEventExecutor) {
+        this.asyncEventExecutor = asyncEventExecutor;
+    }
+
+    /**
+     * Returns the timer delivering the batched events of this container after their maximum delay.
+     *
+     * @return the event batch scheduler
+     */
+    public EventBatchScheduler getEventBatchScheduler() {
+        return eventBatchScheduler;
+    }
+
+    public MessageHandler getMessageHandler() {
+        return messageHandler;
+    }
+
+    /**
+     * @return true if asynchronous observers run within the request of the thread firing the event, when it has
+     *         one, instead of a new request
+     */
+    public boolean isRequestContextPropagatedToAsyncObservers() {
+        return requestContextPropagatedToAsyncObservers;
+    }
+
+    public void setRequestContextPropagatedToAsyncObservers(boolean requestContextPropagatedToAsyncObservers) {
+        this.requestContextPropagatedToAsyncObservers = requestContextPropagatedToAsyncObservers;
+    }
+
     public boolean isObserverMethodsDiscovered() {
         return beanRegistryStore.isObserverMethodsDiscovered();
     }
@@ -478,6 +565,7 @@ public class KnowledgeBase {
 
     public void setApplicationAlternativeOrder(List<Class<?>> orderedAlternatives) {
         enablementStore.setApplicationAlternativeOrder(orderedAlternatives);
+        resolutionVersion.incrementAndGet();
     }
 
     public int getApplicationAlternativeOrder(Class<?> alternativeClass) {
@@ -506,6 +594,7 @@ public class KnowledgeBase {
 
     public void setAfterTypeDiscoveryAlternativesCustomized(boolean customized) {
         enablementStore.setAfterTypeDiscoveryAlternativesCustomized(customized);
+        resolutionVersion.incrementAndGet();
     }
 
     public boolean hasAfterTypeDiscoveryAlternativesCustomized() {
@@ -552,6 +641,7 @@ public class KnowledgeBase {
      */
     public void addProgrammaticBean(jakarta.enterprise.inject.spi.Bean<?> bean) {
         beanRegistryStore.addBean(bean);
+        resolutionVersion.incrementAndGet();
     }
 
     /**
@@ -573,6 +663,7 @@ public class KnowledgeBase {
         }
 
         enablementStore.enableAlternative(alternativeClass.getName());
+        resolutionVersion.incrementAndGet();
         messageHandler.handleInfoMessage("[KnowledgeBase] Programmatically enabled alternative: " + alternativeClass.getName());
     }
 
@@ -882,6 +973,7 @@ public class KnowledgeBase {
         }
 
         beanRegistryStore.addSyntheticObserverMethod(observerMethod);
+        observerVersion.incrementAndGet();
 
         messageHandler.handleInfoMessage("[KnowledgeBase] Registered synthetic observer method: " +
                           "observedType=" + observerMethod.getObservedType() +
@@ -914,6 +1006,7 @@ public class KnowledgeBase {
         // Only add non-empty configurations to avoid clutter
         if (!beansXml.isEmpty()) {
             discoveryStore.addBeansXmlConfiguration(beansXml);
+            resolutionVersion.incrementAndGet();
             messageHandler.handleInfoMessage("[KnowledgeBase] Registered beans.xml configuration: " + beansXml);
         }
     }
@@ -988,5 +1081,8 @@ public class KnowledgeBase {
         problemCollector.clear();
         extensionRegistrationStore.clear();
         enablementStore.clear();
+        resolutionVersion.incrementAndGet();
+        observerVersion.incrementAndGet();
+        observerDispatchCache.clear();
     }
 }
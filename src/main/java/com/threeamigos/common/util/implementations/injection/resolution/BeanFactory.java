@@ -0,0 +1,45 @@
+package com.threeamigos.common.util.implementations.injection.resolution;
+
+/**
+ * Factory generated by {@link BeanFactoryGenerator} for a managed bean class. Its methods call the bean's
+ * constructor, write its {@code @Inject} fields and call its lifecycle callbacks with plain bytecode
+ * instructions instead of reflection.
+ *
+ * <p>Only the members that the generated class can access are handled by the factory; the
+ * {@link BeanImpl} owning the factory takes care of the others.
+ *
+ * @author Stefano Reksten
+ */
+public interface BeanFactory {
+
+    /**
+     * Invokes the bean constructor.
+     *
+     * @param args the constructor arguments, in declaration order
+     * @return the new instance
+     */
+    Object newInstance(Object[] args);
+
+    /**
+     * Writes the generated {@code @Inject} fields of an instance.
+     *
+     * @param instance the bean instance
+     * @param values the field values, indexed like the field steps of the bean's injection plan; the values of
+     *               the fields not handled by the factory are ignored
+     */
+    void injectFields(Object instance, Object[] values);
+
+    /**
+     * Calls the {@code @PostConstruct} callbacks of an instance, superclass first.
+     *
+     * @param instance the bean instance
+     */
+    void postConstruct(Object instance);
+
+    /**
+     * Calls the {@code @PreDestroy} callbacks of an instance, superclass first.
+     *
+     * @param instance the bean instance
+     */
+    void preDestroy(Object instance);
+}
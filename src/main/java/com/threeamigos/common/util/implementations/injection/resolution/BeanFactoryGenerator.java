@@ -0,0 +1,312 @@
+package com.threeamigos.common.util.implementations.injection.resolution;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.ExceptionMethod;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.Removal;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.TypeCreation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.collection.ArrayAccess;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.matcher.ElementMatchers;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a {@link BeanFactory} class per managed bean, so that creating and destroying an instance calls its
+ * constructor, writes its {@code @Inject} fields and calls its lifecycle callbacks directly.
+ *
+ * <p>The factory is defined in the package and class loader of the bean class, so it can access its public,
+ * protected and package-private members declared in that package. Private members, members inherited from
+ * another package and members whose signature uses types the factory cannot see are left out of the factory;
+ * the bean keeps reaching them through its {@link InjectionPlan}. A bean class the factory cannot be defined
+ * next to (e.g. loaded by the bootstrap class loader, or in a sealed package) gets no factory at all.
+ *
+ * <p>Factories are cached by bean class and member set, so re-compiling an injection plan reuses them.
+ *
+ * @author Stefano Reksten
+ */
+public final class BeanFactoryGenerator {
+
+    private static final String FACTORY_SUFFIX = "$$SyringeFactory$";
+    private static final AtomicInteger FACTORY_COUNTER = new AtomicInteger();
+    private static final TypeDescription.Generic OBJECT =
+            TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class);
+
+    private final Map<List<Object>, Generated> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Generates, or takes from the cache, the factory for a bean class.
+     *
+     * @return the generated factory and the members it handles, or null if no factory can be generated
+     */
+    Generated generate(Class<?> beanClass, Constructor<?> constructor, List<Field> fields,
+                       List<Method> postConstructMethods, List<Method> preDestroyMethods) {
+        if (beanClass.getClassLoader() == null || beanClass.getPackage() == null
+                || !isAccessible(beanClass, beanClass)) {
+            return null;
+        }
+        List<Object> key = Arrays.asList(beanClass, constructor, new ArrayList<>(fields),
+                new ArrayList<>(postConstructMethods), new ArrayList<>(preDestroyMethods));
+        Generated cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Generated generated;
+        try {
+            generated = define(beanClass, constructor, fields, postConstructMethods, preDestroyMethods);
+        } catch (RuntimeException | LinkageError e) {
+            // Fall back to the injection plan for the whole bean
+            return null;
+        }
+        Generated previous = cache.putIfAbsent(key, generated);
+        return previous != null ? previous : generated;
+    }
+
+    private static Generated define(Class<?> beanClass, Constructor<?> constructor, List<Field> fields,
+                                    List<Method> postConstructMethods, List<Method> preDestroyMethods) {
+        boolean constructorGenerated = !Modifier.isAbstract(beanClass.getModifiers())
+                && isAccessible(constructor, beanClass)
+                && areAccessible(constructor.getParameterTypes(), beanClass);
+        boolean[] fieldsGenerated = new boolean[fields.size()];
+        List<StackManipulation> fieldWrites = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            fieldsGenerated[i] = !Modifier.isFinal(field.getModifiers())
+                    && isAccessible(field, beanClass)
+                    && areAccessible(new Class<?>[]{field.getType()}, beanClass);
+            if (fieldsGenerated[i]) {
+                fieldWrites.add(writeField(field, i));
+            }
+        }
+        boolean postConstructGenerated = areAccessible(postConstructMethods, beanClass);
+        boolean preDestroyGenerated = areAccessible(preDestroyMethods, beanClass);
+
+        Class<?> factoryClass = new ByteBuddy()
+                .subclass(Object.class)
+                .name(beanClass.getName() + FACTORY_SUFFIX + FACTORY_COUNTER.incrementAndGet())
+                .implement(BeanFactory.class)
+                .method(ElementMatchers.named("newInstance"))
+                .intercept(constructorGenerated
+                        ? new Implementation.Simple(newInstance(constructor))
+                        : ExceptionMethod.throwing(UnsupportedOperationException.class))
+                .method(ElementMatchers.named("injectFields"))
+                .intercept(new Implementation.Simple(withVoidReturn(fieldWrites)))
+                .method(ElementMatchers.named("postConstruct"))
+                .intercept(new Implementation.Simple(withVoidReturn(postConstructGenerated
+                        ? callbacks(postConstructMethods) : new ArrayList<>())))
+                .method(ElementMatchers.named("preDestroy"))
+                .intercept(new Implementation.Simple(withVoidReturn(preDestroyGenerated
+                        ? callbacks(preDestroyMethods) : new ArrayList<>())))
+                .make()
+                .load(beanClass.getClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded();
+
+        BeanFactory factory;
+        try {
+            factory = (BeanFactory) factoryClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate generated factory for " + beanClass.getName(), e);
+        }
+        return new Generated(factory, constructorGenerated, fieldsGenerated,
+                postConstructGenerated && !postConstructMethods.isEmpty(),
+                preDestroyGenerated && !preDestroyMethods.isEmpty());
+    }
+
+    /**
+     * {@code return new Bean((P0) args[0], (P1) args[1], ...);}
+     */
+    private static StackManipulation newInstance(Constructor<?> constructor) {
+        List<StackManipulation> code = new ArrayList<>();
+        code.add(TypeCreation.of(TypeDescription.ForLoadedType.of(constructor.getDeclaringClass())));
+        code.add(Duplication.SINGLE);
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            code.add(MethodVariableAccess.REFERENCE.loadFrom(1));
+            code.add(IntegerConstant.forValue(i));
+            code.add(ArrayAccess.REFERENCE.load());
+            code.add(Assigner.DEFAULT.assign(OBJECT, TypeDescription.ForLoadedType.of(parameterTypes[i]).asGenericType(),
+                    Assigner.Typing.DYNAMIC));
+        }
+        code.add(MethodInvocation.invoke(new MethodDescription.ForLoadedConstructor(constructor)));
+        code.add(MethodReturn.REFERENCE);
+        return new StackManipulation.Compound(code);
+    }
+
+    /**
+     * {@code ((Bean) instance).field = (F) values[index];}
+     */
+    private static StackManipulation writeField(Field field, int index) {
+        return new StackManipulation.Compound(
+                MethodVariableAccess.REFERENCE.loadFrom(1),
+                TypeCasting.to(TypeDescription.ForLoadedType.of(field.getDeclaringClass())),
+                MethodVariableAccess.REFERENCE.loadFrom(2),
+                IntegerConstant.forValue(index),
+                ArrayAccess.REFERENCE.load(),
+                Assigner.DEFAULT.assign(OBJECT, TypeDescription.ForLoadedType.of(field.getType()).asGenericType(),
+                        Assigner.Typing.DYNAMIC),
+                FieldAccess.forField(new FieldDescription.ForLoadedField(field)).write()
+        );
+    }
+
+    /**
+     * {@code ((Bean) instance).callback();} for each callback, in order.
+     */
+    private static List<StackManipulation> callbacks(List<Method> methods) {
+        List<StackManipulation> code = new ArrayList<>();
+        for (Method method : methods) {
+            MethodDescription.InDefinedShape description = new MethodDescription.ForLoadedMethod(method);
+            code.add(MethodVariableAccess.REFERENCE.loadFrom(1));
+            code.add(TypeCasting.to(TypeDescription.ForLoadedType.of(method.getDeclaringClass())));
+            code.add(MethodInvocation.invoke(description));
+            code.add(Removal.of(description.getReturnType()));
+        }
+        return code;
+    }
+
+    private static StackManipulation withVoidReturn(List<StackManipulation> code) {
+        List<StackManipulation> result = new ArrayList<>(code);
+        result.add(MethodReturn.VOID);
+        return new StackManipulation.Compound(result);
+    }
+
+    private static boolean areAccessible(List<Method> methods, Class<?> beanClass) {
+        for (Method method : methods) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+                    || !isAccessible(method, beanClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean areAccessible(Class<?>[] types, Class<?> beanClass) {
+        for (Class<?> type : types) {
+            if (!isAccessible(type, beanClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A member can be reached from a class defined in the bean's package unless it is private, or it is not
+     * public and is declared by a class of another package (protected members included, the factory not being
+     * a subclass).
+     */
+    private static boolean isAccessible(Member member, Class<?> beanClass) {
+        int modifiers = member.getModifiers();
+        if (Modifier.isPrivate(modifiers) || !isAccessible(member.getDeclaringClass(), beanClass)) {
+            return false;
+        }
+        return Modifier.isPublic(modifiers) || isSamePackage(member.getDeclaringClass(), beanClass);
+    }
+
+    private static boolean isAccessible(Class<?> type, Class<?> beanClass) {
+        Class<?> current = type;
+        while (current.isArray()) {
+            current = current.getComponentType();
+        }
+        if (current.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> c = current; c != null; c = c.getEnclosingClass()) {
+            int modifiers = c.getModifiers();
+            if (Modifier.isPrivate(modifiers)) {
+                return false;
+            }
+            if (!Modifier.isPublic(modifiers) && !isSamePackage(c, beanClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSamePackage(Class<?> type, Class<?> beanClass) {
+        return type.getClassLoader() == beanClass.getClassLoader()
+                && Objects.equals(packageName(type), packageName(beanClass));
+    }
+
+    private static String packageName(Class<?> type) {
+        String name = type.getName();
+        int lastDot = name.lastIndexOf('.');
+        return lastDot < 0 ? "" : name.substring(0, lastDot);
+    }
+
+    /**
+     * A generated factory and the members of the bean it handles.
+     */
+    static final class Generated {
+        private final BeanFactory factory;
+        private final boolean constructorGenerated;
+        private final boolean[] fieldsGenerated;
+        private final boolean postConstructGenerated;
+        private final boolean preDestroyGenerated;
+
+        private Generated(BeanFactory factory, boolean constructorGenerated, boolean[] fieldsGenerated,
+                          boolean postConstructGenerated, boolean preDestroyGenerated) {
+            this.factory = factory;
+            this.constructorGenerated = constructorGenerated;
+            this.fieldsGenerated = fieldsGenerated;
+            this.postConstructGenerated = postConstructGenerated;
+            this.preDestroyGenerated = preDestroyGenerated;
+        }
+
+        BeanFactory getFactory() {
+            return factory;
+        }
+
+        boolean isConstructorGenerated() {
+            return constructorGenerated;
+        }
+
+        boolean isFieldGenerated(int index) {
+            return fieldsGenerated[index];
+        }
+
+        boolean hasGeneratedFields() {
+            for (boolean generated : fieldsGenerated) {
+                if (generated) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return true if the factory calls all the {@code @PostConstruct} callbacks, and there is at least one
+         */
+        boolean isPostConstructGenerated() {
+            return postConstructGenerated;
+        }
+
+        /**
+         * @return true if the factory calls all the {@code @PreDestroy} callbacks, and there is at least one
+         */
+        boolean isPreDestroyGenerated() {
+            return preDestroyGenerated;
+        }
+    }
+}
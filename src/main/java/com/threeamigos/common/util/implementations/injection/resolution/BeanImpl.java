@@ -15,6 +15,7 @@ import com.threeamigos.common.util.implementations.injection.knowledgebase.Decor
 import com.threeamigos.common.util.implementations.injection.knowledgebase.KnowledgeBase;
 import com.threeamigos.common.util.implementations.injection.spi.BeanManagerImpl;
 import com.threeamigos.common.util.implementations.injection.spi.InjectionTargetFactoryImpl;
+import com.threeamigos.common.util.implementations.injection.scopes.BeanIndex;
 import com.threeamigos.common.util.implementations.injection.scopes.ContextManager;
 import com.threeamigos.common.util.implementations.injection.scopes.InjectionPointImpl;
 import com.threeamigos.common.util.implementations.injection.scopes.RequestScopedContext;
@@ -35,7 +36,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import static com.threeamigos.common.util.implementations.injection.annotations.AnnotationsHelper.hasAroundInvokeAnnotation;
 import static com.threeamigos.common.util.implementations.injection.annotations.AnnotationsHelper.hasExcludeClassInterceptorsAnnotation;
-import static com.threeamigos.common.util.implementations.injection.types.ClassHelper.collectClassHierarchyFromObject;
+import static com.threeamigos.common.util.implementations.injection.types.ClassHelper.collectClassHierarchy;
 
 /**
  * CDI 4.1 - 2 - A <i>bean</i> is a source of contextual objects that define application state and/or logic.
@@ -168,6 +169,12 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
     private Constructor<T> injectConstructor;
     private final Set<Field> injectFields = new HashSet<>();
     private final Set<Method> injectMethods = new HashSet<>();
+    // Compiled from the injection metadata above, dropped whenever it changes
+    private transient volatile InjectionPlan<T> injectionPlan;
+    // Set when generated bean factories are enabled
+    private BeanFactoryGenerator beanFactoryGenerator;
+    // Dense id given by the contexts' bean index, cached so that lookups do not hash the bean
+    private transient volatile BeanIndex.Assignment beanIndexAssignment;
 
     // Lifecycle methods - can have multiple in hierarchy (per Interceptors spec)
     private final List<Method> postConstructMethods = new ArrayList<>();
@@ -230,6 +237,12 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
      */
     private InterceptorChain preDestroyInterceptorChain;
     private List<Method> targetClassAroundInvokeMethods = Collections.emptyList();
+    /**
+     * Chains of the interceptor-aware proxies: the method chains, followed by the target class
+     * {@code @AroundInvoke} methods invoked on the target of each call. Built on first use and
+     * shared by all the instances of this bean.
+     */
+    private volatile Map<Method, InterceptorChain> proxyInterceptorChains;
 
     /**
      * Cache of interceptor instances.
@@ -317,6 +330,7 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
 
     public void addInjectionPoint(InjectionPoint injectionPoint) {
         injectionPoints.add(injectionPoint);
+        injectionPlan = null;
     }
 
     public void replaceInjectionPoint(InjectionPoint oldIp, InjectionPoint newIp) {
@@ -326,6 +340,7 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
         if (newIp != null) {
             injectionPoints.add(newIp);
         }
+        injectionPlan = null;
     }
 
     public void setCustomInjectionTarget(InjectionTarget<T> injectionTarget) {
@@ -631,51 +646,18 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
      * if InjectionPoint is injected as a dependency, it receives the correct metadata.
      */
     private T createInstance(CreationalContext<T> creationalContext) throws Exception {
-        Constructor<T> constructor = injectConstructor;
-
-        if (constructor == null) {
-            // Use no-args constructor
-            constructor = beanClass.getDeclaredConstructor();
-        }
-
-        constructor.setAccessible(true);
+        InjectionPlan<T> plan = getInjectionPlan();
+        Constructor<T> constructor = plan.getConstructor();
 
         // Resolve constructor parameters
-        Parameter[] parameters = constructor.getParameters();
+        InjectionPlan.Site[] parameters = plan.getConstructorParameters();
         Object[] args = new Object[parameters.length];
-        List<TransientInvocationArgument> transientArguments = new ArrayList<>();
+        List<TransientInvocationArgument> transientArguments = null;
 
         for (int i = 0; i < parameters.length; i++) {
-            InjectionPoint injectionPoint = findInjectionPoint(parameters[i]);
-            if (injectionPoint == null) {
-                injectionPoint = new InjectionPointImpl<>(parameters[i], this);
-            }
-            Type resolvedType = injectionPoint.getType();
-            if (resolvedType == null) {
-                resolvedType = GenericTypeResolver.resolve(
-                        parameters[i].getParameterizedType(),
-                        beanClass,
-                        constructor.getDeclaringClass()
-                );
-            }
-
-            // Resolve the parameter with InjectionPoint context set
-            args[i] = resolveInjectionPointWithContext(
-                resolvedType,
-                qualifiersAsArray(injectionPoint, parameters[i].getAnnotations()),
-                injectionPoint,
-                creationalContext
-            );
-            if (args[i] == null && parameters[i].getType().isPrimitive()) {
-                args[i] = defaultPrimitiveValue(parameters[i].getType());
-            }
-            if (args[i] != null &&
-                    isTransientReferenceInjectionPoint(injectionPoint, parameters[i].getAnnotations())) {
-                transientArguments.add(new TransientInvocationArgument(
-                        args[i],
-                        parameters[i].getType(),
-                        qualifiersAsArray(injectionPoint, parameters[i].getAnnotations())
-                ));
+            args[i] = resolveSite(parameters[i], creationalContext);
+            if (args[i] != null && parameters[i].isTransientReference()) {
+                transientArguments = addTransientArgument(transientArguments, parameters[i], args[i]);
             }
         }
 
@@ -703,7 +685,7 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
                 }
             } else {
                 // No constructor interceptors, invoke directly
-                return constructor.newInstance(args);
+                return plan.newInstance(args);
             }
         } finally {
             destroyTransientInvocationArguments(transientArguments);
@@ -719,46 +701,27 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
      * if InjectionPoint is injected as a dependency, it receives the correct metadata.
      */
     private void performFieldInjection(T instance, CreationalContext<T> creationalContext) throws Exception {
-        // Build hierarchy: superclass first, then subclass
-        List<Class<?>> hierarchy = collectClassHierarchyFromObject(instance);
-
-        // Inject fields in hierarchy order (parent → child)
-        for (Class<?> clazz : hierarchy) {
-            for (Field field : injectFields) {
-                // Only process fields declared by this specific class in the hierarchy
-                if (!field.getDeclaringClass().equals(clazz)) {
-                    continue;
-                }
-
-                field.setAccessible(true);
-
-                InjectionPoint injectionPoint = findInjectionPoint(field);
-                if (injectionPoint == null) {
-                    injectionPoint = new InjectionPointImpl<>(field, this);
-                }
-                Type resolvedFieldType = injectionPoint.getType();
-                if (resolvedFieldType == null) {
-                    resolvedFieldType = GenericTypeResolver.resolve(
-                            field.getGenericType(),
-                            beanClass,
-                            field.getDeclaringClass()
-                    );
-                }
-
-                // Resolve the field with InjectionPoint context set
-                Object value = resolveInjectionPointWithContext(
-                    resolvedFieldType,
-                    qualifiersAsArray(injectionPoint, field.getAnnotations()),
-                    injectionPoint,
-                    creationalContext
-                );
-                if (value == null && field.getType().isPrimitive()) {
-                    value = defaultPrimitiveValue(field.getType());
-                }
+        InjectionPlan<T> plan = getInjectionPlan(instance);
+        BeanFactoryGenerator.Generated generated = plan.getGenerated();
+        if (generated == null || !generated.hasGeneratedFields()) {
+            for (InjectionPlan.FieldStep step : plan.getFields()) {
+                step.set(instance, resolveSite(step.getSite(), creationalContext));
+            }
+            return;
+        }
 
-                field.set(instance, value);
+        // The generated factory writes the fields it can access in one go, once all of them are resolved
+        InjectionPlan.FieldStep[] steps = plan.getFields();
+        Object[] values = new Object[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            Object value = resolveSite(steps[i].getSite(), creationalContext);
+            if (generated.isFieldGenerated(i)) {
+                values[i] = value;
+            } else {
+                steps[i].set(instance, value);
             }
         }
+        generated.getFactory().injectFields(instance, values);
     }
 
     /**
@@ -771,69 +734,273 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
      * if InjectionPoint is injected as a dependency, it receives the correct metadata.
      */
     private void performMethodInjection(T instance, CreationalContext<T> creationalContext) throws Exception {
-        // Build hierarchy: superclass first, then subclass
-        List<Class<?>> hierarchy = collectClassHierarchyFromObject(instance);
+        for (InjectionPlan.MethodStep step : getInjectionPlan(instance).getMethods()) {
+            InjectionPlan.Site[] parameters = step.getParameters();
+            Object[] args = new Object[parameters.length];
+            List<TransientInvocationArgument> transientArguments = null;
+
+            for (int i = 0; i < parameters.length; i++) {
+                args[i] = resolveSite(parameters[i], creationalContext);
+                if (args[i] != null && parameters[i].isTransientReference()) {
+                    transientArguments = addTransientArgument(transientArguments, parameters[i], args[i]);
+                }
+            }
+
+            try {
+                step.invoke(instance, args);
+            } finally {
+                destroyTransientInvocationArguments(transientArguments);
+            }
+        }
+    }
+
+    /**
+     * Resolves the value of a single injection site of the injection plan, with its InjectionPoint context set.
+     * A site bound to its bean only gets a reference of that bean; the others go through full resolution.
+     */
+    private Object resolveSite(InjectionPlan.Site site, CreationalContext<T> creationalContext) {
+        BeanManagerImpl beanManager = creationalContext != null ? bindingBeanManager() : null;
+        Bean<?> target = beanManager != null ? boundBean(site, beanManager) : null;
+        Object value;
+        if (target != null) {
+            value = getBoundReference(site, target, beanManager, creationalContext);
+        } else {
+            value = resolveInjectionPointWithContext(
+                site.getType(),
+                site.getQualifiers(),
+                site.getInjectionPoint(),
+                creationalContext
+            );
+        }
+        return value != null ? value : site.getDefaultValue();
+    }
+
+    private BeanManagerImpl bindingBeanManager() {
+        if (knowledgeBase == null || !(dependencyResolver instanceof BeanResolver)) {
+            return null;
+        }
+        return ((BeanResolver) dependencyResolver).getOwningBeanManager();
+    }
+
+    /**
+     * Returns the bean the site is bound to at the current resolution version, binding it if needed,
+     * or null if the site has to be resolved on every injection.
+     */
+    private Bean<?> boundBean(InjectionPlan.Site site, BeanManagerImpl beanManager) {
+        if (!site.isBindable()) {
+            return null;
+        }
+        long resolutionVersion = knowledgeBase.getResolutionVersion();
+        InjectionPlan.Binding binding = site.getBinding(resolutionVersion);
+        if (binding == null) {
+            try {
+                binding = new InjectionPlan.Binding(resolutionVersion,
+                        beanManager.resolveInjectionPointBean(site.getInjectionPoint()));
+            } catch (IllegalStateException beforeAfterDeploymentValidation) {
+                // The enabled beans are not settled yet: bind later
+                return null;
+            }
+            site.bind(binding);
+        }
+        return binding.getBean();
+    }
+
+    private Object getBoundReference(InjectionPlan.Site site, Bean<?> target, BeanManagerImpl beanManager,
+                                     CreationalContext<T> creationalContext) {
+        Deque<InjectionPoint> stack = INJECTION_POINT_CONTEXT.get();
+        stack.push(site.getInjectionPoint());
+        try {
+            return beanManager.getInjectableReference(site.getInjectionPoint(), target, creationalContext);
+        } finally {
+            stack.pop();
+            if (stack.isEmpty()) {
+                INJECTION_POINT_CONTEXT.remove();
+            }
+        }
+    }
+
+    private List<TransientInvocationArgument> addTransientArgument(List<TransientInvocationArgument> arguments,
+                                                                   InjectionPlan.Site site, Object value) {
+        List<TransientInvocationArgument> result = arguments != null ? arguments : new ArrayList<>();
+        result.add(new TransientInvocationArgument(value, site.getRawType(), site.getQualifiers()));
+        return result;
+    }
+
+    // ====================================================================================
+    // Injection plan
+    // ====================================================================================
+
+    /**
+     * Returns the injection plan of this bean, compiling it if needed.
+     * <p>
+     * The plan is normally compiled by {@link #compileInjectionPlan()} during container initialization, and
+     * dropped whenever the injection metadata it was compiled from changes.
+     */
+    private InjectionPlan<T> getInjectionPlan() throws NoSuchMethodException {
+        InjectionPlan<T> plan = injectionPlan;
+        if (plan == null) {
+            plan = buildInjectionPlan(beanClass);
+            injectionPlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Returns an injection plan whose field and method steps are ordered for the hierarchy of the given instance.
+     * This is the bean's own plan unless an @AroundConstruct interceptor returned an instance of another class.
+     */
+    private InjectionPlan<T> getInjectionPlan(T instance) throws NoSuchMethodException {
+        InjectionPlan<T> plan = getInjectionPlan();
+        if (instance.getClass() == plan.getLeafClass()) {
+            return plan;
+        }
+        return buildInjectionPlan(instance.getClass());
+    }
+
+    /**
+     * Compiles the injection plan of this bean, so that the first creation does not pay for it.
+     * Called during container initialization, once the injection metadata has been validated.
+     * A bean whose plan cannot be compiled (e.g. it has no usable constructor) reports the problem
+     * when an instance is created, as it would without a plan.
+     */
+    public void compileInjectionPlan() {
+        if (customInjectionTarget != null && constructorInterceptorChain == null) {
+            return;
+        }
+        try {
+            injectionPlan = buildInjectionPlan(beanClass);
+        } catch (NoSuchMethodException | RuntimeException e) {
+            injectionPlan = null;
+        }
+    }
+
+    /**
+     * Enables the generated bean factory of this bean: once the injection plan is compiled, construction,
+     * field injection and lifecycle callbacks go through a {@link BeanFactory} generated by the given
+     * generator, for the members it can access.
+     *
+     * @param beanFactoryGenerator the generator, or null to use the injection plan only
+     */
+    public void setBeanFactoryGenerator(BeanFactoryGenerator beanFactoryGenerator) {
+        this.beanFactoryGenerator = beanFactoryGenerator;
+        injectionPlan = null;
+    }
 
-        // Inject methods in hierarchy order (parent → child)
+    /**
+     * Returns the id given to this bean by the {@link BeanIndex} of the container's contexts.
+     *
+     * @return the id assignment, or null if the bean has not been indexed
+     */
+    public BeanIndex.Assignment getBeanIndexAssignment() {
+        return beanIndexAssignment;
+    }
+
+    public void setBeanIndexAssignment(BeanIndex.Assignment beanIndexAssignment) {
+        this.beanIndexAssignment = beanIndexAssignment;
+    }
+
+    private BeanFactoryGenerator.Generated generatedFactoryFor(T instance) {
+        InjectionPlan<T> plan = injectionPlan;
+        if (plan == null || plan.getLeafClass() != instance.getClass()) {
+            return null;
+        }
+        return plan.getGenerated();
+    }
+
+    private InjectionPlan<T> buildInjectionPlan(Class<?> leafClass) throws NoSuchMethodException {
+        Constructor<T> constructor = injectConstructor;
+        if (constructor == null) {
+            // Use no-args constructor
+            constructor = beanClass.getDeclaredConstructor();
+        }
+        constructor.setAccessible(true);
+
+        Parameter[] parameters = constructor.getParameters();
+        InjectionPlan.Site[] constructorParameters = new InjectionPlan.Site[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            constructorParameters[i] = compileSite(parameters[i]);
+        }
+
+        // Fields and methods in hierarchy order (parent → child)
+        List<Class<?>> hierarchy = collectClassHierarchy(leafClass);
+        List<InjectionPlan.FieldStep> fields = new ArrayList<>();
+        List<InjectionPlan.MethodStep> methods = new ArrayList<>();
         for (Class<?> clazz : hierarchy) {
-            for (Method method : injectMethods) {
-                // Only process methods declared by this specific class in the hierarchy
-                if (!method.getDeclaringClass().equals(clazz)) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!injectFields.contains(field)) {
                     continue;
                 }
-
+                field.setAccessible(true);
+                fields.add(new InjectionPlan.FieldStep(field, compileSite(field)));
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
                 // Skip overridden methods per JSR-330 (method already processed in parent)
-                if (isOverridden(method, instance.getClass())) {
+                if (!injectMethods.contains(method) || isOverridden(method, leafClass)) {
                     continue;
                 }
-
                 method.setAccessible(true);
-                Parameter[] parameters = method.getParameters();
-                Object[] args = new Object[parameters.length];
-                List<TransientInvocationArgument> transientArguments =
-                        new ArrayList<>();
-
-                for (int i = 0; i < parameters.length; i++) {
-                    InjectionPoint injectionPoint = findInjectionPoint(parameters[i]);
-                    if (injectionPoint == null) {
-                        injectionPoint = new InjectionPointImpl<>(parameters[i], this);
-                    }
-                    Type resolvedParameterType = injectionPoint.getType();
-                    if (resolvedParameterType == null) {
-                        resolvedParameterType = GenericTypeResolver.resolve(
-                                parameters[i].getParameterizedType(),
-                                beanClass,
-                                method.getDeclaringClass()
-                        );
-                    }
-
-                    // Resolve the parameter with InjectionPoint context set
-                    args[i] = resolveInjectionPointWithContext(
-                        resolvedParameterType,
-                        qualifiersAsArray(injectionPoint, parameters[i].getAnnotations()),
-                        injectionPoint,
-                        creationalContext
-                    );
-                    if (args[i] == null && parameters[i].getType().isPrimitive()) {
-                        args[i] = defaultPrimitiveValue(parameters[i].getType());
-                    }
-                    if (args[i] != null &&
-                            isTransientReferenceInjectionPoint(injectionPoint, parameters[i].getAnnotations())) {
-                        transientArguments.add(new TransientInvocationArgument(
-                                args[i],
-                                parameters[i].getType(),
-                                qualifiersAsArray(injectionPoint, parameters[i].getAnnotations())
-                        ));
-                    }
+                Parameter[] methodParameters = method.getParameters();
+                InjectionPlan.Site[] sites = new InjectionPlan.Site[methodParameters.length];
+                for (int i = 0; i < methodParameters.length; i++) {
+                    sites[i] = compileSite(methodParameters[i]);
                 }
+                methods.add(new InjectionPlan.MethodStep(method, sites));
+            }
+        }
 
-                try {
-                    method.invoke(instance, args);
-                } finally {
-                    destroyTransientInvocationArguments(transientArguments);
-                }
+        BeanFactoryGenerator.Generated generated = null;
+        if (beanFactoryGenerator != null && leafClass == beanClass) {
+            List<Field> injectedFields = new ArrayList<>();
+            for (InjectionPlan.FieldStep step : fields) {
+                injectedFields.add(step.getField());
             }
+            generated = beanFactoryGenerator.generate(beanClass, constructor, injectedFields,
+                    postConstructMethods, preDestroyMethods);
         }
+
+        return new InjectionPlan<>(
+                leafClass,
+                constructor,
+                constructorParameters,
+                fields.toArray(new InjectionPlan.FieldStep[0]),
+                methods.toArray(new InjectionPlan.MethodStep[0]),
+                generated
+        );
+    }
+
+    private InjectionPlan.Site compileSite(Parameter parameter) {
+        InjectionPoint injectionPoint = findInjectionPoint(parameter);
+        if (injectionPoint == null) {
+            injectionPoint = new InjectionPointImpl<>(parameter, this);
+        }
+        return compileSite(injectionPoint, parameter.getParameterizedType(), parameter.getType(),
+                parameter.getDeclaringExecutable().getDeclaringClass(), parameter.getAnnotations());
+    }
+
+    private InjectionPlan.Site compileSite(Field field) {
+        InjectionPoint injectionPoint = findInjectionPoint(field);
+        if (injectionPoint == null) {
+            injectionPoint = new InjectionPointImpl<>(field, this);
+        }
+        return compileSite(injectionPoint, field.getGenericType(), field.getType(), field.getDeclaringClass(),
+                field.getAnnotations());
+    }
+
+    private InjectionPlan.Site compileSite(InjectionPoint injectionPoint, Type declaredType, Class<?> rawType,
+                                           Class<?> declaringClass, Annotation[] annotations) {
+        Type resolvedType = injectionPoint.getType();
+        if (resolvedType == null) {
+            resolvedType = GenericTypeResolver.resolve(declaredType, beanClass, declaringClass);
+        }
+        return new InjectionPlan.Site(
+                injectionPoint,
+                resolvedType,
+                qualifiersAsArray(injectionPoint, annotations),
+                rawType,
+                rawType.isPrimitive() ? defaultPrimitiveValue(rawType) : null,
+                isTransientReferenceInjectionPoint(injectionPoint, annotations),
+                !isInjectionPointMetadataType(resolvedType)
+        );
     }
 
     private boolean isTransientReferenceInjectionPoint(InjectionPoint injectionPoint, Annotation[] fallbackAnnotations) {
@@ -1085,6 +1252,11 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
         } else if (!postConstructMethods.isEmpty()) {
             // No interceptors, invoke target @PostConstruct methods directly
             // Methods are already in correct order: superclass → subclass
+            BeanFactoryGenerator.Generated generated = generatedFactoryFor(instance);
+            if (generated != null && generated.isPostConstructGenerated()) {
+                generated.getFactory().postConstruct(instance);
+                return;
+            }
             for (Method method : postConstructMethods) {
                 method.setAccessible(true);
                 method.invoke(instance);
@@ -1204,6 +1376,11 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
         } else if (!preDestroyMethods.isEmpty()) {
             // No interceptors, invoke target @PreDestroy callbacks directly in
             // discovery order (superclass -> subclass).
+            BeanFactoryGenerator.Generated generated = generatedFactoryFor(instance);
+            if (generated != null && generated.isPreDestroyGenerated()) {
+                generated.getFactory().preDestroy(instance);
+                return;
+            }
             for (Method method : preDestroyMethods) {
                 method.setAccessible(true);
                 method.invoke(instance);
@@ -1436,6 +1613,7 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
 
     public void setInjectConstructor(Constructor<T> injectConstructor) {
         this.injectConstructor = injectConstructor;
+        injectionPlan = null;
     }
 
     public Set<Field> getInjectFields() {
@@ -1445,6 +1623,7 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
     public void addInjectField(Field field) {
         if (field != null) {
             this.injectFields.add(field);
+            injectionPlan = null;
         }
     }
 
@@ -1455,6 +1634,7 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
     public void addInjectMethod(Method method) {
         if (method != null) {
             this.injectMethods.add(method);
+            injectionPlan = null;
         }
     }
 
@@ -1477,6 +1657,7 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
     public void addPostConstructMethod(Method method) {
         if (method != null && !postConstructMethods.contains(method)) {
             postConstructMethods.add(method);
+            injectionPlan = null;
         }
     }
 
@@ -1500,6 +1681,7 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
     public void addPreDestroyMethod(Method method) {
         if (method != null && !preDestroyMethods.contains(method)) {
             preDestroyMethods.add(method);
+            injectionPlan = null;
         }
     }
 
@@ -1741,6 +1923,7 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
 
         // Store the chain map (immutable after this point)
         this.methodInterceptorChains = chains;
+        this.proxyInterceptorChains = null;
 
         // ========================================================================
         // PHASE 3: Build constructor interceptor chain (@AroundConstruct)
@@ -2460,6 +2643,18 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
             return targetInstance;
         }
 
+        Map<Method, InterceptorChain> chains = proxyInterceptorChains;
+        if (chains == null) {
+            chains = buildProxyInterceptorChains(hasMethodChains, hasTargetClassAroundInvoke);
+            proxyInterceptorChains = chains;
+        }
+
+        // Create and return an interceptor-aware proxy
+        return interceptorAwareProxyGenerator.createProxy(this, targetInstance, chains);
+    }
+
+    private Map<Method, InterceptorChain> buildProxyInterceptorChains(boolean hasMethodChains,
+                                                                      boolean hasTargetClassAroundInvoke) {
         Map<Method, InterceptorChain> effectiveChains = new HashMap<>();
         if (hasMethodChains) {
             effectiveChains.putAll(methodInterceptorChains);
@@ -2495,15 +2690,14 @@ public class BeanImpl<T> implements Bean<T>, PassivationCapable, Serializable {
                     }
 
                     for (Method aroundInvokeMethod : targetClassAroundInvokeMethods) {
-                        chainBuilder.addInterceptor(targetInstance, aroundInvokeMethod);
+                        chainBuilder.addTargetInterceptor(aroundInvokeMethod);
                     }
                     effectiveChains.put(method, chainBuilder.build());
                 }
             }
         }
 
-        // Create and return an interceptor-aware proxy
-        return interceptorAwareProxyGenerator.createProxy(this, targetInstance, effectiveChains);
+        return Collections.unmodifiableMap(effectiveChains);
     }
 
     private List<Method> findTargetClassAroundInvokeMethods(Class<?> type) {
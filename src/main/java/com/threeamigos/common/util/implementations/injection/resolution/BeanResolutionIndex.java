@@ -0,0 +1,187 @@
+package com.threeamigos.common.util.implementations.injection.resolution;
+
+import com.threeamigos.common.util.implementations.injection.annotations.AnnotationComparator;
+import jakarta.enterprise.inject.spi.Bean;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/**
+ * Immutable snapshot of the beans eligible for typesafe resolution, built by {@link BeanResolver}
+ * once deployment validation is complete.
+ *
+ * <p>Only beans that are enabled, valid and not vetoed are indexed; for each of them the alternative
+ * flag, the alternative priority and the superclasses it specializes are precomputed. Candidates are
+ * looked up by the (boxed) raw type of their bean types and by the hash of their qualifiers, so a
+ * lookup only runs the generic assignability and qualifier checks on a handful of beans instead of
+ * on every registered bean.
+ *
+ * <p>A lookup returns a superset of the matching beans, in registration order: the caller still
+ * performs the full type and qualifier checks on each candidate.
+ *
+ * <p>The index is tied to a {@link com.threeamigos.common.util.implementations.injection.knowledgebase.KnowledgeBase#getResolutionVersion()
+ * resolution version}; the resolver discards it when the version changes.
+ */
+final class BeanResolutionIndex {
+
+    /**
+     * An indexed bean with the resolution state that does not change after deployment.
+     */
+    static final class Candidate {
+        final Bean<?> bean;
+        final int ordinal;
+        final boolean alternative;
+        final int alternativePriority;
+        final Set<Class<?>> specializedSuperclasses;
+
+        Candidate(Bean<?> bean, int ordinal, boolean alternative, int alternativePriority,
+                  Set<Class<?>> specializedSuperclasses) {
+            this.bean = bean;
+            this.ordinal = ordinal;
+            this.alternative = alternative;
+            this.alternativePriority = alternativePriority;
+            this.specializedSuperclasses = specializedSuperclasses;
+        }
+    }
+
+    private final long version;
+    private final List<Candidate> candidates;
+    private final Map<Class<?>, List<Candidate>> byRawType;
+    // Beans with a type whose raw type cannot be determined: they are candidates for every required type
+    private final List<Candidate> anyRawType;
+    private final Map<Integer, List<Candidate>> byQualifierHash;
+    private final Map<Bean<?>, Candidate> byBean;
+    private final Map<Class<?>, Bean<?>> declaringBeans;
+
+    private BeanResolutionIndex(Builder builder) {
+        this.version = builder.version;
+        this.candidates = Collections.unmodifiableList(builder.candidates);
+        this.byRawType = builder.byRawType;
+        this.anyRawType = builder.anyRawType;
+        this.byQualifierHash = builder.byQualifierHash;
+        this.byBean = builder.byBean;
+        this.declaringBeans = builder.declaringBeans;
+    }
+
+    static Builder builder(long version, Map<Class<?>, Bean<?>> declaringBeans) {
+        return new Builder(version, declaringBeans);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the indexed beans that may match a lookup.
+     *
+     * @param requiredRawType the boxed raw type of the required type, or null if it cannot be determined
+     * @param selectiveQualifiers the required qualifiers that a matching bean must declare (that is,
+     *                            excluding {@code @Any} and {@code @Named})
+     * @return a superset of the matching beans, in registration order
+     */
+    List<Candidate> candidatesFor(Class<?> requiredRawType, Collection<Annotation> selectiveQualifiers) {
+        List<Candidate> result = requiredRawType == null
+                ? candidates
+                : merge(byRawType.getOrDefault(requiredRawType, Collections.emptyList()), anyRawType);
+        for (Annotation qualifier : selectiveQualifiers) {
+            List<Candidate> qualified = byQualifierHash.getOrDefault(
+                    AnnotationComparator.hashCode(qualifier), Collections.emptyList());
+            if (qualified.size() < result.size()) {
+                result = qualified;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the indexed state of a bean, or null if the bean is not eligible for resolution
+     */
+    Candidate candidateFor(Bean<?> bean) {
+        return byBean.get(bean);
+    }
+
+    /**
+     * @return the first valid non-producer bean of the given class, or null
+     */
+    Bean<?> declaringBeanFor(Class<?> beanClass) {
+        return declaringBeans.get(beanClass);
+    }
+
+    private static List<Candidate> merge(List<Candidate> a, List<Candidate> b) {
+        if (b.isEmpty()) {
+            return a;
+        }
+        if (a.isEmpty()) {
+            return b;
+        }
+        List<Candidate> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            Candidate x = a.get(i);
+            Candidate y = b.get(j);
+            if (x.ordinal == y.ordinal) {
+                merged.add(x);
+                i++;
+                j++;
+            } else if (x.ordinal < y.ordinal) {
+                merged.add(x);
+                i++;
+            } else {
+                merged.add(y);
+                j++;
+            }
+        }
+        merged.addAll(a.subList(i, a.size()));
+        merged.addAll(b.subList(j, b.size()));
+        return merged;
+    }
+
+    static final class Builder {
+        private final long version;
+        private final Map<Class<?>, Bean<?>> declaringBeans;
+        private final List<Candidate> candidates = new ArrayList<>();
+        private final Map<Class<?>, List<Candidate>> byRawType = new HashMap<>();
+        private final List<Candidate> anyRawType = new ArrayList<>();
+        private final Map<Integer, List<Candidate>> byQualifierHash = new HashMap<>();
+        private final Map<Bean<?>, Candidate> byBean = new IdentityHashMap<>();
+
+        private Builder(long version, Map<Class<?>, Bean<?>> declaringBeans) {
+            this.version = version;
+            this.declaringBeans = declaringBeans;
+        }
+
+        /**
+         * Adds an eligible bean. Beans must be added in registration order.
+         *
+         * @param rawTypes the boxed raw types of the bean types; null if some raw type cannot be determined
+         * @param qualifiers the bean qualifiers that lookups can select on
+         */
+        Builder add(Bean<?> bean, Set<Class<?>> rawTypes, Collection<Annotation> qualifiers, boolean alternative,
+                    int alternativePriority, Set<Class<?>> specializedSuperclasses) {
+            Candidate candidate = new Candidate(bean, candidates.size(), alternative, alternativePriority,
+                    specializedSuperclasses);
+            candidates.add(candidate);
+            byBean.put(bean, candidate);
+            if (rawTypes == null) {
+                anyRawType.add(candidate);
+            } else {
+                for (Class<?> rawType : rawTypes) {
+                    byRawType.computeIfAbsent(rawType, k -> new ArrayList<>()).add(candidate);
+                }
+            }
+            Set<Integer> hashes = new HashSet<>();
+            for (Annotation qualifier : qualifiers) {
+                int hash = AnnotationComparator.hashCode(qualifier);
+                if (hashes.add(hash)) {
+                    byQualifierHash.computeIfAbsent(hash, k -> new ArrayList<>()).add(candidate);
+                }
+            }
+            return this;
+        }
+
+        BeanResolutionIndex build() {
+            return new BeanResolutionIndex(this);
+        }
+    }
+}
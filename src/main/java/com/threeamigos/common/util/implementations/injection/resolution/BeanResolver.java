@@ -45,6 +45,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.threeamigos.common.util.implementations.injection.annotations.AnnotationsEnum.*;
@@ -63,6 +64,11 @@ import static com.threeamigos.common.util.implementations.injection.annotations.
  *   <li><b>Event&lt;T&gt;</b> - Programmatic event firing</li>
  * </ul>
  *
+ * <p>Once deployment validation is complete, {@link #buildResolutionIndex()} snapshots the beans eligible
+ * for resolution into a {@link BeanResolutionIndex}, so that lookups only check the beans sharing the
+ * required raw type or qualifier. Before that, and whenever the index cannot be used, lookups scan all
+ * valid beans.
+ *
  * @author Stefano Reksten
  */
 public class BeanResolver implements DependencyResolver {
@@ -76,6 +82,8 @@ public class BeanResolver implements DependencyResolver {
     private final DecoratorResolver decoratorResolver;
     private final DecoratorAwareProxyGenerator decoratorAwareProxyGenerator;
     private volatile boolean legacyCdi10NewEnabled;
+    private volatile BeanResolutionIndex resolutionIndex;
+    private final Object resolutionIndexLock = new Object();
 
     // ThreadLocal stack to pass nested injection point context during resolution
     private final ThreadLocal<Deque<InjectionPoint>> currentInjectionPoint =
@@ -256,13 +264,9 @@ public class BeanResolver implements DependencyResolver {
         // Find the managed bean for the declaring class.
         // ProducerBean#getBeanClass() returns the declaring class too, but using that here
         // would recurse infinitely when the producer tries to get its declaring instance.
-        for (Bean<?> bean : knowledgeBase.getValidBeans()) {
-            if (bean instanceof ProducerBean) {
-                continue;
-            }
-            if (bean.getBeanClass().equals(declaringClass)) {
-                return getInstanceFromScope(bean);
-            }
+        Bean<?> bean = findDeclaringBean(declaringClass);
+        if (bean != null) {
+            return getInstanceFromScope(bean);
         }
 
         throw new RuntimeException(
@@ -273,7 +277,7 @@ public class BeanResolver implements DependencyResolver {
     /**
      * Finds all beans matching the required type and qualifiers.
      */
-    private Collection<Bean<?>> findMatchingBeans(Type requiredType, Annotation[] qualifiers) {
+    Collection<Bean<?>> findMatchingBeans(Type requiredType, Annotation[] qualifiers) {
         LegacyNewQualifierHelper.LegacyNewSelection legacyNewSelection =
                 LegacyNewQualifierHelper.extractSelection(requiredType, qualifiers);
         if (legacyNewSelection != null) {
@@ -288,54 +292,182 @@ public class BeanResolver implements DependencyResolver {
         // Extract qualifier annotations (ignore non-qualifiers)
         Set<Annotation> requiredQualifiers = extractQualifiers(qualifiers);
 
+        BeanResolutionIndex index = currentResolutionIndex();
+        if (index != null) {
+            // Indexed beans are already known to be enabled, valid and not vetoed
+            for (BeanResolutionIndex.Candidate candidate :
+                    index.candidatesFor(lookupRawType(requiredType), selectiveQualifiers(requiredQualifiers))) {
+                addIfMatching(candidate.bean, requiredType, requiredQualifiers, matches);
+            }
+            return applySpecializationFiltering(matches);
+        }
+
         // Search through all valid beans
         for (Bean<?> bean : knowledgeBase.getValidBeans()) {
-            if (!isBeanEnabledForResolution(bean)) {
-                continue;
+            if (isEligibleForResolution(bean, this::findDeclaringBean)) {
+                addIfMatching(bean, requiredType, requiredQualifiers, matches);
             }
+        }
+
+        return applySpecializationFiltering(matches);
+    }
+
+    private void addIfMatching(Bean<?> bean, Type requiredType, Set<Annotation> requiredQualifiers,
+                               List<Bean<?>> matches) {
+        if (!typeMatches(requiredType, bean)) {
+            return;
+        }
+        if (qualifiersMatchIncludingBeanName(requiredQualifiers, bean)
+                && !isNotBeanClassAccessibleFromCurrentInjectionPoint(bean)) {
+            matches.add(bean);
+        }
+    }
+
+    private boolean isEligibleForResolution(Bean<?> bean, Function<Class<?>, Bean<?>> declaringBeans) {
+        if (!isBeanEnabledForResolution(bean, declaringBeans)) {
+            return false;
+        }
+
+        // Skip beans with validation errors
+        if (bean instanceof BeanImpl && ((BeanImpl<?>) bean).hasValidationErrors()) {
+            return false;
+        }
+        if (bean instanceof ProducerBean && ((ProducerBean<?>) bean).hasValidationErrors()) {
+            return false;
+        }
+
+        // Skip vetoed beans - beans vetoed by extensions during ProcessAnnotatedType
+        if (bean instanceof BeanImpl && ((BeanImpl<?>) bean).isVetoed()) {
+            return false;
+        }
+        return !(bean instanceof ProducerBean && ((ProducerBean<?>) bean).isVetoed());
+    }
 
-            // Skip beans with validation errors
-            if (bean instanceof BeanImpl && ((BeanImpl<?>) bean).hasValidationErrors()) {
+    private boolean typeMatches(Type requiredType, Bean<?> bean) {
+        for (Type beanType : bean.getTypes()) {
+            if (notSameRawType(requiredType, beanType)) {
                 continue;
             }
-            if (bean instanceof ProducerBean && ((ProducerBean<?>) bean).hasValidationErrors()) {
-                continue;
+            if (typeChecker.isLookupTypeAssignable(requiredType, beanType)) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            // Skip vetoed beans - beans vetoed by extensions during ProcessAnnotatedType
-            if (bean instanceof BeanImpl && ((BeanImpl<?>) bean).isVetoed()) {
-                continue;
-            }
-            if (bean instanceof ProducerBean && ((ProducerBean<?>) bean).isVetoed()) {
-                continue;
+    /**
+     * Builds the resolution index from the beans currently registered. Called by the container once
+     * deployment validation is complete; afterwards the index is rebuilt automatically the first time
+     * it is needed after the registered beans (or alternative enablement) change.
+     */
+    public void buildResolutionIndex() {
+        synchronized (resolutionIndexLock) {
+            resolutionIndex = createResolutionIndex();
+        }
+    }
+
+    private BeanResolutionIndex currentResolutionIndex() {
+        BeanResolutionIndex index = resolutionIndex;
+        if (index == null || index.getVersion() == knowledgeBase.getResolutionVersion()) {
+            return index;
+        }
+        synchronized (resolutionIndexLock) {
+            index = resolutionIndex;
+            if (index != null && index.getVersion() != knowledgeBase.getResolutionVersion()) {
+                index = createResolutionIndex();
+                resolutionIndex = index;
             }
+            return index;
+        }
+    }
 
-            // Check type match
-            boolean typeMatches = false;
-            for (Type beanType : bean.getTypes()) {
-                if (notSameRawType(requiredType, beanType)) {
-                    continue;
-                }
-                if (typeChecker.isLookupTypeAssignable(requiredType, beanType)) {
-                    typeMatches = true;
-                    break;
-                }
+    private BeanResolutionIndex createResolutionIndex() {
+        long version = knowledgeBase.getResolutionVersion();
+        List<Bean<?>> validBeans = new ArrayList<>(knowledgeBase.getValidBeans());
+
+        Map<Class<?>, Bean<?>> declaringBeans = new HashMap<>();
+        for (Bean<?> bean : validBeans) {
+            if (!(bean instanceof ProducerBean) && bean.getBeanClass() != null) {
+                declaringBeans.putIfAbsent(bean.getBeanClass(), bean);
             }
+        }
+        Function<Class<?>, Bean<?>> declaringBeanLookup = beanClass ->
+                beanClass == null ? null : declaringBeans.get(beanClass);
 
-            if (!typeMatches) {
+        BeanResolutionIndex.Builder builder = BeanResolutionIndex.builder(version, declaringBeans);
+        for (Bean<?> bean : validBeans) {
+            if (!isEligibleForResolution(bean, declaringBeanLookup)) {
                 continue;
             }
+            builder.add(bean,
+                    indexedRawTypes(bean),
+                    selectiveQualifiers(bean.getQualifiers()),
+                    isEffectivelyAlternative(bean, declaringBeanLookup),
+                    computeAlternativePriority(bean),
+                    collectSpecializedSuperclasses(bean.getBeanClass()));
+        }
+        return builder.build();
+    }
 
-            // Check qualifier match
-            if (qualifiersMatchIncludingBeanName(requiredQualifiers, bean)) {
-                if (isNotBeanClassAccessibleFromCurrentInjectionPoint(bean)) {
-                    continue;
-                }
-                matches.add(bean);
+    /**
+     * Returns the boxed raw types of the bean types, or null if one of them cannot be determined
+     * (such a bean has to be considered for every lookup, as {@link #notSameRawType} does).
+     */
+    private Set<Class<?>> indexedRawTypes(Bean<?> bean) {
+        Set<Class<?>> rawTypes = new HashSet<>();
+        for (Type beanType : bean.getTypes()) {
+            if (beanType == null) {
+                continue;
+            }
+            Class<?> rawType;
+            try {
+                rawType = normalizePrimitiveType(RawTypeExtractor.getRawType(beanType));
+            } catch (RuntimeException e) {
+                return null;
             }
+            if (rawType == null) {
+                return null;
+            }
+            rawTypes.add(rawType);
         }
+        return rawTypes;
+    }
 
-        return applySpecializationFiltering(matches);
+    /**
+     * Returns the boxed raw type a lookup must share with a bean type, or null if any bean type may
+     * match (type variables, wildcards and types whose raw type cannot be determined).
+     */
+    private Class<?> lookupRawType(Type requiredType) {
+        if (requiredType == null || requiredType instanceof java.lang.reflect.TypeVariable ||
+                requiredType instanceof java.lang.reflect.WildcardType) {
+            return null;
+        }
+        try {
+            return normalizePrimitiveType(RawTypeExtractor.getRawType(requiredType));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the qualifiers a matching bean must declare itself: {@code @Any} and {@code @Named}
+     * are matched by other rules (see {@link #qualifiersMatchIncludingBeanName}).
+     */
+    private List<Annotation> selectiveQualifiers(Set<Annotation> qualifiers) {
+        List<Annotation> selective = new ArrayList<>();
+        if (qualifiers == null) {
+            return selective;
+        }
+        for (Annotation qualifier : qualifiers) {
+            if (qualifier == null) {
+                continue;
+            }
+            Class<? extends Annotation> type = qualifier.annotationType();
+            if (!hasAnyAnnotation(type) && !hasNamedAnnotation(type)) {
+                selective.add(qualifier);
+            }
+        }
+        return selective;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -346,36 +478,13 @@ public class BeanResolver implements DependencyResolver {
         Class<?> targetClass = selection.getTargetClass();
 
         for (Bean<?> bean : knowledgeBase.getValidBeans()) {
-            if (!isBeanEnabledForResolution(bean)) {
-                continue;
-            }
-            if (bean instanceof BeanImpl && ((BeanImpl<?>) bean).hasValidationErrors()) {
-                continue;
-            }
-            if (bean instanceof ProducerBean && ((ProducerBean<?>) bean).hasValidationErrors()) {
-                continue;
-            }
-            if (bean instanceof BeanImpl && ((BeanImpl<?>) bean).isVetoed()) {
-                continue;
-            }
-            if (bean instanceof ProducerBean && ((ProducerBean<?>) bean).isVetoed()) {
-                continue;
-            }
             if (!targetClass.equals(bean.getBeanClass())) {
                 continue;
             }
-
-            boolean typeMatches = false;
-            for (Type beanType : bean.getTypes()) {
-                if (notSameRawType(requiredType, beanType)) {
-                    continue;
-                }
-                if (typeChecker.isLookupTypeAssignable(requiredType, beanType)) {
-                    typeMatches = true;
-                    break;
-                }
+            if (!isEligibleForResolution(bean, this::findDeclaringBean)) {
+                continue;
             }
-            if (!typeMatches) {
+            if (!typeMatches(requiredType, bean)) {
                 continue;
             }
             if (isNotBeanClassAccessibleFromCurrentInjectionPoint(bean)) {
@@ -530,8 +639,14 @@ public class BeanResolver implements DependencyResolver {
             return candidates;
         }
 
+        BeanResolutionIndex index = currentResolutionIndex();
         Set<Class<?>> specializedSuperclasses = new HashSet<>();
         for (Bean<?> candidate : candidates) {
+            BeanResolutionIndex.Candidate indexed = index != null ? index.candidateFor(candidate) : null;
+            if (indexed != null) {
+                specializedSuperclasses.addAll(indexed.specializedSuperclasses);
+                continue;
+            }
             Class<?> beanClass = candidate.getBeanClass();
             if (hasSpecializesAnnotation(beanClass)) {
                 specializedSuperclasses.addAll(collectSpecializedSuperclasses(beanClass));
@@ -548,10 +663,10 @@ public class BeanResolver implements DependencyResolver {
     }
 
     private Set<Class<?>> collectSpecializedSuperclasses(Class<?> beanClass) {
-        Set<Class<?>> out = new HashSet<>();
-        if (!hasSpecializesAnnotation(beanClass)) {
-            return out;
+        if (beanClass == null || !hasSpecializesAnnotation(beanClass)) {
+            return Collections.emptySet();
         }
+        Set<Class<?>> out = new HashSet<>();
         Class<?> current = beanClass.getSuperclass();
         while (current != null && !Object.class.equals(current)) {
             out.add(current);
@@ -729,6 +844,15 @@ public class BeanResolver implements DependencyResolver {
     }
 
     private int getAlternativePriority(Bean<?> bean) {
+        BeanResolutionIndex index = currentResolutionIndex();
+        BeanResolutionIndex.Candidate indexed = index != null ? index.candidateFor(bean) : null;
+        if (indexed != null) {
+            return indexed.alternativePriority;
+        }
+        return computeAlternativePriority(bean);
+    }
+
+    private int computeAlternativePriority(Bean<?> bean) {
         Integer applicationOrderPriority = getAfterTypeDiscoveryAlternativePriority(bean);
         if (applicationOrderPriority != null) {
             return applicationOrderPriority;
@@ -828,17 +952,17 @@ public class BeanResolver implements DependencyResolver {
         return null;
     }
 
-    private boolean isBeanEnabledForResolution(Bean<?> bean) {
+    private boolean isBeanEnabledForResolution(Bean<?> bean, Function<Class<?>, Bean<?>> declaringBeans) {
         if (bean == null) {
             return false;
         }
         if (bean instanceof ProducerBean) {
             ProducerBean<?> producerBean = (ProducerBean<?>) bean;
-            Bean<?> declaringBean = findDeclaringBean(producerBean.getDeclaringClass());
+            Bean<?> declaringBean = declaringBeans.apply(producerBean.getDeclaringClass());
             if (declaringBean == null) {
                 return false;
             }
-            if (!isBeanEnabledForResolution(declaringBean)) {
+            if (!isBeanEnabledForResolution(declaringBean, declaringBeans)) {
                 return false;
             }
             return producerBean.isAlternativeEnabled();
@@ -846,7 +970,7 @@ public class BeanResolver implements DependencyResolver {
         if (bean instanceof SyntheticProducerBeanImpl) {
             Bean<?> originalBean = findOriginalProducerBean(bean);
             if (originalBean instanceof ProducerBean) {
-                return isBeanEnabledForResolution(originalBean);
+                return isBeanEnabledForResolution(originalBean, declaringBeans);
             }
         }
         if (!bean.isAlternative()) {
@@ -865,6 +989,10 @@ public class BeanResolver implements DependencyResolver {
         if (declaringClass == null) {
             return null;
         }
+        BeanResolutionIndex index = currentResolutionIndex();
+        if (index != null) {
+            return index.declaringBeanFor(declaringClass);
+        }
         for (Bean<?> candidate : knowledgeBase.getValidBeans()) {
             if (candidate instanceof ProducerBean) {
                 continue;
@@ -893,6 +1021,15 @@ public class BeanResolver implements DependencyResolver {
     }
 
     private boolean isEffectivelyAlternative(Bean<?> bean) {
+        BeanResolutionIndex index = currentResolutionIndex();
+        BeanResolutionIndex.Candidate indexed = index != null && bean != null ? index.candidateFor(bean) : null;
+        if (indexed != null) {
+            return indexed.alternative;
+        }
+        return isEffectivelyAlternative(bean, this::findDeclaringBean);
+    }
+
+    private boolean isEffectivelyAlternative(Bean<?> bean, Function<Class<?>, Bean<?>> declaringBeans) {
         if (bean == null) {
             return false;
         }
@@ -901,12 +1038,12 @@ public class BeanResolver implements DependencyResolver {
         }
         if (bean instanceof ProducerBean) {
             ProducerBean<?> producerBean = (ProducerBean<?>) bean;
-            Bean<?> declaringBean = findDeclaringBean(producerBean.getDeclaringClass());
+            Bean<?> declaringBean = declaringBeans.apply(producerBean.getDeclaringClass());
             return declaringBean != null && declaringBean.isAlternative();
         }
         if (bean instanceof SyntheticProducerBeanImpl) {
             Bean<?> originalBean = findOriginalProducerBean(bean);
-            return isEffectivelyAlternative(originalBean);
+            return isEffectivelyAlternative(originalBean, declaringBeans);
         }
         return false;
     }
@@ -1671,6 +1808,7 @@ public class BeanResolver implements DependencyResolver {
     public void clearRuntimeState() {
         currentInjectionPoint.remove();
         owningBeanManager = null;
+        resolutionIndex = null;
         decoratorAwareProxyGenerator.clearCache();
     }
 
@@ -12,13 +12,38 @@ public final class DestroyedInstanceTracker {
 
     private static final Map<Object, Boolean> DESTROYED_INSTANCES =
             Collections.synchronizedMap(new WeakHashMap<>());
+    // Flags of the live instances that proxies hold on to; guarded by DESTROYED_INSTANCES
+    private static final Map<Object, DestructionFlag> DESTRUCTION_FLAGS = new WeakHashMap<>();
 
     private DestroyedInstanceTracker() {
     }
 
     public static void markDestroyed(Object instance) {
         if (instance != null) {
-            DESTROYED_INSTANCES.put(instance, Boolean.TRUE);
+            DestructionFlag flag;
+            synchronized (DESTROYED_INSTANCES) {
+                DESTROYED_INSTANCES.put(instance, Boolean.TRUE);
+                flag = DESTRUCTION_FLAGS.remove(instance);
+            }
+            if (flag != null) {
+                flag.raised = true;
+            }
+        }
+    }
+
+    /**
+     * Returns the flag that is raised when the given instance is marked destroyed, so that callers
+     * holding on to the instance can check it without looking it up again.
+     *
+     * @param instance the instance
+     * @return the destruction flag of the instance, already raised if the instance has been destroyed
+     */
+    public static DestructionFlag getDestructionFlag(Object instance) {
+        synchronized (DESTROYED_INSTANCES) {
+            if (DESTROYED_INSTANCES.containsKey(instance)) {
+                return DestructionFlag.RAISED;
+            }
+            return DESTRUCTION_FLAGS.computeIfAbsent(instance, i -> new DestructionFlag(false));
         }
     }
 
@@ -27,6 +52,26 @@ public final class DestroyedInstanceTracker {
     }
 
     public static void clear() {
-        DESTROYED_INSTANCES.clear();
+        synchronized (DESTROYED_INSTANCES) {
+            DESTROYED_INSTANCES.clear();
+            DESTRUCTION_FLAGS.clear();
+        }
+    }
+
+    /**
+     * Raised once its instance has been destroyed.
+     */
+    public static final class DestructionFlag {
+        private static final DestructionFlag RAISED = new DestructionFlag(true);
+
+        private volatile boolean raised;
+
+        private DestructionFlag(boolean raised) {
+            this.raised = raised;
+        }
+
+        public boolean isRaised() {
+            return raised;
+        }
     }
 }
@@ -0,0 +1,334 @@
+package com.threeamigos.common.util.implementations.injection.resolution;
+
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+
+/**
+ * Description of how a {@link BeanImpl} creates and injects an instance of its bean class.
+ *
+ * <p>Everything that does not change between two creations is worked out once by the bean: the constructor,
+ * fields and initializer methods to use, in hierarchy order and without overridden methods, the
+ * {@link InjectionPoint} metadata, resolved type and qualifiers of every injection site, and
+ * {@link MethodHandle}s to call the constructor, write the fields and call the methods.
+ *
+ * <p>Each site is also bound to the bean that satisfies it. The plan is compiled before deployment validation,
+ * when the enabled beans are not settled yet, so a site is bound by the first creation after it and rebound
+ * when the set of beans changes. Sites injecting {@code InjectionPoint}, {@code Instance}, {@code Event} and
+ * the other built-in handles are resolved on every creation, as they depend on where they are injected.
+ * Creating an instance then amounts to a loop over the plan that gets a reference of each bound bean and
+ * assigns it.
+ *
+ * <p>Members that cannot be unreflected keep being called through reflection. When generated bean factories
+ * are enabled, the plan also carries the {@link BeanFactory} generated for the bean class, which takes over the
+ * members it can access.
+ *
+ * @param <T> type of the bean
+ * @author Stefano Reksten
+ */
+final class InjectionPlan<T> {
+
+    private final Class<?> leafClass;
+    private final Constructor<T> constructor;
+    // (Object[] args)Object, or null if the constructor can only be invoked reflectively
+    private final MethodHandle constructorHandle;
+    private final Site[] constructorParameters;
+    private final FieldStep[] fields;
+    private final MethodStep[] methods;
+    // null unless generated bean factories are enabled and one could be generated
+    private final BeanFactoryGenerator.Generated generated;
+
+    InjectionPlan(Class<?> leafClass, Constructor<T> constructor, Site[] constructorParameters,
+                  FieldStep[] fields, MethodStep[] methods, BeanFactoryGenerator.Generated generated) {
+        this.leafClass = leafClass;
+        this.constructor = constructor;
+        this.constructorHandle = compileConstructor(constructor);
+        this.constructorParameters = constructorParameters;
+        this.fields = fields;
+        this.methods = methods;
+        this.generated = generated;
+    }
+
+    /**
+     * @return the class whose hierarchy the field and method steps were ordered for
+     */
+    Class<?> getLeafClass() {
+        return leafClass;
+    }
+
+    Constructor<T> getConstructor() {
+        return constructor;
+    }
+
+    Site[] getConstructorParameters() {
+        return constructorParameters;
+    }
+
+    FieldStep[] getFields() {
+        return fields;
+    }
+
+    MethodStep[] getMethods() {
+        return methods;
+    }
+
+    /**
+     * @return the generated factory of the bean class and the members it handles, or null
+     */
+    BeanFactoryGenerator.Generated getGenerated() {
+        return generated;
+    }
+
+    @SuppressWarnings("unchecked")
+    T newInstance(Object[] args) throws Exception {
+        if (generated != null && generated.isConstructorGenerated()) {
+            return (T) generated.getFactory().newInstance(args);
+        }
+        if (constructorHandle != null) {
+            try {
+                return (T) (Object) constructorHandle.invokeExact(args);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+        try {
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static MethodHandle compileConstructor(Constructor<?> constructor) {
+        if (Modifier.isAbstract(constructor.getDeclaringClass().getModifiers())) {
+            return null;
+        }
+        try {
+            int parameterCount = constructor.getParameterCount();
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asType(MethodType.genericMethodType(parameterCount))
+                    .asSpreader(Object[].class, parameterCount);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Exception rethrow(InvocationTargetException e) {
+        Throwable cause = e.getTargetException();
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new RuntimeException(cause);
+    }
+
+    /**
+     * A single injection site: a constructor parameter, a field or an initializer method parameter.
+     */
+    static final class Site {
+        private final InjectionPoint injectionPoint;
+        private final Type type;
+        private final Annotation[] qualifiers;
+        private final Class<?> rawType;
+        private final Object defaultValue;
+        private final boolean transientReference;
+        private final boolean bindable;
+        // The bean the site was resolved to, set on first use
+        private volatile Binding binding;
+
+        Site(InjectionPoint injectionPoint, Type type, Annotation[] qualifiers, Class<?> rawType,
+             Object defaultValue, boolean transientReference, boolean bindable) {
+            this.injectionPoint = injectionPoint;
+            this.type = type;
+            this.qualifiers = qualifiers;
+            this.rawType = rawType;
+            this.defaultValue = defaultValue;
+            this.transientReference = transientReference;
+            this.bindable = bindable;
+        }
+
+        InjectionPoint getInjectionPoint() {
+            return injectionPoint;
+        }
+
+        /**
+         * @return the required type, with the type variables of the bean class resolved
+         */
+        Type getType() {
+            return type;
+        }
+
+        /**
+         * @return the qualifiers to resolve the site with; shared, must not be modified
+         */
+        Annotation[] getQualifiers() {
+            return qualifiers;
+        }
+
+        Class<?> getRawType() {
+            return rawType;
+        }
+
+        /**
+         * @return the value to inject when nothing was resolved: the default value of a primitive type, or null
+         */
+        Object getDefaultValue() {
+            return defaultValue;
+        }
+
+        boolean isTransientReference() {
+            return transientReference;
+        }
+
+        /**
+         * @return false if the site must be resolved on every injection, e.g. an {@code InjectionPoint}
+         */
+        boolean isBindable() {
+            return bindable;
+        }
+
+        /**
+         * @param resolutionVersion the current resolution version of the container
+         * @return the binding of the site made at that version, or null if it must be bound (again)
+         */
+        Binding getBinding(long resolutionVersion) {
+            Binding current = binding;
+            return current != null && current.resolutionVersion == resolutionVersion ? current : null;
+        }
+
+        void bind(Binding binding) {
+            this.binding = binding;
+        }
+    }
+
+    /**
+     * The bean an injection site resolved to, at a given resolution version of the container.
+     */
+    static final class Binding {
+        private final long resolutionVersion;
+        // null if the site is not satisfied by a single bean, or is a built-in handle resolved on each injection
+        private final Bean<?> bean;
+
+        Binding(long resolutionVersion, Bean<?> bean) {
+            this.resolutionVersion = resolutionVersion;
+            this.bean = bean;
+        }
+
+        Bean<?> getBean() {
+            return bean;
+        }
+    }
+
+    /**
+     * Injection of an {@code @Inject} field.
+     */
+    static final class FieldStep {
+        private final Field field;
+        private final Site site;
+        // (Object instance, Object value)void, or null if the field can only be written reflectively
+        private final MethodHandle setter;
+
+        FieldStep(Field field, Site site) {
+            this.field = field;
+            this.site = site;
+            this.setter = compileSetter(field);
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        Site getSite() {
+            return site;
+        }
+
+        void set(Object instance, Object value) throws Exception {
+            if (setter != null) {
+                try {
+                    setter.invokeExact(instance, value);
+                    return;
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            }
+            field.set(instance, value);
+        }
+
+        private static MethodHandle compileSetter(Field field) {
+            try {
+                return MethodHandles.lookup().unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Invocation of an {@code @Inject} initializer method.
+     */
+    static final class MethodStep {
+        private final Method method;
+        private final Site[] parameters;
+        // (Object instance, Object[] args)void, or null if the method can only be invoked reflectively
+        private final MethodHandle invoker;
+
+        MethodStep(Method method, Site[] parameters) {
+            this.method = method;
+            this.parameters = parameters;
+            this.invoker = compileInvoker(method);
+        }
+
+        Site[] getParameters() {
+            return parameters;
+        }
+
+        void invoke(Object instance, Object[] args) throws Exception {
+            if (invoker != null) {
+                try {
+                    invoker.invokeExact(instance, args);
+                    return;
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            }
+            try {
+                method.invoke(instance, args);
+            } catch (InvocationTargetException e) {
+                throw rethrow(e);
+            }
+        }
+
+        private static MethodHandle compileInvoker(Method method) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                return null;
+            }
+            try {
+                int parameterCount = method.getParameterCount();
+                return MethodHandles.lookup().unreflect(method)
+                        .asType(MethodType.genericMethodType(parameterCount + 1))
+                        .asSpreader(Object[].class, parameterCount)
+                        .asType(MethodType.methodType(void.class, Object.class, Object[].class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
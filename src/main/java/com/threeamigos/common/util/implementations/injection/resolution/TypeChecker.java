@@ -60,8 +60,9 @@ import java.util.Objects;
  * {@link Cache} implementation, making it safe for concurrent use during dependency injection
  * initialization.
  *
- * <p><b>Performance:</b> Type checking results are cached using an LRU cache with a default capacity
- * of 10,000 entries. Cache hit rate is typically 90-95% in real applications, reducing repeated
+ * <p><b>Performance:</b> Type checking results are cached using a concurrent-mode cache (lock-free
+ * hits, W-TinyLFU admission, so one-off type pairs do not flush out hot ones) with a default
+ * capacity of 10,000 entries. Cache hit rate is typically 90-95% in real applications, reducing repeated
  * type hierarchy navigation overhead.
  *
  * <p>Checked and commented with Claude
@@ -78,7 +79,9 @@ public class TypeChecker {
     /**
      * A cache for storing the results of type assignability checks.
      */
-    private final Cache<TypePair, Boolean> assignabilityCache = new Cache<>();
+    private final Cache<TypePair, Boolean> assignabilityCache = Cache.<TypePair, Boolean>builder()
+            .tinyLfuAdmission()
+            .build();
 
     /**
      * Validates that a type is a legal bean type for an injection point.
@@ -4,10 +4,14 @@ import com.threeamigos.common.util.implementations.injection.resolution.BeanImpl
 import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.CreationException;
 import jakarta.enterprise.inject.spi.Bean;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Implementation of ApplicationScoped context.
@@ -17,13 +21,39 @@ import java.util.concurrent.ConcurrentHashMap;
  * have interceptors with interceptor-aware proxies. This ensures that interceptor chains
  * are executed before business methods are called.
  *
+ * <p><b>Concurrency:</b> existing instances are returned without locking from an array indexed by the
+ * container's bean ids (see {@link BeanIndex}), so the fast path never hashes the bean.
+ * Missing instances are created under a per-bean lock, so a slow bean only delays the threads that need
+ * that same bean, and nested lookups of other beans on the creating thread do not block. A thread that
+ * needs a bean it is already creating, or that would wait on a bean whose creator is (transitively)
+ * waiting on the current thread, fails with a {@link CreationException} instead of recursing or deadlocking.
+ *
  * @author Stefano Reksten
  */
 public class ApplicationScopedContext implements ScopeContext {
 
-    private final Map<Bean<?>, Object> instances = new ConcurrentHashMap<>();
-    private final Map<Bean<?>, CreationalContext<?>> creationalContexts = new ConcurrentHashMap<>();
+    private final BeanIndex beanIndex;
+    private final ContextualInstances instances;
     private volatile boolean active = true;
+    // Bumped whenever contextual instances are destroyed
+    private final AtomicLong destructionEpoch = new AtomicLong();
+    // Creation locks of the beans not created yet, and the lock each blocked thread is waiting for
+    private final Map<Integer, CreationGuard> creationGuards = new ConcurrentHashMap<>();
+    private final Map<Thread, CreationGuard> waitingThreads = new ConcurrentHashMap<>();
+
+    private static final long CYCLE_CHECK_INTERVAL_MILLIS = 50L;
+
+    public ApplicationScopedContext() {
+        this(new BeanIndex());
+    }
+
+    /**
+     * @param beanIndex the bean ids of the container, shared with its other contexts
+     */
+    public ApplicationScopedContext(BeanIndex beanIndex) {
+        this.beanIndex = beanIndex;
+        this.instances = new ContextualInstances(beanIndex);
+    }
 
     @Override
     @SuppressWarnings("unchecked")
@@ -32,15 +62,18 @@ public class ApplicationScopedContext implements ScopeContext {
             throw new ContextNotActiveException("ApplicationScoped context is not active");
         }
 
-        Object existing = instances.get(bean);
+        int id = beanIndex.idOf(bean);
+        ContextualInstances.Entry existing = instances.get(id);
         if (existing != null) {
-            return (T) existing;
+            return (T) existing.getInstance();
         }
 
-        synchronized (this) {
-            existing = instances.get(bean);
+        CreationGuard guard = creationGuards.computeIfAbsent(id, i -> new CreationGuard());
+        acquire(guard, bean);
+        try {
+            existing = instances.get(id);
             if (existing != null) {
-                return (T) existing;
+                return (T) existing.getInstance();
             }
 
             // Create the contextual instance; explicit locking avoids nested computeIfAbsent
@@ -55,43 +88,88 @@ public class ApplicationScopedContext implements ScopeContext {
                 }
             }
 
-            if (creationalContext != null) {
-                creationalContexts.put(bean, creationalContext);
-            }
-            instances.put(bean, instance);
+            instances.put(id, new ContextualInstances.Entry(bean, instance, creationalContext));
+            // From now on the instance is served by the fast path; late waiters still hold the guard
+            creationGuards.remove(id, guard);
             return instance;
+        } finally {
+            guard.unlock();
         }
     }
 
+    private void acquire(CreationGuard guard, Bean<?> bean) {
+        if (guard.isHeldByCurrentThread()) {
+            // Creating the bean needs the bean itself: creating it again would recurse forever
+            throw new CreationException("Circular creation of ApplicationScoped bean " +
+                    bean.getBeanClass().getName() + " on thread " + Thread.currentThread().getName());
+        }
+        if (guard.tryLock()) {
+            return;
+        }
+        Thread current = Thread.currentThread();
+        waitingThreads.put(current, guard);
+        try {
+            do {
+                if (isWaitingOnItself(current, guard)) {
+                    throw new CreationException("Circular creation of ApplicationScoped beans detected while " +
+                            "waiting for " + bean.getBeanClass().getName() + " on thread " + current.getName());
+                }
+            } while (!guard.tryLock(CYCLE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CreationException("Interrupted while waiting for creation of " +
+                    bean.getBeanClass().getName(), e);
+        } finally {
+            waitingThreads.remove(current);
+        }
+    }
+
+    /**
+     * Follows the chain "guard is held by a thread that waits for another guard, held by..." and reports
+     * whether it leads back to the current thread.
+     */
+    private boolean isWaitingOnItself(Thread current, CreationGuard guard) {
+        CreationGuard next = guard;
+        // Bounded walk: the chain may change while we follow it
+        for (int hops = 0; next != null && hops <= waitingThreads.size(); hops++) {
+            Thread owner = next.owner();
+            if (owner == null) {
+                return false;
+            }
+            if (owner == current) {
+                return true;
+            }
+            next = waitingThreads.get(owner);
+        }
+        return false;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T getIfExists(Bean<T> bean) {
-        return (T) instances.get(bean);
+        ContextualInstances.Entry entry = instances.get(beanIndex.idOf(bean));
+        return entry != null ? (T) entry.getInstance() : null;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void destroy() {
-        for (Map.Entry<Bean<?>, Object> entry : instances.entrySet()) {
-            Bean<Object> bean = (Bean<Object>) entry.getKey();
-            Object instance = entry.getValue();
-            CreationalContext<Object> ctx = (CreationalContext<Object>) creationalContexts.get(bean);
-
+        // Instances stay reachable while being destroyed, so @PreDestroy callbacks can still use each other
+        for (ContextualInstances.Entry entry : instances.entries()) {
             try {
-                bean.destroy(instance, ctx);
+                entry.destroy();
             } catch (Exception e) {
                 // Log error but continue destroying other beans
-                System.err.println("Error destroying bean " + bean.getBeanClass().getName() + ": " + e.getMessage());
+                System.err.println("Error destroying bean " + entry.getBean().getBeanClass().getName() + ": " + e.getMessage());
             }
         }
 
-        instances.clear();
-        creationalContexts.clear();
+        instances.removeAll();
+        creationGuards.clear();
         active = false;
+        destructionEpoch.incrementAndGet();
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void destroy(Contextual<?> contextual) {
         if (!active) {
             throw new ContextNotActiveException("ApplicationScoped context is not active");
@@ -99,14 +177,23 @@ public class ApplicationScopedContext implements ScopeContext {
         if (!(contextual instanceof Bean)) {
             return;
         }
-        Bean<Object> bean = (Bean<Object>) contextual;
-        Object instance = instances.remove(bean);
-        CreationalContext<Object> ctx = (CreationalContext<Object>) creationalContexts.remove(bean);
-        if (instance != null) {
-            bean.destroy(instance, ctx);
+        ContextualInstances.Entry entry = instances.remove(beanIndex.idOf(contextual));
+        if (entry != null) {
+            destructionEpoch.incrementAndGet();
+            entry.destroy();
         }
     }
 
+    /**
+     * Returns a counter that changes whenever a contextual instance of this context is destroyed.
+     * Client proxies cache the instances they resolved and compare this counter to detect stale ones.
+     *
+     * @return the current destruction epoch
+     */
+    public long getDestructionEpoch() {
+        return destructionEpoch.get();
+    }
+
     @Override
     public boolean isActive() {
         return active;
@@ -118,4 +205,15 @@ public class ApplicationScopedContext implements ScopeContext {
         // They are never passivated, so no serialization requirement
         return false;
     }
+
+    /**
+     * Re-entrant creation lock of a single bean, exposing its owner for cycle detection.
+     */
+    private static final class CreationGuard extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        Thread owner() {
+            return getOwner();
+        }
+    }
 }
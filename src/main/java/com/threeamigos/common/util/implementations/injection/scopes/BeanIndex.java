@@ -0,0 +1,87 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import com.threeamigos.common.util.implementations.injection.resolution.BeanImpl;
+import jakarta.enterprise.context.spi.Contextual;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns a dense integer id, starting from 0, to each bean seen by the contexts of a container, so that
+ * contexts can keep their instances in arrays indexed by bean id.
+ *
+ * <p>The container assigns the ids of all its beans at deployment (see {@link #register(Iterable)}); beans
+ * added later, or seen only by a context, get theirs on first use. Ids follow bean equality, as the bean-keyed
+ * maps they replace did, and are never reused.
+ *
+ * <p>A {@link BeanImpl} remembers the id it was given, so looking it up does not hash the bean.
+ *
+ * @author Stefano Reksten
+ */
+public final class BeanIndex {
+
+    private final Map<Contextual<?>, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Assigns an id to each of the given beans that has none yet.
+     *
+     * @param contextuals the beans
+     */
+    public void register(Iterable<? extends Contextual<?>> contextuals) {
+        for (Contextual<?> contextual : contextuals) {
+            idOf(contextual);
+        }
+    }
+
+    /**
+     * @param contextual the bean
+     * @return the id of the bean, assigned on the first call
+     */
+    public int idOf(Contextual<?> contextual) {
+        if (contextual instanceof BeanImpl) {
+            Assignment assignment = ((BeanImpl<?>) contextual).getBeanIndexAssignment();
+            if (assignment != null && assignment.index == this) {
+                return assignment.id;
+            }
+        }
+        Integer id = ids.get(contextual);
+        if (id == null) {
+            id = ids.computeIfAbsent(contextual, c -> nextId.getAndIncrement());
+        }
+        if (contextual instanceof BeanImpl) {
+            ((BeanImpl<?>) contextual).setBeanIndexAssignment(new Assignment(this, id));
+        }
+        return id;
+    }
+
+    /**
+     * @return the beans given an id so far
+     */
+    public Collection<Contextual<?>> contextuals() {
+        return new ArrayList<>(ids.keySet());
+    }
+
+    /**
+     * @return the number of ids assigned so far; every id is lower than this value
+     */
+    public int size() {
+        return nextId.get();
+    }
+
+    /**
+     * The id a {@link BeanImpl} was given by an index.
+     */
+    public static final class Assignment {
+        private final BeanIndex index;
+        private final int id;
+
+        private Assignment(BeanIndex index, int id) {
+            this.index = index;
+            this.id = id;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.threeamigos.common.util.implementations.injection.resolution.BeanImpl
 import com.threeamigos.common.util.implementations.injection.resolution.DestroyedInstanceTracker;
 import com.threeamigos.common.util.implementations.injection.resolution.ProducerBean;
 import com.threeamigos.common.util.implementations.injection.spi.BeanManagerImpl;
+import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.InjectionPoint;
@@ -14,12 +15,15 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
 import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.implementation.bind.annotation.AllArguments;
 import net.bytebuddy.implementation.bind.annotation.FieldValue;
 import net.bytebuddy.implementation.bind.annotation.Origin;
 import net.bytebuddy.implementation.bind.annotation.RuntimeType;
 import net.bytebuddy.implementation.bind.annotation.This;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
 
 import java.io.Serializable;
@@ -314,6 +318,7 @@ public class ClientProxyGenerator {
             // This is done via the ProxyState interface that the proxy implements
             if (proxy instanceof ProxyState) {
                 ((ProxyState) proxy).$$_setProxyState(bean, contextManager);
+                ((ProxyState) proxy).$$_setInstanceSupplier(new ContextualInstanceSupplier(bean, contextManager));
             }
 
             return proxy;
@@ -513,6 +518,11 @@ public class ClientProxyGenerator {
      * 5. Adds fields for storing the bean and contextManager
      * 6. Overrides all public methods to delegate to contextual instance
      * <p>
+     * Public methods of public types are implemented with a direct call on the instance returned by the
+     * proxy's {@link ContextualInstanceSupplier}: no reflection and no argument array. The other methods
+     * (which the proxy may not be allowed to call directly on another instance) go through
+     * {@link ContextualInstanceInterceptor}.
+     * <p>
      * Note: The proxy shell is never actually "used" as a bean - it's just a delegation wrapper.
      * All business logic runs on the real contextual instances retrieved from the scope.
      *
@@ -520,6 +530,16 @@ public class ClientProxyGenerator {
      * @return the generated proxy class
      */
     private Class<?> generateProxyClass(Class<?> beanClass) {
+        ElementMatcher.Junction<net.bytebuddy.description.method.MethodDescription> delegatedMethods =
+                ElementMatchers.<net.bytebuddy.description.method.MethodDescription>named("toString")
+                        .and(ElementMatchers.takesArguments(0))
+                        .or(ElementMatchers.<net.bytebuddy.description.method.MethodDescription>any()
+                                .and(ElementMatchers.not(ElementMatchers.isDeclaredBy(Object.class)))
+                                .and(ElementMatchers.not(ElementMatchers.isDeclaredBy(ProxyState.class)))
+                                .and(ElementMatchers.not(ElementMatchers.named("writeReplace"))));
+        ElementMatcher.Junction<net.bytebuddy.description.method.MethodDescription> directlyCallable =
+                ElementMatchers.<net.bytebuddy.description.method.MethodDescription>isPublic()
+                        .and(ElementMatchers.isDeclaredBy(ElementMatchers.isPublic()));
         try {
             ByteBuddy byteBuddy = new ByteBuddy();
             net.bytebuddy.dynamic.DynamicType.Builder<?> builder;
@@ -546,6 +566,8 @@ public class ClientProxyGenerator {
                 // Add fields to store the bean and contextManager
                 .defineField("$$_bean", Bean.class, net.bytebuddy.description.modifier.Visibility.PRIVATE)
                 .defineField("$$_contextManager", ContextManager.class, net.bytebuddy.description.modifier.Visibility.PRIVATE)
+                .defineField("$$_instanceSupplier", ContextualInstanceSupplier.class,
+                        net.bytebuddy.description.modifier.Visibility.PRIVATE)
 
                 // Implement ProxyState to store bean and contextManager
                 .implement(ProxyState.class)
@@ -561,6 +583,9 @@ public class ClientProxyGenerator {
                 .method(ElementMatchers.named("$$_getContextManager"))
                 .intercept(FieldAccessor.ofField("$$_contextManager"))
 
+                .method(ElementMatchers.named("$$_setInstanceSupplier"))
+                .intercept(FieldAccessor.ofField("$$_instanceSupplier").setsArgumentAt(0))
+
                 // Implement Serializable (CDI requirement for passivating scopes)
                 .implement(Serializable.class)
 
@@ -572,16 +597,13 @@ public class ClientProxyGenerator {
 
                 // Intercept all non-Object methods plus Object.toString().
                 // TCK uses toString() on normal-scoped contextual references to trigger bean creation.
-                .method(
-                    ElementMatchers.named("toString").and(ElementMatchers.takesArguments(0))
-                        .or(
-                            ElementMatchers.any()
-                                .and(ElementMatchers.not(ElementMatchers.isDeclaredBy(Object.class)))
-                                .and(ElementMatchers.not(ElementMatchers.isDeclaredBy(ProxyState.class)))
-                                .and(ElementMatchers.not(ElementMatchers.named("writeReplace")))
-                        )
-                )
+                .method(delegatedMethods.and(ElementMatchers.not(directlyCallable)))
                 .intercept(MethodDelegation.to(ContextualInstanceInterceptor.class))
+                .method(delegatedMethods.and(directlyCallable))
+                .intercept(MethodCall.invokeSelf()
+                        .onMethodCall(MethodCall.invoke(CONTEXTUAL_INSTANCE_OF).withField("$$_instanceSupplier"))
+                        .withAllArguments()
+                        .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC))
 
                 // Load the class into the same classloader as the target class
                 .make()
@@ -631,88 +653,101 @@ public class ClientProxyGenerator {
      */
     public interface ProxyState {
         void $$_setProxyState(Bean<?> bean, ContextManager contextManager);
+        void $$_setInstanceSupplier(ContextualInstanceSupplier instanceSupplier);
         Bean<?> $$_getBean();
         ContextManager $$_getContextManager();
     }
 
+    private static final Method CONTEXTUAL_INSTANCE_OF;
+
+    static {
+        try {
+            CONTEXTUAL_INSTANCE_OF = ContextualInstanceSupplier.class.getMethod("instanceOf",
+                    ContextualInstanceSupplier.class);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     /**
-     * ByteBuddy interceptor that handles method calls on proxy instances.
+     * Resolves the contextual instance a client proxy delegates to.
      *
-     * <h3>Call Flow:</h3>
-     * <pre>
-     * 1. User calls: proxy.getUserId()
-     * 2. ByteBuddy intercepts and calls: ContextualInstanceInterceptor.intercept(...)
-     * 3. Interceptor does:
-     *    - Extract bean and contextManager from proxy (via ProxyState)
-     *    - Get bean's scope annotation (e.g., @RequestScoped)
-     *    - Get the context for that scope from contextManager
-     *    - Get the current contextual instance from the context
-     *    - Invoke the original method on the contextual instance
-     *    - Return the result
-     * 4. Result flows back to the user
-     * </pre>
-     *
-     * This interceptor is what makes the proxy "transparent" - from the caller's
-     * perspective, they're just calling a normal method, but behind the scenes
-     * we're ensuring they get the right contextual instance for the current scope.
+     * <p>Each proxy holds its own supplier. For {@code @ApplicationScoped} beans the instance is cached
+     * once it exists, and reused as long as the application context is active and has not destroyed any
+     * instance since; other scopes look the instance up in the current context on every call.
+     * A cached instance destroyed through {@link Bean#destroy} outside the context is noticed through
+     * its {@link DestroyedInstanceTracker.DestructionFlag}.
      */
-    public static class ContextualInstanceInterceptor {
+    public static final class ContextualInstanceSupplier {
+        private final Bean<?> bean;
+        private final ContextManager contextManager;
+        private final boolean applicationScoped;
+        private volatile boolean injectionPointsTouched;
+        private volatile CachedInstance cachedInstance;
+
+        ContextualInstanceSupplier(Bean<?> bean, ContextManager contextManager) {
+            this.bean = bean;
+            this.contextManager = contextManager;
+            this.applicationScoped = bean != null && ApplicationScoped.class.equals(bean.getScope());
+        }
 
         /**
-         * Intercepts method calls on the proxy and delegates to the contextual instance.
+         * Returns the contextual instance of the supplier stored in a proxy. Generated proxies call
+         * this method, so that a proxy that has not been initialized fails as the interceptor does.
          *
-         * @param bean the bean stored in the proxy
-         * @param contextManager the contextManager stored in the proxy
-         * @param method the method being called
-         * @param args the method arguments
-         * @return the result from the contextual instance
-         * @throws Throwable if the method invocation fails
+         * @param instanceSupplier the supplier stored in the proxy, null if the proxy has not been initialized
+         * @return the contextual instance, never null
+         * @throws IllegalStateException if the proxy has not been initialized or the scope has no instance
+         * @throws NonPortableBehaviourException if the instance has been destroyed
          */
-        @RuntimeType  // Tells ByteBuddy to adapt return types dynamically
-        public static Object intercept(
-                @FieldValue("$$_bean") Bean<?> bean,                           // The bean from proxy field
-                @FieldValue("$$_contextManager") ContextManager contextManager, // The contextManager from proxy field
-                @Origin Method method,                                          // The method being called
-                @AllArguments Object[] args                                     // The method arguments
-        ) throws Throwable {
+        public static Object instanceOf(ContextualInstanceSupplier instanceSupplier) {
+            if (instanceSupplier == null) {
+                throw new IllegalStateException("Proxy has not been initialized. Call $$_setProxyState first.");
+            }
+            return instanceSupplier.get();
+        }
 
-            // Step 1: Validate proxy state
+        /**
+         * Returns the contextual instance for the current call.
+         *
+         * @return the contextual instance, never null
+         * @throws IllegalStateException if the proxy has not been initialized or the scope has no instance
+         * @throws NonPortableBehaviourException if the instance has been destroyed
+         */
+        public Object get() {
+            CachedInstance cached = cachedInstance;
+            if (cached != null && cached.isValid()) {
+                return cached.instance;
+            }
+            return resolve();
+        }
+
+        private Object resolve() {
             if (bean == null || contextManager == null) {
                 throw new IllegalStateException("Proxy has not been initialized. Call $$_setProxyState first.");
             }
 
-            // Step 2: Get the bean's scope annotation
             // Every normal-scoped bean has exactly one scope annotation
             Class<? extends Annotation> scopeType = bean.getScope();
 
-            // Step 3: Get the context for this scope
-            // E.g., for @RequestScoped beans, this returns the RequestScopedContext
-            // The context maintains the actual bean instances for the current scope
-            // (current request, current session, etc.)
+            // E.g., for @RequestScoped beans, this returns the RequestScopedContext, which maintains the
+            // instances of the current request
             ScopeContext context = contextManager.getContext(scopeType);
 
-            // Ensure custom InjectionPoint implementations are consulted when resolving
-            // contextual instances for custom beans with declared injection metadata.
-            touchInjectionPointMembers(bean);
-
-            // Step 4: Get the current contextual instance from the context
-            // This is THE KEY STEP that makes proxies work:
-            // - For RequestScoped: returns the instance for the CURRENT HTTP request
-            // - For SessionScoped: returns the instance for the CURRENT user session
-            // - For ApplicationScoped: returns the singleton instance
-            // - For ConversationScoped: returns the instance for the CURRENT conversation
-            //
-            // If no instance exists yet, the context will create one.
-            //
-            // PHASE 2 - INTERCEPTOR INTEGRATION:
-            // The context.get() call will return either:
-            // a) An interceptor-aware proxy (if the bean has interceptors) - already wrapping the real instance
-            // b) The raw bean instance (if no interceptors)
-            //
-            // This is handled automatically by the contexts (ApplicationScopedContext, RequestScopedContext, etc.)
-            // which check bean.hasInterceptors() and call bean.createInterceptorAwareProxy() when needed.
-            //
-            // So the contextualInstance we get here is ALREADY interceptor-aware if needed!
+            if (!injectionPointsTouched) {
+                // Ensure custom InjectionPoint implementations are consulted when resolving
+                // contextual instances for custom beans with declared injection metadata.
+                touchInjectionPointMembers(bean);
+                injectionPointsTouched = true;
+            }
+
+            ApplicationScopedContext applicationContext = applicationScoped && context instanceof ApplicationScopedContext
+                    ? (ApplicationScopedContext) context
+                    : null;
+            long epoch = applicationContext != null ? applicationContext.getDestructionEpoch() : 0L;
+
+            // If no instance exists yet, the context will create one. The context returns an
+            // interceptor-aware proxy if the bean has interceptors.
             @SuppressWarnings({"rawtypes", "unchecked"})
             Object contextualInstance = context.get((Bean) bean, new SerializableCreationalContext<>());
 
@@ -727,35 +762,14 @@ public class ClientProxyGenerator {
                     "Invocation on destroyed contextual instance of " + bean.getBeanClass().getName()
                 );
             }
-
-            // Step 5: Invoke the method on the contextual instance
-            // This is the real bean instance (or interceptor-aware proxy wrapping it) that will process the call
-            //
-            // PHASE 2 - INTERCEPTOR FLOW:
-            // If the bean has interceptors, the call flow is:
-            // ClientProxy.method(args)
-            //   → context.get(bean) returns InterceptorAwareProxy
-            //   → method.invoke(InterceptorAwareProxy, args)
-            //   → InterceptorAwareProxy.method(args)
-            //     → Check if method has interceptors
-            //     → If yes: InterceptorChain.invoke()
-            //       → [Interceptor 1] → [Interceptor 2] → RealInstance.method()
-            //     → If no: RealInstance.method()
-            //
-            // So interceptors are invoked TRANSPARENTLY through the contextual instance!
-            method.setAccessible(true);
-            try {
-                return method.invoke(contextualInstance, args);
-            } catch (InvocationTargetException e) {
-                Throwable cause = e.getCause();
-                throw cause != null ? cause : e;
+            if (applicationContext != null && applicationContext.getDestructionEpoch() == epoch) {
+                cachedInstance = new CachedInstance(applicationContext, epoch, contextualInstance,
+                        DestroyedInstanceTracker.getDestructionFlag(contextualInstance));
             }
+            return contextualInstance;
         }
 
         private static void touchInjectionPointMembers(Bean<?> bean) {
-            if (bean == null) {
-                return;
-            }
             Set<InjectionPoint> injectionPoints;
             try {
                 injectionPoints = bean.getInjectionPoints();
@@ -778,6 +792,75 @@ public class ClientProxyGenerator {
         }
     }
 
+    private static final class CachedInstance {
+        private final ApplicationScopedContext context;
+        private final long epoch;
+        private final Object instance;
+        // Instances may also be destroyed outside of the context, through Bean.destroy
+        private final DestroyedInstanceTracker.DestructionFlag destructionFlag;
+
+        private CachedInstance(ApplicationScopedContext context, long epoch, Object instance,
+                               DestroyedInstanceTracker.DestructionFlag destructionFlag) {
+            this.context = context;
+            this.epoch = epoch;
+            this.instance = instance;
+            this.destructionFlag = destructionFlag;
+        }
+
+        private boolean isValid() {
+            return context.isActive() && context.getDestructionEpoch() == epoch && !destructionFlag.isRaised();
+        }
+    }
+
+    /**
+     * ByteBuddy interceptor that handles the proxy methods which cannot be called directly on the
+     * contextual instance (non-public methods, or methods of non-public types).
+     *
+     * <h3>Call Flow:</h3>
+     * <pre>
+     * 1. User calls: proxy.process()
+     * 2. ByteBuddy intercepts and calls: ContextualInstanceInterceptor.intercept(...)
+     * 3. Interceptor does:
+     *    - Get the current contextual instance from the proxy's ContextualInstanceSupplier
+     *    - Invoke the original method on the contextual instance
+     *    - Return the result
+     * 4. Result flows back to the user
+     * </pre>
+     *
+     * Public methods follow the same flow, but the generated proxy calls the contextual instance
+     * directly instead of going through this interceptor.
+     */
+    public static class ContextualInstanceInterceptor {
+
+        /**
+         * Intercepts method calls on the proxy and delegates to the contextual instance.
+         *
+         * @param instanceSupplier the supplier stored in the proxy
+         * @param method the method being called
+         * @param args the method arguments
+         * @return the result from the contextual instance
+         * @throws Throwable if the method invocation fails
+         */
+        @RuntimeType  // Tells ByteBuddy to adapt return types dynamically
+        public static Object intercept(
+                @FieldValue("$$_instanceSupplier") ContextualInstanceSupplier instanceSupplier,
+                @Origin Method method,                                          // The method being called
+                @AllArguments Object[] args                                     // The method arguments
+        ) throws Throwable {
+            // The contextual instance is the real bean instance, or an interceptor-aware proxy wrapping it,
+            // so interceptors are invoked transparently
+            Object contextualInstance = ContextualInstanceSupplier.instanceOf(instanceSupplier);
+
+            method.setAccessible(true);
+            try {
+                return method.invoke(contextualInstance, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                throw cause != null ? cause : e;
+            }
+        }
+    }
+
     /**
      * Interceptor for proxy serialization.
      * <p>
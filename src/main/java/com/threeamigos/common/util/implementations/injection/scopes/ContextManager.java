@@ -43,6 +43,7 @@ public class ContextManager {
     }
 
     private final MessageHandler messageHandler;
+    private final BeanIndex beanIndex = new BeanIndex();
 
     private final Map<Class<? extends Annotation>, ScopeContext> contexts = new ConcurrentHashMap<>();
     private final Map<Class<? extends Annotation>, List<ScopeContext>> contextsByScope = new ConcurrentHashMap<>();
@@ -60,13 +61,13 @@ public class ContextManager {
         this.messageHandler = messageHandler;
 
         // Initialize built-in contexts
-        contexts.put(ApplicationScoped.class, new ApplicationScopedContext());
+        contexts.put(ApplicationScoped.class, new ApplicationScopedContext(beanIndex));
         contexts.put(Dependent.class, new DependentContext());
 
         // Initialize and register conversation, session, and request contexts
-        conversationContext = new ConversationScopedContext(messageHandler);
-        sessionContext = new SessionScopedContext(messageHandler);
-        requestContext = new RequestScopedContext();
+        conversationContext = new ConversationScopedContext(messageHandler, beanIndex);
+        sessionContext = new SessionScopedContext(messageHandler, beanIndex);
+        requestContext = new RequestScopedContext(beanIndex);
         ConversationImpl.setConversationContext(conversationContext);
 
         contexts.put(ConversationScoped.class, conversationContext);
@@ -135,6 +136,15 @@ public class ContextManager {
         return new ArrayList<>(registered);
     }
 
+    /**
+     * Gets the bean ids shared by the built-in contexts, which index their contextual instances by them.
+     *
+     * @return the bean index of this container
+     */
+    public BeanIndex getBeanIndex() {
+        return beanIndex;
+    }
+
     /**
      * Destroys all contexts and their instances.
      */
@@ -301,6 +311,16 @@ public class ContextManager {
         return sessionContext.getCurrentSessionId();
     }
 
+    /**
+     * Sets how the instances of sessions and conversations are serialized when they are passivated.
+     *
+     * @param serializer the serializer, {@link JavaPassivationSerializer} by default
+     */
+    public void setPassivationSerializer(PassivationSerializer serializer) {
+        sessionContext.setPassivationSerializer(serializer);
+        conversationContext.setPassivationSerializer(serializer);
+    }
+
     // === Request Scope Management ===
 
     /**
@@ -342,6 +362,42 @@ public class ContextManager {
         }
     }
 
+    /**
+     * Captures the request active on the current thread, so that work handed to another thread can run within
+     * the same request and share its request-scoped instances.
+     * <p>
+     * The request instances are kept alive until the handle is used by
+     * {@link #runWithin(RequestContextHandle, Runnable)} or given back with {@link RequestContextHandle#release()},
+     * even if the request is deactivated in the meantime. Each captured handle must be used or released once.
+     *
+     * @return the handle of the current request, or null if no request is active on the current thread
+     */
+    public RequestContextHandle captureRequest() {
+        return requestContext.captureRequest();
+    }
+
+    /**
+     * Runs a task on the current thread within a captured request.
+     * <p>
+     * With a null handle, as returned by {@link #captureRequest()} when no request was active, a new request
+     * is activated for the task and deactivated after it.
+     *
+     * @param handle a handle returned by {@link #captureRequest()}, or null
+     * @param task the task
+     */
+    public void runWithin(RequestContextHandle handle, Runnable task) {
+        if (handle != null) {
+            requestContext.runWithin(handle, task);
+            return;
+        }
+        activateRequest();
+        try {
+            task.run();
+        } finally {
+            deactivateRequest();
+        }
+    }
+
     // === Proxy Management ===
 
     /**
@@ -0,0 +1,584 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import com.threeamigos.common.util.implementations.injection.annotations.AnnotationsEnum;
+import com.threeamigos.common.util.implementations.injection.resolution.BeanImpl;
+import com.threeamigos.common.util.interfaces.messagehandler.MessageHandler;
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.enterprise.inject.spi.PassivationCapable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static com.threeamigos.common.util.implementations.injection.types.ClassHelper.collectClassHierarchyFromObject;
+
+/**
+ * Passivation and activation of the context instances of a passivating scope: the sessions of a
+ * {@link SessionScopedContext} or the conversations of a {@link ConversationScopedContext}.
+ *
+ * <p><b>Stream format:</b> a header (magic number, version, snapshot flag), the passivation ids of the beans
+ * whose instances were destroyed since the previous passivation, one record per instance (bean passivation id,
+ * bean class, instance class and the bytes written by the {@link PassivationSerializer}) and an end marker.
+ * Instance bytes are written in length-prefixed chunks while the serializer produces them, so neither an
+ * instance nor the whole context is ever buffered in memory, and the records of beans that cannot be resolved
+ * on activation can be skipped.
+ *
+ * <p>A <em>snapshot</em> holds every instance and replaces the state of the context when activated. A
+ * <em>change set</em> only holds the instances used since the previous passivation (see
+ * {@link ContextualInstances.Entry}) and the removed ones, and is applied over the state already restored.
+ *
+ * @author Stefano Reksten
+ */
+final class ContextPassivation {
+
+    private static final int MAGIC = 0x53594350;
+    private static final int VERSION = 1;
+    private static final int RECORD = 1;
+    private static final int END = 0;
+    private static final int CHUNK_SIZE = 8192;
+
+    private final MessageHandler messageHandler;
+    private final BeanIndex beanIndex;
+    private final String scopeName;
+    // Passivation ids of the beans destroyed since the last passivation, by context instance id
+    private final Map<String, Set<String>> removedBeanIds = new ConcurrentHashMap<>();
+    private volatile PassivationSerializer serializer = new JavaPassivationSerializer();
+
+    /**
+     * @param scopeName name of the context instances in messages, e.g. "session"
+     */
+    ContextPassivation(MessageHandler messageHandler, BeanIndex beanIndex, String scopeName) {
+        this.messageHandler = messageHandler;
+        this.beanIndex = beanIndex;
+        this.scopeName = scopeName;
+    }
+
+    PassivationSerializer getSerializer() {
+        return serializer;
+    }
+
+    void setSerializer(PassivationSerializer serializer) {
+        this.serializer = Objects.requireNonNull(serializer, "serializer cannot be null");
+    }
+
+    /**
+     * Remembers that the instance of a bean was destroyed, for the next change set of the context instance.
+     */
+    void recordRemoval(String contextId, Bean<?> bean) {
+        removedBeanIds.computeIfAbsent(contextId, id -> ConcurrentHashMap.newKeySet()).add(getBeanId(bean));
+    }
+
+    /**
+     * Forgets a destroyed context instance.
+     */
+    void forget(String contextId) {
+        removedBeanIds.remove(contextId);
+    }
+
+    /**
+     * Writes a snapshot or a change set of a context instance, invoking {@code @PrePassivate} on each instance
+     * before it is written.
+     *
+     * @param contextId the session or conversation id
+     * @param instances the instances of the context, or null if it does not exist
+     * @param snapshot true to write every instance, false to only write the changes since the last passivation
+     * @param outputStream destination; it is flushed but not closed
+     * @return the number of instances written
+     * @throws IOException if writing fails; the changes not written are kept for the next passivation
+     */
+    int write(String contextId, ContextualInstances instances, boolean snapshot, OutputStream outputStream)
+            throws IOException {
+        List<ContextualInstances.Entry> entries = instances != null ? instances.entries() : Collections.emptyList();
+        Set<String> removed = removedBeanIds.remove(contextId);
+        List<ContextualInstances.Entry> written = new ArrayList<>();
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream, CHUNK_SIZE));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeBoolean(snapshot);
+
+            // A snapshot replaces the whole state, removals are implied
+            Set<String> removedIds = snapshot || removed == null ? Collections.emptySet() : removed;
+            out.writeInt(removedIds.size());
+            for (String beanId : removedIds) {
+                out.writeUTF(beanId);
+            }
+
+            ChunkedOutputStream chunks = new ChunkedOutputStream(out);
+            for (ContextualInstances.Entry entry : entries) {
+                if (!snapshot && !entry.isUsed()) {
+                    continue;
+                }
+                // Cleared before writing: a lookup while the instance is written marks it used again
+                entry.clearUsed();
+                written.add(entry);
+                prePassivate(contextId, entry);
+
+                Bean<?> bean = entry.getBean();
+                Object instance = entry.getInstance();
+                out.writeByte(RECORD);
+                out.writeUTF(getBeanId(bean));
+                out.writeUTF(bean.getBeanClass().getName());
+                out.writeUTF(instance.getClass().getName());
+                chunks.nextRecord();
+                serializer.write(instance, chunks);
+                chunks.finish();
+            }
+            out.writeByte(END);
+            out.flush();
+            return written.size();
+        } catch (IOException | RuntimeException e) {
+            for (ContextualInstances.Entry entry : written) {
+                entry.markUsed();
+            }
+            if (removed != null) {
+                removedBeanIds.computeIfAbsent(contextId, id -> ConcurrentHashMap.newKeySet()).addAll(removed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a snapshot or a change set of a context instance. {@code @PostActivate} callbacks are not invoked,
+     * see {@link #postActivate(String, List)}.
+     *
+     * @param contextId the session or conversation id
+     * @param current the instances of the context before activation, or null if it does not exist
+     * @param inputStream source; it is read up to the end of the passivated data and not closed
+     * @return the instances of the context after activation
+     * @throws IOException if reading fails
+     */
+    Activation read(String contextId, ContextualInstances current, InputStream inputStream) throws IOException {
+        // Not buffered: the caller's stream may hold more data after ours
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new StreamCorruptedException("Not a passivated " + scopeName + ": " + contextId);
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported passivation format version " + version +
+                    " for " + scopeName + " " + contextId);
+        }
+        boolean snapshot = in.readBoolean();
+
+        BeanLookup lookup = new BeanLookup(current);
+        ContextualInstances target = snapshot || current == null ? new ContextualInstances(beanIndex) : current;
+
+        int removedCount = in.readInt();
+        for (int i = 0; i < removedCount; i++) {
+            Bean<?> bean = lookup.known(in.readUTF());
+            if (bean != null && target == current) {
+                target.remove(beanIndex.idOf(bean));
+            }
+        }
+
+        List<ContextualInstances.Entry> restored = new ArrayList<>();
+        ChunkedInputStream chunks = new ChunkedInputStream(in);
+        int marker;
+        while ((marker = in.readUnsignedByte()) == RECORD) {
+            String beanId = in.readUTF();
+            String beanClassName = in.readUTF();
+            String instanceClassName = in.readUTF();
+            chunks.nextRecord();
+
+            Bean<?> bean = lookup.resolve(beanId, beanClassName);
+            if (bean == null) {
+                // The bean no longer exists
+                messageHandler.handleWarnMessage("Dropping passivated instance of unknown bean " + beanId +
+                        " in " + scopeName + " " + contextId);
+                chunks.skipRemaining();
+                continue;
+            }
+
+            Object instance;
+            try {
+                instance = serializer.read(instanceClass(instanceClassName, bean), chunks);
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Cannot activate instance of bean " + beanId + " in " + scopeName + " " +
+                        contextId, e);
+            }
+            chunks.skipRemaining();
+
+            ContextualInstances.Entry entry = new ContextualInstances.Entry(bean, instance, null);
+            entry.clearUsed();
+            target.put(beanIndex.idOf(bean), entry);
+            restored.add(entry);
+        }
+        if (marker != END) {
+            throw new StreamCorruptedException("Unexpected record type " + marker + " in passivated " +
+                    scopeName + " " + contextId);
+        }
+        return new Activation(target, restored);
+    }
+
+    /**
+     * Invokes {@code @PostActivate} on activated instances.
+     */
+    void postActivate(String contextId, List<ContextualInstances.Entry> entries) {
+        for (ContextualInstances.Entry entry : entries) {
+            Bean<?> bean = entry.getBean();
+            Object instance = entry.getInstance();
+
+            if (bean instanceof BeanImpl) {
+                @SuppressWarnings("unchecked")
+                BeanImpl<Object> beanImpl = (BeanImpl<Object>) bean;
+                try {
+                    beanImpl.invokePostActivate(instance);
+                } catch (Exception e) {
+                    messageHandler.handleException(
+                        "Error invoking @PostActivate on bean " + bean.getBeanClass().getName() +
+                            " in " + scopeName + " " + contextId + ": " + e.getMessage(),
+                        e
+                    );
+                }
+            } else {
+                // Fallback when bean metadata isn't available
+                invokeAnnotationIfPresent(instance, AnnotationsEnum.POST_ACTIVATE);
+            }
+        }
+    }
+
+    private void prePassivate(String contextId, ContextualInstances.Entry entry) {
+        Bean<?> bean = entry.getBean();
+        Object instance = entry.getInstance();
+
+        if (bean instanceof BeanImpl) {
+            @SuppressWarnings("unchecked")
+            BeanImpl<Object> beanImpl = (BeanImpl<Object>) bean;
+            try {
+                beanImpl.invokePrePassivate(instance);
+            } catch (Exception e) {
+                messageHandler.handleException(
+                    "Error invoking @PrePassivate on bean " + bean.getBeanClass().getName() +
+                        " in " + scopeName + " " + contextId + ": " + e.getMessage(),
+                    e
+                );
+            }
+        } else {
+            invokeAnnotationIfPresent(instance, AnnotationsEnum.PRE_PASSIVATE);
+        }
+    }
+
+    private Class<?> instanceClass(String className, Bean<?> bean) {
+        ClassLoader classLoader = bean.getBeanClass().getClassLoader();
+        if (classLoader == null) {
+            classLoader = Thread.currentThread().getContextClassLoader();
+        }
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            // E.g. a proxy class generated by another JVM: the serializer knows the actual class
+            return bean.getBeanClass();
+        }
+    }
+
+    static String getBeanId(Bean<?> bean) {
+        if (bean instanceof PassivationCapable) {
+            String id = ((PassivationCapable) bean).getId();
+            if (id != null) {
+                return id;
+            }
+        }
+
+        String qualifierSignature = bean.getQualifiers().stream()
+            .map(Annotation::annotationType)
+            .map(Class::getName)
+            .sorted()
+            .collect(Collectors.joining(","));
+
+        return bean.getBeanClass().getName() + "|" + qualifierSignature;
+    }
+
+    private void invokeAnnotationIfPresent(Object instance, AnnotationsEnum annotationType) {
+        if (instance == null || annotationType == null) {
+            return;
+        }
+        try {
+            for (Class<?> clazz : collectClassHierarchyFromObject(instance)) {
+                for (Method method : clazz.getDeclaredMethods()) {
+                    if (annotationType.isPresent(method)) {
+                        method.setAccessible(true);
+                        method.invoke(instance);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            messageHandler.handleException(
+                "Error invoking @" + annotationType.name() + " on " +
+                    instance.getClass().getName() + ": " + e.getMessage(),
+                e
+            );
+        }
+    }
+
+    /**
+     * The instances of a context after activation, and those restored from the stream.
+     */
+    static final class Activation {
+        private final ContextualInstances instances;
+        private final List<ContextualInstances.Entry> restored;
+
+        private Activation(ContextualInstances instances, List<ContextualInstances.Entry> restored) {
+            this.instances = instances;
+            this.restored = restored;
+        }
+
+        ContextualInstances getInstances() {
+            return instances;
+        }
+
+        List<ContextualInstances.Entry> getRestored() {
+            return restored;
+        }
+    }
+
+    /**
+     * Resolves passivation ids to beans: first the beans of the context being activated (same JVM passivation),
+     * then the beans of the container, and as a last resort the current {@link BeanManager}.
+     */
+    private final class BeanLookup {
+        private final Map<String, Bean<?>> known = new HashMap<>();
+        private Map<String, Bean<?>> indexed;
+
+        private BeanLookup(ContextualInstances current) {
+            if (current != null) {
+                for (ContextualInstances.Entry entry : current.entries()) {
+                    known.put(getBeanId(entry.getBean()), entry.getBean());
+                }
+            }
+        }
+
+        Bean<?> known(String beanId) {
+            return known.get(beanId);
+        }
+
+        Bean<?> resolve(String beanId, String beanClassName) {
+            Bean<?> bean = known.get(beanId);
+            if (bean == null) {
+                bean = indexed().get(beanId);
+            }
+            if (bean == null) {
+                bean = resolveWithBeanManager(beanId, beanClassName);
+            }
+            if (bean != null) {
+                known.put(beanId, bean);
+            }
+            return bean;
+        }
+
+        private Map<String, Bean<?>> indexed() {
+            if (indexed == null) {
+                indexed = new HashMap<>();
+                for (Contextual<?> contextual : beanIndex.contextuals()) {
+                    if (contextual instanceof Bean) {
+                        indexed.putIfAbsent(getBeanId((Bean<?>) contextual), (Bean<?>) contextual);
+                    }
+                }
+            }
+            return indexed;
+        }
+
+        private Bean<?> resolveWithBeanManager(String beanId, String className) {
+            BeanManager beanManager;
+            try {
+                beanManager = CDI.current().getBeanManager();
+            } catch (IllegalStateException e) {
+                // No container available
+                return null;
+            }
+
+            try {
+                Bean<?> bean = beanManager.getPassivationCapableBean(beanId);
+                if (bean != null) {
+                    return bean;
+                }
+            } catch (Exception ignored) {
+                // getPassivationCapableBean may throw if ID not found; ignore and fallback
+            }
+
+            try {
+                Class<?> clazz = Class.forName(className);
+                Set<Bean<?>> candidates = beanManager.getBeans(clazz);
+                if (!candidates.isEmpty()) {
+                    return beanManager.resolve(candidates);
+                }
+            } catch (ClassNotFoundException ignored) {
+                // Class disappeared between passivation/activation
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Writes the bytes of one instance as chunks of at most {@link #CHUNK_SIZE} bytes, each preceded by its
+     * length, followed by an empty chunk. Closing it does not close the underlying stream.
+     */
+    private static final class ChunkedOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int count;
+        private boolean finished;
+
+        private ChunkedOutputStream(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void nextRecord() {
+            count = 0;
+            finished = false;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            if (count == buffer.length) {
+                writeChunk();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            while (len > 0) {
+                if (count == buffer.length) {
+                    writeChunk();
+                }
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() {
+            // Chunks are written when full, so that serializers flushing often do not produce tiny chunks
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        void finish() throws IOException {
+            if (!finished) {
+                writeChunk();
+                out.writeInt(0);
+                finished = true;
+            }
+        }
+
+        private void writeChunk() throws IOException {
+            if (count > 0) {
+                out.writeInt(count);
+                out.write(buffer, 0, count);
+                count = 0;
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (finished) {
+                throw new IOException("Instance stream closed");
+            }
+        }
+    }
+
+    /**
+     * Reads the chunks of one instance written by {@link ChunkedOutputStream}, ending at the empty chunk.
+     * Closing it does not close the underlying stream.
+     */
+    private static final class ChunkedInputStream extends InputStream {
+        private final DataInputStream in;
+        private int remaining;
+        private boolean ended;
+
+        private ChunkedInputStream(DataInputStream in) {
+            this.in = in;
+        }
+
+        void nextRecord() {
+            remaining = 0;
+            ended = false;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            remaining--;
+            return in.readUnsignedByte();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = in.read(b, off, Math.min(len, remaining));
+            if (n < 0) {
+                throw new EOFException("Truncated passivation stream");
+            }
+            remaining -= n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // The underlying stream holds the following records
+        }
+
+        /**
+         * Skips what the serializer did not read of the instance.
+         */
+        void skipRemaining() throws IOException {
+            while (fill()) {
+                int skipped = in.skipBytes(remaining);
+                if (skipped <= 0) {
+                    in.readByte();
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+        }
+
+        private boolean fill() throws IOException {
+            while (remaining == 0 && !ended) {
+                int size = in.readInt();
+                if (size < 0) {
+                    throw new StreamCorruptedException("Invalid chunk size " + size);
+                }
+                if (size == 0) {
+                    ended = true;
+                } else {
+                    remaining = size;
+                }
+            }
+            return !ended;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.Bean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * The contextual instances of one context instance (the application, a request, a session, a conversation),
+ * kept in an array indexed by the dense id given to each bean by the container's {@link BeanIndex}.
+ *
+ * <p>Looking an instance up reads one array slot and never hashes the bean. Reads are lock-free; writes are
+ * serialized on the lock of the store, which also lets the array grow. The array starts empty and only grows
+ * up to the highest id stored, so a short-lived store holding a few instances (a request, a conversation)
+ * does not pay for a slot per bean of the container.
+ * The lock is a {@link ReentrantLock} rather than a monitor because instances are created while holding it:
+ * a virtual thread running a bean constructor that blocks does not pin its carrier thread.
+ *
+ * @author Stefano Reksten
+ */
+final class ContextualInstances {
+
+    private static final AtomicReferenceArray<Entry> EMPTY = new AtomicReferenceArray<>(0);
+
+    private final BeanIndex beanIndex;
+    // Reentrant: creating an instance may look up or create other instances of the same store
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile AtomicReferenceArray<Entry> entries;
+
+    ContextualInstances(BeanIndex beanIndex) {
+        this.beanIndex = beanIndex;
+        this.entries = EMPTY;
+    }
+
+    BeanIndex getBeanIndex() {
+        return beanIndex;
+    }
+
+    Entry get(int id) {
+        AtomicReferenceArray<Entry> current = entries;
+        return id < current.length() ? current.get(id) : null;
+    }
+
+    /**
+     * Returns the instance of a bean, creating it with the factory if missing. Creations are serialized on the
+     * store lock; callers needing finer-grained locking use {@link #get(int)} and {@link #put(int, Entry)}.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T getOrCreate(Bean<T> bean, CreationalContext<T> creationalContext, Supplier<T> factory) {
+        return (T) getOrCreateEntry(bean, creationalContext, factory).instance;
+    }
+
+    /**
+     * Like {@link #getOrCreate(Bean, CreationalContext, Supplier)}, returning the entry of the instance.
+     */
+    <T> Entry getOrCreateEntry(Bean<T> bean, CreationalContext<T> creationalContext, Supplier<T> factory) {
+        int id = beanIndex.idOf(bean);
+        Entry entry = get(id);
+        if (entry != null) {
+            return entry;
+        }
+        lock.lock();
+        try {
+            entry = get(id);
+            if (entry == null) {
+                entry = new Entry(bean, factory.get(), creationalContext);
+                ensureCapacity(id).set(id, entry);
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(int id, Entry entry) {
+        lock.lock();
+        try {
+            ensureCapacity(id).set(id, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the instance with the given bean id and returns it, or null if there is none.
+     */
+    Entry remove(int id) {
+        lock.lock();
+        try {
+            AtomicReferenceArray<Entry> current = entries;
+            return id < current.length() ? current.getAndSet(id, null) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the instances currently stored, in bean id order
+     */
+    List<Entry> entries() {
+        AtomicReferenceArray<Entry> current = entries;
+        List<Entry> result = new ArrayList<>();
+        for (int i = 0; i < current.length(); i++) {
+            Entry entry = current.get(i);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Empties the store and returns the instances it held, in bean id order.
+     */
+    List<Entry> removeAll() {
+        lock.lock();
+        try {
+            AtomicReferenceArray<Entry> current = entries;
+            List<Entry> removed = new ArrayList<>();
+            for (int i = 0; i < current.length(); i++) {
+                Entry entry = current.getAndSet(i, null);
+                if (entry != null) {
+                    removed.add(entry);
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        AtomicReferenceArray<Entry> current = entries;
+        for (int i = 0; i < current.length(); i++) {
+            if (current.get(i) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Called holding the store lock
+    private AtomicReferenceArray<Entry> ensureCapacity(int id) {
+        AtomicReferenceArray<Entry> current = entries;
+        if (id < current.length()) {
+            return current;
+        }
+        // Doubling amortizes the copies, but never past the ids known to the index
+        AtomicReferenceArray<Entry> grown =
+                new AtomicReferenceArray<>(Math.max(id + 1, Math.min(current.length() * 2, beanIndex.size())));
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        entries = grown;
+        return grown;
+    }
+
+    /**
+     * A contextual instance together with its bean and creational context.
+     *
+     * <p>Passivating contexts also track whether the instance was used since it was last passivated. The
+     * context cannot see what callers do with an instance, so a lookup counts as a change: new instances are
+     * used, and so is every instance handed out again by the context. A change set may therefore hold
+     * instances that were read but not modified, never miss one that was modified.
+     */
+    static final class Entry {
+        private final Bean<?> bean;
+        private final Object instance;
+        private final CreationalContext<?> creationalContext;
+        private volatile boolean used = true;
+
+        Entry(Bean<?> bean, Object instance, CreationalContext<?> creationalContext) {
+            this.bean = bean;
+            this.instance = instance;
+            this.creationalContext = creationalContext;
+        }
+
+        Bean<?> getBean() {
+            return bean;
+        }
+
+        Object getInstance() {
+            return instance;
+        }
+
+        void markUsed() {
+            // Read first: the flag is set on every lookup, avoid writing a shared cache line each time
+            if (!used) {
+                used = true;
+            }
+        }
+
+        boolean isUsed() {
+            return used;
+        }
+
+        void clearUsed() {
+            used = false;
+        }
+
+        @SuppressWarnings("unchecked")
+        void destroy() {
+            ((Bean<Object>) bean).destroy(instance, (CreationalContext<Object>) creationalContext);
+        }
+    }
+}
@@ -1,33 +1,22 @@
 package com.threeamigos.common.util.implementations.injection.scopes;
 
-import com.threeamigos.common.util.implementations.injection.annotations.AnnotationsEnum;
 import com.threeamigos.common.util.implementations.injection.resolution.BeanImpl;
-import com.threeamigos.common.util.implementations.injection.util.LifecycleMethodHelper;
 import com.threeamigos.common.util.interfaces.messagehandler.MessageHandler;
 import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
 import jakarta.enterprise.inject.spi.Bean;
-import jakarta.enterprise.inject.spi.BeanManager;
-import jakarta.enterprise.inject.spi.CDI;
-import jakarta.enterprise.inject.spi.PassivationCapable;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.*;
-import java.util.stream.Collectors;
-
-import static com.threeamigos.common.util.implementations.injection.types.ClassHelper.collectClassHierarchyFromObject;
 
 /**
  * Implementation of ConversationScoped context.
@@ -44,14 +33,18 @@ import static com.threeamigos.common.util.implementations.injection.types.ClassH
  * configured via {@link #setDefaultTimeout(long, TimeUnit)}. Each conversation access updates
  * the last access time, preventing premature timeout.
  *
+ * <p>The instances of each conversation are kept in an array indexed by the container's bean ids (see
+ * {@link BeanIndex}). Conversations can be passivated as a whole or incrementally, streaming the instances
+ * through a pluggable {@link PassivationSerializer}.
+ *
  * @author Stefano Reksten
  */
 public class ConversationScopedContext implements ScopeContext {
 
     private final MessageHandler messageHandler;
-    private final Map<String, Map<Bean<?>, Object>> conversationInstances = new ConcurrentHashMap<>();
-    private final Map<String, Map<Bean<?>, CreationalContext<?>>> conversationContexts = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, Bean<?>>> conversationBeans = new ConcurrentHashMap<>();
+    private final BeanIndex beanIndex;
+    private final ContextPassivation passivation;
+    private final Map<String, ContextualInstances> conversationInstances = new ConcurrentHashMap<>();
     private final Map<String, ConversationMetadata> conversationMetadata = new ConcurrentHashMap<>();
     private final ThreadLocal<String> currentConversationId = new ThreadLocal<>();
     private volatile boolean active = true;
@@ -110,7 +103,19 @@ public class ConversationScopedContext implements ScopeContext {
      * The scheduler runs every 5 minutes to clean up expired conversations.
      */
     public ConversationScopedContext(MessageHandler messageHandler) {
+        this(messageHandler, new BeanIndex());
+    }
+
+    /**
+     * Constructor that starts the timeout cleanup scheduler, sharing the bean ids of the container.
+     *
+     * @param messageHandler the message handler
+     * @param beanIndex the bean ids of the container, shared with its other contexts
+     */
+    public ConversationScopedContext(MessageHandler messageHandler, BeanIndex beanIndex) {
         this.messageHandler = Objects.requireNonNull(messageHandler, "messageHandler cannot be null");
+        this.beanIndex = Objects.requireNonNull(beanIndex, "beanIndex cannot be null");
+        this.passivation = new ContextPassivation(messageHandler, beanIndex, "conversation");
         // Schedule cleanup every 5 minutes
         timeoutScheduler.scheduleAtFixedRate(
             this::cleanupTimedOutConversations,
@@ -189,9 +194,7 @@ public class ConversationScopedContext implements ScopeContext {
      */
     public void beginConversation(String conversationId) {
         currentConversationId.set(conversationId);
-        conversationInstances.putIfAbsent(conversationId, new ConcurrentHashMap<>());
-        conversationContexts.putIfAbsent(conversationId, new ConcurrentHashMap<>());
-        conversationBeans.putIfAbsent(conversationId, new ConcurrentHashMap<>());
+        conversationInstances.computeIfAbsent(conversationId, id -> new ContextualInstances(beanIndex));
         conversationMetadata.putIfAbsent(conversationId, new ConversationMetadata(defaultTimeoutMillis));
     }
 
@@ -207,8 +210,7 @@ public class ConversationScopedContext implements ScopeContext {
             throw new IllegalArgumentException("Timeout must be positive");
         }
         currentConversationId.set(conversationId);
-        conversationInstances.putIfAbsent(conversationId, new ConcurrentHashMap<>());
-        conversationContexts.putIfAbsent(conversationId, new ConcurrentHashMap<>());
+        conversationInstances.computeIfAbsent(conversationId, id -> new ContextualInstances(beanIndex));
         conversationMetadata.putIfAbsent(conversationId, new ConversationMetadata(unit.toMillis(timeout)));
     }
 
@@ -259,9 +261,7 @@ public class ConversationScopedContext implements ScopeContext {
      */
     public void syncWithConversation(String conversationId) {
         currentConversationId.set(conversationId);
-        conversationInstances.putIfAbsent(conversationId, new ConcurrentHashMap<>());
-        conversationContexts.putIfAbsent(conversationId, new ConcurrentHashMap<>());
-        conversationBeans.putIfAbsent(conversationId, new ConcurrentHashMap<>());
+        conversationInstances.computeIfAbsent(conversationId, id -> new ContextualInstances(beanIndex));
         conversationMetadata.putIfAbsent(conversationId,
             new ConversationMetadata(defaultTimeoutMillis));
     }
@@ -303,17 +303,12 @@ public class ConversationScopedContext implements ScopeContext {
         // Touch conversation to update last access time
         touchCurrentConversation();
 
-        Map<Bean<?>, Object> instances = conversationInstances.get(conversationId);
-        Map<Bean<?>, CreationalContext<?>> contexts = conversationContexts.get(conversationId);
-        Map<String, Bean<?>> beans = conversationBeans.computeIfAbsent(conversationId, id -> new ConcurrentHashMap<>());
-
-        String beanId = getBeanId(bean);
-        return (T) instances.computeIfAbsent(bean, b -> {
-            if (creationalContext != null) {
-                contexts.put(bean, creationalContext);
-            }
-            beans.put(beanId, bean);
+        ContextualInstances instances = conversationInstances.get(conversationId);
+        if (instances == null) {
+            throw new ContextNotActiveException("Conversation " + conversationId + " has ended");
+        }
 
+        ContextualInstances.Entry entry = instances.getOrCreateEntry(bean, creationalContext, () -> {
             // Step 1: Create the actual bean instance
             T instance = bean.create(creationalContext);
 
@@ -327,6 +322,9 @@ public class ConversationScopedContext implements ScopeContext {
 
             return instance;
         });
+        // Handed out again: the instance may change, it goes in the next change set
+        entry.markUsed();
+        return (T) entry.getInstance();
     }
 
     @Override
@@ -340,8 +338,16 @@ public class ConversationScopedContext implements ScopeContext {
         // Touch conversation to update last access time
         touchCurrentConversation();
 
-        Map<Bean<?>, Object> instances = conversationInstances.get(conversationId);
-        return instances != null ? (T) instances.get(bean) : null;
+        ContextualInstances instances = conversationInstances.get(conversationId);
+        if (instances == null) {
+            return null;
+        }
+        ContextualInstances.Entry entry = instances.get(beanIndex.idOf(bean));
+        if (entry == null) {
+            return null;
+        }
+        entry.markUsed();
+        return (T) entry.getInstance();
     }
 
     @Override
@@ -362,8 +368,6 @@ public class ConversationScopedContext implements ScopeContext {
             destroyConversation(conversationId);
         }
         conversationInstances.clear();
-        conversationContexts.clear();
-        conversationBeans.clear();
         conversationMetadata.clear();
         currentConversationId.remove();
         active = false;
@@ -383,7 +387,6 @@ public class ConversationScopedContext implements ScopeContext {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void destroy(Contextual<?> contextual) {
         if (!active) {
             throw new ContextNotActiveException("ConversationScoped context is not active");
@@ -396,21 +399,15 @@ public class ConversationScopedContext implements ScopeContext {
             return;
         }
 
-        Bean<Object> bean = (Bean<Object>) contextual;
-        Map<Bean<?>, Object> instances = conversationInstances.get(conversationId);
-        Map<Bean<?>, CreationalContext<?>> contexts = conversationContexts.get(conversationId);
-        Map<String, Bean<?>> beans = conversationBeans.get(conversationId);
-        if (instances == null || contexts == null) {
+        ContextualInstances instances = conversationInstances.get(conversationId);
+        if (instances == null) {
             return;
         }
 
-        Object instance = instances.remove(bean);
-        CreationalContext<Object> ctx = (CreationalContext<Object>) contexts.remove(bean);
-        if (beans != null) {
-            beans.remove(getBeanId(bean));
-        }
-        if (instance != null) {
-            bean.destroy(instance, ctx);
+        ContextualInstances.Entry entry = instances.remove(beanIndex.idOf(contextual));
+        if (entry != null) {
+            passivation.recordRemoval(conversationId, entry.getBean());
+            entry.destroy();
         }
     }
 
@@ -419,59 +416,60 @@ public class ConversationScopedContext implements ScopeContext {
     *
     * <p>Before serialization, invokes @PrePassivate on all beans to allow resource cleanup.</p>
     */
-    @SuppressWarnings("unchecked")
     public byte[] passivateConversation(String conversationId) {
-        Map<Bean<?>, Object> instances = conversationInstances.get(conversationId);
-        Map<String, Bean<?>> beans = conversationBeans.get(conversationId);
-
+        ContextualInstances instances = conversationInstances.get(conversationId);
         if (instances == null || instances.isEmpty()) {
             return null;
         }
 
-        // Step 1: Invoke @PrePassivate on all beans
-        if (beans != null) {
-            for (Map.Entry<Bean<?>, Object> entry : instances.entrySet()) {
-                Bean<?> bean = entry.getKey();
-                Object instance = entry.getValue();
-
-                if (bean instanceof BeanImpl) {
-                    BeanImpl<Object> beanImpl = (BeanImpl<Object>) bean;
-                    try {
-                        beanImpl.invokePrePassivate(instance);
-                    } catch (Exception e) {
-                        messageHandler.handleException(
-                            "Error invoking @PrePassivate on bean " + bean.getBeanClass().getName() +
-                                " in conversation " + conversationId + ": " + e.getMessage(),
-                            e
-                        );
-                    }
-                } else {
-                    invokeAnnotationIfPresent(instance, AnnotationsEnum.PRE_PASSIVATE);
-                }
-            }
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            passivation.write(conversationId, instances, true, baos);
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Conversation passivation failed for " + conversationId, e);
         }
+    }
 
-        // Step 2: Serialize instances + bean class metadata
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             ObjectOutputStream oos = new ObjectOutputStream(baos)) {
-
-            Map<String, Object> serializableInstances = new HashMap<>();
-            Map<String, String> beanClasses = new HashMap<>();
+    /**
+     * Passivates every instance of a conversation, streaming them to an output stream as they are serialized.
+     *
+     * <p>Before serialization, invokes @PrePassivate on each bean. The stream is flushed but not closed.</p>
+     *
+     * @return the number of instances written
+     */
+    public int passivateConversation(String conversationId, OutputStream outputStream) throws IOException {
+        return passivation.write(conversationId, conversationInstances.get(conversationId), true, outputStream);
+    }
 
-            for (Map.Entry<Bean<?>, Object> entry : instances.entrySet()) {
-                Bean<?> bean = entry.getKey();
-                String id = getBeanId(bean);
-                serializableInstances.put(id, entry.getValue());
-                beanClasses.put(id, bean.getBeanClass().getName());
-            }
+    /**
+     * Like {@link #passivateConversation(String, OutputStream)}, writing to a channel that is not closed.
+     *
+     * @return the number of instances written
+     */
+    public int passivateConversation(String conversationId, WritableByteChannel channel) throws IOException {
+        return passivateConversation(conversationId, Channels.newOutputStream(channel));
+    }
 
-            ConversationPassivationData data = new ConversationPassivationData(serializableInstances, beanClasses);
-            oos.writeObject(data);
-            return baos.toByteArray();
+    /**
+     * Passivates the changes of a conversation since its last passivation: the instances created or looked up
+     * since then, and the beans whose instances were destroyed. The stream is flushed but not closed.
+     *
+     * <p>Only the written instances are notified with @PrePassivate. If writing fails, the changes are kept for
+     * the next passivation.</p>
+     *
+     * @return the number of instances written
+     */
+    public int passivateConversationChanges(String conversationId, OutputStream outputStream) throws IOException {
+        return passivation.write(conversationId, conversationInstances.get(conversationId), false, outputStream);
+    }
 
-        } catch (IOException e) {
-            throw new RuntimeException("Conversation passivation failed for " + conversationId, e);
-        }
+    /**
+     * Like {@link #passivateConversationChanges(String, OutputStream)}, writing to a channel that is not closed.
+     *
+     * @return the number of instances written
+     */
+    public int passivateConversationChanges(String conversationId, WritableByteChannel channel) throws IOException {
+        return passivateConversationChanges(conversationId, Channels.newOutputStream(channel));
     }
 
     /**
@@ -479,69 +477,52 @@ public class ConversationScopedContext implements ScopeContext {
     *
     * <p>After deserialization, invokes @PostActivate on all beans.</p>
     */
-    @SuppressWarnings("unchecked")
     public void activateConversation(String conversationId, byte[] serializedData) {
         if (serializedData == null) {
             throw new IllegalArgumentException("Serialized data cannot be null");
         }
 
-        ConversationPassivationData data;
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(serializedData);
-             ObjectInputStream ois = new ObjectInputStream(bais)) {
-            data = (ConversationPassivationData) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
+        try {
+            activateConversation(conversationId, new ByteArrayInputStream(serializedData));
+        } catch (IOException e) {
             throw new RuntimeException("Conversation activation failed for " + conversationId, e);
         }
+    }
 
-        Map<Bean<?>, Object> restoredInstances = new ConcurrentHashMap<>();
-        Map<Bean<?>, CreationalContext<?>> contexts = new ConcurrentHashMap<>();
-        Map<String, Bean<?>> beans = conversationBeans.computeIfAbsent(conversationId, id -> new ConcurrentHashMap<>());
-
-        BeanManager beanManager = CDI.current().getBeanManager();
-
-        for (Map.Entry<String, Object> entry : data.getInstances().entrySet()) {
-            String beanId = entry.getKey();
-            String className = data.getBeanClasses().get(beanId);
-
-            Bean<?> bean = beans.get(beanId);
-            if (bean == null) {
-                bean = resolveBean(beanManager, beanId, className);
-                if (bean != null) {
-                    beans.put(beanId, bean);
-                }
-            }
-
-            if (bean != null) {
-                restoredInstances.put(bean, entry.getValue());
-            }
-        }
-
-        conversationInstances.put(conversationId, restoredInstances);
-        conversationContexts.put(conversationId, contexts);
+    /**
+     * Activates a conversation from a stream written by {@link #passivateConversation(String, OutputStream)} or
+     * {@link #passivateConversationChanges(String, OutputStream)}. A snapshot replaces the state of the
+     * conversation, a change set is applied over it. The stream is not closed.
+     *
+     * <p>After deserialization, invokes @PostActivate on the restored beans.</p>
+     */
+    public void activateConversation(String conversationId, InputStream inputStream) throws IOException {
+        ContextPassivation.Activation activation =
+                passivation.read(conversationId, conversationInstances.get(conversationId), inputStream);
+        conversationInstances.put(conversationId, activation.getInstances());
         conversationMetadata.putIfAbsent(conversationId, new ConversationMetadata(defaultTimeoutMillis));
 
         currentConversationId.set(conversationId);
 
         // Invoke @PostActivate
-        for (Map.Entry<Bean<?>, Object> entry : restoredInstances.entrySet()) {
-            Bean<?> bean = entry.getKey();
-            Object instance = entry.getValue();
+        passivation.postActivate(conversationId, activation.getRestored());
+    }
 
-            if (bean instanceof BeanImpl) {
-                BeanImpl<Object> beanImpl = (BeanImpl<Object>) bean;
-                try {
-                    beanImpl.invokePostActivate(instance);
-                } catch (Exception e) {
-                    messageHandler.handleException(
-                        "Error invoking @PostActivate on bean " + bean.getBeanClass().getName() +
-                            " in conversation " + conversationId + ": " + e.getMessage(),
-                        e
-                    );
-                }
-            } else {
-                invokeAnnotationIfPresent(instance, AnnotationsEnum.POST_ACTIVATE);
-            }
-        }
+    /**
+     * Sets how conversation-scoped instances are serialized when conversations are passivated. Defaults to
+     * {@link JavaPassivationSerializer}.
+     *
+     * @param serializer the serializer
+     */
+    public void setPassivationSerializer(PassivationSerializer serializer) {
+        passivation.setSerializer(serializer);
+    }
+
+    /**
+     * @return the serializer used when conversations are passivated
+     */
+    public PassivationSerializer getPassivationSerializer() {
+        return passivation.getSerializer();
     }
 
     /**
@@ -565,21 +546,16 @@ public class ConversationScopedContext implements ScopeContext {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void destroyConversation(String conversationId) {
-        Map<Bean<?>, Object> instances = conversationInstances.remove(conversationId);
-        Map<Bean<?>, CreationalContext<?>> contexts = conversationContexts.remove(conversationId);
-        conversationBeans.remove(conversationId);
+        ContextualInstances instances = conversationInstances.remove(conversationId);
         conversationMetadata.remove(conversationId);
+        passivation.forget(conversationId);
 
         if (instances != null) {
-            for (Map.Entry<Bean<?>, Object> entry : instances.entrySet()) {
-                Bean<Object> bean = (Bean<Object>) entry.getKey();
-                Object instance = entry.getValue();
-                CreationalContext<Object> ctx = contexts != null ? (CreationalContext<Object>) contexts.get(bean) : null;
-
+            for (ContextualInstances.Entry entry : instances.removeAll()) {
+                Bean<?> bean = entry.getBean();
                 try {
-                    bean.destroy(instance, ctx);
+                    entry.destroy();
                 } catch (Exception e) {
                     messageHandler.handleException(
                         "Error destroying bean " + bean.getBeanClass().getName() +
@@ -590,84 +566,4 @@ public class ConversationScopedContext implements ScopeContext {
             }
         }
     }
-
-    private String getBeanId(Bean<?> bean) {
-        if (bean instanceof PassivationCapable) {
-            String id = ((PassivationCapable) bean).getId();
-            if (id != null) {
-                return id;
-            }
-        }
-
-        String qualifierSignature = bean.getQualifiers().stream()
-            .map(Annotation::annotationType)
-            .map(Class::getName)
-            .sorted()
-            .collect(Collectors.joining(","));
-
-        return bean.getBeanClass().getName() + "|" + qualifierSignature;
-    }
-
-    private Bean<?> resolveBean(BeanManager beanManager, String beanId, String className) {
-        try {
-            Bean<?> bean = beanManager.getPassivationCapableBean(beanId);
-            if (bean != null) {
-                return bean;
-            }
-        } catch (Exception ignored) {
-            // getPassivationCapableBean may throw if ID not found; ignore and fallback
-        }
-
-        try {
-            Class<?> clazz = Class.forName(className);
-            Set<Bean<?>> candidates = beanManager.getBeans(clazz);
-            if (!candidates.isEmpty()) {
-                return beanManager.resolve(candidates);
-            }
-        } catch (ClassNotFoundException ignored) {
-            // Class disappeared between passivation/activation
-        }
-        return null;
-    }
-
-    private void invokeAnnotationIfPresent(Object instance, AnnotationsEnum annotationType) {
-        if (instance == null || annotationType == null) {
-            return;
-        }
-        try {
-            for (Class<?> clazz : collectClassHierarchyFromObject(instance)) {
-                for (Method method : clazz.getDeclaredMethods()) {
-                    if (annotationType.isPresent(method)) {
-                        method.setAccessible(true);
-                        method.invoke(instance);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            messageHandler.handleException(
-                "Error invoking @" + annotationType.name() + " on " + instance.getClass().getName() +
-                    ": " + e.getMessage(),
-                e
-            );
-        }
-    }
-
-    private static class ConversationPassivationData implements Serializable {
-        private static final long serialVersionUID = 1L;
-        private final Map<String, Object> instances;
-        private final Map<String, String> beanClasses;
-
-        ConversationPassivationData(Map<String, Object> instances, Map<String, String> beanClasses) {
-            this.instances = instances;
-            this.beanClasses = beanClasses;
-        }
-
-        Map<String, Object> getInstances() {
-            return instances;
-        }
-
-        Map<String, String> getBeanClasses() {
-            return beanClasses;
-        }
-    }
 }
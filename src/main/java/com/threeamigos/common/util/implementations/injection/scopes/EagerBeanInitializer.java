@@ -0,0 +1,170 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import com.threeamigos.common.util.implementations.concurrency.ParallelTaskExecutor;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Creates the {@code @ApplicationScoped} and {@code @Singleton} beans of a deployed container up front, so
+ * that the first requests do not pay for their construction.
+ *
+ * <p>The dependency graph is computed from {@link Bean#getInjectionPoints()}, keeping only the edges between
+ * eligible beans. Beans are then created in topological waves: all the beans of a wave are created in
+ * parallel on a dedicated {@link ParallelTaskExecutor}, and a wave starts once the previous one is complete.
+ * Beans involved in a dependency cycle (legal between normal-scoped beans, which only see each other through
+ * client proxies) are created together in a last wave.
+ *
+ * <p>A bean whose creation fails is reported in the {@link EagerInitializationReport} and left to be created
+ * lazily on first use, as it would have been without eager initialization.
+ *
+ * @author Stefano Reksten
+ */
+public final class EagerBeanInitializer {
+
+    private final BeanManager beanManager;
+    private final ContextManager contextManager;
+    private final int parallelism;
+
+    /**
+     * @param beanManager the bean manager of the deployed container
+     * @param contextManager the context manager of the deployed container
+     * @param parallelism the maximum number of beans created at the same time; must be at least 1
+     */
+    public EagerBeanInitializer(BeanManager beanManager, ContextManager contextManager, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.beanManager = beanManager;
+        this.contextManager = contextManager;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates every eligible bean and waits for their creation.
+     *
+     * @return the per-bean timing report
+     */
+    public EagerInitializationReport initialize() {
+        long start = System.nanoTime();
+        List<List<Bean<?>>> waves = computeWaves(findDependencies(findEligibleBeans()));
+        List<EagerInitializationReport.Entry> entries = Collections.synchronizedList(new ArrayList<>());
+        if (!waves.isEmpty()) {
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            ParallelTaskExecutor executor = ParallelTaskExecutor.createExecutor(parallelism);
+            try {
+                for (int wave = 0; wave < waves.size(); wave++) {
+                    int currentWave = wave;
+                    ParallelTaskExecutor.TaskGroup group = executor.newGroup();
+                    for (Bean<?> bean : waves.get(wave)) {
+                        group.schedulePlatformThread(() ->
+                                entries.add(create(bean, currentWave, contextClassLoader)));
+                    }
+                    group.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during eager bean initialization", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Eager bean initialization failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        return new EagerInitializationReport(entries, waves.size(), parallelism, System.nanoTime() - start);
+    }
+
+    private Set<Bean<?>> findEligibleBeans() {
+        Set<Bean<?>> eligible = new LinkedHashSet<>();
+        for (Bean<?> bean : beanManager.getBeans(Object.class, Any.Literal.INSTANCE)) {
+            // @Singleton beans are registered with the ApplicationScoped scope
+            if (ApplicationScoped.class.equals(bean.getScope())) {
+                eligible.add(bean);
+            }
+        }
+        return eligible;
+    }
+
+    /**
+     * Maps each eligible bean to the eligible beans its injection points resolve to.
+     */
+    private Map<Bean<?>, Set<Bean<?>>> findDependencies(Set<Bean<?>> eligible) {
+        Map<Bean<?>, Set<Bean<?>>> dependencies = new LinkedHashMap<>();
+        for (Bean<?> bean : eligible) {
+            Set<Bean<?>> beanDependencies = new HashSet<>();
+            for (InjectionPoint injectionPoint : bean.getInjectionPoints()) {
+                if (injectionPoint.isDelegate()) {
+                    continue;
+                }
+                Bean<?> resolved;
+                try {
+                    resolved = beanManager.resolve(beanManager.getBeans(injectionPoint.getType(),
+                            injectionPoint.getQualifiers().toArray(new Annotation[0])));
+                } catch (RuntimeException e) {
+                    // Deployment validation already reported real resolution problems
+                    continue;
+                }
+                if (resolved != null && resolved != bean && eligible.contains(resolved)) {
+                    beanDependencies.add(resolved);
+                }
+            }
+            dependencies.put(bean, beanDependencies);
+        }
+        return dependencies;
+    }
+
+    private static List<List<Bean<?>>> computeWaves(Map<Bean<?>, Set<Bean<?>>> dependencies) {
+        List<List<Bean<?>>> waves = new ArrayList<>();
+        Set<Bean<?>> remaining = new LinkedHashSet<>(dependencies.keySet());
+        Set<Bean<?>> scheduled = new HashSet<>();
+        while (!remaining.isEmpty()) {
+            List<Bean<?>> wave = new ArrayList<>();
+            for (Bean<?> bean : remaining) {
+                if (scheduled.containsAll(dependencies.get(bean))) {
+                    wave.add(bean);
+                }
+            }
+            if (wave.isEmpty()) {
+                // Only dependency cycles are left
+                wave.addAll(remaining);
+            }
+            remaining.removeAll(wave);
+            scheduled.addAll(wave);
+            waves.add(wave);
+        }
+        return waves;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private EagerInitializationReport.Entry create(Bean<?> bean, int wave, ClassLoader contextClassLoader) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previousClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(contextClassLoader);
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            ScopeContext context = contextManager.getContext(ApplicationScoped.class);
+            CreationalContext creationalContext = beanManager.createCreationalContext(bean);
+            context.get((Bean) bean, creationalContext);
+        } catch (RuntimeException | LinkageError e) {
+            failure = e;
+        } finally {
+            thread.setContextClassLoader(previousClassLoader);
+        }
+        return new EagerInitializationReport.Entry(bean, wave, System.nanoTime() - start, thread.getName(), failure);
+    }
+}
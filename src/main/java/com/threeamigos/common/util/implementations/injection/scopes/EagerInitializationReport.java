@@ -0,0 +1,135 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import jakarta.enterprise.inject.spi.Bean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of an {@link EagerBeanInitializer} run: which beans were created, in which wave, on which
+ * thread and how long each creation took.
+ *
+ * <p>Entries are sorted by wave, and within a wave by decreasing creation time, so the beans that
+ * dominate startup come first.
+ *
+ * @author Stefano Reksten
+ */
+public final class EagerInitializationReport {
+
+    private final List<Entry> entries;
+    private final int waveCount;
+    private final int parallelism;
+    private final long totalNanos;
+
+    EagerInitializationReport(List<Entry> entries, int waveCount, int parallelism, long totalNanos) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingInt(Entry::getWave)
+                .thenComparing(Comparator.comparingLong(Entry::getDurationNanos).reversed()));
+        this.entries = Collections.unmodifiableList(sorted);
+        this.waveCount = waveCount;
+        this.parallelism = parallelism;
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * @return one entry per bean, created or failed, sorted by wave and decreasing creation time
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return the entries of the beans whose creation failed; those beans are created lazily as usual
+     */
+    public List<Entry> getFailures() {
+        List<Entry> failures = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.getFailure() != null) {
+                failures.add(entry);
+            }
+        }
+        return failures;
+    }
+
+    public int getWaveCount() {
+        return waveCount;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return the wall-clock time of the whole eager initialization phase, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Eagerly initialized ").append(entries.size() - getFailures().size()).append('/')
+                .append(entries.size()).append(" beans in ").append(waveCount).append(" waves with parallelism ")
+                .append(parallelism).append(" in ").append(TimeUnit.NANOSECONDS.toMillis(totalNanos)).append(" ms");
+        for (Entry entry : entries) {
+            sb.append(System.lineSeparator()).append("  ").append(entry);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creation of a single bean.
+     */
+    public static final class Entry {
+        private final Bean<?> bean;
+        private final int wave;
+        private final long durationNanos;
+        private final String threadName;
+        private final Throwable failure;
+
+        Entry(Bean<?> bean, int wave, long durationNanos, String threadName, Throwable failure) {
+            this.bean = bean;
+            this.wave = wave;
+            this.durationNanos = durationNanos;
+            this.threadName = threadName;
+            this.failure = failure;
+        }
+
+        public Bean<?> getBean() {
+            return bean;
+        }
+
+        /**
+         * @return the wave, starting from 0; beans of a wave only depend on beans of earlier waves
+         */
+        public int getWave() {
+            return wave;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * @return the exception thrown while creating the bean, or null if it was created
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            return "wave " + wave + ": " + bean.getBeanClass().getName() + " " +
+                    TimeUnit.NANOSECONDS.toMicros(durationNanos) + " us on " + threadName +
+                    (failure != null ? " FAILED: " + failure : "");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+
+/**
+ * {@link PassivationSerializer} based on Java serialization. This is the default serializer of the
+ * passivating contexts; instances must be {@link java.io.Serializable}, as CDI requires for beans of
+ * passivating scopes.
+ *
+ * @author Stefano Reksten
+ */
+public class JavaPassivationSerializer implements PassivationSerializer {
+
+    @Override
+    public void write(Object instance, OutputStream outputStream) throws IOException {
+        ObjectOutputStream oos = new ObjectOutputStream(outputStream);
+        oos.writeObject(instance);
+        oos.flush();
+    }
+
+    @Override
+    public Object read(Class<?> type, InputStream inputStream) throws IOException, ClassNotFoundException {
+        ClassLoader classLoader = type.getClassLoader();
+        try (ObjectInputStream ois = new ObjectInputStream(inputStream) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                // Prefer the loader of the bean instance, which may not be visible from this class
+                if (classLoader != null) {
+                    try {
+                        return Class.forName(desc.getName(), false, classLoader);
+                    } catch (ClassNotFoundException ignored) {
+                        // Fall back to the default resolution
+                    }
+                }
+                return super.resolveClass(desc);
+            }
+        }) {
+            return ois.readObject();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import com.threeamigos.common.util.implementations.json.JsonBuilderFactory;
+import com.threeamigos.common.util.interfaces.json.Json;
+import com.threeamigos.common.util.interfaces.json.JsonBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link PassivationSerializer} writing instances as JSON through the {@link Json} converters. Instances do not
+ * need to be {@link java.io.Serializable}, but must be convertible by Gson: their class is recorded by the
+ * container and used to read them back.
+ *
+ * @author Stefano Reksten
+ */
+public class JsonPassivationSerializer implements PassivationSerializer {
+
+    private final JsonBuilder jsonBuilder;
+    private final Map<Class<?>, Json<?>> converters = new ConcurrentHashMap<>();
+
+    public JsonPassivationSerializer() {
+        this(JsonBuilderFactory.builder());
+    }
+
+    /**
+     * @param jsonBuilder the builder of the converters, with any {@link com.threeamigos.common.util.interfaces.json.JsonAdapter}
+     *                    needed by the instances already registered
+     */
+    public JsonPassivationSerializer(JsonBuilder jsonBuilder) {
+        this.jsonBuilder = Objects.requireNonNull(jsonBuilder, "jsonBuilder cannot be null");
+    }
+
+    @Override
+    public void write(Object instance, OutputStream outputStream) throws IOException {
+        @SuppressWarnings("unchecked")
+        Json<Object> json = (Json<Object>) converter(instance.getClass());
+        json.toJson(instance, outputStream);
+    }
+
+    @Override
+    public Object read(Class<?> type, InputStream inputStream) throws IOException {
+        return converter(type).fromJson(inputStream);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Json<T> converter(Class<T> type) {
+        return (Json<T>) converters.computeIfAbsent(type, jsonBuilder::build);
+    }
+}
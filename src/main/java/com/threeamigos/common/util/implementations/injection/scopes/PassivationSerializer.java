@@ -0,0 +1,40 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Converts the contextual instances of passivating scopes (sessions and conversations) to bytes and back when
+ * they are passivated and activated.
+ *
+ * <p>Each call handles a single instance. The streams are delimited by the container: the output stream only
+ * receives the bytes of one instance and the input stream ends where that instance ends, so implementations
+ * may wrap and close them freely.
+ *
+ * @author Stefano Reksten
+ * @see JavaPassivationSerializer
+ * @see JsonPassivationSerializer
+ */
+public interface PassivationSerializer {
+
+    /**
+     * Writes an instance.
+     *
+     * @param instance the contextual instance
+     * @param outputStream destination of the instance bytes
+     * @throws IOException if the instance cannot be written
+     */
+    void write(Object instance, OutputStream outputStream) throws IOException;
+
+    /**
+     * Reads an instance written by {@link #write(Object, OutputStream)}.
+     *
+     * @param type the class of the instance that was written
+     * @param inputStream source of the instance bytes
+     * @return the restored instance
+     * @throws IOException if the instance cannot be read
+     * @throws ClassNotFoundException if a class needed to restore the instance cannot be found
+     */
+    Object read(Class<?> type, InputStream inputStream) throws IOException, ClassNotFoundException;
+}
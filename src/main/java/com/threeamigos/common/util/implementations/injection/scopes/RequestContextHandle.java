@@ -0,0 +1,91 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.Bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The instances of one request of a {@link RequestScopedContext}, independent of the thread the request runs on.
+ *
+ * <p>A request is bound to the thread that activated it. {@link ContextManager#captureRequest()} returns its
+ * handle so that work handed to other threads can run within the same request through
+ * {@link ContextManager#runWithin(RequestContextHandle, Runnable)}, sharing its request-scoped instances.
+ *
+ * <p>Instances are kept in an array indexed by the dense id given to each bean by the container's
+ * {@link BeanIndex} (see {@link ContextualInstances}): looking an instance up does not hash the bean. Reads are
+ * lock-free; creations within a request are serialized.
+ *
+ * <p>The handle counts its users: the thread that activated the request, and every capture not yet consumed
+ * by {@code runWithin} or given back with {@link #release()}. The instances are destroyed when the request is
+ * deactivated and the last user is gone, so a task propagated to another thread never sees them destroyed
+ * under its feet.
+ *
+ * @author Stefano Reksten
+ */
+public final class RequestContextHandle {
+
+    private final ContextualInstances instances;
+    private final AtomicInteger users = new AtomicInteger(1);
+
+    RequestContextHandle(BeanIndex beanIndex) {
+        this.instances = new ContextualInstances(beanIndex);
+    }
+
+    /**
+     * Gives back a handle obtained from {@link ContextManager#captureRequest()} that will not be passed to
+     * {@link ContextManager#runWithin(RequestContextHandle, Runnable)}.
+     */
+    public void release() {
+        if (users.decrementAndGet() == 0) {
+            destroyInstances();
+        }
+    }
+
+    /**
+     * @return true while the request instances have not been destroyed
+     */
+    public boolean isAlive() {
+        return users.get() > 0;
+    }
+
+    boolean retain() {
+        int current;
+        do {
+            current = users.get();
+            if (current == 0) {
+                return false;
+            }
+        } while (!users.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T get(Bean<T> bean) {
+        ContextualInstances.Entry entry = instances.get(instances.getBeanIndex().idOf(bean));
+        return entry != null ? (T) entry.getInstance() : null;
+    }
+
+    <T> T getOrCreate(Bean<T> bean, CreationalContext<T> creationalContext, Supplier<T> factory) {
+        return instances.getOrCreate(bean, creationalContext, factory);
+    }
+
+    /**
+     * Removes the instance of a bean and returns it, or null if there is none.
+     */
+    ContextualInstances.Entry remove(Bean<?> bean) {
+        return instances.remove(instances.getBeanIndex().idOf(bean));
+    }
+
+    void destroyInstances() {
+        for (ContextualInstances.Entry entry : instances.removeAll()) {
+            try {
+                entry.destroy();
+            } catch (Exception e) {
+                System.err.println("Error destroying bean " + entry.getBean().getBeanClass().getName() +
+                                 " in request: " + e.getMessage());
+            }
+        }
+    }
+}
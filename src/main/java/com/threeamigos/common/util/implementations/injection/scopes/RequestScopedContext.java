@@ -6,13 +6,15 @@ import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
 import jakarta.enterprise.inject.spi.Bean;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * Implementation of RequestScoped context.
  * Maintains instances for the duration of a single request.
  *
+ * <p>The instances of a request live in a {@link RequestContextHandle}, not in the thread: each thread only
+ * holds a reference to the handle of the request it runs within, which keeps per-thread state minimal for
+ * virtual threads and lets a request be propagated to other threads (see
+ * {@link ContextManager#captureRequest()}).
+ *
  * <p><b>PHASE 2 - Interceptor Support:</b> This context automatically wraps beans that
  * have interceptors with interceptor-aware proxies. This ensures that interceptor chains
  * are executed before business methods are called.
@@ -21,27 +23,80 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class RequestScopedContext implements ScopeContext {
 
-    private final ThreadLocal<Map<Bean<?>, Object>> requestInstances = ThreadLocal.withInitial(ConcurrentHashMap::new);
-    private final ThreadLocal<Map<Bean<?>, CreationalContext<?>>> requestContexts = ThreadLocal.withInitial(ConcurrentHashMap::new);
-    private final ThreadLocal<Boolean> requestActive = ThreadLocal.withInitial(() -> false);
+    private final BeanIndex beanIndex;
+    private final ThreadLocal<Binding> currentRequest = new ThreadLocal<>();
     private volatile boolean active = true;
 
+    public RequestScopedContext() {
+        this(new BeanIndex());
+    }
+
+    /**
+     * @param beanIndex the bean ids of the container, shared with its other contexts
+     */
+    public RequestScopedContext(BeanIndex beanIndex) {
+        this.beanIndex = beanIndex;
+    }
+
     /**
      * Activates the request scope for the current thread.
      */
     public void activateRequest() {
-        requestActive.set(true);
-        requestInstances.get().clear();
-        requestContexts.get().clear();
+        currentRequest.set(new Binding(new RequestContextHandle(beanIndex), true));
     }
 
     /**
      * Deactivates and cleans up the request scope for the current thread.
+     * <p>
+     * The request instances are destroyed right away unless the request was captured and is still in use by
+     * other threads, in which case the last of them destroys them. A thread running within a captured request
+     * is only detached from it.
      */
     public void deactivateRequest() {
-        if (requestActive.get()) {
-            destroyRequest();
-            requestActive.set(false);
+        Binding binding = currentRequest.get();
+        if (binding != null) {
+            currentRequest.remove();
+            if (binding.owner) {
+                binding.handle.release();
+            }
+        }
+    }
+
+    /**
+     * Captures the request active on the current thread, so that it can be shared with other threads through
+     * {@link #runWithin(RequestContextHandle, Runnable)}.
+     *
+     * @return the handle of the request, or null if no request is active
+     */
+    public RequestContextHandle captureRequest() {
+        RequestContextHandle handle = currentHandle();
+        if (handle == null || !handle.retain()) {
+            return null;
+        }
+        return handle;
+    }
+
+    /**
+     * Runs a task on the current thread within a captured request, then gives the captured handle back.
+     *
+     * @param handle a handle returned by {@link #captureRequest()}, not used yet
+     * @param task the task
+     */
+    public void runWithin(RequestContextHandle handle, Runnable task) {
+        if (!handle.isAlive()) {
+            throw new ContextNotActiveException("The captured request has already ended");
+        }
+        Binding previous = currentRequest.get();
+        currentRequest.set(new Binding(handle, false));
+        try {
+            task.run();
+        } finally {
+            if (previous != null) {
+                currentRequest.set(previous);
+            } else {
+                currentRequest.remove();
+            }
+            handle.release();
         }
     }
 
@@ -52,18 +107,12 @@ public class RequestScopedContext implements ScopeContext {
             throw new ContextNotActiveException("RequestScoped context is not active");
         }
 
-        if (!requestActive.get()) {
+        RequestContextHandle handle = currentHandle();
+        if (handle == null) {
             throw new ContextNotActiveException("No active request. Call activateRequest() first.");
         }
 
-        Map<Bean<?>, Object> instances = requestInstances.get();
-        Map<Bean<?>, CreationalContext<?>> contexts = requestContexts.get();
-
-        return (T) instances.computeIfAbsent(bean, b -> {
-            if (creationalContext != null) {
-                contexts.put(bean, creationalContext);
-            }
-
+        return handle.getOrCreate(bean, creationalContext, () -> {
             // Step 1: Create the actual bean instance
             T instance = bean.create(creationalContext);
 
@@ -80,49 +129,46 @@ public class RequestScopedContext implements ScopeContext {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T getIfExists(Bean<T> bean) {
-        if (!requestActive.get()) {
+        RequestContextHandle handle = currentHandle();
+        if (handle == null) {
             return null;
         }
-        return (T) requestInstances.get().get(bean);
+        return handle.get(bean);
     }
 
     @Override
     public void destroy() {
-        destroyRequest();
-        requestInstances.remove();
-        requestContexts.remove();
-        requestActive.remove();
+        Binding binding = currentRequest.get();
+        currentRequest.remove();
+        if (binding != null) {
+            binding.handle.destroyInstances();
+        }
         active = false;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void destroy(Contextual<?> contextual) {
         if (!active) {
             throw new ContextNotActiveException("RequestScoped context is not active");
         }
-        if (!requestActive.get()) {
+        RequestContextHandle handle = currentHandle();
+        if (handle == null) {
             throw new ContextNotActiveException("No active request. Call activateRequest() first.");
         }
         if (!(contextual instanceof Bean)) {
             return;
         }
 
-        Map<Bean<?>, Object> instances = requestInstances.get();
-        Map<Bean<?>, CreationalContext<?>> contexts = requestContexts.get();
-        Bean<Object> bean = (Bean<Object>) contextual;
-        Object instance = instances.remove(bean);
-        CreationalContext<Object> ctx = (CreationalContext<Object>) contexts.remove(bean);
-        if (instance != null) {
-            bean.destroy(instance, ctx);
+        ContextualInstances.Entry entry = handle.remove((Bean<?>) contextual);
+        if (entry != null) {
+            entry.destroy();
         }
     }
 
     @Override
     public boolean isActive() {
-        return active && requestActive.get();
+        return active && currentHandle() != null;
     }
 
     @Override
@@ -132,25 +178,21 @@ public class RequestScopedContext implements ScopeContext {
         return false;
     }
 
-    @SuppressWarnings("unchecked")
-    private void destroyRequest() {
-        Map<Bean<?>, Object> instances = requestInstances.get();
-        Map<Bean<?>, CreationalContext<?>> contexts = requestContexts.get();
-
-        for (Map.Entry<Bean<?>, Object> entry : instances.entrySet()) {
-            Bean<Object> bean = (Bean<Object>) entry.getKey();
-            Object instance = entry.getValue();
-            CreationalContext<Object> ctx = (CreationalContext<Object>) contexts.get(bean);
-
-            try {
-                bean.destroy(instance, ctx);
-            } catch (Exception e) {
-                System.err.println("Error destroying bean " + bean.getBeanClass().getName() +
-                                 " in request: " + e.getMessage());
-            }
-        }
+    private RequestContextHandle currentHandle() {
+        Binding binding = currentRequest.get();
+        return binding != null && binding.handle.isAlive() ? binding.handle : null;
+    }
 
-        instances.clear();
-        contexts.clear();
+    /**
+     * The request a thread runs within, and whether the thread activated it.
+     */
+    private static final class Binding {
+        private final RequestContextHandle handle;
+        private final boolean owner;
+
+        private Binding(RequestContextHandle handle, boolean owner) {
+            this.handle = handle;
+            this.owner = owner;
+        }
     }
 }
@@ -1,33 +1,22 @@
 package com.threeamigos.common.util.implementations.injection.scopes;
 
-import com.threeamigos.common.util.implementations.injection.annotations.AnnotationsEnum;
 import com.threeamigos.common.util.implementations.injection.resolution.BeanImpl;
-import com.threeamigos.common.util.implementations.injection.util.LifecycleMethodHelper;
 import com.threeamigos.common.util.interfaces.messagehandler.MessageHandler;
 import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
 import jakarta.enterprise.inject.spi.Bean;
-import jakarta.enterprise.inject.spi.BeanManager;
-import jakarta.enterprise.inject.spi.CDI;
-import jakarta.enterprise.inject.spi.PassivationCapable;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-
-import static com.threeamigos.common.util.implementations.injection.types.ClassHelper.collectClassHierarchyFromObject;
 
 /**
  * Implementation of SessionScoped context.
@@ -44,19 +33,37 @@ import static com.threeamigos.common.util.implementations.injection.types.ClassH
  * {@code @PostActivate} callbacks after deserialization. This allows session-scoped beans to
  * be serialized to disk or replicated across a cluster in distributed environments.
  *
+ * <p><b>Streaming and incremental passivation:</b> {@link #passivateSession(String, OutputStream)} streams a
+ * session to an {@link OutputStream} or {@link WritableByteChannel} one instance at a time, and
+ * {@link #passivateSessionChanges(String, OutputStream)} only writes the instances used since the last
+ * passivation, for session replication. Instances are converted by a pluggable {@link PassivationSerializer}.
+ *
+ * <p>The instances of each session are kept in an array indexed by the container's bean ids (see
+ * {@link BeanIndex}); the string bean ids used by passivation are only computed when a session is passivated.
+ *
  * @author Stefano Reksten
  */
 public class SessionScopedContext implements ScopeContext {
 
     private final MessageHandler messageHandler;
-    private final Map<String, Map<String, Object>> sessionInstances = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, CreationalContext<?>>> sessionContexts = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, Bean<?>>> sessionBeans = new ConcurrentHashMap<>();
+    private final BeanIndex beanIndex;
+    private final ContextPassivation passivation;
+    private final Map<String, ContextualInstances> sessionInstances = new ConcurrentHashMap<>();
     private final ThreadLocal<String> currentSessionId = new ThreadLocal<>();
     private volatile boolean active = true;
 
     public SessionScopedContext(MessageHandler messageHandler) {
+        this(messageHandler, new BeanIndex());
+    }
+
+    /**
+     * @param messageHandler the message handler
+     * @param beanIndex the bean ids of the container, shared with its other contexts
+     */
+    public SessionScopedContext(MessageHandler messageHandler, BeanIndex beanIndex) {
         this.messageHandler = Objects.requireNonNull(messageHandler, "messageHandler cannot be null");
+        this.beanIndex = Objects.requireNonNull(beanIndex, "beanIndex cannot be null");
+        this.passivation = new ContextPassivation(messageHandler, beanIndex, "session");
     }
 
     /**
@@ -66,9 +73,7 @@ public class SessionScopedContext implements ScopeContext {
      */
     public void activateSession(String sessionId) {
         currentSessionId.set(sessionId);
-        sessionInstances.putIfAbsent(sessionId, new ConcurrentHashMap<>());
-        sessionContexts.putIfAbsent(sessionId, new ConcurrentHashMap<>());
-        sessionBeans.putIfAbsent(sessionId, new ConcurrentHashMap<>());
+        sessionInstances.computeIfAbsent(sessionId, id -> new ContextualInstances(beanIndex));
     }
 
     /**
@@ -111,18 +116,12 @@ public class SessionScopedContext implements ScopeContext {
             throw new ContextNotActiveException("No active session. Call activateSession() first.");
         }
 
-        Map<String, Object> instances = sessionInstances.get(sessionId);
-        Map<String, CreationalContext<?>> contexts = sessionContexts.get(sessionId);
-        Map<String, Bean<?>> beans = sessionBeans.get(sessionId);
-
-        String beanId = getBeanId(bean);
-
-        return (T) instances.computeIfAbsent(beanId, b -> {
-            if (creationalContext != null) {
-                contexts.put(beanId, creationalContext);
-            }
-            beans.put(beanId, bean);
+        ContextualInstances instances = sessionInstances.get(sessionId);
+        if (instances == null) {
+            throw new ContextNotActiveException("Session " + sessionId + " has been invalidated");
+        }
 
+        ContextualInstances.Entry entry = instances.getOrCreateEntry(bean, creationalContext, () -> {
             // Step 1: Create the actual bean instance
             T instance = bean.create(creationalContext);
 
@@ -136,6 +135,9 @@ public class SessionScopedContext implements ScopeContext {
 
             return instance;
         });
+        // Handed out again: the instance may change, it goes in the next change set
+        entry.markUsed();
+        return (T) entry.getInstance();
     }
 
     @Override
@@ -146,9 +148,16 @@ public class SessionScopedContext implements ScopeContext {
             return null;
         }
 
-        Map<String, Object> instances = sessionInstances.get(sessionId);
-        String beanId = getBeanId(bean);
-        return instances != null ? (T) instances.get(beanId) : null;
+        ContextualInstances instances = sessionInstances.get(sessionId);
+        if (instances == null) {
+            return null;
+        }
+        ContextualInstances.Entry entry = instances.get(beanIndex.idOf(bean));
+        if (entry == null) {
+            return null;
+        }
+        entry.markUsed();
+        return (T) entry.getInstance();
     }
 
     /**
@@ -160,7 +169,8 @@ public class SessionScopedContext implements ScopeContext {
      * non-serializable resources (database connections, file handles, etc.).
      * <p>
      * <b>Usage:</b> This method is typically called by the servlet container when the
-     * HTTP session needs to be passivated to disk or replicated across a cluster.
+     * HTTP session needs to be passivated to disk or replicated across a cluster. Large sessions
+     * should rather be streamed with {@link #passivateSession(String, OutputStream)}.
      * <p>
      * <b>Thread Safety:</b> This method should be called while the session is not being
      * actively used by other threads.
@@ -169,57 +179,76 @@ public class SessionScopedContext implements ScopeContext {
      * @return serialized byte array containing the session state, or null if session doesn't exist
      * @throws RuntimeException if serialization fails (wraps IOException)
      */
-    @SuppressWarnings("unchecked")
     public byte[] passivateSession(String sessionId) {
-        Map<String, Object> instances = sessionInstances.get(sessionId);
-        Map<String, Bean<?>> beans = sessionBeans.get(sessionId);
-
+        ContextualInstances instances = sessionInstances.get(sessionId);
         if (instances == null || instances.isEmpty()) {
             return null;
         }
 
-        // Step 1: Invoke @PrePassivate on all beans in the session
-        if (beans != null) {
-            for (Map.Entry<String, Object> entry : instances.entrySet()) {
-                Bean<?> bean = beans.get(entry.getKey());
-                Object instance = entry.getValue();
-
-                if (bean instanceof BeanImpl) {
-                    @SuppressWarnings("unchecked")
-                    BeanImpl<Object> beanImpl = (BeanImpl<Object>) bean;
-                    try {
-                        beanImpl.invokePrePassivate(instance);
-                    } catch (Exception e) {
-                        messageHandler.handleException(
-                            "Error invoking @PrePassivate on bean " + bean.getBeanClass().getName() +
-                                " in session " + sessionId + ": " + e.getMessage(),
-                            e
-                        );
-                    }
-                } else if (bean == null) {
-                    // Fallback: invoke annotation directly if metadata is missing
-                    invokeAnnotationIfPresent(instance, AnnotationsEnum.PRE_PASSIVATE);
-                }
-            }
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            passivation.write(sessionId, instances, true, baos);
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Session passivation failed for session " + sessionId, e);
         }
+    }
 
-        // Step 2: Serialize the session storage to byte array (instances + bean class metadata)
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+    /**
+     * Passivates every instance of a session, streaming them to an output stream as they are serialized.
+     * {@code @PrePassivate} callbacks are invoked as in {@link #passivateSession(String)}.
+     * <p>
+     * The snapshot is the base for the change sets written afterwards by
+     * {@link #passivateSessionChanges(String, OutputStream)}.
+     *
+     * @param sessionId the session identifier to passivate
+     * @param outputStream destination of the session state; it is flushed but not closed
+     * @return the number of instances written
+     * @throws IOException if writing fails
+     */
+    public int passivateSession(String sessionId, OutputStream outputStream) throws IOException {
+        return passivation.write(sessionId, sessionInstances.get(sessionId), true, outputStream);
+    }
 
-            Map<String, Object> serializableInstances = new HashMap<>(instances);
-            Map<String, String> beanClasses = new HashMap<>();
-            if (beans != null) {
-                beans.forEach((id, b) -> beanClasses.put(id, b.getBeanClass().getName()));
-            }
+    /**
+     * Like {@link #passivateSession(String, OutputStream)}, writing to a channel.
+     *
+     * @param sessionId the session identifier to passivate
+     * @param channel destination of the session state; it is not closed
+     * @return the number of instances written
+     * @throws IOException if writing fails
+     */
+    public int passivateSession(String sessionId, WritableByteChannel channel) throws IOException {
+        return passivateSession(sessionId, Channels.newOutputStream(channel));
+    }
 
-            SessionPassivationData data = new SessionPassivationData(serializableInstances, beanClasses);
-            oos.writeObject(data);
-            return baos.toByteArray();
+    /**
+     * Passivates the changes of a session since its last passivation, streaming them to an output stream:
+     * the instances created or looked up since then (calls through client proxies look their instance up), and
+     * the beans whose instances were destroyed. Instances that were not used are neither written nor notified
+     * with {@code @PrePassivate}.
+     * <p>
+     * <b>Usage:</b> meant for session replication, where the receiver applies each change set with
+     * {@link #activateSession(String, InputStream)} over the state it already holds.
+     *
+     * @param sessionId the session identifier to passivate
+     * @param outputStream destination of the changes; it is flushed but not closed
+     * @return the number of instances written
+     * @throws IOException if writing fails; the changes are then kept for the next passivation
+     */
+    public int passivateSessionChanges(String sessionId, OutputStream outputStream) throws IOException {
+        return passivation.write(sessionId, sessionInstances.get(sessionId), false, outputStream);
+    }
 
-        } catch (IOException e) {
-            throw new RuntimeException("Session passivation failed for session " + sessionId, e);
-        }
+    /**
+     * Like {@link #passivateSessionChanges(String, OutputStream)}, writing to a channel.
+     *
+     * @param sessionId the session identifier to passivate
+     * @param channel destination of the changes; it is not closed
+     * @return the number of instances written
+     * @throws IOException if writing fails
+     */
+    public int passivateSessionChanges(String sessionId, WritableByteChannel channel) throws IOException {
+        return passivateSessionChanges(sessionId, Channels.newOutputStream(channel));
     }
 
     /**
@@ -240,65 +269,59 @@ public class SessionScopedContext implements ScopeContext {
      * @param serializedData the serialized session data (from passivateSession)
      * @throws RuntimeException if deserialization fails or @PostActivate methods fail
      */
-    @SuppressWarnings("unchecked")
     public void activateSession(String sessionId, byte[] serializedData) {
         if (serializedData == null) {
             throw new IllegalArgumentException("Serialized data cannot be null");
         }
 
-        SessionPassivationData data;
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(serializedData);
-             ObjectInputStream ois = new ObjectInputStream(bais)) {
-            data = (SessionPassivationData) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
+        try {
+            activateSession(sessionId, new ByteArrayInputStream(serializedData));
+        } catch (IOException e) {
             throw new RuntimeException("Session activation failed for session " + sessionId, e);
         }
+    }
 
-        // Step 2: Restore the session storage
-        Map<String, Object> restoredInstances = new ConcurrentHashMap<>(data.getInstances());
-        sessionInstances.put(sessionId, restoredInstances);
-        sessionContexts.put(sessionId, new ConcurrentHashMap<>());
-        Map<String, Bean<?>> beans = sessionBeans.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>());
-
-        // Try to re-associate Bean metadata (for lifecycle callbacks) using BeanManager
-        BeanManager beanManager = CDI.current().getBeanManager();
-        for (Map.Entry<String, String> entry : data.getBeanClasses().entrySet()) {
-            String beanId = entry.getKey();
-            if (beans.containsKey(beanId)) {
-                continue; // already present (same JVM passivation)
-            }
-
-            Bean<?> bean = resolveBean(beanManager, beanId, entry.getValue());
-            if (bean != null) {
-                beans.put(beanId, bean);
-            }
-        }
+    /**
+     * Activates a session from a stream written by {@link #passivateSession(String, OutputStream)} or
+     * {@link #passivateSessionChanges(String, OutputStream)}. A snapshot replaces the state of the session; a
+     * change set is applied over it. Instances of beans that no longer exist are dropped.
+     * <p>
+     * {@code @PostActivate} callbacks are invoked on the restored instances, and the session is associated with
+     * the current thread, as in {@link #activateSession(String, byte[])}.
+     *
+     * @param sessionId the session identifier
+     * @param inputStream source of the session state; it is read up to the end of the passivated data, not
+     *                    closed
+     * @throws IOException if reading fails; the session is then left unchanged, unless a change set was being
+     *                     applied over it
+     */
+    public void activateSession(String sessionId, InputStream inputStream) throws IOException {
+        ContextPassivation.Activation activation =
+                passivation.read(sessionId, sessionInstances.get(sessionId), inputStream);
+        sessionInstances.put(sessionId, activation.getInstances());
 
-        // Step 3: Associate session with current thread
+        // Associate session with current thread
         currentSessionId.set(sessionId);
 
-        // Step 4: Invoke @PostActivate on all beans in the session
-        for (Map.Entry<String, Object> entry : restoredInstances.entrySet()) {
-            Bean<?> bean = beans.get(entry.getKey());
-            Object instance = entry.getValue();
+        // Invoke @PostActivate on all restored beans in the session
+        passivation.postActivate(sessionId, activation.getRestored());
+    }
 
-            if (bean instanceof BeanImpl) {
-                @SuppressWarnings("unchecked")
-                BeanImpl<Object> beanImpl = (BeanImpl<Object>) bean;
-                try {
-                    beanImpl.invokePostActivate(instance);
-                } catch (Exception e) {
-                    messageHandler.handleException(
-                        "Error invoking @PostActivate on bean " + bean.getBeanClass().getName() +
-                            " in session " + sessionId + ": " + e.getMessage(),
-                        e
-                    );
-                }
-            } else {
-                // Fallback when bean metadata isn't available
-                invokeAnnotationIfPresent(instance, AnnotationsEnum.POST_ACTIVATE);
-            }
-        }
+    /**
+     * Sets how session-scoped instances are serialized when sessions are passivated. Defaults to
+     * {@link JavaPassivationSerializer}.
+     *
+     * @param serializer the serializer
+     */
+    public void setPassivationSerializer(PassivationSerializer serializer) {
+        passivation.setSerializer(serializer);
+    }
+
+    /**
+     * @return the serializer used when sessions are passivated
+     */
+    public PassivationSerializer getPassivationSerializer() {
+        return passivation.getSerializer();
     }
 
     @Override
@@ -307,8 +330,6 @@ public class SessionScopedContext implements ScopeContext {
             destroySession(sessionId);
         }
         sessionInstances.clear();
-        sessionContexts.clear();
-        sessionBeans.clear();
         currentSessionId.remove();
         active = false;
     }
@@ -327,7 +348,6 @@ public class SessionScopedContext implements ScopeContext {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void destroy(Contextual<?> contextual) {
         if (!active) {
             throw new ContextNotActiveException("SessionScoped context is not active");
@@ -340,42 +360,27 @@ public class SessionScopedContext implements ScopeContext {
             return;
         }
 
-        Bean<Object> bean = (Bean<Object>) contextual;
-        String beanId = getBeanId(bean);
-        Map<String, Object> instances = sessionInstances.get(sessionId);
-        Map<String, CreationalContext<?>> contexts = sessionContexts.get(sessionId);
-        Map<String, Bean<?>> beans = sessionBeans.get(sessionId);
-        if (instances == null || contexts == null || beans == null) {
+        ContextualInstances instances = sessionInstances.get(sessionId);
+        if (instances == null) {
             return;
         }
 
-        Object instance = instances.remove(beanId);
-        CreationalContext<Object> ctx = (CreationalContext<Object>) contexts.remove(beanId);
-        beans.remove(beanId);
-        if (instance != null) {
-            bean.destroy(instance, ctx);
+        ContextualInstances.Entry entry = instances.remove(beanIndex.idOf(contextual));
+        if (entry != null) {
+            passivation.recordRemoval(sessionId, entry.getBean());
+            entry.destroy();
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void destroySession(String sessionId) {
-        Map<String, Object> instances = sessionInstances.remove(sessionId);
-        Map<String, CreationalContext<?>> contexts = sessionContexts.remove(sessionId);
-        Map<String, Bean<?>> beans = sessionBeans.remove(sessionId);
-
-        if (instances != null && beans != null) {
-            for (Map.Entry<String, Object> entry : instances.entrySet()) {
-                @SuppressWarnings("unchecked")
-                Bean<Object> bean = (Bean<Object>) beans.get(entry.getKey());
-                Object instance = entry.getValue();
-                CreationalContext<Object> ctx = contexts != null ? (CreationalContext<Object>) contexts.get(entry.getKey()) : null;
-
-                if (bean == null) {
-                    continue;
-                }
+        ContextualInstances instances = sessionInstances.remove(sessionId);
+        passivation.forget(sessionId);
 
+        if (instances != null) {
+            for (ContextualInstances.Entry entry : instances.removeAll()) {
+                Bean<?> bean = entry.getBean();
                 try {
-                    bean.destroy(instance, ctx);
+                    entry.destroy();
                 } catch (Exception e) {
                     messageHandler.handleException(
                         "Error destroying bean " + bean.getBeanClass().getName() +
@@ -386,89 +391,4 @@ public class SessionScopedContext implements ScopeContext {
             }
         }
     }
-
-    private String getBeanId(Bean<?> bean) {
-        if (bean instanceof PassivationCapable) {
-            String id = ((PassivationCapable) bean).getId();
-            if (id != null) {
-                return id;
-            }
-        }
-
-        String qualifierSignature = bean.getQualifiers().stream()
-            .map(Annotation::annotationType)
-            .map(Class::getName)
-            .sorted()
-            .collect(Collectors.joining(","));
-
-        return bean.getBeanClass().getName() + "|" + qualifierSignature;
-    }
-
-    private Bean<?> resolveBean(BeanManager beanManager, String beanId, String className) {
-        try {
-            Bean<?> bean = beanManager.getPassivationCapableBean(beanId);
-            if (bean != null) {
-                return bean;
-            }
-        } catch (Exception ignored) {
-            // getPassivationCapableBean may throw if ID not found; ignore and fallback
-        }
-
-        try {
-            Class<?> clazz = Class.forName(className);
-            Set<Bean<?>> candidates = beanManager.getBeans(clazz);
-            if (!candidates.isEmpty()) {
-                return beanManager.resolve(candidates);
-            }
-        } catch (ClassNotFoundException ignored) {
-            // Class disappeared between passivation/activation
-        }
-        return null;
-    }
-
-    private void invokeAnnotationIfPresent(Object instance, AnnotationsEnum annotationType) {
-        if (instance == null || annotationType == null) {
-            return;
-        }
-        try {
-            for (Class<?> clazz : collectClassHierarchyFromObject(instance)) {
-                for (Method method : clazz.getDeclaredMethods()) {
-                    if (annotationType.isPresent(method)) {
-                        method.setAccessible(true);
-                        method.invoke(instance);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            messageHandler.handleException(
-                "Error invoking @" + annotationType.name() + " on " +
-                    instance.getClass().getName() + ": " + e.getMessage(),
-                e
-            );
-        }
-    }
-
-    /**
-     * Serializable wrapper for passivated session state. Bean metadata is reduced to class names
-     * so that instances can still be restored even if Bean references are not serializable.
-     */
-    private static class SessionPassivationData implements Serializable {
-        private static final long serialVersionUID = 1L;
-
-        private final Map<String, Object> instances;
-        private final Map<String, String> beanClasses;
-
-        SessionPassivationData(Map<String, Object> instances, Map<String, String> beanClasses) {
-            this.instances = instances;
-            this.beanClasses = beanClasses;
-        }
-
-        Map<String, Object> getInstances() {
-            return instances;
-        }
-
-        Map<String, String> getBeanClasses() {
-            return beanClasses;
-        }
-    }
 }
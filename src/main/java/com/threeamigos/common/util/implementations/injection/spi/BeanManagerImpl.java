@@ -125,6 +125,7 @@ public class BeanManagerImpl implements BeanManager, Serializable {
     private final Map<Class<? extends Annotation>, List<Context>> bceContextInstances =
             new ConcurrentHashMap<>();
     private volatile boolean requireActiveContextForGetContext;
+    private final BeanResolutionCache resolutionCache = new BeanResolutionCache();
 
     /**
      * Creates a new BeanManager implementation.
@@ -196,6 +197,7 @@ public class BeanManagerImpl implements BeanManager, Serializable {
     public void clearRuntimeState() {
         registeredExtensions.clear();
         bceContextInstances.clear();
+        resolutionCache.clear();
         beanResolver.clearRuntimeState();
         decoratorAwareProxyGenerator.clearCache();
         clearTransientReferencesForOwner(beanManagerId);
@@ -525,6 +527,9 @@ public class BeanManagerImpl implements BeanManager, Serializable {
      * );
      * }</pre>
      *
+     * <p>Once the deployment has been validated, results are cached until the set of beans changes
+     * and the returned set is unmodifiable.
+     *
      * @param beanType the required type
      * @param qualifiers the required qualifiers (empty = @Default)
      * @return set of matching beans (can be empty, never null)
@@ -573,6 +578,20 @@ public class BeanManagerImpl implements BeanManager, Serializable {
         }
 
         Set<Annotation> requiredQualifiers = extractQualifiers(qualifiers);
+        BeanResolutionCache.Generation cache = currentResolutionCache();
+        if (cache == null) {
+            return findMatchingBeans(beanType, requiredQualifiers);
+        }
+        BeanResolutionCache.LookupKey key =
+                new BeanResolutionCache.LookupKey(beanType, requiredQualifiers, currentAccessContext());
+        Set<Bean<?>> cached = cache.getBeans(key);
+        if (cached != null) {
+            return cached;
+        }
+        return cache.putBeans(key, findMatchingBeans(beanType, requiredQualifiers));
+    }
+
+    private Set<Bean<?>> findMatchingBeans(Type beanType, Set<Annotation> requiredQualifiers) {
         Set<Bean<?>> matchingBeans = new HashSet<>();
 
         for (Bean<?> bean : knowledgeBase.getValidBeans()) {
@@ -855,6 +874,29 @@ public class BeanManagerImpl implements BeanManager, Serializable {
             return null;
         }
 
+        // Single candidates are cheap to resolve; larger sets go through alternative precedence
+        BeanResolutionCache.Generation cache = beans.size() > 1 ? currentResolutionCache() : null;
+        if (cache == null) {
+            return resolveCandidates(beans);
+        }
+        BeanResolutionCache.Resolution cached = cache.getResolution(beans);
+        if (cached == null) {
+            try {
+                cached = BeanResolutionCache.Resolution.of(resolveCandidates(beans));
+            } catch (jakarta.enterprise.inject.AmbiguousResolutionException e) {
+                cached = BeanResolutionCache.Resolution.ambiguous(e.getMessage());
+            }
+            cache.putResolution(beans, cached);
+        }
+        if (cached.ambiguity != null) {
+            throw new jakarta.enterprise.inject.AmbiguousResolutionException(cached.ambiguity);
+        }
+        @SuppressWarnings("unchecked")
+        Bean<? extends X> resolved = (Bean<? extends X>) cached.bean;
+        return resolved;
+    }
+
+    private <X> Bean<? extends X> resolveCandidates(Set<Bean<? extends X>> beans) {
         Set<Bean<? extends X>> filteredBeans = applySpecializationFiltering(beans);
         if (filteredBeans.isEmpty()) {
             return null;
@@ -1147,6 +1189,50 @@ public class BeanManagerImpl implements BeanManager, Serializable {
         return false;
     }
 
+    /**
+     * Returns the resolution cache entries for the current set of beans, or null if resolution results
+     * cannot be cached yet because the deployment has not been validated.
+     */
+    private BeanResolutionCache.Generation currentResolutionCache() {
+        if (!afterDeploymentValidationFired) {
+            return null;
+        }
+        return resolutionCache.generation(knowledgeBase.getResolutionVersion());
+    }
+
+    /**
+     * Returns what {@link #isNotBeanAccessibleFromCurrentInjectionPoint(Bean)} depends on: the class
+     * declaring the current injection point, or {@link BeanResolutionCache#NO_INJECTION_POINT}.
+     */
+    private Object currentAccessContext() {
+        InjectionPoint injectionPoint = beanResolver != null ? beanResolver.getCurrentInjectionPoint() : null;
+        if (injectionPoint == null) {
+            return BeanResolutionCache.NO_INJECTION_POINT;
+        }
+        Member member = injectionPoint.getMember();
+        Class<?> consumerClass = member != null ? member.getDeclaringClass() : null;
+        if (consumerClass == null && injectionPoint.getBean() != null) {
+            consumerClass = injectionPoint.getBean().getBeanClass();
+        }
+        return consumerClass;
+    }
+
+    /**
+     * Returns how many typesafe lookups and resolutions were answered by the resolution cache.
+     * Results are cached once the deployment has been validated, until the set of beans changes.
+     */
+    public long getResolutionCacheHitCount() {
+        return resolutionCache.getHitCount();
+    }
+
+    /**
+     * Returns how many typesafe lookups and resolutions had to be computed since the deployment was
+     * validated.
+     */
+    public long getResolutionCacheMissCount() {
+        return resolutionCache.getMissCount();
+    }
+
     private boolean isNotBeanAccessibleFromCurrentInjectionPoint(Bean<?> bean) {
         if (bean == null) {
             return true;
@@ -2181,20 +2267,10 @@ public class BeanManagerImpl implements BeanManager, Serializable {
             }
 
             // Special case: inject Instance<T> handles for lazy/programmatic lookup.
-            if (requiredType instanceof ParameterizedType) {
-                ParameterizedType parameterizedType = (ParameterizedType) requiredType;
-                Type rawType = parameterizedType.getRawType();
-                if (rawType instanceof Class && (
-                        Event.class.isAssignableFrom((Class<?>) rawType) ||
-                        Instance.class.isAssignableFrom((Class<?>) rawType) ||
-                        jakarta.inject.Provider.class.isAssignableFrom((Class<?>) rawType) ||
-                        Decorator.class.equals(rawType) ||
-                        Bean.class.equals(rawType) ||
-                        Interceptor.class.equals(rawType))) {
-                    return beanResolver != null
-                            ? beanResolver.resolve(requiredType, qualifierArray)
-                            : createInstance();
-                }
+            if (isBuiltInHandleType(requiredType)) {
+                return beanResolver != null
+                        ? beanResolver.resolve(requiredType, qualifierArray)
+                        : createInstance();
             }
 
             Set<Bean<?>> beans = getBeans(requiredType, qualifierArray);
@@ -2205,35 +2281,66 @@ public class BeanManagerImpl implements BeanManager, Serializable {
                         "No bean found for injection point: " + injectionPoint);
             }
 
-            if (DEPENDENT.matches(bean.getScope()) && ctx instanceof CreationalContextImpl) {
-                if (isUnconstructibleManagedBean(bean)) {
-                    throw new jakarta.enterprise.inject.UnsatisfiedResolutionException(
-                            "No constructible bean found for injection point: " + injectionPoint);
-                }
-                @SuppressWarnings("unchecked")
-                Bean<Object> dependentBean = (Bean<Object>) bean;
-                CreationalContext<Object> childContext = createCreationalContext(dependentBean);
-                Object instance;
-                try {
-                    instance = dependentBean.create(childContext);
-                } catch (jakarta.enterprise.inject.CreationException creationException) {
-                    if (isUnconstructibleManagedBean(bean) || hasCause(creationException)) {
-                        throw new jakarta.enterprise.inject.UnsatisfiedResolutionException(
-                                "No constructible bean found for injection point: " + injectionPoint);
-                    }
-                    throw creationException;
-                }
-                if (isTransientReferenceInjectionPoint(injectionPoint)) {
-                    registerTransientReference(beanManagerId, dependentBean, instance, childContext);
-                } else {
-                    @SuppressWarnings("unchecked")
-                    CreationalContextImpl<Object> parentContext = (CreationalContextImpl<Object>) ctx;
-                    parentContext.addDependentInstance(dependentBean, instance, childContext);
-                }
-                return instance;
+            return getInjectableReferenceOf(injectionPoint, bean, ctx);
+        } finally {
+            if (beanResolver != null) {
+                beanResolver.clearCurrentInjectionPoint();
+            }
+        }
+    }
+
+    /**
+     * Resolves the bean that satisfies an injection point, so that a caller injecting the same point
+     * again and again can resolve it once and then obtain references with
+     * {@link #getInjectableReference(InjectionPoint, Bean, CreationalContext)}.
+     * <p>
+     * The result holds as long as the set of beans does not change, see
+     * {@link com.threeamigos.common.util.implementations.injection.knowledgebase.KnowledgeBase#getResolutionVersion()}.
+     *
+     * @param injectionPoint the injection point
+     * @return the bean, or null if the injection point is not satisfied by exactly one bean, or is one of the
+     * built-in points ({@code InjectionPoint}, {@code Instance}, {@code Event}, ...) that must be resolved
+     * on every injection
+     * @throws IllegalStateException if called before the AfterDeploymentValidation event is fired
+     */
+    public Bean<?> resolveInjectionPointBean(InjectionPoint injectionPoint) {
+        requireAfterDeploymentValidation("resolveInjectionPointBean(InjectionPoint)");
+        Type requiredType = injectionPoint.getType();
+        if (InjectionPoint.class.equals(requiredType) || isBuiltInHandleType(requiredType)) {
+            return null;
+        }
+
+        if (beanResolver != null) {
+            beanResolver.setCurrentInjectionPoint(injectionPoint);
+        }
+        try {
+            return resolve(getBeans(requiredType, injectionPoint.getQualifiers().toArray(new Annotation[0])));
+        } catch (jakarta.enterprise.inject.AmbiguousResolutionException e) {
+            // Reported by getInjectableReference(InjectionPoint, CreationalContext) on injection
+            return null;
+        } finally {
+            if (beanResolver != null) {
+                beanResolver.clearCurrentInjectionPoint();
             }
+        }
+    }
 
-            return getReference(bean, requiredType, ctx);
+    /**
+     * Like {@link #getInjectableReference(InjectionPoint, CreationalContext)} for an injection point already
+     * resolved to a bean by {@link #resolveInjectionPointBean(InjectionPoint)}.
+     *
+     * @param injectionPoint the injection point
+     * @param bean the bean that satisfies the injection point
+     * @param ctx the creational context
+     * @return the injectable reference (can be a proxy)
+     */
+    public Object getInjectableReference(InjectionPoint injectionPoint, Bean<?> bean, CreationalContext<?> ctx) {
+        requireAfterDeploymentValidation("getInjectableReference(InjectionPoint, Bean, CreationalContext)");
+        if (beanResolver != null) {
+            beanResolver.setCurrentInjectionPoint(injectionPoint);
+        }
+        try {
+            return getInjectableReferenceOf(injectionPoint, bean, ctx);
         } finally {
             if (beanResolver != null) {
                 beanResolver.clearCurrentInjectionPoint();
@@ -2241,6 +2348,54 @@ public class BeanManagerImpl implements BeanManager, Serializable {
         }
     }
 
+    private static boolean isBuiltInHandleType(Type requiredType) {
+        if (!(requiredType instanceof ParameterizedType)) {
+            return false;
+        }
+        Type rawType = ((ParameterizedType) requiredType).getRawType();
+        return rawType instanceof Class && (
+                Event.class.isAssignableFrom((Class<?>) rawType) ||
+                Instance.class.isAssignableFrom((Class<?>) rawType) ||
+                jakarta.inject.Provider.class.isAssignableFrom((Class<?>) rawType) ||
+                Decorator.class.equals(rawType) ||
+                Bean.class.equals(rawType) ||
+                Interceptor.class.equals(rawType));
+    }
+
+    // Called with the injection point set as the current one of the bean resolver
+    private Object getInjectableReferenceOf(InjectionPoint injectionPoint, Bean<?> bean, CreationalContext<?> ctx) {
+        Type requiredType = injectionPoint.getType();
+        if (DEPENDENT.matches(bean.getScope()) && ctx instanceof CreationalContextImpl) {
+            if (isUnconstructibleManagedBean(bean)) {
+                throw new jakarta.enterprise.inject.UnsatisfiedResolutionException(
+                        "No constructible bean found for injection point: " + injectionPoint);
+            }
+            @SuppressWarnings("unchecked")
+            Bean<Object> dependentBean = (Bean<Object>) bean;
+            CreationalContext<Object> childContext = createCreationalContext(dependentBean);
+            Object instance;
+            try {
+                instance = dependentBean.create(childContext);
+            } catch (jakarta.enterprise.inject.CreationException creationException) {
+                if (isUnconstructibleManagedBean(bean) || hasCause(creationException)) {
+                    throw new jakarta.enterprise.inject.UnsatisfiedResolutionException(
+                            "No constructible bean found for injection point: " + injectionPoint);
+                }
+                throw creationException;
+            }
+            if (isTransientReferenceInjectionPoint(injectionPoint)) {
+                registerTransientReference(beanManagerId, dependentBean, instance, childContext);
+            } else {
+                @SuppressWarnings("unchecked")
+                CreationalContextImpl<Object> parentContext = (CreationalContextImpl<Object>) ctx;
+                parentContext.addDependentInstance(dependentBean, instance, childContext);
+            }
+            return instance;
+        }
+
+        return getReference(bean, requiredType, ctx);
+    }
+
     private boolean isUnconstructibleManagedBean(Bean<?> bean) {
         if (!(bean instanceof BeanImpl<?>)) {
             return false;
@@ -0,0 +1,259 @@
+package com.threeamigos.common.util.implementations.injection.spi;
+
+import com.threeamigos.common.util.implementations.injection.annotations.AnnotationComparator;
+import jakarta.enterprise.inject.spi.Bean;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memoizes the results of {@link BeanManagerImpl#getBeans(Type, Annotation...)} and
+ * {@link BeanManagerImpl#resolve(Set)} once the deployment has been validated.
+ *
+ * <p>Lookups are keyed by a structural key of the required type (so that equal types built by
+ * different {@link Type} implementations share an entry), by the required qualifiers compared with
+ * {@link AnnotationComparator} and by the class requesting the lookup, which decides bean
+ * accessibility. Resolutions are keyed by the candidate set.
+ *
+ * <p>All entries belong to a generation tied to the
+ * {@link com.threeamigos.common.util.implementations.injection.knowledgebase.KnowledgeBase#getResolutionVersion()
+ * resolution version}: when the version changes the whole generation is dropped, and results computed
+ * against an older version are never stored in the current one.
+ */
+final class BeanResolutionCache {
+
+    /**
+     * Access context used when a lookup is not performed on behalf of an injection point.
+     */
+    static final Object NO_INJECTION_POINT = new Object();
+
+    private static final Object NO_RESOLUTION = new Object();
+
+    private volatile Generation generation = new Generation(-1L);
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Returns the entries valid for the given resolution version, discarding older ones.
+     */
+    Generation generation(long version) {
+        Generation current = generation;
+        if (current.version == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = generation;
+            if (current.version != version) {
+                current = new Generation(version);
+                generation = current;
+            }
+            return current;
+        }
+    }
+
+    void clear() {
+        synchronized (this) {
+            generation = new Generation(-1L);
+        }
+    }
+
+    long getHitCount() {
+        return hitCount.get();
+    }
+
+    long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * The cached lookups and resolutions of one resolution version.
+     */
+    final class Generation {
+        private final long version;
+        private final ConcurrentMap<LookupKey, Set<Bean<?>>> beans = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Set<?>, Object> resolutions = new ConcurrentHashMap<>();
+
+        private Generation(long version) {
+            this.version = version;
+        }
+
+        /**
+         * @return the cached (unmodifiable) lookup result, or null on a miss
+         */
+        Set<Bean<?>> getBeans(LookupKey key) {
+            return count(beans.get(key));
+        }
+
+        Set<Bean<?>> putBeans(LookupKey key, Set<Bean<?>> result) {
+            Set<Bean<?>> unmodifiable = Collections.unmodifiableSet(result);
+            Set<Bean<?>> existing = beans.putIfAbsent(key, unmodifiable);
+            return existing != null ? existing : unmodifiable;
+        }
+
+        /**
+         * @return the cached resolution, or null on a miss
+         */
+        Resolution getResolution(Set<?> candidates) {
+            Object cached = count(resolutions.get(candidates));
+            if (cached == null) {
+                return null;
+            }
+            if (cached == NO_RESOLUTION) {
+                return Resolution.NONE;
+            }
+            return (Resolution) cached;
+        }
+
+        void putResolution(Set<?> candidates, Resolution resolution) {
+            resolutions.putIfAbsent(Collections.unmodifiableSet(new HashSet<>(candidates)),
+                    resolution == Resolution.NONE ? NO_RESOLUTION : resolution);
+        }
+
+        private <T> T count(T cached) {
+            if (cached != null) {
+                hitCount.incrementAndGet();
+            } else {
+                missCount.incrementAndGet();
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Outcome of a resolution: either the resolved bean (possibly none) or an ambiguity.
+     */
+    static final class Resolution {
+        static final Resolution NONE = new Resolution(null, null);
+
+        final Bean<?> bean;
+        final String ambiguity;
+
+        private Resolution(Bean<?> bean, String ambiguity) {
+            this.bean = bean;
+            this.ambiguity = ambiguity;
+        }
+
+        static Resolution of(Bean<?> bean) {
+            return bean == null ? NONE : new Resolution(bean, null);
+        }
+
+        static Resolution ambiguous(String message) {
+            return new Resolution(null, message);
+        }
+    }
+
+    /**
+     * Key of a typesafe lookup.
+     */
+    static final class LookupKey {
+        private final Object type;
+        private final Set<QualifierKey> qualifiers;
+        private final Object accessContext;
+        private final int hashCode;
+
+        /**
+         * @param type the required type
+         * @param qualifiers the required qualifiers, as extracted for resolution
+         * @param accessContext the class whose accessibility rules apply to the candidate beans
+         *                      (possibly null), or {@link #NO_INJECTION_POINT}
+         */
+        LookupKey(Type type, Set<Annotation> qualifiers, Object accessContext) {
+            this.type = typeKey(type);
+            Set<QualifierKey> qualifierKeys = new HashSet<>();
+            for (Annotation qualifier : qualifiers) {
+                qualifierKeys.add(new QualifierKey(qualifier));
+            }
+            this.qualifiers = qualifierKeys;
+            this.accessContext = accessContext;
+            this.hashCode = Objects.hash(this.type, this.qualifiers, accessContext);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LookupKey)) {
+                return false;
+            }
+            LookupKey other = (LookupKey) o;
+            return hashCode == other.hashCode
+                    && accessContext == other.accessContext
+                    && type.equals(other.type)
+                    && qualifiers.equals(other.qualifiers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class QualifierKey {
+        private final Annotation qualifier;
+        private final int hashCode;
+
+        QualifierKey(Annotation qualifier) {
+            this.qualifier = qualifier;
+            this.hashCode = AnnotationComparator.hashCode(qualifier);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof QualifierKey && AnnotationComparator.equals(qualifier, ((QualifierKey) o).qualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Returns a value with structural equality for the given type: classes stand for themselves,
+     * other types become lists of their components.
+     */
+    static Object typeKey(Type type) {
+        if (type == null || type instanceof Class) {
+            return type;
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            List<Object> key = new ArrayList<>();
+            key.add(ParameterizedType.class);
+            key.add(typeKey(parameterizedType.getOwnerType()));
+            key.add(typeKey(parameterizedType.getRawType()));
+            key.add(typeKeys(parameterizedType.getActualTypeArguments()));
+            return key;
+        }
+        if (type instanceof GenericArrayType) {
+            return Arrays.asList(GenericArrayType.class, typeKey(((GenericArrayType) type).getGenericComponentType()));
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            return Arrays.asList(WildcardType.class, typeKeys(wildcardType.getUpperBounds()),
+                    typeKeys(wildcardType.getLowerBounds()));
+        }
+        if (type instanceof TypeVariable) {
+            TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+            return Arrays.asList(TypeVariable.class, typeVariable.getGenericDeclaration(), typeVariable.getName());
+        }
+        return type;
+    }
+
+    private static List<Object> typeKeys(Type[] types) {
+        List<Object> keys = new ArrayList<>(types.length);
+        for (Type type : types) {
+            keys.add(typeKey(type));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,340 @@
+package com.threeamigos.common.util.interfaces.collections;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A prioritized Deque keyed by primitive {@code long} priorities, such as timestamps or deadlines.
+ * It has the same contract as {@link PriorityDeque}, with priorities widened from int to long:
+ * when polling, objects with higher priority are returned first.<br/>
+ * The default policy is FIFO.<br/>
+ * You can, however, filter objects for a given priority or poll them using a specific policy.<br/>
+ * To serve the earliest deadline first, use the negated deadline as the priority.
+ *
+ * @param <T> type of the objects stored in the deque
+ *
+ * @author Stefano Reksten
+ */
+public interface LongPriorityDeque<T> {
+
+    /**
+     * Sets the default policy for polling objects from the deque.
+     * The default policy is FIFO.
+     *
+     * @param policy the policy to set
+     */
+    void setPolicy(final @Nonnull PriorityDeque.Policy policy);
+
+    /**
+     * Gets the policy for polling objects from the deque.
+     *
+     * @return the policy
+     */
+    PriorityDeque.Policy getPolicy();
+
+    /**
+     * Adds an object to the deque with a given priority.
+     *
+     * @param t object to add
+     * @param priority priority of the object
+     */
+    void add(final @Nonnull T t, final long priority);
+
+    /**
+     * Adds all objects to the deque with a given priority.
+     *
+     * @param iterable objects to add
+     * @param priority priority of the objects
+     */
+    void addAll(final @Nonnull Collection<T> iterable, final long priority);
+
+    /**
+     * Retrieves, but does not remove, the head of the highest non-empty priority bucket using the default policy.
+     *
+     * @return the head of the highest non-empty priority bucket, or null if the deque is empty
+     */
+    @Nullable T peek();
+
+    /**
+     * Retrieves, but does not remove, the head of the highest non-empty priority bucket using a FIFO policy.
+     *
+     * @return the oldest object (first added) of the highest non-empty priority bucket, or null if the deque is empty
+     */
+    @Nullable T peekFifo();
+
+    /**
+     * Retrieves, but does not remove, the head of the highest non-empty priority bucket using a LIFO policy.
+     *
+     * @return the newest object (last added) of the highest non-empty priority bucket, or null if the deque is empty
+     */
+    @Nullable T peekLifo();
+
+    /**
+     * Retrieves and removes the head of the highest non-empty priority bucket using the default policy.
+     *
+     * @return the head of the highest non-empty priority bucket, or null if the deque is empty
+     */
+    @Nullable T poll();
+
+    /**
+     * Retrieves and removes the head of the highest non-empty priority bucket using a FIFO policy.
+     *
+     * @return the oldest object (first added) of the highest non-empty priority bucket, or null if the deque is empty
+     */
+    @Nullable T pollFifo();
+
+    /**
+     * Retrieves and removes the head of the highest non-empty priority bucket using a LIFO policy.
+     *
+     * @return the newest object (last added) of the highest non-empty priority bucket, or null if the deque is empty
+     */
+    @Nullable T pollLifo();
+
+    /**
+     * @return true if no objects are stored, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * @return total number of objects in the deque.
+     */
+    int size();
+
+    /**
+     * Tells if the deque contains the given object at any priority.
+     *
+     * @param t object to check
+     * @return true if the deque contains the given object at any priority, false otherwise.
+     */
+    boolean contains(final @Nullable T t);
+
+    /**
+     * Tells if the deque contains all objects in the given iterable whatever the priority.
+     *
+     * @param iterable an iterable of objects to check
+     * @return true if the deque contains all objects in the iterable whatever the priority, false otherwise.
+     */
+    boolean containsAll(final @Nonnull Collection<T> iterable);
+
+    /**
+     * Clears the deque.
+     */
+    void clear();
+
+    /**
+     * Clears all objects that satisfy the given filtering function.
+     *
+     * @param filteringFunction filtering function; if true, then the object is removed
+     */
+    void clear(final @Nonnull Function<T, Boolean>filteringFunction);
+
+    /**
+     * Removes an element from the highest non-empty priority bucket.
+     * @return true if the deque was modified as a result of the call, false otherwise.
+     */
+    boolean remove();
+
+    /**
+     * Removes the first occurrence of the specified element from this deque if it is present.
+     * @param t object to remove
+     * @return true if the deque contained the specified element.
+     */
+    boolean remove(final @Nullable T t);
+
+    /**
+     * Removes all objects from the deque whatever the priority.
+     * @param iterable an iterable of objects to remove.
+     * @return true if this deque changed as a result of the call.
+     */
+    boolean removeAll(final @Nonnull Collection<T> iterable);
+
+    /**
+     * Retains only the elements in this deque that are contained in the given priority bucket.
+     * @param iterable an iterable of objects to retain.
+     * @return true if this deque changed as a result of the call.
+     */
+    boolean retainAll(final @Nonnull Collection<T> iterable);
+
+    /**
+     * @return a list of all objects in the deque whatever the priority.
+     */
+    @Nonnull List<T> toList();
+
+    /**
+     * @return an iterator over all objects in the deque whatever the priority.
+     */
+    @Nonnull Iterator<T> iterator();
+
+    /**
+     * @return the maximum priority between all objects in the deque, or {@link Long#MIN_VALUE} if the deque is
+     * empty (as {@link Long#MIN_VALUE} is also a valid priority, check {@link #isEmpty()} when it matters).
+     */
+    long getHighestNotEmptyPriority();
+
+    /**
+     * Retrieves, but does not remove, the head of the given priority bucket using the default policy.
+     *
+     * @param priority priority of the bucket
+     * @return the head of the given priority bucket, or null if the bucket is empty
+     */
+    @Nullable T peek(final long priority);
+
+    /**
+     * Retrieves, but does not remove, the head of the given priority bucket using a FIFO policy.
+     *
+     * @param priority priority of the bucket
+     * @return the oldest object (first added) of the given priority bucket, or null if the bucket is empty
+     */
+    @Nullable T peekFifo(final long priority);
+
+    /**
+     * Retrieves, but does not remove, the head of the given priority bucket using a LIFO policy.
+     *
+     * @param priority priority of the bucket
+     * @return the newest object (last added) of the given priority bucket, or null if the bucket is empty
+     */
+    @Nullable T peekLifo(final long priority);
+
+    /**
+     * Retrieves and removes an object from the given priority bucket using the default policy.
+     *
+     * @param priority priority of the bucket
+     * @return the head of the given priority bucket, or null if the bucket is empty
+     */
+    @Nullable T poll(final long priority);
+
+    /**
+     * Retrieves and removes an object from the given priority bucket using a FIFO policy.
+     *
+     * @param priority priority of the object to retrieve
+     * @return the oldest object in the given priority bucket, or null if the bucket is empty
+     */
+    @Nullable T pollFifo(final long priority);
+
+    /**
+     * Retrieves and removes an object from the given priority bucket using a LIFO policy.
+     *
+     * @param priority priority of the object to retrieve
+     * @return the newest object in the given priority bucket, or null if the bucket is empty
+     */
+    @Nullable T pollLifo(final long priority);
+
+    /**
+     * Retrieves and removes up to {@code maxElements} objects from the given priority bucket using the default
+     * policy, in the order {@link #poll(long)} would return them.
+     *
+     * @param priority priority of the bucket
+     * @param maxElements maximum number of objects to retrieve
+     * @return the retrieved objects, empty if the bucket is empty
+     * @throws IllegalArgumentException if maxElements is negative
+     */
+    default @Nonnull List<T> pollBatch(final long priority, final int maxElements) {
+        if (maxElements < 0) {
+            throw new IllegalArgumentException("maxElements must be non-negative");
+        }
+        List<T> batch = new ArrayList<>();
+        T t;
+        while (batch.size() < maxElements && (t = poll(priority)) != null) {
+            batch.add(t);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns true if no objects are stored in the given priority bucket.
+     *
+     * @param priority priority of the objects to check
+     * @return true if no objects are stored in the given priority bucket, false otherwise
+     */
+    boolean isEmpty(final long priority);
+
+    /**
+     * Returns the number of objects in the given priority bucket.
+     *
+     * @param priority priority of the objects to count
+     * @return the number of objects in the given priority bucket
+     */
+    int size(final long priority);
+
+    /**
+     * Tells if the deque contains the given object at the given priority.
+     *
+     * @param t object to check
+     * @param priority priority of the object to check
+     * @return true if the deque contains the given object at the given priority, false otherwise.
+     */
+    boolean contains(final @Nullable T t, final long priority);
+
+    /**
+     * Tells if the deque contains all objects in the given iterable at the given priority.
+     *
+     * @param iterable an iterable of objects to check
+     * @param priority priority of the objects to check
+     * @return true if the deque contains all objects in the iterable at the given priority, false otherwise.
+     */
+    boolean containsAll(final @Nonnull Collection<T> iterable, final long priority);
+
+    /**
+     * Clears all objects with given priority.
+     *
+     * @param priority priority of objects to be removed
+     */
+    void clear(final long priority);
+
+    /**
+     * Clears all objects that satisfy the given filtering function.
+     *
+     * @param filteringFunction filtering function; if true, then the object is removed
+     * @param priority priority of objects to be removed
+     */
+    void clear(final @Nonnull Function<T, Boolean>filteringFunction, final long priority);
+
+    /**
+     * Removes an element from the given priority bucket.
+     * @param priority priority of the object to remove
+     * @return true if the bucket was modified as a result of the call, false otherwise.
+     */
+    boolean remove(final long priority);
+
+    /**
+     * Removes the first occurrence of the specified element from this deque if it is present for a given priority.
+     * @param t object to remove
+     * @param priority priority of the object to remove
+     * @return true if the deque contained the specified element.
+     */
+    boolean remove(final @Nullable T t, final long priority);
+
+    /**
+     * Removes all objects from the deque in the given priority bucket.
+     * @param iterable an iterable of objects to remove.
+     * @param priority priority of objects to remove.
+     * @return true if this deque changed as a result of the call.
+     */
+    boolean removeAll(final @Nonnull Collection<T> iterable, final long priority);
+
+    /**
+     * Retains only the elements in this deque that are contained in the given priority bucket.
+     * @param iterable an iterable of objects to retain.
+     * @param priority priority of objects to retain.
+     * @return true if this deque changed as a result of the call.
+     */
+    boolean retainAll(final @Nonnull Collection<T> iterable, final long priority);
+
+    /**
+     * @param priority priority of objects
+     * @return a list of all objects in the given priority bucket.
+     */
+    @Nonnull List<T> toList(final long priority);
+
+    /**
+     * @param priority priority of objects
+     * @return an iterator over all objects in the given priority bucket.
+     */
+    @Nonnull Iterator<T> iterator(final long priority);
+}
@@ -3,6 +3,7 @@ package com.threeamigos.common.util.interfaces.collections;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -225,6 +226,29 @@ public interface PriorityDeque<T> {
      */
     @Nullable T pollLifo(final int priority);
 
+    /**
+     * Retrieves and removes up to {@code maxElements} objects from the given priority bucket using the default
+     * policy, in the order {@link #poll(int)} would return them.<br/>
+     * Implementations take the whole batch in one go (thread-safe ones under a single lock acquisition);
+     * this default implementation calls {@link #poll(int)} repeatedly.
+     *
+     * @param priority priority of the bucket
+     * @param maxElements maximum number of objects to retrieve
+     * @return the retrieved objects, empty if the bucket is empty
+     * @throws IllegalArgumentException if maxElements is negative
+     */
+    default @Nonnull List<T> pollBatch(final int priority, final int maxElements) {
+        if (maxElements < 0) {
+            throw new IllegalArgumentException("maxElements must be non-negative");
+        }
+        List<T> batch = new ArrayList<>();
+        T t;
+        while (batch.size() < maxElements && (t = poll(priority)) != null) {
+            batch.add(t);
+        }
+        return batch;
+    }
+
     /**
      * Returns true if no objects are stored in the given priority bucket.
      *
@@ -9,6 +9,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -626,6 +628,95 @@ class BlockingPriorityDequeWrapperUnitTest {
             List<String> drainage = new ArrayList<>();
             assertThrows(IllegalArgumentException.class, () -> sut.drainTo(drainage, -1));
         }
+
+        @ParameterizedTest(name = "{0}")
+        @DisplayName("Should drain across priorities in priority order")
+        @MethodSource("com.threeamigos.common.util.implementations.collections.BlockingPriorityDequeWrapperUnitTest#createSut")
+        void shouldDrainAcrossPrioritiesInOrder(String sutName, PriorityDeque<String> priorityDeque) {
+            // Given
+            BlockingPriorityDequeWrapper<String> sut = new BlockingPriorityDequeWrapper<>(priorityDeque);
+            sut.add("low1", 1);
+            sut.add("high1", 5);
+            sut.add("low2", 1);
+            sut.add("high2", 5);
+            sut.add("mid", 3);
+            List<String> drainage = new ArrayList<>();
+            // When
+            int drained = sut.drainTo(drainage, 4);
+            // Then
+            assertEquals(4, drained);
+            assertEquals(Arrays.asList("high1", "high2", "mid", "low1"), drainage);
+            assertEquals(1, sut.size());
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @DisplayName("Should refuse to drain into itself")
+        @MethodSource("com.threeamigos.common.util.implementations.collections.BlockingPriorityDequeWrapperUnitTest#createSut")
+        void shouldRefuseToDrainIntoItself(String sutName, PriorityDeque<String> priorityDeque) {
+            BlockingPriorityDequeWrapper<String> sut = new BlockingPriorityDequeWrapper<>(priorityDeque);
+            assertThrows(IllegalArgumentException.class, () -> sut.drainTo(sut));
+        }
+    }
+
+    @Nested
+    @DisplayName("TakeBatch operations")
+    class TakeBatchOperations {
+
+        @ParameterizedTest(name = "{0}")
+        @DisplayName("Should take available elements up to the maximum in priority order")
+        @MethodSource("com.threeamigos.common.util.implementations.collections.BlockingPriorityDequeWrapperUnitTest#createSut")
+        void shouldTakeAvailableElements(String sutName, PriorityDeque<String> priorityDeque) throws InterruptedException {
+            // Given
+            BlockingPriorityDequeWrapper<String> sut = new BlockingPriorityDequeWrapper<>(priorityDeque);
+            sut.add("low", 1);
+            sut.add("high", 2);
+            sut.add("low2", 1);
+            // When
+            List<String> batch = sut.takeBatch(2, 1, TimeUnit.SECONDS);
+            // Then
+            assertEquals(Arrays.asList("high", "low"), batch);
+            assertEquals(Collections.singletonList("low2"), sut.takeBatch(10, 1, TimeUnit.SECONDS));
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @DisplayName("Should return an empty batch when the timeout elapses")
+        @MethodSource("com.threeamigos.common.util.implementations.collections.BlockingPriorityDequeWrapperUnitTest#createSut")
+        void shouldReturnEmptyBatchOnTimeout(String sutName, PriorityDeque<String> priorityDeque) throws InterruptedException {
+            BlockingPriorityDequeWrapper<String> sut = new BlockingPriorityDequeWrapper<>(priorityDeque);
+            assertTrue(sut.takeBatch(5, 10, TimeUnit.MILLISECONDS).isEmpty());
+            sut.add("test");
+            assertTrue(sut.takeBatch(0, 10, TimeUnit.MILLISECONDS).isEmpty());
+            assertEquals(1, sut.size());
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @DisplayName("Should wait for the first element")
+        @MethodSource("com.threeamigos.common.util.implementations.collections.BlockingPriorityDequeWrapperUnitTest#createSut")
+        void shouldWaitForFirstElement(String sutName, PriorityDeque<String> priorityDeque) throws InterruptedException {
+            BlockingPriorityDequeWrapper<String> sut = new BlockingPriorityDequeWrapper<>(priorityDeque);
+            Thread producer = new Thread(() -> {
+                try {
+                    Thread.sleep(100);
+                    sut.addAll(Arrays.asList("a", "b"));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            List<String> batch = sut.takeBatch(5, 5, TimeUnit.SECONDS);
+            producer.join();
+            assertFalse(batch.isEmpty());
+            assertEquals("a", batch.get(0));
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @DisplayName("Should validate arguments")
+        @MethodSource("com.threeamigos.common.util.implementations.collections.BlockingPriorityDequeWrapperUnitTest#createSut")
+        void shouldValidateArguments(String sutName, PriorityDeque<String> priorityDeque) {
+            BlockingPriorityDequeWrapper<String> sut = new BlockingPriorityDequeWrapper<>(priorityDeque);
+            assertThrows(IllegalArgumentException.class, () -> sut.takeBatch(-1, 1, TimeUnit.SECONDS));
+            assertThrows(IllegalArgumentException.class, () -> sut.takeBatch(1, 1, null));
+        }
     }
 
     @Nested
@@ -0,0 +1,200 @@
+package com.threeamigos.common.util.implementations.collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cache unit test - bulk operations")
+class CacheBulkUnitTest {
+
+    private static <K, V> Cache<K, V> cache(boolean concurrent) {
+        Cache.Builder<K, V> builder = Cache.<K, V>builder().maximumSize(100);
+        return concurrent ? builder.concurrent().build() : builder.build();
+    }
+
+    private static Map<String, Integer> lengths(Set<String> keys) {
+        Map<String, Integer> result = new HashMap<>();
+        for (String key : keys) {
+            result.put(key, key.length());
+        }
+        return result;
+    }
+
+    @ParameterizedTest(name = "concurrent = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Bulk operations reject null arguments")
+    void testNullArguments(boolean concurrent) {
+        Cache<String, Integer> cache = cache(concurrent);
+        assertThrows(NullPointerException.class, () -> cache.getAllPresent(null));
+        assertThrows(NullPointerException.class, () -> cache.getAllPresent(Arrays.asList("a", null)));
+        assertThrows(NullPointerException.class, () -> cache.computeAllIfAbsent(null, CacheBulkUnitTest::lengths));
+        assertThrows(NullPointerException.class, () -> cache.computeAllIfAbsent(Collections.singleton("a"), null));
+        assertThrows(NullPointerException.class, () -> cache.computeAllIfAbsent(Collections.singleton("a"), keys -> null));
+        assertEquals(0, cache.size());
+    }
+
+    @ParameterizedTest(name = "concurrent = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("getAllPresent returns only cached keys and counts hits and misses")
+    void testGetAllPresent(boolean concurrent) {
+        Cache<String, Integer> cache = cache(concurrent);
+        cache.computeIfAbsent("a", () -> 1);
+        cache.computeIfAbsent("nothing", () -> null);
+
+        Map<String, Integer> present = cache.getAllPresent(Arrays.asList("b", "nothing", "a", "a"));
+
+        assertEquals(Arrays.asList("nothing", "a"), new ArrayList<>(present.keySet()));
+        assertNull(present.get("nothing"));
+        assertEquals(1, present.get("a"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertThrows(UnsupportedOperationException.class, () -> present.put("c", 3));
+    }
+
+    @ParameterizedTest(name = "concurrent = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("computeAllIfAbsent loads all misses with a single call")
+    void testComputeAllIfAbsent(boolean concurrent) {
+        Cache<String, Integer> cache = cache(concurrent);
+        cache.computeIfAbsent("bb", () -> 20);
+        List<Set<String>> batches = new ArrayList<>();
+
+        Map<String, Integer> values = cache.computeAllIfAbsent(Arrays.asList("a", "bb", "ccc", "a"), keys -> {
+            batches.add(keys);
+            return lengths(keys);
+        });
+
+        assertEquals(Arrays.asList("a", "bb", "ccc"), new ArrayList<>(values.keySet()));
+        assertEquals(Arrays.asList(1, 20, 3), new ArrayList<>(values.values()));
+        assertEquals(Collections.singletonList(Collections.unmodifiableSet(
+                new LinkedHashSet<>(Arrays.asList("a", "ccc")))), batches);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, cache.size());
+
+        cache.computeAllIfAbsent(Arrays.asList("a", "ccc"), keys -> {
+            throw new AssertionError("Nothing should be loaded");
+        });
+        assertEquals(3, cache.getHitCount());
+    }
+
+    @ParameterizedTest(name = "concurrent = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Keys missing from the loader result are cached as null, extra keys are ignored")
+    void testPartialLoaderResult(boolean concurrent) {
+        Cache<String, Integer> cache = cache(concurrent);
+        Map<String, Integer> values = cache.computeAllIfAbsent(Arrays.asList("a", "b"), keys -> {
+            Map<String, Integer> result = new HashMap<>();
+            result.put("a", 1);
+            result.put("extra", 99);
+            return result;
+        });
+
+        assertEquals(2, values.size());
+        assertEquals(1, values.get("a"));
+        assertTrue(values.containsKey("b"));
+        assertNull(values.get("b"));
+        assertEquals(2, cache.size());
+        assertNull(cache.computeIfAbsent("b", () -> 2));
+        assertEquals(0, cache.getAllPresent(Collections.singleton("extra")).size());
+    }
+
+    @ParameterizedTest(name = "concurrent = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("A failing loader caches nothing from the batch")
+    void testLoaderException(boolean concurrent) {
+        Cache<String, Integer> cache = cache(concurrent);
+        assertThrows(IllegalStateException.class, () -> cache.computeAllIfAbsent(Arrays.asList("a", "b"), keys -> {
+            throw new IllegalStateException("load failed");
+        }));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.computeIfAbsent("a", () -> 1));
+    }
+
+    @ParameterizedTest(name = "concurrent = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Racing batches compute every key only once")
+    void testConcurrentBatchesLoadOnce(boolean concurrent) throws Exception {
+        Cache<Integer, Integer> cache = cache(concurrent);
+        int threads = 8;
+        List<Integer> loadedKeys = new CopyOnWriteArrayList<>();
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            keys.add(i);
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Map<Integer, Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                List<Integer> shuffled = new ArrayList<>(keys);
+                Collections.shuffle(shuffled);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.computeAllIfAbsent(shuffled, batch -> {
+                        Map<Integer, Integer> result = new HashMap<>();
+                        for (Integer key : batch) {
+                            loadedKeys.add(key);
+                            result.put(key, key * 10);
+                        }
+                        return result;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Map<Integer, Integer>> future : futures) {
+                Map<Integer, Integer> values = future.get(10, TimeUnit.SECONDS);
+                assertEquals(keys.size(), values.size());
+                for (Integer key : keys) {
+                    assertEquals(key * 10, values.get(key));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(keys.size(), loadedKeys.size());
+        assertEquals(keys.size(), cache.size());
+    }
+
+    @ParameterizedTest(name = "concurrent = {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("A batch larger than the maximum size keeps the cache within its bound")
+    void testBatchLargerThanMaximum(boolean concurrent) {
+        Cache<Integer, Integer> cache = cache(concurrent);
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            keys.add(i);
+        }
+        AtomicInteger calls = new AtomicInteger();
+        Map<Integer, Integer> values = cache.computeAllIfAbsent(keys, batch -> {
+            calls.incrementAndGet();
+            Map<Integer, Integer> result = new HashMap<>();
+            for (Integer key : batch) {
+                result.put(key, key);
+            }
+            return result;
+        });
+        assertEquals(250, values.size());
+        assertEquals(1, calls.get());
+        assertTrue(cache.size() <= 100);
+        assertEquals(150, cache.getEvictionCount());
+    }
+}
@@ -0,0 +1,233 @@
+package com.threeamigos.common.util.implementations.collections;
+
+import com.threeamigos.common.util.implementations.concurrency.ParallelTaskExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cache unit test - expiry and refresh")
+class CacheExpiryUnitTest {
+
+    private final AtomicLong nanos = new AtomicLong(0);
+    private ParallelTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = ParallelTaskExecutor.createExecutor(1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+        nanos.addAndGet(unit.toNanos(duration));
+    }
+
+    @Test
+    @DisplayName("Builder validates durations")
+    void testBuilderValidatesDurations() {
+        assertThrows(IllegalArgumentException.class, () -> Cache.builder().expireAfterWrite(-1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> Cache.builder().expireAfterAccess(-1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> Cache.builder().refreshAfterWrite(-1, TimeUnit.SECONDS));
+        assertThrows(NullPointerException.class, () -> Cache.builder().expireAfterWrite(1, null));
+        assertThrows(NullPointerException.class, () -> Cache.builder().ticker(null));
+        assertTrue(Cache.builder().expireAfterWrite(1, TimeUnit.SECONDS).build().isConcurrent());
+    }
+
+    @Test
+    @DisplayName("expireAfterWrite recomputes entries older than the duration")
+    void testExpireAfterWrite() {
+        Cache<String, Integer> cache = Cache.<String, Integer>builder()
+                .expireAfterWrite(10, TimeUnit.SECONDS)
+                .ticker(nanos::get)
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(1, cache.computeIfAbsent("key", calls::incrementAndGet));
+        advance(9, TimeUnit.SECONDS);
+        assertEquals(1, cache.computeIfAbsent("key", calls::incrementAndGet));
+        advance(1, TimeUnit.SECONDS);
+        assertEquals(2, cache.computeIfAbsent("key", calls::incrementAndGet));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("expireAfterAccess keeps entries that are read within the duration")
+    void testExpireAfterAccess() {
+        Cache<String, Integer> cache = Cache.<String, Integer>builder()
+                .expireAfterAccess(10, TimeUnit.SECONDS)
+                .ticker(nanos::get)
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.computeIfAbsent("key", calls::incrementAndGet);
+        for (int i = 0; i < 5; i++) {
+            advance(8, TimeUnit.SECONDS);
+            assertEquals(1, cache.computeIfAbsent("key", calls::incrementAndGet));
+        }
+        advance(10, TimeUnit.SECONDS);
+        assertEquals(2, cache.computeIfAbsent("key", calls::incrementAndGet));
+    }
+
+    @Test
+    @DisplayName("Both policies together expire at the earliest deadline")
+    void testBothPolicies() {
+        Cache<String, Integer> cache = Cache.<String, Integer>builder()
+                .expireAfterWrite(30, TimeUnit.SECONDS)
+                .expireAfterAccess(10, TimeUnit.SECONDS)
+                .ticker(nanos::get)
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.computeIfAbsent("key", calls::incrementAndGet);
+        advance(8, TimeUnit.SECONDS);
+        cache.computeIfAbsent("key", calls::incrementAndGet);
+        advance(8, TimeUnit.SECONDS);
+        cache.computeIfAbsent("key", calls::incrementAndGet);
+        advance(8, TimeUnit.SECONDS);
+        cache.computeIfAbsent("key", calls::incrementAndGet);
+        assertEquals(1, calls.get());
+        advance(8, TimeUnit.SECONDS); // 32 seconds after the write
+        assertEquals(2, cache.computeIfAbsent("key", calls::incrementAndGet));
+    }
+
+    @Test
+    @DisplayName("The timer wheel reclaims expired entries on writes and cleanUp")
+    void testTimerWheelReclaimsExpiredEntries() {
+        Cache<Integer, Integer> cache = Cache.<Integer, Integer>builder()
+                .expireAfterWrite(5, TimeUnit.MINUTES)
+                .ticker(nanos::get)
+                .build();
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+            cache.computeIfAbsent(i, () -> value);
+            advance(1, TimeUnit.SECONDS);
+        }
+        assertEquals(100, cache.size());
+
+        advance(4, TimeUnit.MINUTES);
+        cache.cleanUp();
+        assertTrue(cache.size() < 100);
+        assertTrue(cache.size() > 0);
+
+        advance(10, TimeUnit.MINUTES);
+        cache.computeIfAbsent(1_000, () -> 1_000);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Expiry works across every wheel level")
+    void testLongDurations() {
+        Cache<String, Integer> cache = Cache.<String, Integer>builder()
+                .expireAfterWrite(3, TimeUnit.DAYS)
+                .ticker(nanos::get)
+                .build();
+        cache.computeIfAbsent("key", () -> 1);
+        for (int hour = 0; hour < 71; hour++) {
+            advance(1, TimeUnit.HOURS);
+            cache.cleanUp();
+        }
+        assertEquals(1, cache.size());
+        advance(2, TimeUnit.HOURS);
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("refreshAfterWrite serves the stale value while reloading in the background")
+    void testRefreshAfterWrite() throws InterruptedException {
+        Cache<String, Integer> cache = Cache.<String, Integer>builder()
+                .refreshAfterWrite(1, TimeUnit.MINUTES)
+                .refreshExecutor(executor)
+                .ticker(nanos::get)
+                .build();
+        AtomicInteger version = new AtomicInteger();
+
+        assertEquals(1, cache.computeIfAbsent("key", version::incrementAndGet));
+        advance(2, TimeUnit.MINUTES);
+        assertEquals(1, cache.computeIfAbsent("key", version::incrementAndGet));
+
+        executor.awaitCompletion();
+        assertEquals(2, cache.computeIfAbsent("key", version::incrementAndGet));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Only one refresh runs at a time for an entry")
+    void testSingleRefreshInFlight() throws InterruptedException {
+        Cache<String, Integer> cache = Cache.<String, Integer>builder()
+                .refreshAfterWrite(1, TimeUnit.MINUTES)
+                .refreshExecutor(executor)
+                .ticker(nanos::get)
+                .build();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reloads = new AtomicInteger();
+
+        cache.computeIfAbsent("key", () -> 0);
+        advance(2, TimeUnit.MINUTES);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, cache.computeIfAbsent("key", () -> {
+                reloads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1;
+            }));
+        }
+        release.countDown();
+        executor.awaitCompletion();
+        assertEquals(1, reloads.get());
+        assertEquals(1, cache.computeIfAbsent("key", () -> 2));
+    }
+
+    @Test
+    @DisplayName("A failed refresh keeps the current value and is retried later")
+    void testFailedRefresh() throws InterruptedException {
+        Cache<String, Integer> cache = Cache.<String, Integer>builder()
+                .refreshAfterWrite(1, TimeUnit.MINUTES)
+                .refreshExecutor(executor)
+                .ticker(nanos::get)
+                .build();
+        cache.computeIfAbsent("key", () -> 1);
+        advance(2, TimeUnit.MINUTES);
+
+        assertEquals(1, cache.computeIfAbsent("key", () -> {
+            throw new IllegalStateException("reload failed");
+        }));
+        executor.awaitCompletion();
+        assertEquals(1, cache.computeIfAbsent("key", () -> 2));
+        executor.awaitCompletion();
+        assertEquals(2, cache.computeIfAbsent("key", () -> 3));
+    }
+
+    @Test
+    @DisplayName("A refresh rejected by a shut down executor keeps the current value")
+    void testRefreshAfterExecutorShutdown() {
+        Cache<String, Integer> cache = Cache.<String, Integer>builder()
+                .refreshAfterWrite(1, TimeUnit.MINUTES)
+                .refreshExecutor(executor)
+                .ticker(nanos::get)
+                .build();
+        cache.computeIfAbsent("key", () -> 1);
+        advance(2, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        assertEquals(1, cache.computeIfAbsent("key", () -> 2));
+        assertEquals(1, cache.computeIfAbsent("key", () -> 2));
+    }
+}
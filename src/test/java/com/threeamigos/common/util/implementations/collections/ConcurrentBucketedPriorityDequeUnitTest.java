@@ -0,0 +1,154 @@
+package com.threeamigos.common.util.implementations.collections;
+
+import com.threeamigos.common.util.interfaces.collections.PriorityDeque;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrentBucketedPriorityDeque unit tests")
+class ConcurrentBucketedPriorityDequeUnitTest {
+
+    @Test
+    @DisplayName("Constructors should validate bounds and policy")
+    void constructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentBucketedPriorityDeque<String>(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentBucketedPriorityDeque<String>(ConcurrentBucketedPriorityDeque.MAX_PRIORITY + 1));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentBucketedPriorityDeque<String>(3, null));
+        assertEquals(PriorityDeque.Policy.LIFO, new ConcurrentBucketedPriorityDeque<String>(3, PriorityDeque.Policy.LIFO).getPolicy());
+
+        PriorityDeque<String> sut = new ConcurrentBucketedPriorityDeque<>();
+        sut.add("a", ConcurrentBucketedPriorityDeque.MAX_PRIORITY);
+        assertEquals(ConcurrentBucketedPriorityDeque.MAX_PRIORITY, sut.getHighestNotEmptyPriority());
+    }
+
+    @Test
+    @DisplayName("Highest priority should track polls across buckets")
+    void highestPriorityTracksPolls() {
+        PriorityDeque<String> sut = new ConcurrentBucketedPriorityDeque<>(31);
+        sut.add("low", 0);
+        sut.add("top", 31);
+        sut.add("mid", 16);
+        assertEquals(31, sut.getHighestNotEmptyPriority());
+        assertEquals("top", sut.poll());
+        assertEquals(16, sut.getHighestNotEmptyPriority());
+        assertEquals("mid", sut.poll());
+        assertEquals("low", sut.poll());
+        assertEquals(-1, sut.getHighestNotEmptyPriority());
+        assertNull(sut.poll());
+        assertEquals(0, sut.size());
+    }
+
+    @Test
+    @DisplayName("Producers and consumers should exchange every element exactly once")
+    void multiProducerMultiConsumer() throws Exception {
+        ConcurrentBucketedPriorityDeque<Integer> sut = new ConcurrentBucketedPriorityDeque<>(7);
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 20_000;
+        int total = producers * perProducer;
+        ExecutorService pool = Executors.newFixedThreadPool(producers + consumers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger produced = new AtomicInteger();
+        ConcurrentLinkedQueue<Integer> polled = new ConcurrentLinkedQueue<>();
+
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    int value = base + i;
+                    sut.add(value, value % 8);
+                    produced.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            final boolean fifo = c % 2 == 0;
+            pool.submit(() -> {
+                start.await();
+                while (produced.get() < total || !sut.isEmpty()) {
+                    Integer value = fifo ? sut.pollFifo() : sut.pollLifo();
+                    if (value != null) {
+                        polled.add(value);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(total, polled.size());
+        assertEquals(total, new HashSet<>(polled).size());
+        assertTrue(sut.isEmpty());
+        assertEquals(0, sut.size());
+        assertEquals(-1, sut.getHighestNotEmptyPriority());
+    }
+
+    @Test
+    @DisplayName("A poll should never miss an element present for its whole duration")
+    void pollDoesNotMissPresentElements() throws Exception {
+        ConcurrentBucketedPriorityDeque<Integer> sut = new ConcurrentBucketedPriorityDeque<>(3);
+        sut.add(-1, 0); // stays until the end, while the other buckets churn and their bits flip
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger nullPolls = new AtomicInteger();
+        for (int t = 0; t < 4; t++) {
+            final int priority = 1 + t % 3;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20_000; i++) {
+                    sut.add(i, priority);
+                    sut.poll(priority);
+                    if (sut.peek() == null) {
+                        nullPolls.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(0, nullPolls.get());
+        assertEquals(-1, sut.pollFifo(0));
+    }
+
+    @Test
+    @DisplayName("Bulk operations should keep size and mask consistent")
+    void bulkOperationsKeepCountsConsistent() {
+        ConcurrentBucketedPriorityDeque<String> sut = new ConcurrentBucketedPriorityDeque<>(3);
+        List<String> values = new ArrayList<>();
+        Collections.addAll(values, "a", "b", "c", "d");
+        sut.addAll(values, 2);
+        sut.add("e", 3);
+        assertEquals(5, sut.size());
+
+        assertTrue(sut.retainAll(Collections.singletonList("b"), 2));
+        assertEquals(2, sut.size());
+        sut.clear(s -> s.equals("e"));
+        assertEquals(2, sut.getHighestNotEmptyPriority());
+        Set<String> remaining = new HashSet<>(sut.toList());
+        assertEquals(Collections.singleton("b"), remaining);
+        sut.clear();
+        assertTrue(sut.isEmpty());
+        assertEquals(0, sut.size());
+        assertEquals(-1, sut.getHighestNotEmptyPriority());
+    }
+}
@@ -0,0 +1,359 @@
+package com.threeamigos.common.util.implementations.collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cache unit test - concurrent mode")
+class ConcurrentCacheUnitTest {
+
+    private static <K, V> Cache<K, V> concurrentCache(int maximumSize) {
+        return Cache.<K, V>builder().maximumSize(maximumSize).concurrent().build();
+    }
+
+    @Test
+    @DisplayName("Builder creates a concurrent cache")
+    void testBuilderCreatesConcurrentCache() {
+        assertTrue(concurrentCache(10).isConcurrent());
+        assertFalse(new Cache<String, String>().isConcurrent());
+    }
+
+    @Test
+    @DisplayName("Builder validates settings")
+    void testBuilderValidatesSettings() {
+        assertThrows(IllegalArgumentException.class, () -> Cache.builder().maximumSize(0).build());
+        assertThrows(IllegalArgumentException.class, () -> Cache.builder().initialCapacity(0).build());
+        assertThrows(IllegalArgumentException.class, () -> Cache.builder().loadFactor(1f).build());
+    }
+
+    @Test
+    @DisplayName("computeIfAbsent caches values and counts hits and misses")
+    void testComputeIfAbsent() {
+        Cache<String, String> cache = concurrentCache(10);
+        assertEquals("value1", cache.computeIfAbsent("key1", () -> "value1"));
+        assertEquals("value1", cache.computeIfAbsent("key1", () -> "value2"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getCacheHitRate());
+    }
+
+    @Test
+    @DisplayName("Null values are cached")
+    void testNullValues() {
+        Cache<String, String> cache = concurrentCache(10);
+        AtomicInteger calls = new AtomicInteger();
+        assertNull(cache.computeIfAbsent("key", () -> {
+            calls.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.computeIfAbsent("key", () -> {
+            calls.incrementAndGet();
+            return "other";
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Size never exceeds the maximum after insertion")
+    void testBoundedSize() {
+        Cache<Integer, Integer> cache = concurrentCache(100);
+        for (int i = 0; i < 1_000; i++) {
+            final int value = i;
+            cache.computeIfAbsent(i, () -> value);
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    @DisplayName("CLOCK eviction gives referenced entries a second chance")
+    void testClockSecondChance() {
+        Cache<Integer, String> cache = concurrentCache(3);
+        cache.computeIfAbsent(1, () -> "value1");
+        cache.computeIfAbsent(2, () -> "value2");
+        cache.computeIfAbsent(3, () -> "value3");
+        cache.computeIfAbsent(1, () -> "value1"); // marks key 1 as referenced
+
+        cache.computeIfAbsent(4, () -> "value4"); // should evict key 2, the oldest unreferenced
+
+        AtomicInteger calls = new AtomicInteger();
+        cache.computeIfAbsent(1, () -> {
+            calls.incrementAndGet();
+            return "value1-new";
+        });
+        assertEquals(0, calls.get());
+        cache.computeIfAbsent(2, () -> {
+            calls.incrementAndGet();
+            return "value2-new";
+        });
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("invalidate, invalidateAll and clear remove entries")
+    void testInvalidation() {
+        Cache<Integer, String> cache = concurrentCache(10);
+        for (int i = 0; i < 6; i++) {
+            final int value = i;
+            cache.computeIfAbsent(i, () -> "value" + value);
+        }
+        cache.invalidate(0);
+        assertEquals(5, cache.size());
+        cache.invalidateAll(key -> key % 2 == 0);
+        assertEquals(3, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Repeated invalidation does not grow the cache beyond its bound")
+    void testInvalidationChurn() {
+        Cache<Integer, Integer> cache = concurrentCache(5);
+        for (int i = 0; i < 10_000; i++) {
+            final int value = i;
+            cache.computeIfAbsent(i % 7, () -> value);
+            cache.invalidate(i % 7);
+        }
+        for (int i = 0; i < 20; i++) {
+            final int value = i;
+            cache.computeIfAbsent(i, () -> value);
+        }
+        assertEquals(5, cache.size());
+    }
+
+    @Test
+    @DisplayName("Concurrent callers for the same key compute it only once")
+    void testSingleComputationPerKey() throws InterruptedException {
+        Cache<String, String> cache = concurrentCache(10);
+        AtomicInteger computationCount = new AtomicInteger(0);
+        int threadCount = 10;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                try {
+                    cache.computeIfAbsent("sameKey", () -> {
+                        computationCount.incrementAndGet();
+                        try {
+                            Thread.sleep(10);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return "value";
+                    });
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(1, computationCount.get());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(9, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("A slow computation does not block computations of other keys")
+    void testSlowComputationDoesNotBlockOtherKeys() throws Exception {
+        Cache<String, String> cache = concurrentCache(10);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> slow = executor.submit(() -> cache.computeIfAbsent("slow", () -> {
+                slowStarted.countDown();
+                try {
+                    releaseSlow.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slowValue";
+            }));
+            assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+
+            Future<String> fast = executor.submit(() -> cache.computeIfAbsent("fast", () -> "fastValue"));
+            assertEquals("fastValue", fast.get(5, TimeUnit.SECONDS));
+            assertFalse(slow.isDone());
+
+            releaseSlow.countDown();
+            assertEquals("slowValue", slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            releaseSlow.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Re-entrant computation of the same key does not deadlock")
+    void testReentrantComputation() {
+        Cache<String, String> cache = concurrentCache(10);
+        String result = cache.computeIfAbsent("key",
+                () -> "outer-" + cache.computeIfAbsent("key", () -> "inner"));
+        assertEquals("outer-inner", result);
+        assertEquals("outer-inner", cache.computeIfAbsent("key", () -> "other"));
+    }
+
+    @Test
+    @DisplayName("Supplier exception propagates and nothing is cached")
+    void testSupplierException() {
+        Cache<String, String> cache = concurrentCache(10);
+        assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent("key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, cache.size());
+        assertEquals("value", cache.computeIfAbsent("key", () -> "value"));
+    }
+
+    @Test
+    @DisplayName("Concurrent mixed access keeps the cache consistent")
+    void testConcurrentMixedAccess() throws InterruptedException {
+        Cache<Integer, Integer> cache = concurrentCache(50);
+        int threadCount = 8;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        AtomicInteger wrongValues = new AtomicInteger();
+
+        for (int t = 0; t < threadCount; t++) {
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < 10_000; i++) {
+                        int key = i % 200;
+                        Integer value = cache.computeIfAbsent(key, () -> key * 2);
+                        if (value != key * 2) {
+                            wrongValues.incrementAndGet();
+                        }
+                        if (i % 97 == 0) {
+                            cache.invalidate(key);
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(0, wrongValues.get());
+        assertTrue(cache.size() <= 50);
+        assertEquals(threadCount * 10_000L, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Builder rejects inconsistent weight settings")
+    void testBuilderRejectsInconsistentWeightSettings() {
+        assertThrows(IllegalStateException.class, () -> Cache.builder().maximumWeight(10).build());
+        assertThrows(IllegalStateException.class,
+                () -> Cache.<String, String>builder().weigher((k, v) -> 1).build());
+        assertThrows(IllegalStateException.class, () -> Cache.<String, String>builder()
+                .maximumSize(10).maximumWeight(10).weigher((k, v) -> 1).build());
+        assertThrows(IllegalArgumentException.class, () -> Cache.builder().maximumWeight(-1));
+        assertTrue(Cache.builder().tinyLfuAdmission().build().isConcurrent());
+    }
+
+    @Test
+    @DisplayName("Evictions are counted, invalidations are not")
+    void testEvictionCount() {
+        Cache<Integer, Integer> cache = concurrentCache(10);
+        for (int i = 0; i < 25; i++) {
+            final int value = i;
+            cache.computeIfAbsent(i, () -> value);
+        }
+        assertEquals(15, cache.getEvictionCount());
+        cache.clear();
+        assertEquals(15, cache.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Weight-bounded cache keeps the total weight within the maximum")
+    void testMaximumWeight() {
+        Cache<Integer, String> cache = Cache.<Integer, String>builder()
+                .maximumWeight(20)
+                .weigher((key, value) -> value.length())
+                .build();
+        cache.computeIfAbsent(1, () -> "0123456789"); // weight 10
+        cache.computeIfAbsent(2, () -> "01234");      // weight 5
+        cache.computeIfAbsent(3, () -> "01234");      // weight 5
+        assertEquals(3, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+
+        cache.computeIfAbsent(4, () -> "0123456789"); // weight 10, evicts the oldest entry
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Entries heavier than the maximum weight are returned but not cached")
+    void testOverweightEntry() {
+        Cache<Integer, String> cache = Cache.<Integer, String>builder()
+                .maximumWeight(5)
+                .weigher((key, value) -> value.length())
+                .build();
+        assertEquals("0123456789", cache.computeIfAbsent(1, () -> "0123456789"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Negative weights are rejected")
+    void testNegativeWeight() {
+        Cache<Integer, String> cache = Cache.<Integer, String>builder()
+                .maximumWeight(5)
+                .weigher((key, value) -> -1)
+                .build();
+        assertThrows(IllegalArgumentException.class, () -> cache.computeIfAbsent(1, () -> "value"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("W-TinyLFU admission keeps hot entries among a stream of one-off keys")
+    void testTinyLfuResistsOneOffKeys() {
+        Cache<Integer, Integer> cache = Cache.<Integer, Integer>builder()
+                .maximumSize(100)
+                .tinyLfuAdmission()
+                .build();
+        assertTrue(hotKeyHitRate(cache) > 0.9);
+    }
+
+    @Test
+    @DisplayName("Plain CLOCK eviction lets one-off keys flush out hot entries")
+    void testClockIsFlushedByOneOffKeys() {
+        assertTrue(hotKeyHitRate(concurrentCache(100)) < 0.5);
+    }
+
+    /**
+     * Accesses 50 hot keys round-robin, interleaving each access with 5 keys that are
+     * never seen again, and returns the hit rate of the hot keys in the second half.
+     */
+    private static double hotKeyHitRate(Cache<Integer, Integer> cache) {
+        int oneOffKey = 1_000;
+        long hotHits = 0;
+        int iterations = 20_000;
+        for (int i = 0; i < iterations; i++) {
+            final int hotKey = i % 50;
+            long missesBefore = cache.getMissCount();
+            cache.computeIfAbsent(hotKey, () -> hotKey);
+            if (i >= iterations / 2 && cache.getMissCount() == missesBefore) {
+                hotHits++;
+            }
+            for (int j = 0; j < 5; j++) {
+                final int value = oneOffKey++;
+                cache.computeIfAbsent(value, () -> value);
+            }
+        }
+        return (double) hotHits / (iterations / 2);
+    }
+}
@@ -0,0 +1,241 @@
+package com.threeamigos.common.util.implementations.collections;
+
+import com.threeamigos.common.util.interfaces.collections.LongPriorityDeque;
+import com.threeamigos.common.util.interfaces.collections.PriorityDeque.Policy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GeneralPurposeLongPriorityDeque unit tests")
+class GeneralPurposeLongPriorityDequeUnitTest {
+
+    @Test
+    @DisplayName("Default policy should be FIFO and null policy rejected")
+    void policy() {
+        LongPriorityDeque<String> sut = new GeneralPurposeLongPriorityDeque<>();
+        assertEquals(Policy.FIFO, sut.getPolicy());
+        assertEquals(Policy.LIFO, new GeneralPurposeLongPriorityDeque<String>(Policy.LIFO).getPolicy());
+        assertThrows(IllegalArgumentException.class, () -> sut.setPolicy(null));
+        assertThrows(IllegalArgumentException.class, () -> new GeneralPurposeLongPriorityDeque<String>(null));
+    }
+
+    @Test
+    @DisplayName("Empty deque behavior")
+    void emptyDeque() {
+        LongPriorityDeque<String> sut = new GeneralPurposeLongPriorityDeque<>();
+        assertTrue(sut.isEmpty());
+        assertEquals(0, sut.size());
+        assertNull(sut.peek());
+        assertNull(sut.poll());
+        assertNull(sut.pollLifo(42L));
+        assertEquals(Long.MIN_VALUE, sut.getHighestNotEmptyPriority());
+        assertThrows(NoSuchElementException.class, sut::remove);
+        assertThrows(NoSuchElementException.class, () -> sut.remove(42L));
+        assertTrue(sut.toList(42L).isEmpty());
+        assertFalse(sut.iterator().hasNext());
+    }
+
+    @Test
+    @DisplayName("Null arguments should be rejected")
+    void nullArguments() {
+        LongPriorityDeque<String> sut = new GeneralPurposeLongPriorityDeque<>();
+        assertThrows(IllegalArgumentException.class, () -> sut.add(null, 1L));
+        assertThrows(IllegalArgumentException.class, () -> sut.addAll(null, 1L));
+        assertThrows(IllegalArgumentException.class, () -> sut.addAll(Arrays.asList("a", null), 1L));
+        assertThrows(IllegalArgumentException.class, () -> sut.clear((Function<String, Boolean>) null));
+        assertTrue(sut.isEmpty());
+        assertFalse(sut.contains(null));
+        assertFalse(sut.remove(null));
+    }
+
+    @Test
+    @DisplayName("Polls should follow priority order over the whole long range")
+    void pollsFollowLongPriorities() {
+        LongPriorityDeque<String> sut = new GeneralPurposeLongPriorityDeque<>();
+        sut.add("min", Long.MIN_VALUE);
+        sut.add("max", Long.MAX_VALUE);
+        sut.add("epoch", 1_700_000_000_000L);
+        sut.add("negative", -5L);
+        sut.add("epoch2", 1_700_000_000_000L);
+
+        assertEquals(Long.MAX_VALUE, sut.getHighestNotEmptyPriority());
+        assertEquals(Arrays.asList("max", "epoch", "epoch2", "negative", "min"), sut.toList());
+        assertEquals("max", sut.poll());
+        assertEquals("epoch2", sut.pollLifo());
+        assertEquals("epoch", sut.pollFifo());
+        assertEquals("negative", sut.poll());
+        assertEquals(Long.MIN_VALUE, sut.getHighestNotEmptyPriority());
+        assertEquals("min", sut.poll());
+        assertTrue(sut.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Negated deadlines should serve the earliest deadline first")
+    void earliestDeadlineFirst() {
+        LongPriorityDeque<String> sut = new GeneralPurposeLongPriorityDeque<>();
+        sut.add("later", -2_000L);
+        sut.add("sooner", -1_000L);
+        assertEquals("sooner", sut.poll());
+        assertEquals("later", sut.poll());
+    }
+
+    @Test
+    @DisplayName("Per-priority operations should honor the policy")
+    void perPriorityOperations() {
+        LongPriorityDeque<String> sut = new GeneralPurposeLongPriorityDeque<>();
+        sut.addAll(Arrays.asList("a", "b", "c"), 10L);
+        sut.add("z", 20L);
+
+        assertEquals(3, sut.size(10L));
+        assertFalse(sut.isEmpty(10L));
+        assertTrue(sut.isEmpty(11L));
+        assertEquals("a", sut.peek(10L));
+        assertEquals("c", sut.peekLifo(10L));
+        sut.setPolicy(Policy.LIFO);
+        assertEquals("c", sut.poll(10L));
+        assertEquals(Arrays.asList("b", "a"), toList(sut.iterator(10L)));
+        assertEquals(Arrays.asList("a", "b"), sut.toList(10L));
+        assertTrue(sut.contains("a", 10L));
+        assertFalse(sut.contains("a", 20L));
+        assertTrue(sut.containsAll(Arrays.asList("a", "b"), 10L));
+
+        assertTrue(sut.remove("a", 10L));
+        assertFalse(sut.remove("a", 10L));
+        sut.clear(10L);
+        assertTrue(sut.isEmpty(10L));
+        assertEquals(1, sut.size());
+        assertEquals(20L, sut.getHighestNotEmptyPriority());
+    }
+
+    @Test
+    @DisplayName("Bulk removals should keep buckets and counts consistent")
+    void bulkRemovals() {
+        LongPriorityDeque<String> sut = new GeneralPurposeLongPriorityDeque<>();
+        sut.addAll(Arrays.asList("a", "b", "a", "c"), 1L);
+        sut.addAll(Arrays.asList("a", "d"), 2L);
+
+        assertTrue(sut.removeAll(Collections.singletonList("a"), 1L));
+        assertEquals(Arrays.asList("b", "c"), sut.toList(1L));
+        assertTrue(sut.retainAll(Arrays.asList("b", "d")));
+        assertEquals(Arrays.asList("d", "b"), sut.toList());
+        sut.clear(s -> s.equals("d"));
+        assertEquals(1L, sut.getHighestNotEmptyPriority());
+        assertTrue(sut.removeAll(Collections.singletonList("b")));
+        assertTrue(sut.isEmpty());
+        assertEquals(Long.MIN_VALUE, sut.getHighestNotEmptyPriority());
+    }
+
+    @Test
+    @DisplayName("Iterator should traverse by priority and support remove")
+    void iteratorRemove() {
+        LongPriorityDeque<String> sut = new GeneralPurposeLongPriorityDeque<>();
+        sut.addAll(Arrays.asList("a1", "a2", "a3"), 5L);
+        sut.addAll(Arrays.asList("b1", "b2"), 9L);
+
+        Iterator<String> iterator = sut.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        List<String> seen = new ArrayList<>();
+        while (iterator.hasNext()) {
+            String value = iterator.next();
+            seen.add(value);
+            if (!value.equals("a2")) {
+                iterator.remove();
+            }
+        }
+        assertThrows(IllegalStateException.class, iterator::remove);
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals(Arrays.asList("b1", "b2", "a1", "a2", "a3"), seen);
+        assertEquals(Collections.singletonList("a2"), sut.toList());
+        assertEquals(1, sut.size());
+        assertTrue(sut.isEmpty(9L));
+    }
+
+    @Test
+    @DisplayName("Random operations should match a TreeMap-based reference model")
+    void matchesReferenceModel() {
+        Random random = new Random(42);
+        GeneralPurposeLongPriorityDeque<Integer> sut = new GeneralPurposeLongPriorityDeque<>();
+        NavigableMap<Long, Deque<Integer>> model = new TreeMap<>();
+        int size = 0;
+        long[] priorities = new long[200];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = random.nextLong();
+        }
+
+        for (int step = 0; step < 200_000; step++) {
+            long priority = priorities[random.nextInt(priorities.length)];
+            switch (random.nextInt(6)) {
+                case 0:
+                case 1:
+                    sut.add(step, priority);
+                    model.computeIfAbsent(priority, p -> new ArrayDeque<>()).addLast(step);
+                    size++;
+                    break;
+                case 2: {
+                    Map.Entry<Long, Deque<Integer>> entry = model.lastEntry();
+                    Integer expected = entry == null ? null : entry.getValue().pollFirst();
+                    assertEquals(expected, sut.pollFifo());
+                    if (expected != null) {
+                        size--;
+                        if (entry.getValue().isEmpty()) {
+                            model.remove(entry.getKey());
+                        }
+                    }
+                    break;
+                }
+                case 3: {
+                    Map.Entry<Long, Deque<Integer>> entry = model.lastEntry();
+                    Integer expected = entry == null ? null : entry.getValue().pollLast();
+                    assertEquals(expected, sut.pollLifo());
+                    if (expected != null) {
+                        size--;
+                        if (entry.getValue().isEmpty()) {
+                            model.remove(entry.getKey());
+                        }
+                    }
+                    break;
+                }
+                case 4: {
+                    Deque<Integer> bucket = model.get(priority);
+                    Integer expected = bucket == null ? null : bucket.pollFirst();
+                    assertEquals(expected, sut.pollFifo(priority));
+                    if (expected != null) {
+                        size--;
+                        if (bucket.isEmpty()) {
+                            model.remove(priority);
+                        }
+                    }
+                    break;
+                }
+                default: {
+                    Deque<Integer> bucket = model.get(priority);
+                    assertEquals(bucket == null ? 0 : bucket.size(), sut.size(priority));
+                    assertEquals(bucket == null ? null : bucket.peekLast(), sut.peekLifo(priority));
+                    break;
+                }
+            }
+            assertEquals(size, sut.size());
+            assertEquals(model.isEmpty() ? Long.MIN_VALUE : model.lastKey(), sut.getHighestNotEmptyPriority());
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (Deque<Integer> bucket : model.descendingMap().values()) {
+            expected.addAll(bucket);
+        }
+        assertEquals(expected, sut.toList());
+        sut.clear();
+        assertTrue(sut.isEmpty());
+        sut.add(1, 3L);
+        assertEquals(3L, sut.getHighestNotEmptyPriority());
+    }
+
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        List<T> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+}
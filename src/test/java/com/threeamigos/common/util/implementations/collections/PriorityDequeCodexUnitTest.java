@@ -24,7 +24,8 @@ public class PriorityDequeCodexUnitTest {
     private static Stream<Arguments> createSut() {
         return Stream.of(
                 Arguments.of("GeneralPurposePriorityDeque", (Supplier<PriorityDeque<String>>) GeneralPurposePriorityDeque::new),
-                Arguments.of("BucketedPriorityDeque", (Supplier<PriorityDeque<String>>) () -> new BucketedPriorityDeque<>(DEFAULT_BUCKET_SIZE))
+                Arguments.of("BucketedPriorityDeque", (Supplier<PriorityDeque<String>>) () -> new BucketedPriorityDeque<>(DEFAULT_BUCKET_SIZE)),
+                Arguments.of("ConcurrentBucketedPriorityDeque", (Supplier<PriorityDeque<String>>) () -> new ConcurrentBucketedPriorityDeque<>(DEFAULT_BUCKET_SIZE))
         );
     }
 
@@ -801,6 +802,25 @@ public class PriorityDequeCodexUnitTest {
     @Nested
     @DisplayName("Miscellaneous")
     class MiscellaneousTests {
+        @ParameterizedTest(name = "{0}")
+        @DisplayName("pollBatch takes up to maxElements from one bucket using the policy")
+        @MethodSource("com.threeamigos.common.util.implementations.collections.PriorityDequeCodexUnitTest#createSut")
+        void pollBatchHonorsPolicyAndLimit(String sutName, Supplier<PriorityDeque<String>> factory) {
+            PriorityDeque<String> sut = newSut(factory);
+            sut.addAll(Arrays.asList("a", "b", "c", "d"), 2);
+            sut.add("x", 3);
+
+            assertEquals(Arrays.asList("a", "b"), sut.pollBatch(2, 2));
+            sut.setPolicy(PriorityDeque.Policy.LIFO);
+            assertEquals(Arrays.asList("d", "c"), sut.pollBatch(2, 10));
+            assertTrue(sut.isEmpty(2));
+            assertTrue(sut.pollBatch(2, 10).isEmpty());
+            assertTrue(sut.pollBatch(3, 0).isEmpty());
+            assertEquals(1, sut.size());
+            assertEquals(3, sut.getHighestNotEmptyPriority());
+            assertThrows(IllegalArgumentException.class, () -> sut.pollBatch(3, -1));
+        }
+
         @ParameterizedTest(name = "{0}")
         @DisplayName("policy null handling matches implementations")
         @MethodSource("com.threeamigos.common.util.implementations.collections.PriorityDequeCodexUnitTest#createSut")
@@ -814,7 +834,7 @@ public class PriorityDequeCodexUnitTest {
         @MethodSource("com.threeamigos.common.util.implementations.collections.PriorityDequeCodexUnitTest#createSut")
         void priorityBoundsEnforcedForBucketed(String sutName, Supplier<PriorityDeque<String>> factory) {
             PriorityDeque<String> sut = newSut(factory);
-            if (sut instanceof BucketedPriorityDeque) {
+            if (sut instanceof BucketedPriorityDeque || sut instanceof ConcurrentBucketedPriorityDeque) {
                 assertThrows(IllegalArgumentException.class, () -> sut.add("x", -1));
                 assertThrows(IllegalArgumentException.class, () -> sut.add("x", BucketedPriorityDeque.MAX_PRIORITY + 1));
                 assertThrows(IllegalArgumentException.class, () -> sut.peek(-1));
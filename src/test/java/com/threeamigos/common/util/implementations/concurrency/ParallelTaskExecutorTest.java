@@ -10,11 +10,13 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ThreadFactory;
@@ -1142,4 +1144,231 @@ class ParallelTaskExecutorTest {
             executor.awaitTermination(1, TimeUnit.SECONDS);
         }
     }
+
+    @Test
+    @DisplayName("Work-stealing executor should run fan-out tasks and await all of them")
+    void workStealingExecutorShouldAwaitFanOutTasks() throws InterruptedException {
+        // Given
+        try (ParallelTaskExecutor executor = ParallelTaskExecutor.createWorkStealingExecutor(4)) {
+            AtomicInteger counter = new AtomicInteger(0);
+            Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+            // When
+            for (int i = 0; i < 10; i++) {
+                executor.schedulePlatformThread(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        executor.schedulePlatformThread(() -> {
+                            threadNames.add(Thread.currentThread().getName());
+                            counter.incrementAndGet();
+                        });
+                    }
+                });
+            }
+            executor.awaitCompletion();
+
+            // Then
+            assertTrue(executor.isWorkStealing());
+            assertEquals(4, executor.getPlatformThreadPoolSize());
+            assertEquals(10_000, counter.get());
+            assertEquals(0, executor.getPendingTaskCount());
+            assertEquals(0, executor.getActiveTaskCount());
+            assertTrue(threadNames.stream().allMatch(name -> name.startsWith("ParallelTaskExecutor-ws-")));
+        }
+    }
+
+    @Test
+    @DisplayName("Work-stealing executor should survive failing tasks and reject tasks after shutdown")
+    void workStealingExecutorShouldHandleFailuresAndShutdown() throws InterruptedException {
+        // Given
+        ParallelTaskExecutor executor = ParallelTaskExecutor.createWorkStealingExecutor(2);
+        AtomicInteger counter = new AtomicInteger(0);
+
+        // When
+        executor.schedulePlatformThread(() -> {
+            throw new IllegalStateException("boom");
+        });
+        executor.schedulePlatformThread(counter::incrementAndGet);
+        executor.awaitCompletion();
+        executor.shutdown();
+
+        // Then
+        assertEquals(1, counter.get());
+        assertThrows(IllegalStateException.class, () -> executor.schedulePlatformThread(counter::incrementAndGet));
+        assertEquals(0, executor.getPendingTaskCount());
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    @DisplayName("Work-stealing executor should validate its parallelism")
+    void workStealingExecutorShouldValidateParallelism() throws InterruptedException {
+        assertThrows(IllegalArgumentException.class, () -> ParallelTaskExecutor.createWorkStealingExecutor(0));
+        try (ParallelTaskExecutor executor = ParallelTaskExecutor.createExecutor(1)) {
+            assertFalse(executor.isWorkStealing());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent shutdown should never leave pending tasks behind")
+    void concurrentShutdownShouldKeepCountersConsistent() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            ParallelTaskExecutor executor = ParallelTaskExecutor.createWorkStealingExecutor(2);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread submitter = new Thread(() -> {
+                    try {
+                        start.await();
+                        while (true) {
+                            executor.schedulePlatformThread(() -> { });
+                        }
+                    } catch (IllegalStateException | InterruptedException e) {
+                        // Rejected after shutdown
+                    }
+                });
+                submitter.start();
+                submitters.add(submitter);
+            }
+            start.countDown();
+            Thread.sleep(2);
+            executor.shutdown();
+            for (Thread submitter : submitters) {
+                submitter.join(5_000);
+            }
+
+            assertTrue(executor.awaitCompletion(5, TimeUnit.SECONDS), "Pending tasks leaked in round " + round);
+            assertEquals(0, executor.getPendingTaskCount());
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Task group should wait only for its own tasks")
+    void taskGroupShouldWaitOnlyForItsOwnTasks() throws Exception {
+        // Given
+        try (ParallelTaskExecutor executor = ParallelTaskExecutor.createExecutor(4)) {
+            CountDownLatch blockOther = new CountDownLatch(1);
+            ParallelTaskExecutor.TaskGroup other = executor.newGroup();
+            other.schedulePlatformThread(() -> {
+                try {
+                    blockOther.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            ParallelTaskExecutor.TaskGroup mine = executor.newGroup();
+            AtomicInteger counter = new AtomicInteger(0);
+
+            // When
+            for (int i = 0; i < 100; i++) {
+                mine.submit(() -> {
+                    counter.incrementAndGet();
+                    mine.schedulePlatformThread(counter::incrementAndGet);
+                });
+            }
+
+            // Then
+            assertTrue(mine.await(5, TimeUnit.SECONDS));
+            assertEquals(200, counter.get());
+            assertEquals(0, mine.getPendingTaskCount());
+            assertEquals(1, other.getPendingTaskCount());
+            assertFalse(executor.awaitCompletion(50, TimeUnit.MILLISECONDS), "The executor still runs the other group");
+
+            blockOther.countDown();
+            other.await();
+            executor.awaitCompletion();
+            assertEquals(0, executor.getPendingTaskCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Task group should propagate the first failure and cancel the remaining tasks")
+    void taskGroupShouldPropagateFirstFailure() throws Exception {
+        // Given
+        try (ParallelTaskExecutor executor = ParallelTaskExecutor.createExecutor(1)) {
+            ParallelTaskExecutor.TaskGroup group = executor.newGroup();
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger ranAfterFailure = new AtomicInteger(0);
+
+            // When
+            group.schedulePlatformThread(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("first");
+            });
+            for (int i = 0; i < 10; i++) {
+                group.schedulePlatformThread(ranAfterFailure::incrementAndGet);
+            }
+            release.countDown();
+
+            // Then
+            ExecutionException e = assertThrows(ExecutionException.class, () -> group.await(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals("first", e.getCause().getMessage());
+            assertSame(e.getCause(), group.getFailure());
+            assertTrue(group.isCancelled());
+            assertEquals(0, ranAfterFailure.get());
+            assertEquals(0, group.getPendingTaskCount());
+            assertThrows(IllegalStateException.class, () -> group.submit(() -> { }));
+            executor.awaitCompletion();
+            assertEquals(0, executor.getPendingTaskCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Task group cancel should interrupt running tasks and skip queued ones")
+    void taskGroupCancelShouldInterruptRunningTasks() throws Exception {
+        // Given
+        try (ParallelTaskExecutor executor = ParallelTaskExecutor.createExecutor(1)) {
+            ParallelTaskExecutor.TaskGroup group = executor.newGroup();
+            CountDownLatch started = new CountDownLatch(1);
+            AtomicBoolean interrupted = new AtomicBoolean(false);
+            AtomicBoolean queuedRan = new AtomicBoolean(false);
+            group.schedulePlatformThread(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            });
+            group.schedulePlatformThread(() -> queuedRan.set(true));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When
+            group.cancel();
+
+            // Then
+            assertTrue(group.await(5, TimeUnit.SECONDS));
+            assertNull(group.getFailure());
+            assertTrue(interrupted.get());
+            assertFalse(queuedRan.get());
+            executor.awaitCompletion();
+
+            AtomicBoolean nextInterrupted = new AtomicBoolean(true);
+            executor.schedulePlatformThread(() -> nextInterrupted.set(Thread.currentThread().isInterrupted()));
+            executor.awaitCompletion();
+            assertFalse(nextInterrupted.get(), "The cancellation interrupt should not leak to the next task");
+        }
+    }
+
+    @Test
+    @DisplayName("Task group should validate arguments and honor executor shutdown")
+    void taskGroupShouldValidateArguments() throws Exception {
+        ParallelTaskExecutor executor = ParallelTaskExecutor.createExecutor(1);
+        ParallelTaskExecutor.TaskGroup group = executor.newGroup();
+        assertThrows(IllegalArgumentException.class, () -> group.submit(null));
+        assertThrows(IllegalArgumentException.class, () -> group.await(-1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> group.await(1, null));
+        assertTrue(group.await(0, TimeUnit.SECONDS));
+
+        executor.shutdown();
+        assertThrows(IllegalStateException.class, () -> group.schedulePlatformThread(() -> { }));
+        assertEquals(0, group.getPendingTaskCount());
+        assertThrows(IllegalStateException.class, executor::newGroup);
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
 }
@@ -0,0 +1,308 @@
+package com.threeamigos.common.util.implementations.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PriorityTaskExecutor Tests")
+class PriorityTaskExecutorTest {
+
+    @Test
+    @DisplayName("Should run queued tasks by priority, FIFO within a priority")
+    void shouldRunQueuedTasksByPriority() throws Exception {
+        // Given
+        try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder().threads(1).maxPriority(5).build()) {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            }, 0);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+            // When
+            executor.execute(() -> order.add("low"), 1);
+            executor.execute(() -> order.add("high-1"), 5);
+            executor.execute(() -> order.add("mid"), 3);
+            executor.execute(() -> order.add("high-2"), 5);
+            executor.execute(() -> order.add("default"));
+            release.countDown();
+            executor.close();
+
+            // Then
+            assertEquals(Arrays.asList("high-1", "high-2", "mid", "low", "default"), order);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return results and failures through futures")
+    void shouldReturnResultsThroughFutures() throws Exception {
+        // Given
+        try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder().threads(2).build()) {
+            // When
+            Future<Integer> result = executor.submit(() -> 42, 7);
+            Future<?> failure = executor.submit((Runnable) () -> {
+                throw new IllegalStateException("boom");
+            }, 3);
+            Future<String> plain = executor.submit(() -> "plain");
+
+            // Then
+            assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> failure.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals("plain", plain.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep workers alive when an executed task throws")
+    void shouldSurviveFailingTasks() throws Exception {
+        // Given
+        try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder().threads(1).threadNamePrefix("quiet-").build()) {
+            AtomicInteger completed = new AtomicInteger();
+            Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+            AtomicInteger reported = new AtomicInteger();
+            Thread.setDefaultUncaughtExceptionHandler((t, e) -> reported.incrementAndGet());
+            try {
+                // When
+                executor.execute(() -> {
+                    throw new IllegalStateException("boom");
+                }, 2);
+                executor.execute(completed::incrementAndGet, 1);
+                executor.close();
+            } finally {
+                Thread.setDefaultUncaughtExceptionHandler(previous);
+            }
+
+            // Then
+            assertEquals(1, reported.get());
+            assertEquals(1, completed.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Aging should let low-priority tasks run under sustained high-priority load")
+    void agingShouldPreventStarvation() throws Exception {
+        assertFalse(lowPriorityTaskRunsUnderLoad(0), "Without aging the low-priority task should starve");
+        assertTrue(lowPriorityTaskRunsUnderLoad(5), "With aging the low-priority task should eventually run");
+    }
+
+    /**
+     * Keeps a single worker busy with high-priority tasks that resubmit themselves for a while, and
+     * reports whether a low-priority task submitted at the beginning got to run in the meantime.
+     */
+    private boolean lowPriorityTaskRunsUnderLoad(long agingMillis) throws Exception {
+        try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder()
+                .threads(1)
+                .maxPriority(4)
+                .aging(agingMillis, TimeUnit.MILLISECONDS)
+                .build()) {
+            AtomicBoolean lowRan = new AtomicBoolean();
+            AtomicBoolean stop = new AtomicBoolean();
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> await(release), 4);
+            executor.execute(() -> lowRan.set(true), 0);
+            for (int i = 0; i < 2; i++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        sleep(1);
+                        if (!stop.get()) {
+                            try {
+                                executor.execute(this, 4);
+                            } catch (RejectedExecutionException e) {
+                                // closing
+                            }
+                        }
+                    }
+                }, 4);
+            }
+            release.countDown();
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+            while (!lowRan.get() && System.nanoTime() < deadline) {
+                sleep(5);
+            }
+            boolean result = lowRan.get();
+            stop.set(true);
+            if (agingMillis > 0) {
+                assertTrue(executor.getPromotionCount() > 0);
+            } else {
+                assertEquals(0, executor.getPromotionCount());
+            }
+            return result;
+        }
+    }
+
+    @Test
+    @DisplayName("Should expose queue depth and wait time metrics per priority")
+    void shouldExposeMetrics() throws Exception {
+        // Given
+        try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder().threads(1).maxPriority(3).build()) {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            }, 3);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When
+            executor.execute(() -> { }, 2);
+            executor.execute(() -> { }, 2);
+            executor.execute(() -> { }, 1);
+
+            // Then
+            assertEquals(3, executor.getQueueDepth());
+            assertEquals(2, executor.getQueueDepth(2));
+            assertEquals(1, executor.getQueueDepth(1));
+            assertEquals(0, executor.getQueueDepth(0));
+            assertEquals(1, executor.getStartedTaskCount(3));
+            assertEquals(0, executor.getStartedTaskCount(2));
+            assertEquals(0, executor.getAverageWaitTime(2, TimeUnit.NANOSECONDS));
+
+            sleep(20);
+            release.countDown();
+            executor.close();
+
+            assertEquals(0, executor.getQueueDepth());
+            assertEquals(2, executor.getStartedTaskCount(2));
+            assertEquals(1, executor.getStartedTaskCount(1));
+            assertTrue(executor.getAverageWaitTime(2, TimeUnit.MILLISECONDS) >= 20);
+            assertTrue(executor.getMaxWaitTime(1, TimeUnit.MILLISECONDS) >= 20);
+            assertTrue(executor.getMaxWaitTime(1, TimeUnit.NANOSECONDS)
+                    >= executor.getAverageWaitTime(1, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drain the queue on shutdown and reject new tasks")
+    void shouldDrainOnShutdown() throws Exception {
+        // Given
+        PriorityTaskExecutor executor = PriorityTaskExecutor.builder().threads(2).build();
+        AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            executor.execute(counter::incrementAndGet, i % 10);
+        }
+
+        // When
+        executor.shutdown();
+
+        // Then
+        assertTrue(executor.isShutdown());
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(counter::incrementAndGet, 1));
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+        assertEquals(100, counter.get());
+    }
+
+    @Test
+    @DisplayName("shutdownNow should return the queued tasks and interrupt the workers")
+    void shouldReturnQueuedTasksOnShutdownNow() throws Exception {
+        // Given
+        PriorityTaskExecutor executor = PriorityTaskExecutor.builder().threads(1).build();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        }, 5);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Runnable queued1 = () -> { };
+        Runnable queued2 = () -> { };
+        executor.execute(queued1, 1);
+        executor.execute(queued2, 9);
+
+        // When
+        List<Runnable> pending = executor.shutdownNow();
+
+        // Then
+        assertEquals(Arrays.asList(queued2, queued1), pending);
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+    }
+
+    @Test
+    @DisplayName("close should interrupt the workers and keep the interrupt status when the caller is interrupted")
+    void closeShouldStopWorkersWhenInterrupted() throws Exception {
+        // Given
+        PriorityTaskExecutor executor = PriorityTaskExecutor.builder().threads(1).build();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        }, 5);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        Thread.currentThread().interrupt();
+        executor.close();
+
+        // Then
+        assertTrue(Thread.interrupted());
+        assertTrue(executor.isTerminated());
+        assertTrue(interrupted.get());
+    }
+
+    @Test
+    @DisplayName("Should validate configuration and arguments")
+    void shouldValidateArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> PriorityTaskExecutor.builder().threads(0));
+        assertThrows(IllegalArgumentException.class, () -> PriorityTaskExecutor.builder().maxPriority(-1));
+        assertThrows(IllegalArgumentException.class, () -> PriorityTaskExecutor.builder().maxPriority(32));
+        assertThrows(IllegalArgumentException.class, () -> PriorityTaskExecutor.builder().defaultPriority(-1));
+        assertThrows(IllegalArgumentException.class, () -> PriorityTaskExecutor.builder().aging(-1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> PriorityTaskExecutor.builder().aging(1, null));
+        assertThrows(IllegalStateException.class,
+                () -> PriorityTaskExecutor.builder().maxPriority(3).defaultPriority(4).build());
+
+        try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder().threads(1).maxPriority(3).build()) {
+            assertEquals(3, executor.getMaxPriority());
+            assertEquals(0, executor.getDefaultPriority());
+            assertEquals(1, executor.getThreadCount());
+            assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> { }, 4));
+            assertThrows(IllegalArgumentException.class, () -> executor.submit(() -> 1, -1));
+            assertThrows(IllegalArgumentException.class, () -> executor.execute(null, 1));
+            assertThrows(IllegalArgumentException.class, () -> executor.getQueueDepth(4));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
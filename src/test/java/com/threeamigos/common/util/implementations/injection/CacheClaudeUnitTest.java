@@ -599,4 +599,20 @@ class CacheUnitTest {
 
         assertEquals(0, cache.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getEvictionCount counts LRU evictions but not invalidations")
+    void testGetEvictionCount() {
+        Cache<Integer, String> cache = new Cache<>(2, 2, 0.75f);
+        cache.computeIfAbsent(1, () -> "value1");
+        cache.computeIfAbsent(2, () -> "value2");
+        assertEquals(0, cache.getEvictionCount());
+
+        cache.computeIfAbsent(3, () -> "value3");
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.invalidate(3);
+        cache.clear();
+        assertEquals(1, cache.getEvictionCount());
+    }
+}
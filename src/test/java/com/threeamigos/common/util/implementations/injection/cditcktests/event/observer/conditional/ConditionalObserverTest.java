@@ -40,6 +40,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @Execution(ExecutionMode.SAME_THREAD)
 class ConditionalObserverTest {
 
+    // Request binding of the test thread while the request context is made inactive
+    private Object suspendedRequest;
+
     @Test
     void testConditionalObserver() {
         Syringe syringe = newSyringe();
@@ -171,10 +174,16 @@ class ConditionalObserverTest {
     private void setRequestContextActive(Syringe syringe, boolean active) throws Exception {
         BeanManagerImpl beanManager = (BeanManagerImpl) syringe.getBeanManager();
         RequestScopedContext requestContext = (RequestScopedContext) beanManager.getContextManager().getContext(RequestScoped.class);
-        Field requestActiveField = RequestScopedContext.class.getDeclaredField("requestActive");
-        requestActiveField.setAccessible(true);
-        ThreadLocal<Boolean> requestActive = (ThreadLocal<Boolean>) requestActiveField.get(requestContext);
-        requestActive.set(active);
+        Field currentRequestField = RequestScopedContext.class.getDeclaredField("currentRequest");
+        currentRequestField.setAccessible(true);
+        ThreadLocal<Object> currentRequest = (ThreadLocal<Object>) currentRequestField.get(requestContext);
+        if (active) {
+            currentRequest.set(suspendedRequest);
+            suspendedRequest = null;
+        } else {
+            suspendedRequest = currentRequest.get();
+            currentRequest.remove();
+        }
     }
 
     private void resetState() {
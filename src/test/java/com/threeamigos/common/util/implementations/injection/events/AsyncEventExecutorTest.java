@@ -0,0 +1,106 @@
+package com.threeamigos.common.util.implementations.injection.events;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerdispatch.OrderObserver;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerdispatch.OrderPlaced;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AsyncEventExecutor")
+class AsyncEventExecutorTest {
+
+    @Test
+    @DisplayName("ABORT should reject deliveries once threads and queue are full")
+    void abortShouldRejectWhenSaturated() throws InterruptedException {
+        AsyncEventExecutor executor = AsyncEventExecutor.bounded(1, 1, AsyncEventExecutor.RejectionPolicy.ABORT);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            executor.execute(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            executor.execute(() -> { });
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+            assertEquals(1, executor.getSaturationCount());
+            assertEquals(1, executor.getQueueDepth());
+            assertEquals(1, executor.getActiveCount());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS should deliver in the firing thread when saturated")
+    void callerRunsShouldUseFiringThread() throws InterruptedException {
+        AsyncEventExecutor executor =
+                AsyncEventExecutor.virtualThreads(1, AsyncEventExecutor.RejectionPolicy.CALLER_RUNS);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> runner = new AtomicReference<>();
+
+        try {
+            executor.execute(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // Fills the queue of the platform pool used when virtual threads are not available
+            executor.execute(() -> { });
+            executor.execute(() -> runner.set(Thread.currentThread()));
+
+            assertSame(Thread.currentThread(), runner.get());
+            assertTrue(executor.getSaturationCount() >= 1);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A configured executor should deliver asynchronous events and record observer latency")
+    void configuredExecutorShouldDeliverAsyncEvents() throws Exception {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), OrderObserver.class);
+        AsyncEventExecutor executor = AsyncEventExecutor.bounded(2, 16, AsyncEventExecutor.RejectionPolicy.BLOCK);
+        syringe.setAsyncEventExecutor(executor);
+
+        try {
+            syringe.setup();
+            OrderObserver observer = syringe.inject(OrderObserver.class);
+
+            syringe.getBeanManager().getEvent().select(OrderPlaced.class)
+                    .fireAsync(new OrderPlaced()).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+            assertEquals(Collections.singletonList("audit"), observer.getNotifications());
+            AsyncEventExecutor.ObserverStatistics statistics =
+                    executor.getObserverStatistics().get(OrderObserver.class.getName() + ".audit");
+            assertNotNull(statistics);
+            assertEquals(1, statistics.getInvocationCount());
+            assertEquals(0, executor.getQueueDepth());
+        } finally {
+            syringe.shutdown();
+        }
+        assertTrue(executor.isShutdown());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.threeamigos.common.util.implementations.injection.events;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerdispatch.OrderObserver;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerdispatch.OrderPlaced;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerdispatch.UrgentOrderPlaced;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerinvoker.Failure;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerinvoker.InvokerObserver;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EventImpl - Batched event delivery")
+class BatchingEventTest {
+
+    @Test
+    @DisplayName("Events should be delivered in firing order once the batch is full")
+    void fullBatchShouldBeDelivered() {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), OrderObserver.class);
+
+        try {
+            syringe.setup();
+            OrderObserver observer = syringe.inject(OrderObserver.class);
+            BatchingEvent<OrderPlaced> batching = orderEvent(syringe).batching(2, 0, TimeUnit.MILLISECONDS);
+
+            batching.fire(new UrgentOrderPlaced());
+            assertEquals(Collections.emptyList(), observer.getNotifications());
+            assertEquals(1, batching.getBufferedCount());
+
+            batching.fire(new OrderPlaced());
+            assertEquals(Arrays.asList("early", "urgent", "late", "early", "late"), observer.getNotifications());
+            assertEquals(0, batching.getBufferedCount());
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Coalescing should keep only the latest event per key")
+    void coalescingShouldKeepLatestEventPerKey() {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), OrderObserver.class);
+
+        try {
+            syringe.setup();
+            OrderObserver observer = syringe.inject(OrderObserver.class);
+            BatchingEvent<OrderPlaced> coalescing =
+                    orderEvent(syringe).coalescing(10, 0, TimeUnit.MILLISECONDS, Object::getClass);
+
+            coalescing.fire(new OrderPlaced());
+            coalescing.fire(new UrgentOrderPlaced());
+            coalescing.fire(new OrderPlaced());
+            coalescing.close();
+
+            assertEquals(Arrays.asList("early", "late", "early", "urgent", "late"), observer.getNotifications());
+            assertThrows(IllegalStateException.class, () -> coalescing.fire(new OrderPlaced()));
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Buffered events should be delivered after the maximum delay")
+    void bufferedEventsShouldBeDeliveredAfterMaxDelay() throws InterruptedException {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), OrderObserver.class);
+
+        try {
+            syringe.setup();
+            OrderObserver observer = syringe.inject(OrderObserver.class);
+            BatchingEvent<OrderPlaced> batching = orderEvent(syringe).batching(100, 20, TimeUnit.MILLISECONDS);
+
+            try {
+                batching.fire(new OrderPlaced());
+                long deadline = System.currentTimeMillis() + 5000;
+                while (observer.getNotifications().size() < 2 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertEquals(Arrays.asList("early", "late"), observer.getNotifications());
+            } finally {
+                batching.close();
+            }
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Failures of batches delivered after the maximum delay should be reported to the message handler")
+    void timerDeliveryFailuresShouldBeReported() throws InterruptedException {
+        InMemoryMessageHandler messageHandler = new InMemoryMessageHandler();
+        Syringe syringe = new Syringe(messageHandler, InvokerObserver.class);
+
+        try {
+            syringe.setup();
+            BatchingEvent<Failure> batching = ((EventImpl<Failure>) syringe.getBeanManager().getEvent()
+                    .select(Failure.class)).batching(100, 20, TimeUnit.MILLISECONDS);
+            IllegalStateException failure = new IllegalStateException("observer failure");
+
+            try {
+                batching.fire(new Failure(failure));
+                long deadline = System.currentTimeMillis() + 5000;
+                while (!messageHandler.getAllExceptions().contains(failure) && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertTrue(messageHandler.getAllExceptions().contains(failure));
+            } finally {
+                batching.close();
+            }
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid batching parameters should be rejected")
+    void invalidParametersShouldBeRejected() {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), OrderObserver.class);
+
+        try {
+            syringe.setup();
+            EventImpl<OrderPlaced> event = orderEvent(syringe);
+
+            assertThrows(IllegalArgumentException.class, () -> event.batching(0, 0, TimeUnit.MILLISECONDS));
+            assertThrows(IllegalArgumentException.class, () -> event.batching(1, -1, TimeUnit.MILLISECONDS));
+            assertThrows(IllegalArgumentException.class, () -> event.batching(1, 0, null));
+            assertThrows(IllegalArgumentException.class, () -> event.coalescing(1, 0, TimeUnit.MILLISECONDS, null));
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    private static EventImpl<OrderPlaced> orderEvent(Syringe syringe) {
+        return (EventImpl<OrderPlaced>) syringe.getBeanManager().getEvent().select(OrderPlaced.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.threeamigos.common.util.implementations.injection.events;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerdispatch.OrderObserver;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerdispatch.OrderPlaced;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerdispatch.UrgentOrderPlaced;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Reception;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EventImpl - Observer dispatch cache")
+class ObserverDispatchCacheTest {
+
+    @Test
+    @DisplayName("Cached dispatch should notify the same observers in priority order")
+    void cachedDispatchShouldPreserveOrder() {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), OrderObserver.class);
+
+        try {
+            syringe.setup();
+            assertTrue(syringe.getKnowledgeBase().getObserverDispatchCache().isEnabled());
+            OrderObserver observer = syringe.inject(OrderObserver.class);
+            Event<Object> event = syringe.getBeanManager().getEvent();
+
+            event.select(OrderPlaced.class).fire(new OrderPlaced());
+            event.select(OrderPlaced.class).fire(new UrgentOrderPlaced());
+            event.select(OrderPlaced.class).fire(new OrderPlaced());
+
+            assertEquals(Arrays.asList("early", "late", "early", "urgent", "late", "early", "late"),
+                    observer.getNotifications());
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Registering an observer should invalidate cached dispatch tables")
+    void newObserversShouldInvalidateTheCache() {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), OrderObserver.class);
+
+        try {
+            syringe.setup();
+            Event<Object> event = syringe.getBeanManager().getEvent();
+            event.select(OrderPlaced.class).fire(new OrderPlaced());
+            AtomicInteger notified = new AtomicInteger();
+
+            syringe.getKnowledgeBase().addSyntheticObserverMethod(new CountingObserver(notified));
+            event.select(OrderPlaced.class).fire(new OrderPlaced());
+
+            assertEquals(1, notified.get());
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    private static class CountingObserver implements ObserverMethod<OrderPlaced> {
+        private final AtomicInteger notified;
+
+        CountingObserver(AtomicInteger notified) {
+            this.notified = notified;
+        }
+
+        @Override
+        public Class<?> getBeanClass() {
+            return ObserverDispatchCacheTest.class;
+        }
+
+        @Override
+        public Type getObservedType() {
+            return OrderPlaced.class;
+        }
+
+        @Override
+        public Set<Annotation> getObservedQualifiers() {
+            return Collections.singleton(Default.Literal.INSTANCE);
+        }
+
+        @Override
+        public Reception getReception() {
+            return Reception.ALWAYS;
+        }
+
+        @Override
+        public TransactionPhase getTransactionPhase() {
+            return TransactionPhase.IN_PROGRESS;
+        }
+
+        @Override
+        public void notify(OrderPlaced event) {
+            notified.incrementAndGet();
+        }
+    }
+}
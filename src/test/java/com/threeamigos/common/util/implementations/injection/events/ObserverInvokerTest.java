@@ -0,0 +1,157 @@
+package com.threeamigos.common.util.implementations.injection.events;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerinvoker.Failure;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerinvoker.InvokerObserver;
+import com.threeamigos.common.util.implementations.injection.testpackages.observerinvoker.Ping;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.ObserverException;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EventImpl - Observer invokers")
+class ObserverInvokerTest {
+
+    @ParameterizedTest(name = "method handle: {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("static and private observer methods should be invoked")
+    void staticAndPrivateMethodsShouldBeInvoked(boolean bindHandle) throws Exception {
+        Receiver receiver = new Receiver();
+
+        invoker("onStatic", bindHandle).invoke(null, new Object[]{"static"}, false);
+        invoker("onPrivate", bindHandle).invoke(receiver, new Object[]{"private"}, false);
+
+        assertEquals(Collections.singletonList("static"), Receiver.STATIC_CALLS);
+        assertEquals(Collections.singletonList("private"), receiver.calls);
+        Receiver.STATIC_CALLS.clear();
+    }
+
+    @ParameterizedTest(name = "method handle: {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("exceptions thrown by the observer method should be rethrown unwrapped")
+    void exceptionsShouldBeRethrownUnwrapped(boolean bindHandle) throws Exception {
+        ObserverInvoker invoker = invoker("fail", bindHandle);
+        Exception checked = new IOException("checked");
+        Exception runtime = new IllegalStateException("runtime");
+        Exception undeclared = new UndeclaredThrowableException(new IOException("undeclared"));
+
+        for (Exception exception : Arrays.asList(checked, runtime, undeclared)) {
+            Exception thrown = assertThrows(Exception.class,
+                    () -> invoker.invoke(new Receiver(), new Object[]{exception}, false));
+            assertSame(exception, thrown);
+        }
+    }
+
+    @ParameterizedTest(name = "method handle: {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("runtime class dispatch should invoke the method redeclared by the receiver class")
+    void runtimeDispatchShouldInvokeTheRedeclaredMethod(boolean bindHandle) throws Exception {
+        ObserverInvoker invoker = invoker("onPrivate", bindHandle);
+        Receiver subclass = new ReceiverSubclass();
+
+        invoker.invoke(subclass, new Object[]{"runtime"}, true);
+        invoker.invoke(subclass, new Object[]{"declared"}, false);
+        invoker.invoke(subclass, new Object[]{"cached"}, true);
+
+        assertEquals(Arrays.asList("subclass runtime", "declared", "subclass cached"), subclass.calls);
+    }
+
+    @Test
+    @DisplayName("events should reach static and private observers of a deployed container")
+    void deployedContainerShouldNotifyStaticAndPrivateObservers() {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), InvokerObserver.class);
+
+        try {
+            syringe.setup();
+            InvokerObserver observer = syringe.inject(InvokerObserver.class);
+            Event<Object> event = syringe.getBeanManager().getEvent();
+            InvokerObserver.getStaticNotifications().clear();
+
+            event.select(Ping.class).fire(new Ping("first"));
+            event.select(Ping.class).fire(new Ping("second"));
+
+            assertEquals(Arrays.asList("first", "second"), InvokerObserver.getStaticNotifications());
+            assertEquals(Arrays.asList("first", "second"), observer.getNotifications());
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("observer failures should be unwrapped once for the caller of fire")
+    void observerFailuresShouldBeUnwrapped() {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), InvokerObserver.class);
+
+        try {
+            syringe.setup();
+            Event<Failure> event = syringe.getBeanManager().getEvent().select(Failure.class);
+            IOException checked = new IOException("checked");
+            IllegalStateException runtime = new IllegalStateException("runtime");
+            IOException undeclared = new IOException("undeclared");
+
+            ObserverException checkedFailure = assertThrows(ObserverException.class,
+                    () -> event.fire(new Failure(checked)));
+            IllegalStateException runtimeFailure = assertThrows(IllegalStateException.class,
+                    () -> event.fire(new Failure(runtime)));
+            ObserverException undeclaredFailure = assertThrows(ObserverException.class,
+                    () -> event.fire(new Failure(new UndeclaredThrowableException(undeclared))));
+
+            assertSame(checked, checkedFailure.getCause());
+            assertSame(runtime, runtimeFailure);
+            assertSame(undeclared, undeclaredFailure.getCause());
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    private static ObserverInvoker invoker(String methodName, boolean bindHandle) {
+        Method method = Arrays.stream(Receiver.class.getDeclaredMethods())
+                .filter(m -> m.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow(IllegalArgumentException::new);
+        int parameterCount = method.getParameterCount();
+        return new ObserverInvoker(method, method.getParameters(), 0, false, new boolean[parameterCount],
+                new Type[parameterCount], new Annotation[parameterCount][], new InjectionPoint[parameterCount],
+                bindHandle);
+    }
+
+    static class Receiver {
+        static final List<String> STATIC_CALLS = new ArrayList<>();
+        final List<String> calls = new ArrayList<>();
+
+        static void onStatic(String event) {
+            STATIC_CALLS.add(event);
+        }
+
+        private void onPrivate(String event) {
+            calls.add(event);
+        }
+
+        void fail(Exception exception) throws Exception {
+            throw exception;
+        }
+    }
+
+    // Redeclares the private method, as interception subclasses do
+    static class ReceiverSubclass extends Receiver {
+        private void onPrivate(String event) {
+            calls.add("subclass " + event);
+        }
+    }
+}
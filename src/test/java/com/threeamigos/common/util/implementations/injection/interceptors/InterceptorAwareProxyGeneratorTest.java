@@ -0,0 +1,135 @@
+package com.threeamigos.common.util.implementations.injection.interceptors;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.discovery.BeanArchiveMode;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import jakarta.enterprise.context.Dependent;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.InvocationContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InterceptorAwareProxyGenerator - Precompiled chains")
+class InterceptorAwareProxyGeneratorTest {
+
+    @Test
+    @DisplayName("non-intercepted public methods should be called directly on the target")
+    void nonInterceptedMethodsShouldBeCalledDirectly() throws Exception {
+        Service target = new Service();
+        InterceptorChain chain = InterceptorChain.builder()
+                .addInterceptor(new PrefixInterceptor(), PrefixInterceptor.class.getMethod("around",
+                        InvocationContext.class))
+                .build();
+        Service proxy = new InterceptorAwareProxyGenerator().createProxy(Service.class, target,
+                Collections.singletonMap(Service.class.getMethod("intercepted"), chain));
+
+        assertEquals("prefix:intercepted", proxy.intercepted());
+        assertEquals("plain", proxy.plain());
+
+        assertEquals(proxy.getClass().getName(), target.caller);
+    }
+
+    @Test
+    @DisplayName("context data should only be created when an interceptor asks for it")
+    void contextDataShouldBeCreatedLazily() throws Exception {
+        List<InvocationContext> contexts = new ArrayList<>();
+        InterceptorChain silent = InterceptorChain.builder()
+                .addInvocation(ctx -> {
+                    contexts.add(ctx);
+                    return ctx.proceed();
+                })
+                .build();
+        InterceptorChain sharing = InterceptorChain.builder()
+                .addInvocation(ctx -> {
+                    ctx.getContextData().put("key", "value");
+                    return ctx.proceed();
+                })
+                .addInvocation(ctx -> ctx.getContextData().get("key") + ":" + ctx.proceed())
+                .build();
+        Method plain = Service.class.getMethod("plain");
+
+        assertEquals("plain", silent.invoke(new Service(), plain, new Object[0]));
+        assertEquals("value:plain", sharing.invoke(new Service(), plain, new Object[0]));
+
+        Field contextData = InvocationContextImpl.class.getDeclaredField("contextData");
+        contextData.setAccessible(true);
+        assertNull(contextData.get(contexts.get(0)));
+        assertTrue(contexts.get(0).getContextData().isEmpty());
+    }
+
+    @Test
+    @DisplayName("target class @AroundInvoke chains should be shared by all instances and bound to each target")
+    void targetClassChainsShouldBeShared() {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), SelfIntercepted.class);
+        syringe.forceBeanArchiveMode(BeanArchiveMode.EXPLICIT);
+        try {
+            syringe.setup();
+            SelfIntercepted first = syringe.inject(SelfIntercepted.class);
+            SelfIntercepted second = syringe.inject(SelfIntercepted.class);
+
+            assertEquals(Arrays.asList(first.getName() + ":hello", second.getName() + ":hello"),
+                    Arrays.asList(first.greet(), second.greet()));
+            assertNotEquals(first.getName(), second.getName());
+
+            Map<Method, InterceptorChain> firstChains =
+                    ((InterceptorAwareProxyGenerator.InterceptorProxyState) first).$$_getMethodInterceptorChains();
+            Map<Method, InterceptorChain> secondChains =
+                    ((InterceptorAwareProxyGenerator.InterceptorProxyState) second).$$_getMethodInterceptorChains();
+            assertSame(firstChains, secondChains);
+            assertSame(first.getClass(), second.getClass());
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    public static class Service {
+        String caller;
+
+        public String intercepted() {
+            return "intercepted";
+        }
+
+        public String plain() {
+            caller = new Throwable().getStackTrace()[1].getClassName();
+            return "plain";
+        }
+    }
+
+    public static class PrefixInterceptor {
+        public Object around(InvocationContext ctx) throws Exception {
+            return "prefix:" + ctx.proceed();
+        }
+    }
+
+    @Dependent
+    public static class SelfIntercepted {
+        private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        private final String name = "instance" + INSTANCES.incrementAndGet();
+
+        public String greet() {
+            return "hello";
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @AroundInvoke
+        Object around(InvocationContext ctx) throws Exception {
+            Object result = ctx.proceed();
+            return ctx.getMethod().getName().equals("greet") ? name + ":" + result : result;
+        }
+    }
+}
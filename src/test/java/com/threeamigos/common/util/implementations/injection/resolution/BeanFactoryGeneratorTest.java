@@ -0,0 +1,156 @@
+package com.threeamigos.common.util.implementations.injection.resolution;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.discovery.BeanArchiveMode;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Generated bean factories")
+@Execution(ExecutionMode.SAME_THREAD)
+@Isolated
+class BeanFactoryGeneratorTest {
+
+    @Test
+    @DisplayName("the factory constructs, injects accessible fields and calls lifecycle callbacks directly")
+    void factoryShouldHandleAccessibleMembers() throws Exception {
+        Field visible = Worker.class.getDeclaredField("visible");
+        Field hidden = Worker.class.getDeclaredField("hidden");
+        BeanFactoryGenerator generator = new BeanFactoryGenerator();
+
+        BeanFactoryGenerator.Generated generated = generator.generate(Worker.class,
+                Worker.class.getConstructor(Dependency.class, int.class),
+                Arrays.asList(visible, hidden),
+                Collections.singletonList(Worker.class.getDeclaredMethod("init")),
+                Collections.singletonList(Worker.class.getDeclaredMethod("release")));
+
+        assertNotNull(generated);
+        assertTrue(generated.isConstructorGenerated());
+        assertTrue(generated.isFieldGenerated(0));
+        assertFalse(generated.isFieldGenerated(1));
+        assertTrue(generated.isPostConstructGenerated());
+        assertTrue(generated.isPreDestroyGenerated());
+
+        Dependency dependency = new Dependency();
+        Worker worker = (Worker) generated.getFactory().newInstance(new Object[]{dependency, 7});
+        assertSame(dependency, worker.constructorDependency);
+        assertEquals(7, worker.number);
+
+        Dependency fieldDependency = new Dependency();
+        generated.getFactory().injectFields(worker, new Object[]{fieldDependency, new Dependency()});
+        assertSame(fieldDependency, worker.visible);
+        assertEquals(null, worker.hidden);
+
+        generated.getFactory().postConstruct(worker);
+        generated.getFactory().preDestroy(worker);
+        assertEquals(Arrays.asList("init", "release"), worker.callbacks);
+    }
+
+    @Test
+    @DisplayName("the same bean members reuse the same factory")
+    void factoriesShouldBeCached() throws Exception {
+        BeanFactoryGenerator generator = new BeanFactoryGenerator();
+        List<java.lang.reflect.Method> none = new ArrayList<>();
+
+        BeanFactoryGenerator.Generated first = generator.generate(Dependency.class,
+                Dependency.class.getConstructor(), new ArrayList<>(), none, none);
+        BeanFactoryGenerator.Generated second = generator.generate(Dependency.class,
+                Dependency.class.getConstructor(), new ArrayList<>(), none, none);
+
+        assertNotNull(first);
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("beans created through generated factories are fully injected and destroyed")
+    void containerShouldUseGeneratedFactories() {
+        Worker.DESTROYED.clear();
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), Dependency.class, Worker.class, AnswerProducer.class);
+        syringe.forceBeanArchiveMode(BeanArchiveMode.EXPLICIT);
+        syringe.enableGeneratedBeanFactories(true);
+
+        try {
+            syringe.setup();
+
+            Instance<Worker> workers = syringe.getBeanManager().createInstance().select(Worker.class);
+            Worker worker = workers.get();
+            assertNotNull(worker.constructorDependency);
+            assertEquals(42, worker.number);
+            assertNotNull(worker.visible);
+            assertNotNull(worker.hidden);
+            assertEquals(Collections.singletonList("init"), worker.callbacks);
+
+            workers.destroy(worker);
+            assertEquals(Collections.singletonList(worker), Worker.DESTROYED);
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Dependent
+    public static class Dependency {
+        public Dependency() {
+        }
+    }
+
+    @Dependent
+    public static class AnswerProducer {
+        @Produces
+        int answer() {
+            return 42;
+        }
+    }
+
+    @Dependent
+    public static class Worker {
+        static final List<Worker> DESTROYED = new ArrayList<>();
+
+        final List<String> callbacks = new ArrayList<>();
+        final Dependency constructorDependency;
+        final int number;
+
+        @Inject
+        Dependency visible;
+
+        @Inject
+        private Dependency hidden;
+
+        @Inject
+        public Worker(Dependency constructorDependency, int number) {
+            this.constructorDependency = constructorDependency;
+            this.number = number;
+        }
+
+        @PostConstruct
+        void init() {
+            callbacks.add("init");
+        }
+
+        @PreDestroy
+        void release() {
+            callbacks.add("release");
+            DESTROYED.add(this);
+        }
+    }
+}
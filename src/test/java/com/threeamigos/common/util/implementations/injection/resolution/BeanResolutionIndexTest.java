@@ -0,0 +1,249 @@
+package com.threeamigos.common.util.implementations.injection.resolution;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.discovery.BeanArchiveMode;
+import com.threeamigos.common.util.implementations.injection.knowledgebase.KnowledgeBase;
+import com.threeamigos.common.util.implementations.injection.scopes.ContextManager;
+import com.threeamigos.common.util.implementations.injection.spi.BeanManagerImpl;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.util.AnnotationLiteral;
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.inject.Named;
+import jakarta.inject.Qualifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Indexed bean resolution")
+@Execution(ExecutionMode.SAME_THREAD)
+@Isolated
+class BeanResolutionIndexTest {
+
+    @Test
+    @DisplayName("qualifiers are matched ignoring @Nonbinding members")
+    void nonbindingMembersShouldBeIgnored() {
+        withResolvers(resolvers -> {
+            assertEquals(classes(GoldService.class),
+                    resolvers.lookup(Service.class, new TierLiteral("gold", "any note")));
+            assertEquals(classes(SilverService.class),
+                    resolvers.lookup(Service.class, new TierLiteral("silver", "")));
+            assertEquals(classes(), resolvers.lookup(Service.class, new TierLiteral("bronze", "")));
+        });
+    }
+
+    @Test
+    @DisplayName("@Named and @Any lookups find the same beans")
+    void namedAndAnyLookupsShouldMatch() {
+        withResolvers(resolvers -> {
+            assertEquals(classes(NamedService.class), resolvers.lookup(Service.class, NamedLiteral.of("fast")));
+            assertEquals(classes(), resolvers.lookup(Service.class, NamedLiteral.of("slow")));
+            assertEquals(classes(DefaultService.class, NamedService.class, GoldService.class,
+                            SilverService.class, EnabledAlternativeService.class),
+                    resolvers.lookup(Service.class, Any.Literal.INSTANCE));
+            assertEquals(classes(NamedService.class),
+                    resolvers.lookup(Service.class, Any.Literal.INSTANCE, NamedLiteral.of("fast")));
+        });
+    }
+
+    @Test
+    @DisplayName("only enabled alternatives are found")
+    void onlyEnabledAlternativesShouldBeFound() {
+        withResolvers(resolvers -> {
+            assertEquals(classes(DefaultService.class, NamedService.class, EnabledAlternativeService.class),
+                    resolvers.lookup(Service.class));
+            assertEquals(classes(EnabledAlternativeService.class),
+                    resolvers.lookup(EnabledAlternativeService.class));
+            assertEquals(classes(), resolvers.lookup(DisabledAlternativeService.class));
+        });
+    }
+
+    @Test
+    @DisplayName("beans whose raw type cannot be determined are still found")
+    void beansWithUnknownRawTypeShouldBeConsidered() {
+        Type unknownType = new Type() {
+            @Override
+            public String getTypeName() {
+                return "Unknown";
+            }
+        };
+        Bean<?> opaqueBean = mock(Bean.class);
+        // Ordered so that lookups for Service match before reaching the type the type checker cannot handle
+        when(opaqueBean.getTypes()).thenReturn(new LinkedHashSet<>(Arrays.asList(Object.class, Service.class,
+                unknownType)));
+        when(opaqueBean.getQualifiers()).thenReturn(new HashSet<>(Arrays.asList(Default.Literal.INSTANCE,
+                Any.Literal.INSTANCE)));
+        doReturn(OpaqueService.class).when(opaqueBean).getBeanClass();
+        doReturn(Dependent.class).when(opaqueBean).getScope();
+
+        withResolvers(knowledgeBase -> knowledgeBase.addProgrammaticBean(opaqueBean), resolvers -> {
+            assertEquals(classes(DefaultService.class, NamedService.class, EnabledAlternativeService.class,
+                    OpaqueService.class), resolvers.lookup(Service.class));
+        });
+    }
+
+    private static void withResolvers(Consumer<Resolvers> assertions) {
+        withResolvers(knowledgeBase -> { }, assertions);
+    }
+
+    private static void withResolvers(Consumer<KnowledgeBase> additions, Consumer<Resolvers> assertions) {
+        Syringe syringe = new Syringe(
+                new InMemoryMessageHandler(),
+                DefaultService.class,
+                NamedService.class,
+                GoldService.class,
+                SilverService.class,
+                EnabledAlternativeService.class,
+                DisabledAlternativeService.class
+        );
+        syringe.forceBeanArchiveMode(BeanArchiveMode.EXPLICIT);
+        try {
+            syringe.setup();
+            KnowledgeBase knowledgeBase = syringe.getKnowledgeBase();
+            additions.accept(knowledgeBase);
+            BeanManagerImpl beanManager = (BeanManagerImpl) syringe.getBeanManager();
+            assertions.accept(new Resolvers(knowledgeBase, beanManager.getContextManager()));
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    private static Set<Class<?>> classes(Class<?>... classes) {
+        return new HashSet<>(Arrays.asList(classes));
+    }
+
+    /**
+     * A resolver scanning every bean and one using the resolution index, over the same deployment.
+     */
+    private static final class Resolvers {
+        private final BeanResolver scanning;
+        private final BeanResolver indexed;
+
+        Resolvers(KnowledgeBase knowledgeBase, ContextManager contextManager) {
+            scanning = new BeanResolver(knowledgeBase, contextManager);
+            indexed = new BeanResolver(knowledgeBase, contextManager);
+            indexed.buildResolutionIndex();
+        }
+
+        /**
+         * @return the bean classes found by both resolvers, which must agree
+         */
+        Set<Class<?>> lookup(Type type, Annotation... qualifiers) {
+            Set<Bean<?>> expected = new HashSet<>(scanning.findMatchingBeans(type, qualifiers));
+            Set<Bean<?>> actual = new HashSet<>(indexed.findMatchingBeans(type, qualifiers));
+            assertEquals(expected, actual, "Indexed lookup differs from scanning lookup");
+            return actual.stream().map(Bean::getBeanClass).collect(Collectors.toSet());
+        }
+    }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+    public @interface Tier {
+        String value();
+
+        @Nonbinding
+        String note() default "";
+    }
+
+    @SuppressWarnings("all")
+    public static final class TierLiteral extends AnnotationLiteral<Tier> implements Tier {
+        private final String value;
+        private final String note;
+
+        TierLiteral(String value, String note) {
+            this.value = value;
+            this.note = note;
+        }
+
+        @Override
+        public String value() {
+            return value;
+        }
+
+        @Override
+        public String note() {
+            return note;
+        }
+    }
+
+    @SuppressWarnings("all")
+    public static final class NamedLiteral extends AnnotationLiteral<Named> implements Named {
+        private final String value;
+
+        private NamedLiteral(String value) {
+            this.value = value;
+        }
+
+        static NamedLiteral of(String value) {
+            return new NamedLiteral(value);
+        }
+
+        @Override
+        public String value() {
+            return value;
+        }
+    }
+
+    public interface Service {
+    }
+
+    @Dependent
+    public static class DefaultService implements Service {
+    }
+
+    @Dependent
+    @Named("fast")
+    public static class NamedService implements Service {
+    }
+
+    @Dependent
+    @Tier(value = "gold", note = "premium customers")
+    public static class GoldService implements Service {
+    }
+
+    @Dependent
+    @Tier("silver")
+    public static class SilverService implements Service {
+    }
+
+    @Dependent
+    @Alternative
+    @Priority(10)
+    public static class EnabledAlternativeService implements Service {
+    }
+
+    @Dependent
+    @Alternative
+    public static class DisabledAlternativeService implements Service {
+    }
+
+    // Abstract, so that it is not discovered: it is only the bean class of a programmatic bean
+    public abstract static class OpaqueService implements Service {
+    }
+}
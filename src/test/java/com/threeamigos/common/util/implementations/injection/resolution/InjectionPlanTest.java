@@ -0,0 +1,163 @@
+package com.threeamigos.common.util.implementations.injection.resolution;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.discovery.BeanArchiveMode;
+import com.threeamigos.common.util.implementations.injection.spi.BeanManagerImpl;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Precompiled injection plans")
+@Execution(ExecutionMode.SAME_THREAD)
+@Isolated
+class InjectionPlanTest {
+
+    @Test
+    @DisplayName("constructor, fields and initializers are injected in hierarchy order on every creation")
+    void injectionShouldFollowHierarchyOrderOnEveryCreation() {
+        Syringe syringe = newSyringe();
+        try {
+            syringe.setup();
+
+            for (int i = 0; i < 3; i++) {
+                Child child = syringe.getBeanManager().createInstance().select(Child.class).get();
+
+                assertEquals(Arrays.asList("constructor", "parent field", "parent initializer",
+                        "child field", "child initializer"), child.steps);
+                assertSame(child.constructorDependency.getClass(), Dependency.class);
+                assertNotSame(child.parentDependency, child.childDependency);
+            }
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("an overridden initializer is only called once, on the subclass")
+    void overriddenInitializerShouldBeCalledOnce() {
+        Syringe syringe = newSyringe();
+        try {
+            syringe.setup();
+
+            Child child = syringe.getBeanManager().createInstance().select(Child.class).get();
+
+            assertEquals(1, child.overriddenCalls);
+            assertEquals("child", child.overriddenBy);
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("injection sites are bound to their beans and not resolved again on later creations")
+    void sitesShouldBeBoundToTheirBeans() {
+        Syringe syringe = newSyringe();
+        try {
+            syringe.setup();
+            BeanManagerImpl beanManager = (BeanManagerImpl) syringe.getBeanManager();
+            Instance<Object> instance = beanManager.createInstance();
+            instance.select(Child.class).get();
+            instance.select(Dependency.class).get();
+
+            // Creating a Child resolves six injection sites, a Dependency none: only the select lookups remain
+            long childLookups = lookups(beanManager, () -> instance.select(Child.class).get());
+            long dependencyLookups = lookups(beanManager, () -> instance.select(Dependency.class).get());
+
+            assertEquals(dependencyLookups, childLookups);
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    private static long lookups(BeanManagerImpl beanManager, Runnable creation) {
+        long before = beanManager.getResolutionCacheHitCount() + beanManager.getResolutionCacheMissCount();
+        creation.run();
+        return beanManager.getResolutionCacheHitCount() + beanManager.getResolutionCacheMissCount() - before;
+    }
+
+    private static Syringe newSyringe() {
+        Syringe syringe = new Syringe(
+                new InMemoryMessageHandler(),
+                Dependency.class,
+                Parent.class,
+                Child.class
+        );
+        syringe.forceBeanArchiveMode(BeanArchiveMode.EXPLICIT);
+        return syringe;
+    }
+
+    @Dependent
+    public static class Dependency {
+    }
+
+    @Dependent
+    public static class Parent {
+        final List<String> steps = new ArrayList<>();
+        final Dependency constructorDependency;
+        int overriddenCalls;
+        String overriddenBy;
+
+        @Inject
+        Dependency parentDependency;
+
+        public Parent() {
+            this(null);
+        }
+
+        @Inject
+        public Parent(Dependency constructorDependency) {
+            this.constructorDependency = constructorDependency;
+            steps.add("constructor");
+        }
+
+        @Inject
+        void parentInitializer(Dependency dependency) {
+            steps.add(parentDependency != null ? "parent field" : "missing parent field");
+            steps.add("parent initializer");
+        }
+
+        @Inject
+        public void overridden(Dependency dependency) {
+            overriddenCalls++;
+            overriddenBy = "parent";
+        }
+    }
+
+    @Dependent
+    public static class Child extends Parent {
+        @Inject
+        Dependency childDependency;
+
+        @Inject
+        public Child(Dependency constructorDependency) {
+            super(constructorDependency);
+        }
+
+        @Inject
+        void childInitializer(Dependency dependency) {
+            steps.add(childDependency != null ? "child field" : "missing child field");
+            steps.add("child initializer");
+        }
+
+        @Override
+        @Inject
+        public void overridden(Dependency dependency) {
+            overriddenCalls++;
+            overriddenBy = "child";
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import jakarta.enterprise.inject.CreationException;
+import jakarta.enterprise.inject.spi.Bean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ApplicationScopedContext creation locking")
+class ApplicationScopedContextTest {
+
+    @Test
+    @DisplayName("creating a slow bean does not block the creation of other beans")
+    void slowBeanShouldNotBlockOtherBeans() throws Exception {
+        ApplicationScopedContext context = new ApplicationScopedContext();
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        Bean<Object> slow = bean(() -> {
+            slowStarted.countDown();
+            await(releaseSlow);
+            return "slow";
+        });
+        Bean<Object> fast = bean(() -> "fast");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> slowInstance = executor.submit(() -> context.get(slow, null));
+            assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+
+            assertEquals("fast", context.get(fast, null));
+
+            releaseSlow.countDown();
+            assertEquals("slow", slowInstance.get(5, TimeUnit.SECONDS));
+        } finally {
+            releaseSlow.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("concurrent first accesses create a single instance")
+    void concurrentAccessesShouldCreateOneInstance() throws Exception {
+        ApplicationScopedContext context = new ApplicationScopedContext();
+        AtomicInteger creations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Bean<Object> bean = bean(() -> {
+            creations.incrementAndGet();
+            return new Object();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            @SuppressWarnings("unchecked")
+            Future<Object>[] results = new Future[8];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = executor.submit(() -> {
+                    await(start);
+                    return context.get(bean, null);
+                });
+            }
+            start.countDown();
+            Object first = results[0].get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, creations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("nested lookups on the creating thread do not block")
+    void nestedLookupsShouldBeReentrant() {
+        ApplicationScopedContext context = new ApplicationScopedContext();
+        Bean<Object> inner = bean(() -> "inner");
+        Bean<Object> outer = bean(() -> "outer+" + context.get(inner, null));
+
+        assertEquals("outer+inner", context.get(outer, null));
+        assertEquals("inner", context.get(inner, null));
+    }
+
+    @Test
+    @DisplayName("two threads creating beans that need each other fail instead of deadlocking")
+    void crossThreadCycleShouldBeDetected() throws Exception {
+        ApplicationScopedContext context = new ApplicationScopedContext();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Bean<Object>[] beans = newBeanArray();
+        beans[0] = bean(() -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            return "a+" + context.get(beans[1], null);
+        });
+        beans[1] = bean(() -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            return "b+" + context.get(beans[0], null);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = executor.submit(() -> context.get(beans[0], null));
+            Future<Object> second = executor.submit(() -> context.get(beans[1], null));
+
+            int failures = 0;
+            for (Future<Object> future : new Future[]{first, second}) {
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                } catch (java.util.concurrent.ExecutionException e) {
+                    assertTrue(e.getCause() instanceof CreationException);
+                    failures++;
+                }
+            }
+            assertTrue(failures >= 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("a bean that needs itself while being created fails instead of recursing")
+    void sameThreadCycleShouldBeDetected() {
+        ApplicationScopedContext context = new ApplicationScopedContext();
+        Bean<Object>[] beans = newBeanArray();
+        beans[0] = bean(() -> "a+" + context.get(beans[0], null));
+
+        assertThrows(CreationException.class, () -> context.get(beans[0], null));
+    }
+
+    @Test
+    @DisplayName("a bean whose creation failed can be created later")
+    void failedCreationShouldNotPoisonTheBean() {
+        ApplicationScopedContext context = new ApplicationScopedContext();
+        AtomicInteger attempts = new AtomicInteger();
+        Bean<Object> bean = bean(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("first attempt fails");
+            }
+            return "created";
+        });
+
+        assertThrows(IllegalStateException.class, () -> context.get(bean, null));
+        assertEquals("created", context.get(bean, null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Bean<Object>[] newBeanArray() {
+        return new Bean[2];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Bean<Object> bean(Supplier<Object> factory) {
+        Bean<Object> bean = mock(Bean.class);
+        when(bean.create(any())).thenAnswer(invocation -> factory.get());
+        doReturn(Object.class).when(bean).getBeanClass();
+        return bean;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
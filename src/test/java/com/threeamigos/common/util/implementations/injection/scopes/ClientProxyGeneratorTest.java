@@ -0,0 +1,147 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.discovery.BeanArchiveMode;
+import com.threeamigos.common.util.implementations.injection.discovery.NonPortableBehaviourException;
+import com.threeamigos.common.util.implementations.injection.spi.BeanManagerImpl;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.spi.AlterableContext;
+import jakarta.enterprise.context.spi.Context;
+import jakarta.enterprise.inject.spi.Bean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClientProxyGenerator - Cached contextual instances")
+class ClientProxyGeneratorTest {
+
+    @Test
+    @DisplayName("destroying the bean through AlterableContext should make the proxy use a new instance")
+    void alterableContextDestroyShouldInvalidateCachedInstance() {
+        withContainer(container -> {
+            Counter proxy = container.proxy;
+            int first = proxy.getId();
+            assertEquals(first, proxy.getId());
+
+            Context context = container.beanManager.getContext(ApplicationScoped.class);
+            ((AlterableContext) context).destroy(container.bean);
+
+            int second = proxy.getId();
+            assertNotEquals(first, second);
+            assertEquals(second, proxy.getId());
+        });
+    }
+
+    @Test
+    @DisplayName("destroying the application context should make the proxy stop using the cached instance")
+    void contextDestroyShouldInvalidateCachedInstance() {
+        withContainer(container -> {
+            Counter proxy = container.proxy;
+            proxy.getId();
+
+            ScopeContext context = container.beanManager.getContextManager().getContext(ApplicationScoped.class);
+            context.destroy();
+
+            assertThrows(ContextNotActiveException.class, proxy::getId);
+        });
+    }
+
+    @Test
+    @DisplayName("destroying the instance through Bean.destroy outside the context should be noticed by the proxy")
+    void beanDestroyOutsideContextShouldInvalidateCachedInstance() {
+        withContainer(container -> {
+            Counter proxy = container.proxy;
+            proxy.getId();
+
+            ScopeContext context = container.beanManager.getContextManager().getContext(ApplicationScoped.class);
+            Counter instance = context.get(container.bean, null);
+            container.bean.destroy(instance, null);
+
+            assertThrows(NonPortableBehaviourException.class, proxy::getId);
+        });
+    }
+
+    @Test
+    @DisplayName("destroying another bean should not invalidate the cached instance")
+    void otherBeanDestroyShouldNotInvalidateCachedInstance() {
+        withContainer(container -> {
+            Counter proxy = container.proxy;
+            int first = proxy.getId();
+
+            Bean<Other> otherBean = container.resolve(Other.class);
+            ScopeContext context = container.beanManager.getContextManager().getContext(ApplicationScoped.class);
+            otherBean.destroy(context.get(otherBean, container.beanManager.createCreationalContext(otherBean)),
+                    null);
+
+            assertEquals(first, proxy.getId());
+        });
+    }
+
+    @Test
+    @DisplayName("a proxy without instance supplier should fail with IllegalStateException")
+    void uninitializedProxyShouldThrowIllegalStateException() {
+        withContainer(container -> {
+            ClientProxyGenerator generator = new ClientProxyGenerator(container.beanManager.getContextManager());
+            Counter proxy = generator.createProxy(container.bean);
+            ((ClientProxyGenerator.ProxyState) proxy).$$_setInstanceSupplier(null);
+
+            // Public method, called directly by the generated code
+            assertThrows(IllegalStateException.class, proxy::getId);
+            // Package-private method, called through the interceptor
+            assertThrows(IllegalStateException.class, proxy::getPackageId);
+        });
+    }
+
+    private static void withContainer(Consumer<Container> assertions) {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), Counter.class, Other.class);
+        syringe.forceBeanArchiveMode(BeanArchiveMode.EXPLICIT);
+        try {
+            syringe.setup();
+            assertions.accept(new Container(syringe));
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    private static final class Container {
+        private final BeanManagerImpl beanManager;
+        private final Bean<Counter> bean;
+        private final Counter proxy;
+
+        Container(Syringe syringe) {
+            beanManager = (BeanManagerImpl) syringe.getBeanManager();
+            bean = resolve(Counter.class);
+            proxy = syringe.inject(Counter.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> Bean<T> resolve(Class<T> type) {
+            return (Bean<T>) beanManager.resolve(beanManager.getBeans(type));
+        }
+    }
+
+    @ApplicationScoped
+    public static class Counter {
+        private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        private final int id = INSTANCES.incrementAndGet();
+
+        public int getId() {
+            return id;
+        }
+
+        int getPackageId() {
+            return id;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Other {
+    }
+}
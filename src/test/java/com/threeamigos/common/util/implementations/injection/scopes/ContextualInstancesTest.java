@@ -0,0 +1,100 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import jakarta.enterprise.inject.spi.Bean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Bean ids and array-backed contextual instances")
+class ContextualInstancesTest {
+
+    @Test
+    @DisplayName("registered beans get dense, stable ids in registration order")
+    void registeredBeansShouldGetDenseIds() {
+        BeanIndex index = new BeanIndex();
+        Bean<?> first = mock(Bean.class);
+        Bean<?> second = mock(Bean.class);
+
+        index.register(Arrays.asList(first, second));
+
+        assertEquals(0, index.idOf(first));
+        assertEquals(1, index.idOf(second));
+        assertEquals(2, index.size());
+        index.register(Arrays.asList(second, first));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("instances of beans indexed after the store was created are kept")
+    @SuppressWarnings("unchecked")
+    void storeShouldGrowForLateBeans() {
+        BeanIndex index = new BeanIndex();
+        ContextualInstances instances = new ContextualInstances(index);
+        List<Bean<Object>> beans = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Bean<Object> bean = mock(Bean.class);
+            beans.add(bean);
+            String value = "instance-" + i;
+            instances.getOrCreate(bean, null, () -> value);
+        }
+
+        for (int i = 0; i < beans.size(); i++) {
+            assertEquals("instance-" + i, instances.get(index.idOf(beans.get(i))).getInstance());
+        }
+        assertEquals(100, instances.entries().size());
+    }
+
+    @Test
+    @DisplayName("an instance is created once and can be removed")
+    @SuppressWarnings("unchecked")
+    void instanceShouldBeCreatedOnceAndRemoved() {
+        BeanIndex index = new BeanIndex();
+        ContextualInstances instances = new ContextualInstances(index);
+        Bean<Object> bean = mock(Bean.class);
+        AtomicInteger creations = new AtomicInteger();
+
+        Object created = instances.getOrCreate(bean, null, () -> "instance-" + creations.incrementAndGet());
+        assertSame(created, instances.getOrCreate(bean, null, () -> "instance-" + creations.incrementAndGet()));
+        assertEquals(1, creations.get());
+
+        assertSame(created, instances.remove(index.idOf(bean)).getInstance());
+        assertNull(instances.get(index.idOf(bean)));
+        assertTrue(instances.isEmpty());
+    }
+
+    @Test
+    @DisplayName("the store only grows up to the highest id stored")
+    @SuppressWarnings("unchecked")
+    void storeShouldGrowLazily() throws Exception {
+        BeanIndex index = new BeanIndex();
+        List<Bean<?>> beans = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            beans.add(mock(Bean.class));
+        }
+        index.register(beans);
+        ContextualInstances instances = new ContextualInstances(index);
+        Field entries = ContextualInstances.class.getDeclaredField("entries");
+        entries.setAccessible(true);
+
+        assertEquals(0, ((AtomicReferenceArray<?>) entries.get(instances)).length());
+        instances.getOrCreate((Bean<Object>) beans.get(5), null, () -> "instance");
+        assertEquals(6, ((AtomicReferenceArray<?>) entries.get(instances)).length());
+        instances.getOrCreate((Bean<Object>) beans.get(2), null, () -> "instance");
+        assertEquals(6, ((AtomicReferenceArray<?>) entries.get(instances)).length());
+        instances.getOrCreate((Bean<Object>) beans.get(99), null, () -> "instance");
+        assertEquals(100, ((AtomicReferenceArray<?>) entries.get(instances)).length());
+        assertEquals(3, instances.entries().size());
+    }
+}
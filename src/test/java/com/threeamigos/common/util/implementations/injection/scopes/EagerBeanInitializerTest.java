@@ -0,0 +1,140 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.discovery.BeanArchiveMode;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Eager initialization of ApplicationScoped beans")
+@Execution(ExecutionMode.SAME_THREAD)
+@Isolated
+class EagerBeanInitializerTest {
+
+    @Test
+    @DisplayName("ApplicationScoped beans are created at startup, dependencies first")
+    void applicationScopedBeansShouldBeCreatedAtStartupInDependencyOrder() {
+        resetCounters();
+        Syringe syringe = newSyringe();
+        syringe.enableEagerInitialization(2);
+
+        try {
+            syringe.setup();
+
+            assertEquals(1, Configuration.CREATED.get());
+            assertEquals(1, Service.CREATED.get());
+            assertEquals(0, Handler.CREATED.get());
+
+            EagerInitializationReport report = syringe.getEagerInitializationReport();
+            assertNotNull(report);
+            assertTrue(report.getFailures().isEmpty());
+            int configurationWave = waveOf(report, Configuration.class);
+            int serviceWave = waveOf(report, Service.class);
+            assertTrue(configurationWave >= 0);
+            assertTrue(serviceWave > configurationWave);
+
+            Service service = syringe.getBeanManager().createInstance().select(Service.class).get();
+            assertEquals("configured", service.describe());
+            assertEquals(1, Service.CREATED.get());
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("without eager initialization beans are created on first use")
+    void beansShouldStayLazyByDefault() {
+        resetCounters();
+        Syringe syringe = newSyringe();
+
+        try {
+            syringe.setup();
+
+            assertEquals(0, Service.CREATED.get());
+            assertNull(syringe.getEagerInitializationReport());
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    private static Syringe newSyringe() {
+        Syringe syringe = new Syringe(
+                new InMemoryMessageHandler(),
+                Configuration.class,
+                Service.class,
+                Handler.class
+        );
+        syringe.forceBeanArchiveMode(BeanArchiveMode.EXPLICIT);
+        return syringe;
+    }
+
+    private static int waveOf(EagerInitializationReport report, Class<?> beanClass) {
+        for (EagerInitializationReport.Entry entry : report.getEntries()) {
+            if (entry.getBean().getBeanClass().equals(beanClass)) {
+                return entry.getWave();
+            }
+        }
+        return -1;
+    }
+
+    private static void resetCounters() {
+        Configuration.CREATED.set(0);
+        Service.CREATED.set(0);
+        Handler.CREATED.set(0);
+    }
+
+    @ApplicationScoped
+    public static class Configuration {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        public Configuration() {
+            if (getClass() == Configuration.class) {
+                CREATED.incrementAndGet();
+            }
+        }
+
+        public String value() {
+            return "configured";
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        @Inject
+        Configuration configuration;
+
+        public Service() {
+            if (getClass() == Service.class) {
+                CREATED.incrementAndGet();
+            }
+        }
+
+        public String describe() {
+            return configuration.value();
+        }
+    }
+
+    @Dependent
+    public static class Handler {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        public Handler() {
+            CREATED.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.inject.spi.Bean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RequestScopedContext request handles")
+class RequestScopedContextTest {
+
+    @Test
+    @DisplayName("a captured request shares its instances with another thread")
+    void capturedRequestShouldShareInstances() throws Exception {
+        RequestScopedContext context = new RequestScopedContext();
+        List<Object> destroyed = new CopyOnWriteArrayList<>();
+        Bean<Object> bean = bean(destroyed);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            context.activateRequest();
+            Object instance = context.get(bean, null);
+
+            RequestContextHandle handle = context.captureRequest();
+            Future<Object> seen = executor.submit(() -> {
+                Object[] result = new Object[1];
+                context.runWithin(handle, () -> result[0] = context.get(bean, null));
+                return result[0];
+            });
+
+            assertSame(instance, seen.get(5, TimeUnit.SECONDS));
+            context.deactivateRequest();
+            assertEquals(1, destroyed.size());
+            assertSame(instance, destroyed.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("request instances outlive the activating thread until the captured handle is used")
+    void capturedRequestShouldBeDestroyedByLastUser() {
+        RequestScopedContext context = new RequestScopedContext();
+        List<Object> destroyed = new CopyOnWriteArrayList<>();
+        Bean<Object> bean = bean(destroyed);
+
+        context.activateRequest();
+        Object instance = context.get(bean, null);
+        RequestContextHandle handle = context.captureRequest();
+        context.deactivateRequest();
+
+        assertTrue(destroyed.isEmpty());
+        assertFalse(context.isActive());
+
+        Object[] seen = new Object[1];
+        context.runWithin(handle, () -> seen[0] = context.getIfExists(bean));
+
+        assertSame(instance, seen[0]);
+        assertEquals(1, destroyed.size());
+        assertFalse(handle.isAlive());
+        assertThrows(ContextNotActiveException.class, () -> context.runWithin(handle, () -> { }));
+    }
+
+    @Test
+    @DisplayName("releasing an unused captured handle ends the request")
+    void releasedHandleShouldEndTheRequest() {
+        RequestScopedContext context = new RequestScopedContext();
+        List<Object> destroyed = new CopyOnWriteArrayList<>();
+        Bean<Object> bean = bean(destroyed);
+
+        context.activateRequest();
+        context.get(bean, null);
+        RequestContextHandle handle = context.captureRequest();
+        context.deactivateRequest();
+        handle.release();
+
+        assertEquals(1, destroyed.size());
+    }
+
+    @Test
+    @DisplayName("deactivating within a captured request only detaches the thread")
+    void deactivatingBorrowedRequestShouldOnlyDetach() {
+        RequestScopedContext context = new RequestScopedContext();
+        List<Object> destroyed = new CopyOnWriteArrayList<>();
+        Bean<Object> bean = bean(destroyed);
+
+        context.activateRequest();
+        Object instance = context.get(bean, null);
+        RequestContextHandle handle = context.captureRequest();
+        context.runWithin(handle, context::deactivateRequest);
+
+        assertTrue(context.isActive());
+        assertTrue(destroyed.isEmpty());
+        assertSame(instance, context.get(bean, null));
+
+        context.deactivateRequest();
+        assertEquals(1, destroyed.size());
+    }
+
+    @Test
+    @DisplayName("nothing is captured without an active request")
+    void captureShouldReturnNullWithoutRequest() {
+        RequestScopedContext context = new RequestScopedContext();
+
+        assertNull(context.captureRequest());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Bean<Object> bean(List<Object> destroyed) {
+        Bean<Object> bean = mock(Bean.class);
+        when(bean.create(any())).thenAnswer(invocation -> new Object());
+        doAnswer(invocation -> destroyed.add(invocation.getArgument(0))).when(bean).destroy(any(), any());
+        doReturn(Object.class).when(bean).getBeanClass();
+        return bean;
+    }
+}
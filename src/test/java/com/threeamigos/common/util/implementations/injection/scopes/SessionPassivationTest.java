@@ -0,0 +1,163 @@
+package com.threeamigos.common.util.implementations.injection.scopes;
+
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import jakarta.enterprise.inject.spi.Bean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Streaming and incremental session passivation")
+class SessionPassivationTest {
+
+    private final BeanIndex beanIndex = new BeanIndex();
+    private final Bean<Object> cartBean = bean(Cart.class, Cart::new);
+    private final Bean<Object> profileBean = bean(Profile.class, Profile::new);
+
+    SessionPassivationTest() {
+        beanIndex.register(Arrays.asList(cartBean, profileBean));
+    }
+
+    @Test
+    @DisplayName("a session snapshot streamed to another context restores every instance")
+    void snapshotShouldRestoreEveryInstance() throws Exception {
+        SessionScopedContext primary = newContext();
+        primary.activateSession("s1");
+        ((Cart) primary.get(cartBean, null)).items = 3;
+        ((Profile) primary.get(profileBean, null)).name = "alice";
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+
+        assertEquals(2, primary.passivateSession("s1", snapshot));
+
+        SessionScopedContext replica = newContext();
+        replica.activateSession("s1", in(snapshot));
+        assertEquals(3, ((Cart) replica.getIfExists(cartBean)).items);
+        assertEquals("alice", ((Profile) replica.getIfExists(profileBean)).name);
+    }
+
+    @Test
+    @DisplayName("a change set only holds the instances used since the last passivation")
+    void changeSetShouldOnlyHoldUsedInstances() throws Exception {
+        SessionScopedContext primary = newContext();
+        SessionScopedContext replica = newContext();
+        primary.activateSession("s1");
+        ((Cart) primary.get(cartBean, null)).items = 3;
+        ((Profile) primary.get(profileBean, null)).name = "alice";
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        primary.passivateSession("s1", snapshot);
+        replica.activateSession("s1", in(snapshot));
+
+        ((Cart) primary.get(cartBean, null)).items = 5;
+        ByteArrayOutputStream changes = new ByteArrayOutputStream();
+        assertEquals(1, primary.passivateSessionChanges("s1", changes));
+        replica.activateSession("s1", in(changes));
+
+        assertEquals(5, ((Cart) replica.getIfExists(cartBean)).items);
+        assertEquals("alice", ((Profile) replica.getIfExists(profileBean)).name);
+        assertEquals(0, primary.passivateSessionChanges("s1", new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("instances destroyed since the last passivation are removed by the next change set")
+    void changeSetShouldRemoveDestroyedInstances() throws Exception {
+        SessionScopedContext primary = newContext();
+        SessionScopedContext replica = newContext();
+        primary.activateSession("s1");
+        primary.get(cartBean, null);
+        primary.get(profileBean, null);
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        primary.passivateSession("s1", snapshot);
+        replica.activateSession("s1", in(snapshot));
+
+        primary.destroy(profileBean);
+        ByteArrayOutputStream changes = new ByteArrayOutputStream();
+        assertEquals(0, primary.passivateSessionChanges("s1", changes));
+        replica.activateSession("s1", in(changes));
+
+        assertNotNull(replica.getIfExists(cartBean));
+        assertNull(replica.getIfExists(profileBean));
+    }
+
+    @Test
+    @DisplayName("several sessions can be passivated to the same stream")
+    void sessionsShouldShareAStream() throws Exception {
+        SessionScopedContext primary = newContext();
+        primary.activateSession("s1");
+        ((Cart) primary.get(cartBean, null)).items = 1;
+        primary.activateSession("s2");
+        ((Cart) primary.get(cartBean, null)).items = 2;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        primary.passivateSession("s1", out);
+        primary.passivateSession("s2", out);
+
+        SessionScopedContext replica = newContext();
+        InputStream in = in(out);
+        replica.activateSession("s1", in);
+        replica.activateSession("s2", in);
+
+        assertEquals(2, ((Cart) replica.getIfExists(cartBean)).items);
+        replica.activateSession("s1");
+        assertEquals(1, ((Cart) replica.getIfExists(cartBean)).items);
+    }
+
+    @Test
+    @DisplayName("instances that are not Serializable can be passivated as JSON")
+    void jsonSerializerShouldPassivateNonSerializableInstances() throws Exception {
+        Bean<Object> preferencesBean = bean(Preferences.class, Preferences::new);
+        SessionScopedContext primary = newContext();
+        primary.setPassivationSerializer(new JsonPassivationSerializer());
+        primary.activateSession("s1");
+        ((Preferences) primary.get(preferencesBean, null)).theme = "dark";
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        primary.passivateSession("s1", snapshot);
+
+        SessionScopedContext replica = newContext();
+        replica.setPassivationSerializer(new JsonPassivationSerializer());
+        replica.activateSession("s1", in(snapshot));
+
+        assertEquals("dark", ((Preferences) replica.getIfExists(preferencesBean)).theme);
+    }
+
+    private SessionScopedContext newContext() {
+        return new SessionScopedContext(new InMemoryMessageHandler(), beanIndex);
+    }
+
+    private static InputStream in(ByteArrayOutputStream out) {
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Bean<Object> bean(Class<?> beanClass, Supplier<Object> factory) {
+        Bean<Object> bean = mock(Bean.class);
+        when(bean.create(any())).thenAnswer(invocation -> factory.get());
+        doReturn(beanClass).when(bean).getBeanClass();
+        return bean;
+    }
+
+    static class Cart implements Serializable {
+        private static final long serialVersionUID = 1L;
+        int items;
+    }
+
+    static class Profile implements Serializable {
+        private static final long serialVersionUID = 1L;
+        String name;
+    }
+
+    static class Preferences {
+        String theme;
+    }
+}
@@ -0,0 +1,64 @@
+package com.threeamigos.common.util.implementations.injection.spi;
+
+import com.threeamigos.common.util.implementations.injection.Syringe;
+import com.threeamigos.common.util.implementations.injection.testpackages.forcedarchive.AnnotatedOrderService;
+import com.threeamigos.common.util.implementations.injection.testpackages.forcedarchive.PlainOrderService;
+import com.threeamigos.common.util.implementations.messagehandler.InMemoryMessageHandler;
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.spi.Bean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BeanManagerImpl - Resolution cache")
+class BeanManagerImplResolutionCacheTest {
+
+    @Test
+    @DisplayName("Repeated lookups after deployment should be served from the cache")
+    void repeatedLookupsShouldHitTheCache() {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), PlainOrderService.class);
+
+        try {
+            syringe.setup();
+            BeanManagerImpl beanManager = (BeanManagerImpl) syringe.getBeanManager();
+
+            Set<Bean<?>> first = beanManager.getBeans(AnnotatedOrderService.class);
+            long hits = beanManager.getResolutionCacheHitCount();
+            Set<Bean<?>> second = beanManager.getBeans(AnnotatedOrderService.class, Default.Literal.INSTANCE);
+
+            assertEquals(1, first.size());
+            assertSame(first, second, "An explicit @Default lookup should share the implicit @Default entry");
+            assertEquals(hits + 1, beanManager.getResolutionCacheHitCount());
+            assertThrows(UnsupportedOperationException.class, () -> second.clear());
+            assertSame(first.iterator().next(), beanManager.resolve(second));
+        } finally {
+            syringe.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Changing alternative enablement should invalidate cached lookups")
+    void beanChangesShouldInvalidateTheCache() {
+        Syringe syringe = new Syringe(new InMemoryMessageHandler(), PlainOrderService.class);
+
+        try {
+            syringe.setup();
+            BeanManagerImpl beanManager = (BeanManagerImpl) syringe.getBeanManager();
+            Set<Bean<?>> before = beanManager.getBeans(AnnotatedOrderService.class);
+            long misses = beanManager.getResolutionCacheMissCount();
+
+            syringe.getKnowledgeBase().setApplicationAlternativeOrder(Collections.emptyList());
+            Set<Bean<?>> after = beanManager.getBeans(AnnotatedOrderService.class);
+
+            assertNotSame(before, after);
+            assertEquals(before, after);
+            assertEquals(misses + 1, beanManager.getResolutionCacheMissCount());
+        } finally {
+            syringe.shutdown();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.threeamigos.common.util.implementations.injection.testpackages.observerdispatch;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@ApplicationScoped
+public class OrderObserver {
+
+    private final List<String> notifications = new CopyOnWriteArrayList<>();
+
+    public void late(@Observes @Priority(2000) OrderPlaced event) {
+        notifications.add("late");
+    }
+
+    public void early(@Observes @Priority(100) OrderPlaced event) {
+        notifications.add("early");
+    }
+
+    public void urgent(@Observes @Priority(1000) UrgentOrderPlaced event) {
+        notifications.add("urgent");
+    }
+
+    public void audit(@ObservesAsync OrderPlaced event) {
+        notifications.add("audit");
+    }
+
+    public List<String> getNotifications() {
+        return notifications;
+    }
+}
@@ -0,0 +1,4 @@
+package com.threeamigos.common.util.implementations.injection.testpackages.observerdispatch;
+
+public class OrderPlaced {
+}
@@ -0,0 +1,14 @@
+package com.threeamigos.common.util.implementations.injection.testpackages.observerinvoker;
+
+public class Failure {
+
+    private final Exception exception;
+
+    public Failure(Exception exception) {
+        this.exception = exception;
+    }
+
+    public Exception getException() {
+        return exception;
+    }
+}
@@ -0,0 +1,35 @@
+package com.threeamigos.common.util.implementations.injection.testpackages.observerinvoker;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@ApplicationScoped
+public class InvokerObserver {
+
+    private static final List<String> STATIC_NOTIFICATIONS = new CopyOnWriteArrayList<>();
+
+    private final List<String> notifications = new CopyOnWriteArrayList<>();
+
+    static void onStaticPing(@Observes Ping ping) {
+        STATIC_NOTIFICATIONS.add(ping.getName());
+    }
+
+    private void onPrivatePing(@Observes Ping ping) {
+        notifications.add(ping.getName());
+    }
+
+    public void onFailure(@Observes Failure failure) throws Exception {
+        throw failure.getException();
+    }
+
+    public static List<String> getStaticNotifications() {
+        return STATIC_NOTIFICATIONS;
+    }
+
+    public List<String> getNotifications() {
+        return notifications;
+    }
+}
@@ -0,0 +1,14 @@
+package com.threeamigos.common.util.implementations.injection.testpackages.observerinvoker;
+
+public class Ping {
+
+    private final String name;
+
+    public Ping(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}